@@ -7,8 +7,11 @@ import org.springframework.stereotype.Component;
 
 import com.workable_sb.workable.models.*;
 import com.workable_sb.workable.repository.*;
+import com.workable_sb.workable.service.CredencialService;
+import com.workable_sb.workable.service.MunicipioService;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +31,8 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired private FeedbackRepo feedbackRepo;
     @Autowired private NotificacionRepo notificacionRepo;
     @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private CredencialService credencialService;
+    @Autowired private MunicipioService municipioService;
 
     @Override
     public void run(String... args) throws Exception {
@@ -55,6 +60,10 @@ public class DataInitializer implements CommandLineRunner {
             createGenericAspirantes();
             System.out.println("▶ Creando ofertas...");
             createGenericOfertas();
+
+            // Los usuarios se crean directamente en los repositorios: reconstruir el índice de credenciales
+            System.out.println("▶ Reconstruyendo índice de credenciales...");
+            credencialService.reconstruir();
             
             System.out.println("=== DATA INITIALIZER COMPLETADO ===");
         } catch (Exception e) {
@@ -170,13 +179,16 @@ public class DataInitializer implements CommandLineRunner {
             {20L, "Tunja", Municipio.Departamento.BOYACA}
         };
 
+        List<Municipio> municipios = new ArrayList<>();
         for (Object[] data : municipiosData) {
             Municipio municipio = new Municipio();
             municipio.setId((Long) data[0]);
             municipio.setNombre((String) data[1]);
             municipio.setDepartamento((Municipio.Departamento) data[2]);
-            municipioRepo.save(municipio);
+            municipios.add(municipio);
         }
+        // Por el servicio, para que se vacíe la caché de municipios
+        municipioService.guardarTodos(municipios);
     }
 
     private void initializeEmpresas() {
@@ -0,0 +1,104 @@
+package com.workable_sb.workable.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Detecta hilos virtuales fijados a su hilo portador (bloqueo dentro de un bloque
+ * synchronized o de código nativo) escuchando el evento JFR jdk.VirtualThreadPinned.
+ * Cuenta cada bloqueo en workable.hilos.virtuales.fijados, con el método de la aplicación
+ * que lo provocó como etiqueta, y registra la traza la primera vez que aparece cada origen.
+ */
+@Component
+public class DiagnosticoHilosVirtuales {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticoHilosVirtuales.class);
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final String PAQUETE_APP = "com.workable_sb.";
+    private static final int MAX_FRAMES_LOG = 15;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${workable.hilos-virtuales.diagnostico:false}")
+    private boolean activo;
+
+    // Solo se reportan los bloqueos que superan este tiempo
+    @Value("${workable.hilos-virtuales.umbral-fijado-ms:20}")
+    private long umbralMs;
+
+    private RecordingStream stream;
+    private final Set<String> origenesVistos = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        if (!activo) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(Duration.ofMillis(umbralMs)).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Diagnóstico de hilos virtuales activo (umbral {} ms)", umbralMs);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        List<RecordedFrame> frames = evento.getStackTrace() != null ? evento.getStackTrace().getFrames() : List.of();
+        String origen = origen(frames);
+        Counter.builder("workable.hilos.virtuales.fijados")
+                .description("Bloqueos de hilos virtuales fijados a su portador")
+                .tag("origen", origen)
+                .register(meterRegistry)
+                .increment();
+
+        if (origenesVistos.add(origen)) {
+            StringBuilder traza = new StringBuilder();
+            frames.stream().limit(MAX_FRAMES_LOG).forEach(f -> traza.append("\n\tat ").append(describir(f)));
+            log.warn("Hilo virtual fijado {} ms en {} (hilo {}){}", evento.getDuration().toMillis(), origen,
+                evento.getThread() != null ? evento.getThread().getJavaName() : "?", traza);
+        }
+    }
+
+    // Primer método de la aplicación en la pila; si no hay, el método más alto
+    private static String origen(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(PAQUETE_APP)) {
+                return nombreMetodo(frame);
+            }
+        }
+        return frames.isEmpty() ? "desconocido" : nombreMetodo(frames.get(0));
+    }
+
+    private static String nombreMetodo(RecordedFrame frame) {
+        String clase = frame.getMethod().getType().getName();
+        return clase.substring(clase.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+    }
+
+    private static String describir(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,47 @@
+package com.workable_sb.workable.config;
+
+import java.util.Map;
+
+import org.hibernate.Interceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.models.Municipio;
+import com.workable_sb.workable.service.MunicipioService;
+
+/**
+ * Los municipios servidos desde la caché están desconectados de la sesión y su id es asignado,
+ * así que al guardar una entidad que los referencia Hibernate consultaría la base para saber si
+ * son nuevos. Este interceptor le indica que la instancia que está en la caché ya existe.
+ * Solo la misma instancia: un Municipio construido en otro sitio sigue la comprobación normal.
+ */
+@Component
+public class MunicipiosCacheadosInterceptor implements Interceptor, HibernatePropertiesCustomizer {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, this);
+    }
+
+    @Override
+    public Boolean isTransient(Object entity) {
+        if (entity instanceof Municipio municipio && municipio.getId() != null
+                && cacheManager.getCache(MunicipioService.CACHE_POR_ID) instanceof CaffeineCache cache
+                && cacheada(cache, municipio)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    // Sin pasar por las estadísticas de la caché: no es una lectura de la aplicación
+    private static boolean cacheada(CaffeineCache cache, Municipio municipio) {
+        return cache.getNativeCache().policy().getIfPresentQuietly(municipio.getId()) == municipio;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.workable_sb.workable.models.Administrador;
 import com.workable_sb.workable.service.AdministradorService;
+import com.workable_sb.workable.service.PasswordHashService;
 
 import java.util.List;
 import java.util.Map;
@@ -18,9 +19,14 @@ public class AdministradorController {
     @Autowired
     private AdministradorService administradorService;
 
+    @Autowired
+    private PasswordHashService passwordHashService;
+
     // ===== CREATE =====
     @PostMapping
     public ResponseEntity<?> crearAdministrador(@RequestBody Administrador administrador) {
+        // Hash antes de cualquier consulta (ver PasswordHashService.encodeSiPresente)
+        administrador.setPassword(passwordHashService.encodeSiPresente(administrador.getPassword()));
         try {
             Administrador nuevoAdministrador = administradorService.crearAdministrador(administrador);
             return ResponseEntity.status(201).body(nuevoAdministrador);
@@ -87,6 +93,7 @@ public class AdministradorController {
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<?> actualizarAdministrador(@PathVariable Long id, @RequestBody Administrador administrador) {
+        administrador.setPassword(passwordHashService.encodeSiPresente(administrador.getPassword()));
         try {
             Administrador administradorActualizado = administradorService.actualizar(id, administrador);
             return ResponseEntity.ok(administradorActualizado);
@@ -1,7 +1,9 @@
 package com.workable_sb.workable.controller;
 
+import com.workable_sb.workable.dto.PaginaCursorDto;
 import com.workable_sb.workable.models.Aspirante;
 import com.workable_sb.workable.service.AspiranteService;
+import com.workable_sb.workable.service.PasswordHashService;
 import com.workable_sb.workable.security.CustomUserDetails;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,7 +12,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -20,23 +21,32 @@ public class AspiranteController {
     @Autowired
     private AspiranteService aspiranteService;
 
+    @Autowired
+    private PasswordHashService passwordHashService;
+
     // - CREATE (PUBLICO: registro de aspirantes)
     @PostMapping("/public")
     public ResponseEntity<Aspirante> createPublic(@RequestBody Aspirante aspirante) {
+        // Hash antes de cualquier consulta (ver PasswordHashService.encodeSiPresente)
+        aspirante.setPassword(passwordHashService.encodeSiPresente(aspirante.getPassword()));
         return ResponseEntity.ok(aspiranteService.createPublic(aspirante));
     }
 
     // - CREATE (ADMIN)
     @PostMapping
     public ResponseEntity<Aspirante> create(@RequestBody Aspirante aspirante) {
+        String hash = passwordHashService.encodeSiPresente(aspirante.getPassword());
+        aspirante.setPassword(hash != null ? hash : passwordHashService.encode(AspiranteService.PASSWORD_POR_DEFECTO));
         return ResponseEntity.ok(aspiranteService.create(aspirante));
     }
 
     // - READ all
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN', 'ADSO')")
     @GetMapping
-    public ResponseEntity<List<Aspirante>> getAll() {
-        return ResponseEntity.ok(aspiranteService.getAll());
+    public ResponseEntity<PaginaCursorDto<Aspirante>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(aspiranteService.getAll(cursor, size));
     }
 
     // - READ my profile (using JWT authentication)
@@ -98,6 +108,7 @@ public class AspiranteController {
     // - UPDATE (PUBLICO: solo el propio aspirante)
     @PutMapping("/public/{id}")
     public ResponseEntity<Aspirante> updatePublic(@PathVariable Long id, @RequestBody Aspirante aspirante, @RequestParam Long aspiranteActualId) {
+        aspirante.setPassword(passwordHashService.encodeSiPresente(aspirante.getPassword()));
         return ResponseEntity.ok(aspiranteService.updatePublic(id, aspirante, aspiranteActualId));
     }
 
@@ -112,6 +123,7 @@ public class AspiranteController {
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}/admin")
     public ResponseEntity<Aspirante> update(@PathVariable Long id, @RequestBody Aspirante aspirante) {
+        aspirante.setPassword(passwordHashService.encodeSiPresente(aspirante.getPassword()));
         return ResponseEntity.ok(aspiranteService.update(id, aspirante));
     }
 
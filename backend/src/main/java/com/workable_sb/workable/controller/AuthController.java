@@ -3,10 +3,12 @@ package com.workable_sb.workable.controller;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -15,14 +17,17 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.workable_sb.workable.dto.LoginRequestDto;
 import com.workable_sb.workable.dto.LoginResponseDto;
-import com.workable_sb.workable.models.Administrador;
+import com.workable_sb.workable.exception.ServicioSaturadoException;
 import com.workable_sb.workable.models.Aspirante;
+import com.workable_sb.workable.models.Credencial;
 import com.workable_sb.workable.models.Reclutador;
-import com.workable_sb.workable.repository.AdministradorRepo;
 import com.workable_sb.workable.repository.AspiranteRepo;
 import com.workable_sb.workable.repository.ReclutadorRepo;
+import com.workable_sb.workable.security.CustomUserDetails;
 import com.workable_sb.workable.security.JwtUtil;
 import com.workable_sb.workable.service.AspiranteService;
+import com.workable_sb.workable.service.CredencialService;
+import com.workable_sb.workable.service.PasswordHashService;
 import com.workable_sb.workable.service.ReclutadorService;
 
 import org.slf4j.Logger;
@@ -52,10 +57,10 @@ public class AuthController {
     private ReclutadorRepo reclutadorRepo;
 
     @Autowired
-    private AdministradorRepo administradorRepo;
+    private CredencialService credencialService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashService passwordHashService;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -80,7 +85,10 @@ public class AuthController {
             if (request.getNombre() == null || request.getNombre().trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("error", "El nombre es requerido"));
             }
-            
+
+            // Hash antes de la primera consulta (ver PasswordHashService.encodeSiPresente)
+            request.setPassword(passwordHashService.encodeSiPresente(request.getPassword()));
+
             if (aspiranteRepo.findByCorreo(request.getCorreo()).isPresent()) {
                 log.warn("Intento de registro con correo existente: {}", request.getCorreo());
                 return ResponseEntity.badRequest().body(Map.of("error", "El correo ya está registrado"));
@@ -91,6 +99,8 @@ public class AuthController {
             log.info("Aspirante registrado exitosamente: {} {}", aspiranteCreado.getNombre(), aspiranteCreado.getApellido());
             return ResponseEntity.ok(aspiranteCreado);
 
+        } catch (ServicioSaturadoException e) {
+            return servicioSaturado(e);
         } catch (Exception e) {
             log.error("Error al registrar aspirante: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("error", "Error del sistema: " + e.getMessage()));
@@ -117,7 +127,10 @@ public class AuthController {
             if (request.getNombre() == null || request.getNombre().trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("error", "El nombre es requerido"));
             }
-            
+
+            // Hash antes de la primera consulta (ver PasswordHashService.encodeSiPresente)
+            request.setPassword(passwordHashService.encodeSiPresente(request.getPassword()));
+
             if (reclutadorRepo.findByCorreo(request.getCorreo()).isPresent()) {
                 log.warn("Intento de registro con correo existente: {}", request.getCorreo());
                 return ResponseEntity.badRequest().body(Map.of("error", "El correo ya está registrado"));
@@ -128,6 +141,8 @@ public class AuthController {
             log.info("Reclutador registrado exitosamente: {} {}", reclutadorCreado.getNombre(), reclutadorCreado.getApellido());
             return ResponseEntity.ok(reclutadorCreado);
 
+        } catch (ServicioSaturadoException e) {
+            return servicioSaturado(e);
         } catch (Exception e) {
             log.error("Error al registrar reclutador: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("error", "Error del sistema: " + e.getMessage()));
@@ -135,7 +150,9 @@ public class AuthController {
     }
 
     /**
-     * Autentica un usuario (Aspirante o Reclutador) y devuelve un token JWT.
+     * Autentica un usuario (Administrador, Aspirante o Reclutador) y devuelve un token JWT.
+     * La búsqueda se resuelve con una sola lectura del índice de credenciales. Va sin open-in-view
+     * (WebConfig): la conexión de esa lectura se devuelve antes de esperar turno para BCrypt.
      * Endpoint público.
      */
     @PostMapping("/login")
@@ -143,106 +160,52 @@ public class AuthController {
         try {
             log.info("Intento de login: {}", loginRequest.getCorreo());
             
-            // Intentar cargar como Administrador primero
-            var administrador = administradorRepo.findByCorreo(loginRequest.getCorreo());
-            if (administrador.isPresent()) {
-                Administrador user = administrador.get();
-                log.debug("Administrador encontrado: {}", user.getCorreo());
-                if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-                    log.warn("Login fallido para administrador: {} - contraseña no coincide", loginRequest.getCorreo());
-                    return ResponseEntity.status(401).body(Map.of("error", "Usuario o contraseña incorrectos"));
-                }
-                if (!user.getIsActive()) {
-                    log.warn("Administrador inactivo intenta login: {}", loginRequest.getCorreo());
-                    return ResponseEntity.status(403).body(Map.of("error", "Usuario inactivo"));
-                }
-                
-                String rolString = "ADMIN";
-                String token = jwtUtil.generateTokenWithUserId(user.getCorreo(), rolString, user.getId());
-                
-                LoginResponseDto response = new LoginResponseDto();
-                response.setToken(token);
-                response.setRol(rolString);
-                response.setUsuarioId(user.getId());
-                response.setNombre(user.getNombre());
-                response.setApellido(user.getApellido());
-                response.setCorreo(user.getCorreo());
-                
-                log.info("Login exitoso para administrador: {} (ID: {})", user.getCorreo(), user.getId());
-                return ResponseEntity.ok(response);
+            var credencialOpt = credencialService.buscarPorCorreo(loginRequest.getCorreo());
+            if (credencialOpt.isEmpty()) {
+                log.warn("Login fallido: usuario no encontrado: {}", loginRequest.getCorreo());
+                return ResponseEntity.status(401).body(Map.of("error", "Usuario o contraseña incorrectos"));
             }
-            
-            // Intentar cargar como Aspirante
-            var aspirante = aspiranteRepo.findByCorreo(loginRequest.getCorreo());
-            if (aspirante.isPresent()) {
-                Aspirante user = aspirante.get();
-                log.debug("Aspirante encontrado: {}, contraseña hasheada: {}", user.getCorreo(), user.getPassword() != null ? "SÍ" : "NO");
-                if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-                    log.warn("Login fallido para aspirante: {} - contraseña no coincide", loginRequest.getCorreo());
-                    return ResponseEntity.status(401).body(Map.of("error", "Usuario o contraseña incorrectos"));
-                }
-                if (!user.getIsActive()) {
-                    log.warn("Aspirante inactivo intenta login: {}", loginRequest.getCorreo());
-                    return ResponseEntity.status(403).body(Map.of("error", "Usuario inactivo"));
-                }
-                
-                String rolString = "ASPIRANTE";
-                String token = jwtUtil.generateTokenWithUserId(user.getCorreo(), rolString, user.getId());
-                
-                LoginResponseDto response = new LoginResponseDto();
-                response.setToken(token);
-                response.setRol(rolString);
-                response.setUsuarioId(user.getId());
-                response.setNombre(user.getNombre());
-                response.setApellido(user.getApellido());
-                response.setCorreo(user.getCorreo());
-                
-                log.info("Login exitoso para aspirante: {} (ID: {})", user.getCorreo(), user.getId());
-                return ResponseEntity.ok(response);
+
+            Credencial credencial = credencialOpt.get();
+            log.debug("Credencial encontrada: {} ({})", credencial.getCorreo(), credencial.getRol());
+            if (!passwordHashService.matches(loginRequest.getPassword(), credencial.getPasswordHash())) {
+                log.warn("Login fallido para {}: {} - contraseña no coincide", credencial.getRol(), loginRequest.getCorreo());
+                return ResponseEntity.status(401).body(Map.of("error", "Usuario o contraseña incorrectos"));
             }
-            
-            // Intentar cargar como Reclutador
-            var reclutador = reclutadorRepo.findByCorreo(loginRequest.getCorreo());
-            if (reclutador.isPresent()) {
-                Reclutador user = reclutador.get();
-                log.debug("Reclutador encontrado: {}, contraseña hasheada: {}", user.getCorreo(), user.getPassword() != null ? "SÍ" : "NO");
-                log.debug("Contraseña en BD (primeros 20 caracteres): {}", user.getPassword() != null && user.getPassword().length() > 20 ? user.getPassword().substring(0, 20) : user.getPassword());
-                
-                if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-                    log.warn("Login fallido para reclutador: {} - contraseña no coincide", loginRequest.getCorreo());
-                    return ResponseEntity.status(401).body(Map.of("error", "Usuario o contraseña incorrectos"));
-                }
-                if (!user.getIsActive()) {
-                    log.warn("Reclutador inactivo intenta login: {}", loginRequest.getCorreo());
-                    return ResponseEntity.status(403).body(Map.of("error", "Usuario inactivo"));
-                }
-                
-                String rolString = "RECLUTADOR";
-                String token = jwtUtil.generateTokenWithUserId(user.getCorreo(), rolString, user.getId());
-                
-                LoginResponseDto response = new LoginResponseDto();
-                response.setToken(token);
-                response.setRol(rolString);
-                response.setUsuarioId(user.getId());
-                response.setNombre(user.getNombre());
-                response.setApellido(user.getApellido());
-                response.setCorreo(user.getCorreo());
-                
-                // Agregar información de empresa si existe
-                if (user.getEmpresa() != null) {
-                    Map<String, Object> empresa = new java.util.HashMap<>();
-                    empresa.put("id", user.getEmpresa().getId());
-                    empresa.put("nombre", user.getEmpresa().getNombre());
-                    response.setEmpresa(empresa);
-                }
-                
-                log.info("Login exitoso para reclutador: {} (ID: {})", user.getCorreo(), user.getId());
-                return ResponseEntity.ok(response);
+            if (!Boolean.TRUE.equals(credencial.getActivo())) {
+                log.warn("Usuario inactivo intenta login: {} ({})", loginRequest.getCorreo(), credencial.getRol());
+                return ResponseEntity.status(403).body(Map.of("error", "Usuario inactivo"));
             }
+
+            String rolString = credencial.getRol().name();
+            String token = jwtUtil.generateTokenWithUserId(credencial.getCorreo(), rolString, credencial.getUsuarioId());
+
+            LoginResponseDto response = new LoginResponseDto();
+            response.setToken(token);
+            response.setRol(rolString);
+            response.setUsuarioId(credencial.getUsuarioId());
+            response.setNombre(credencial.getNombre());
+            response.setApellido(credencial.getApellido());
+            response.setCorreo(credencial.getCorreo());
+
+            // Agregar información de empresa si existe (solo reclutadores)
+            if (credencial.getRol() == Credencial.Rol.RECLUTADOR) {
+                reclutadorRepo.findById(credencial.getUsuarioId())
+                    .map(Reclutador::getEmpresa)
+                    .ifPresent(e -> {
+                        Map<String, Object> empresa = new java.util.HashMap<>();
+                        empresa.put("id", e.getId());
+                        empresa.put("nombre", e.getNombre());
+                        response.setEmpresa(empresa);
+                    });
+            }
+
+            log.info("Login exitoso para {}: {} (ID: {})", credencial.getRol(), credencial.getCorreo(), credencial.getUsuarioId());
+            return ResponseEntity.ok(response);
             
-            log.warn("Login fallido: usuario no encontrado: {}", loginRequest.getCorreo());
-            return ResponseEntity.status(401).body(Map.of("error", "Usuario o contraseña incorrectos"));
-            
+        } catch (ServicioSaturadoException e) {
+            log.warn("Login rechazado por saturación: {}", loginRequest.getCorreo());
+            return servicioSaturado(e);
         } catch (Exception e) {
             log.error("Error en login: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("error", "Error del sistema: " + e.getMessage()));
@@ -262,22 +225,43 @@ public class AuthController {
                 return ResponseEntity.status(401).body(Map.of("error", "No autenticado"));
             }
             
-            String correo = authentication.getName();
-            
-            // Intentar cargar como Aspirante
-            var aspirante = aspiranteRepo.findByCorreo(correo);
-            if (aspirante.isPresent()) {
-                Aspirante user = aspirante.get();
-                user.setPassword(null);
-                return ResponseEntity.ok(user);
+            // Rol e id del usuario: del token si están disponibles, si no del índice de credenciales
+            Credencial.Rol rol = null;
+            Long usuarioId = null;
+            if (authentication.getPrincipal() instanceof CustomUserDetails user && user.getUsuarioId() != null) {
+                usuarioId = user.getUsuarioId();
+                String autoridad = user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .findFirst().orElse("");
+                rol = switch (autoridad) {
+                    case "ROLE_ADMIN" -> Credencial.Rol.ADMIN;
+                    case "ROLE_ASPIRANTE" -> Credencial.Rol.ASPIRANTE;
+                    case "ROLE_RECLUTADOR" -> Credencial.Rol.RECLUTADOR;
+                    default -> null;
+                };
             }
-            
-            // Intentar cargar como Reclutador
-            var reclutador = reclutadorRepo.findByCorreo(correo);
-            if (reclutador.isPresent()) {
-                Reclutador user = reclutador.get();
-                user.setPassword(null);
-                return ResponseEntity.ok(user);
+            if (rol == null) {
+                var credencial = credencialService.buscarPorCorreo(authentication.getName());
+                if (credencial.isPresent()) {
+                    rol = credencial.get().getRol();
+                    usuarioId = credencial.get().getUsuarioId();
+                }
+            }
+
+            if (rol == Credencial.Rol.ASPIRANTE) {
+                var aspirante = aspiranteRepo.findById(usuarioId);
+                if (aspirante.isPresent()) {
+                    Aspirante user = aspirante.get();
+                    user.setPassword(null);
+                    return ResponseEntity.ok(user);
+                }
+            } else if (rol == Credencial.Rol.RECLUTADOR) {
+                var reclutador = reclutadorRepo.findById(usuarioId);
+                if (reclutador.isPresent()) {
+                    Reclutador user = reclutador.get();
+                    user.setPassword(null);
+                    return ResponseEntity.ok(user);
+                }
             }
             
             return ResponseEntity.status(404).body(Map.of("error", "Usuario no encontrado"));
@@ -287,4 +271,11 @@ public class AuthController {
             return ResponseEntity.status(500).body(Map.of("error", "Error al obtener perfil: " + e.getMessage()));
         }
     }
+
+    // 503 con Retry-After cuando el pool de hashing está saturado
+    private ResponseEntity<?> servicioSaturado(ServicioSaturadoException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSegundos()))
+            .body(Map.of("error", e.getMessage()));
+    }
 }
@@ -1,6 +1,7 @@
 package com.workable_sb.workable.controller;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -9,6 +10,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.workable_sb.workable.dto.MiCitacionDto;
+import com.workable_sb.workable.dto.ProgresoCitacionesDto;
 import com.workable_sb.workable.models.Citacion;
 import com.workable_sb.workable.service.CitacionService;
 
@@ -62,10 +65,13 @@ public class CitacionController {
             @RequestParam(required = false) String detalles,
             @RequestParam Long usuarioIdActual) {
         try {
-            Map<String, Object> resultado = citacionService.enviarCitacionesMultiples(
+            // Las citaciones quedan creadas; el aviso a los candidatos sigue en segundo plano
+            ProgresoCitacionesDto progreso = citacionService.enviarCitacionesMultiples(
                 postulacionIds, reclutadorId, fechaCitacion, hora, linkMeet, detalles, usuarioIdActual
             );
-            return ResponseEntity.ok(resultado);
+            return ResponseEntity.accepted().body(progreso);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -73,15 +79,57 @@ public class CitacionController {
         }
     }
     
+    // Agendar automáticamente: cada candidato en el siguiente hueco libre del reclutador
+    @PreAuthorize("hasAnyRole('RECLUTADOR', 'ADMIN')")
+    @PostMapping("/auto-agendar")
+    public ResponseEntity<?> autoAgendar(
+            @RequestParam List<Long> postulacionIds,
+            @RequestParam Long reclutadorId,
+            @RequestParam(required = false) LocalDateTime desde,
+            @RequestParam String linkMeet,
+            @RequestParam(required = false) String detalles,
+            @RequestParam Long usuarioIdActual) {
+        try {
+            ProgresoCitacionesDto progreso = citacionService.autoAgendar(
+                postulacionIds, reclutadorId, desde, linkMeet, detalles, usuarioIdActual
+            );
+            return ResponseEntity.accepted().body(progreso);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Error al agendar citaciones: " + e.getMessage()));
+        }
+    }
+    
+    // Avance del aviso de unas citaciones múltiples
+    @PreAuthorize("hasAnyRole('RECLUTADOR', 'ADMIN')")
+    @GetMapping("/multiples/{trabajoId}")
+    public ResponseEntity<?> obtenerProgresoCitacionesMultiples(
+            @PathVariable String trabajoId,
+            @RequestParam Long usuarioIdActual) {
+        try {
+            return ResponseEntity.ok(citacionService.obtenerProgreso(trabajoId, usuarioIdActual));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     // ===== READ =====
     
     // Obtener todas las citaciones (solo ADMIN)
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<?> obtenerTodas() {
+    public ResponseEntity<?> obtenerTodas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<Citacion> citaciones = citacionService.obtenerTodas();
-            return ResponseEntity.ok(citaciones);
+            return ResponseEntity.ok(citacionService.obtenerTodas(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Error al obtener citaciones: " + e.getMessage()));
         }
@@ -119,6 +167,27 @@ public class CitacionController {
         }
     }
     
+    // Siguiente hueco libre en la agenda del reclutador
+    @PreAuthorize("hasAnyRole('RECLUTADOR', 'ADMIN')")
+    @GetMapping("/reclutador/{reclutadorId}/siguiente-hueco")
+    public ResponseEntity<?> obtenerSiguienteHueco(
+            @PathVariable Long reclutadorId,
+            @RequestParam(required = false) LocalDateTime desde,
+            @RequestParam Long usuarioIdActual) {
+        try {
+            LocalDateTime hueco = citacionService.obtenerSiguienteHueco(reclutadorId, desde, usuarioIdActual);
+            return ResponseEntity.ok(Map.of(
+                "fechaCitacion", hueco.toLocalDate(),
+                "hora", hueco.toLocalTime(),
+                "duracionMinutos", citacionService.getDuracionCitacionMinutos()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     // Obtener citaciones del aspirante
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN')")
     @GetMapping("/aspirante/{usuarioId}")
@@ -126,7 +195,7 @@ public class CitacionController {
             @PathVariable Long usuarioId,
             @RequestParam Long usuarioIdActual) {
         try {
-            List<Citacion> citaciones = citacionService.obtenerCitacionesDelAspirante(usuarioId, usuarioIdActual);
+            List<MiCitacionDto> citaciones = citacionService.obtenerCitacionesDelAspirante(usuarioId, usuarioIdActual);
             return ResponseEntity.ok(citaciones);
         } catch (RuntimeException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
@@ -184,6 +253,8 @@ public class CitacionController {
                 "mensaje", "Estado actualizado exitosamente",
                 "nuevoEstado", citacion.getEstado()
             ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
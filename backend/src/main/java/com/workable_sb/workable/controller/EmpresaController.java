@@ -8,6 +8,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import com.workable_sb.workable.dto.PaginaCursorDto;
 import com.workable_sb.workable.models.Empresa;
 import com.workable_sb.workable.models.Reclutador;
 import com.workable_sb.workable.service.EmpresaService;
@@ -29,8 +30,10 @@ public class EmpresaController {
     // ===== ENDPOINTS PROTEGIDOS =====
     @PreAuthorize("hasAnyRole('RECLUTADOR', 'ADMIN')")
     @GetMapping
-    public ResponseEntity<List<Empresa>> listarTodas() {
-        return ResponseEntity.ok(empresaService.getAll());
+    public ResponseEntity<PaginaCursorDto<Empresa>> listarTodas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(empresaService.getAll(cursor, size));
     }
 
     // - READ by isActive
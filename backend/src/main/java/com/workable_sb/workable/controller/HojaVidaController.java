@@ -61,10 +61,13 @@ public class HojaVidaController {
 
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN')")
     @GetMapping
-    public ResponseEntity<?> obtenerTodas() {
+    public ResponseEntity<?> obtenerTodas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<HojaVida> hojasVida = hojaVidaService.obtenerTodasLasHojasVida();
-            return ResponseEntity.ok(hojasVida);
+            return ResponseEntity.ok(hojaVidaService.obtenerTodasLasHojasVida(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Error al obtener hojas de vida: " + e.getMessage()));
         }
@@ -1,16 +1,23 @@
 package com.workable_sb.workable.controller;
 
+import com.workable_sb.workable.dto.DestinatarioNotificacion;
 import com.workable_sb.workable.models.Notificacion;
+import com.workable_sb.workable.service.CanalNotificaciones;
 import com.workable_sb.workable.service.NotificacionService;
 import com.workable_sb.workable.security.CustomUserDetails;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -21,10 +28,15 @@ public class NotificacionController {
     @Autowired
     private NotificacionService notificacionService;
 
+    @Autowired
+    private CanalNotificaciones canalNotificaciones;
+
     // ===== READ notificaciones del aspirante actual =====
     @PreAuthorize("hasRole('ASPIRANTE')")
     @GetMapping("/aspirante")
-    public ResponseEntity<?> getNotificacionesAspirante() {
+    public ResponseEntity<?> getNotificacionesAspirante(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             Long usuarioId = null;
@@ -38,12 +50,41 @@ public class NotificacionController {
                 return ResponseEntity.status(401).body(Map.of("error", "No se pudo obtener el usuario del token"));
             }
             
-            return ResponseEntity.ok(notificacionService.getByUsuario(usuarioId));
+            return ResponseEntity.ok(notificacionService.getByUsuario(
+                    DestinatarioNotificacion.aspirante(usuarioId), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
 
+    // ===== TIMELINE del usuario actual (incluye las archivadas), paginado por cursor =====
+    // Es el único listado que muestra las notificaciones movidas a notificacion_archivada
+    @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR')")
+    @GetMapping("/timeline")
+    public ResponseEntity<?> getTimeline(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        try {
+            return ResponseEntity.ok(notificacionService.getTimeline(destinatario(user), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ===== STREAM SSE: notificaciones nuevas y contador de no leídas =====
+    // Al reconectar, EventSource envía Last-Event-ID y se reenvían las notificaciones posteriores
+    @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR')")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId,
+                             @AuthenticationPrincipal CustomUserDetails user) {
+        return canalNotificaciones.conectar(destinatario(user), ultimoEventoId);
+    }
+
     // ===== UPDATE marcar como leída (PUT) =====
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN')")
     @PutMapping("/{id}/marcar-leida")
@@ -96,12 +137,16 @@ public class NotificacionController {
     // ===== READ by usuario (Aspirante o Reclutador) =====
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN')")
     @GetMapping("/usuario/{usuarioId}")
-    public ResponseEntity<?> getByUsuario(@PathVariable Long usuarioId, @RequestParam Long usuarioIdActual) {
+    public ResponseEntity<?> getByUsuario(@PathVariable Long usuarioId, @RequestParam Long usuarioIdActual,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size) {
         try {
             if (!usuarioId.equals(usuarioIdActual)) {
                 return ResponseEntity.status(403).body(Map.of("error", "No puedes ver notificaciones de otro usuario"));
             }
-            return ResponseEntity.ok(notificacionService.getByUsuario(usuarioId));
+            return ResponseEntity.ok(notificacionService.getByUsuario(usuarioId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -110,9 +155,13 @@ public class NotificacionController {
     // ===== READ todas las notificaciones =====
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN')")
     @GetMapping
-    public ResponseEntity<?> getAll() {
+    public ResponseEntity<?> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            return ResponseEntity.ok(notificacionService.getAll());
+            return ResponseEntity.ok(notificacionService.getAll(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -121,12 +170,16 @@ public class NotificacionController {
     // ===== READ by usuario and leida =====
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN')")
     @GetMapping("/usuario/{usuarioId}/leida")
-    public ResponseEntity<?> getByUsuarioAndLeida(@PathVariable Long usuarioId, @RequestParam Boolean leida, @RequestParam Long usuarioIdActual) {
+    public ResponseEntity<?> getByUsuarioAndLeida(@PathVariable Long usuarioId, @RequestParam Boolean leida, @RequestParam Long usuarioIdActual,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int size) {
         try {
             if (!usuarioId.equals(usuarioIdActual)) {
                 return ResponseEntity.status(403).body(Map.of("error", "No tienes permisos"));
             }
-            return ResponseEntity.ok(notificacionService.getByUsuarioAndLeida(usuarioId, leida));
+            return ResponseEntity.ok(notificacionService.getByUsuarioAndLeida(usuarioId, leida, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -135,12 +188,16 @@ public class NotificacionController {
     // ===== READ by usuario and tipo =====
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN')")
     @GetMapping("/usuario/{usuarioId}/tipo")
-    public ResponseEntity<?> getByUsuarioAndTipo(@PathVariable Long usuarioId, @RequestParam Notificacion.Tipo tipo, @RequestParam Long usuarioIdActual) {
+    public ResponseEntity<?> getByUsuarioAndTipo(@PathVariable Long usuarioId, @RequestParam Notificacion.Tipo tipo, @RequestParam Long usuarioIdActual,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int size) {
         try {
             if (!usuarioId.equals(usuarioIdActual)) {
                 return ResponseEntity.status(403).body(Map.of("error", "No tienes permisos"));
             }
-            return ResponseEntity.ok(notificacionService.getByUsuarioAndTipo(usuarioId, tipo));
+            return ResponseEntity.ok(notificacionService.getByUsuarioAndTipo(usuarioId, tipo, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -163,12 +220,13 @@ public class NotificacionController {
     // ===== READ contar no leidas =====
     @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR', 'ADMIN')")
     @GetMapping("/usuario/{usuarioId}/no-leidas")
-    public ResponseEntity<?> contarNoLeidas(@PathVariable Long usuarioId, @RequestParam Long usuarioIdActual) {
+    public ResponseEntity<?> contarNoLeidas(@PathVariable Long usuarioId, @AuthenticationPrincipal CustomUserDetails user) {
         try {
-            if (!usuarioId.equals(usuarioIdActual)) {
+            // Solo el propio usuario; el contador se busca por el usuario autenticado, no por el id de la ruta
+            if (!usuarioId.equals(user.getUsuarioId())) {
                 return ResponseEntity.status(403).body(Map.of("error", "No tienes permisos"));
             }
-            return ResponseEntity.ok(notificacionService.contarNoLeidas(usuarioId));
+            return ResponseEntity.ok(notificacionService.contarNoLeidas(destinatario(user)));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -210,8 +268,58 @@ public class NotificacionController {
             if (!usuarioId.equals(usuarioIdActual)) {
                 return ResponseEntity.status(403).body(Map.of("error", "No tienes permisos"));
             }
-            notificacionService.marcarTodasComoLeidas(usuarioId);
-            return ResponseEntity.ok(Map.of("message", "Todas las notificaciones marcadas como leídas"));
+            int actualizadas = notificacionService.marcarTodasComoLeidas(usuarioId);
+            return ResponseEntity.ok(Map.of("message", "Todas las notificaciones marcadas como leídas",
+                                            "actualizadas", actualizadas));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ===== OPERACIONES MASIVAS del usuario actual (una sentencia, devuelven filas afectadas) =====
+    @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR')")
+    @PatchMapping("/leidas")
+    public ResponseEntity<?> marcarMisNotificacionesComoLeidas(@AuthenticationPrincipal CustomUserDetails user) {
+        try {
+            int actualizadas = notificacionService.marcarTodasComoLeidas(destinatario(user));
+            return ResponseEntity.ok(Map.of("actualizadas", actualizadas));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR')")
+    @PatchMapping("/leidas/tipo")
+    public ResponseEntity<?> marcarComoLeidasPorTipo(@RequestParam Notificacion.Tipo tipo,
+                                                     @AuthenticationPrincipal CustomUserDetails user) {
+        try {
+            int actualizadas = notificacionService.marcarComoLeidasPorTipo(destinatario(user), tipo);
+            return ResponseEntity.ok(Map.of("actualizadas", actualizadas));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR')")
+    @DeleteMapping("/leidas")
+    public ResponseEntity<?> eliminarLeidas(@AuthenticationPrincipal CustomUserDetails user) {
+        try {
+            int eliminadas = notificacionService.eliminarLeidas(destinatario(user));
+            return ResponseEntity.ok(Map.of("eliminadas", eliminadas));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Desactiva las notificaciones creadas antes de la fecha indicada (yyyy-MM-dd)
+    @PreAuthorize("hasAnyRole('ASPIRANTE', 'RECLUTADOR')")
+    @PatchMapping("/desactivar")
+    public ResponseEntity<?> desactivarAnterioresA(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate antesDe,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        try {
+            int desactivadas = notificacionService.desactivarAnterioresA(destinatario(user), antesDe);
+            return ResponseEntity.ok(Map.of("desactivadas", desactivadas));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -230,4 +338,13 @@ public class NotificacionController {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
+
+    // Receptor de las notificaciones del usuario autenticado según su rol
+    private static DestinatarioNotificacion destinatario(CustomUserDetails user) {
+        boolean esAspirante = user.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ASPIRANTE"));
+        return esAspirante
+                ? DestinatarioNotificacion.aspirante(user.getUsuarioId())
+                : DestinatarioNotificacion.reclutador(user.getUsuarioId());
+    }
 }
@@ -1,6 +1,10 @@
 
 package com.workable_sb.workable.controller;
 
+import com.workable_sb.workable.dto.BusquedaOfertasDto;
+import com.workable_sb.workable.dto.FiltroOfertaDto;
+import com.workable_sb.workable.dto.OfertaResumenDto;
+import com.workable_sb.workable.dto.PaginaCursorDto;
 import com.workable_sb.workable.models.Oferta;
 import com.workable_sb.workable.models.Postulacion;
 import com.workable_sb.workable.models.Postulacion.Estado;
@@ -9,6 +13,7 @@ import com.workable_sb.workable.service.PostulacionService;
 import com.workable_sb.workable.security.CustomUserDetails;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -41,8 +46,10 @@ public class OfertaController {
 
     // - READ all
     @GetMapping
-    public ResponseEntity<List<Oferta>> listarTodas() {
-        return ResponseEntity.ok(ofertaService.listarTodas());
+    public ResponseEntity<PaginaCursorDto<Oferta>> listarTodas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ofertaService.listarTodas(cursor, size));
     }
 
     // - READ by empresa
@@ -59,7 +66,7 @@ public class OfertaController {
 
     // - READ abiertas
     @GetMapping("/abiertas")
-    public ResponseEntity<List<Oferta>> listarAbiertas() {
+    public ResponseEntity<List<OfertaResumenDto>> listarAbiertas() {
         return ResponseEntity.ok(ofertaService.listarAbiertas());
     }
 
@@ -84,8 +91,23 @@ public class OfertaController {
 
     // - READ buscar por texto
     @GetMapping("/buscar")
-    public ResponseEntity<List<Oferta>> buscarPorTexto(@RequestParam String texto) {
-        return ResponseEntity.ok(ofertaService.buscarPorTexto(texto));
+    public ResponseEntity<Page<Oferta>> buscarPorTexto(
+            @RequestParam(required = false) String texto,
+            @RequestParam(required = false) String titulo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        // El frontend envía el término como "titulo"
+        String consulta = texto != null ? texto : titulo;
+        return ResponseEntity.ok(ofertaService.buscarPorTexto(consulta, page, size));
+    }
+
+    // - READ búsqueda facetada (filtros combinables + conteos por faceta)
+    @GetMapping("/search")
+    public ResponseEntity<BusquedaOfertasDto> buscarConFacetas(
+            @ModelAttribute FiltroOfertaDto filtro,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ofertaService.buscarConFacetas(filtro, page, size));
     }
 
     // - UPDATE (solo reclutadores de la empresa)
@@ -147,15 +169,17 @@ public class OfertaController {
     // STAGE 3: FILTRAR CANDIDATOS POR EXPERIENCIA Y EDUCACIÓN
     @PreAuthorize("hasAnyRole('RECLUTADOR', 'ADMIN')")
     @GetMapping("/{ofertaId}/candidatos/filtrar")
-    public ResponseEntity<List<Postulacion>> filtrarCandidatosPorCriterios(
+    public ResponseEntity<Page<Postulacion>> filtrarCandidatosPorCriterios(
             @PathVariable Long ofertaId,
             @RequestParam(required = false) String nivelEducativo,
             @RequestParam(required = false) Integer aniosExperienciaMinimo,
             @RequestParam(required = false) String cargoExperiencia,
             @RequestParam(required = false) String municipio,
             @RequestParam(required = false) String habilidad,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
             @AuthenticationPrincipal CustomUserDetails user) {
-        return ResponseEntity.ok(postulacionService.filtrarCandidatosPorCriterios(ofertaId, nivelEducativo, aniosExperienciaMinimo, cargoExperiencia, municipio, habilidad, user.getUsuarioId()));
+        return ResponseEntity.ok(postulacionService.filtrarCandidatosPorCriterios(ofertaId, nivelEducativo, aniosExperienciaMinimo, cargoExperiencia, municipio, habilidad, page, size, user.getUsuarioId()));
     }
 
     // STAGE 4: CLASIFICAR CANDIDATOS POR ETAPA DEL PROCESO
@@ -1,5 +1,7 @@
 package com.workable_sb.workable.controller;
 
+import com.workable_sb.workable.dto.CandidatoResumenDto;
+import com.workable_sb.workable.dto.MiPostulacionDto;
 import com.workable_sb.workable.models.Postulacion;
 import com.workable_sb.workable.models.Postulacion.Estado;
 import com.workable_sb.workable.service.PostulacionService;
@@ -76,7 +78,7 @@ public class PostulacionController {
     @GetMapping("/usuario/{usuarioId}")
     public ResponseEntity<?> getByAspirante(@PathVariable Long usuarioId, @RequestParam Long usuarioIdActual) {
         try {
-            List<Postulacion> postulaciones = postulacionService.listarPorAspirante(usuarioId, usuarioIdActual);
+            List<MiPostulacionDto> postulaciones = postulacionService.listarPorAspirante(usuarioId, usuarioIdActual);
             return ResponseEntity.ok(postulaciones);
         } catch (IllegalStateException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
@@ -108,7 +110,7 @@ public class PostulacionController {
     @GetMapping("/usuario/{usuarioId}/estado")
     public ResponseEntity<?> getByUsuarioYEstado(@PathVariable Long usuarioId, @RequestParam Estado estado, @RequestParam Long usuarioIdActual) {
         try {
-            List<Postulacion> postulaciones = postulacionService.listarPorAspiranteYEstado(usuarioId, estado, usuarioIdActual);
+            List<MiPostulacionDto> postulaciones = postulacionService.listarPorAspiranteYEstado(usuarioId, estado, usuarioIdActual);
             return ResponseEntity.ok(postulaciones);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Error al obtener postulaciones: " + e.getMessage()));
@@ -180,7 +182,7 @@ public class PostulacionController {
     @GetMapping("/mis-postulaciones")
     public ResponseEntity<?> miasPostulaciones(@RequestParam Long usuarioId) {
         try {
-            List<Postulacion> postulaciones = postulacionService.listarPorAspirante(usuarioId, usuarioId);
+            List<MiPostulacionDto> postulaciones = postulacionService.listarPorAspirante(usuarioId, usuarioId);
             return ResponseEntity.ok(postulaciones);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Error al obtener postulaciones: " + e.getMessage()));
@@ -193,7 +195,7 @@ public class PostulacionController {
     public ResponseEntity<?> obtenerPostulacionesAspirante(@AuthenticationPrincipal CustomUserDetails user) {
         try {
             Long usuarioId = user.getUsuarioId();
-            List<Postulacion> postulaciones = postulacionService.listarPorAspirante(usuarioId, usuarioId);
+            List<MiPostulacionDto> postulaciones = postulacionService.listarPorAspirante(usuarioId, usuarioId);
             return ResponseEntity.ok(postulaciones);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Error al obtener postulaciones: " + e.getMessage()));
@@ -223,7 +225,7 @@ public class PostulacionController {
     @GetMapping("/oferta/{ofertaId}/aspirantes")
     public ResponseEntity<?> verAspirantes(@PathVariable Long ofertaId, @RequestParam Long usuarioIdActual) {
         try {
-            List<Map<String, Object>> aspirantes = postulacionService.obtenerTodosLosAspirantes(ofertaId, usuarioIdActual);
+            List<CandidatoResumenDto> aspirantes = postulacionService.obtenerTodosLosAspirantes(ofertaId, usuarioIdActual);
             return ResponseEntity.ok(aspirantes);
         } catch (IllegalStateException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
@@ -239,7 +241,7 @@ public class PostulacionController {
     @GetMapping("/oferta/{ofertaId}/aspirantes/filtro")
     public ResponseEntity<?> verAspirantesPorEstado(@PathVariable Long ofertaId, @RequestParam(required = false) String estado, @RequestParam Long usuarioIdActual) {
         try {
-            List<Map<String, Object>> aspirantes = postulacionService.obtenerAspirantes(ofertaId, usuarioIdActual, estado);
+            List<CandidatoResumenDto> aspirantes = postulacionService.obtenerAspirantes(ofertaId, usuarioIdActual, estado);
             return ResponseEntity.ok(aspirantes);
         } catch (IllegalStateException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.workable_sb.workable.models.Reclutador;
 import com.workable_sb.workable.security.CustomUserDetails;
+import com.workable_sb.workable.service.PasswordHashService;
 import com.workable_sb.workable.service.ReclutadorService;
 
 import java.util.List;
@@ -20,9 +21,14 @@ public class ReclutadorController {
     @Autowired
     private ReclutadorService reclutadorService;
 
+    @Autowired
+    private PasswordHashService passwordHashService;
+
     // ===== CREATE =====
     @PostMapping
     public ResponseEntity<?> crearReclutador(@RequestBody Reclutador reclutador) {
+        // Hash antes de cualquier consulta (ver PasswordHashService.encodeSiPresente)
+        reclutador.setPassword(passwordHashService.encodeSiPresente(reclutador.getPassword()));
         try {
             Reclutador nuevoReclutador = reclutadorService.crearReclutador(reclutador);
             return ResponseEntity.status(201).body(nuevoReclutador);
@@ -116,6 +122,7 @@ public class ReclutadorController {
     @PreAuthorize("hasAnyRole('RECLUTADOR', 'ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<?> actualizarReclutador(@PathVariable Long id, @RequestBody Reclutador reclutador, @RequestParam Long reclutadorIdActual) {
+        reclutador.setPassword(passwordHashService.encodeSiPresente(reclutador.getPassword()));
         try {
             Reclutador reclutadorActualizado = reclutadorService.actualizar(id, reclutador, reclutadorIdActual);
             return ResponseEntity.ok(reclutadorActualizado);
@@ -132,6 +139,7 @@ public class ReclutadorController {
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/admin/{id}")
     public ResponseEntity<?> actualizarReclutadorAdmin(@PathVariable Long id, @RequestBody Reclutador reclutador) {
+        reclutador.setPassword(passwordHashService.encodeSiPresente(reclutador.getPassword()));
         try {
             Reclutador reclutadorActualizado = reclutadorService.update(id, reclutador);
             return ResponseEntity.ok(reclutadorActualizado);
@@ -0,0 +1,17 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Citación creada en lote cuyo aviso al candidato (alerta y correo) no llegó a confirmarse,
+ * leída con lo necesario para reenviarlo: candidato, oferta, turno y datos comunes del envío.
+ */
+public record AvisoCitacionFila(Long citacionId, Long postulacionId, Long aspiranteId, String nombreCandidato,
+        String correo, String ofertaTitulo, LocalDate fechaCitacion, String hora, String linkMeet,
+        String detalles, String nombreReclutador) {
+
+    public CitacionLoteFila comoLoteFila() {
+        return new CitacionLoteFila(postulacionId, aspiranteId, nombreCandidato, correo, ofertaTitulo,
+            citacionId, fechaCitacion, hora);
+    }
+}
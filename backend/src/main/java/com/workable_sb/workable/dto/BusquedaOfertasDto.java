@@ -0,0 +1,23 @@
+package com.workable_sb.workable.dto;
+
+import java.util.Map;
+
+import org.springframework.data.web.PagedModel;
+
+import com.workable_sb.workable.models.Oferta;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BusquedaOfertasDto {
+
+    // Página de ofertas que cumplen todos los filtros
+    private PagedModel<Oferta> resultados;
+
+    // faceta -> valor -> número de ofertas
+    private Map<String, Map<String, Integer>> facetas;
+}
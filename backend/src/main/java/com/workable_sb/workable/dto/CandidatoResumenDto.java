@@ -0,0 +1,25 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila del listado de candidatos de una oferta (proyección JPQL, sin cargar entidades).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidatoResumenDto {
+
+    private Long postulacionId;
+    private Long aspiranteId;
+    private String nombre; // nombre + apellido
+    private String correo;
+    private Estado estado;
+    private LocalDate fechaPostulacion;
+}
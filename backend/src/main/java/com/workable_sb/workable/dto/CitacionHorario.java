@@ -0,0 +1,9 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Fecha y hora de una citación, para cargar la agenda de un reclutador sin las entidades.
+ */
+public record CitacionHorario(Long id, LocalDate fechaCitacion, String hora) {
+}
@@ -0,0 +1,20 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Datos de una postulación para crear su citación en lote y avisar al candidato,
+ * leídos en una sola consulta. Los datos de la citación se completan al guardarla.
+ */
+public record CitacionLoteFila(Long postulacionId, Long aspiranteId, String nombreCandidato, String correo,
+        String ofertaTitulo, Long citacionId, LocalDate fechaCitacion, String hora) {
+
+    public CitacionLoteFila(Long postulacionId, Long aspiranteId, String nombreCandidato, String correo,
+            String ofertaTitulo) {
+        this(postulacionId, aspiranteId, nombreCandidato, correo, ofertaTitulo, null, null, null);
+    }
+
+    public CitacionLoteFila conCitacion(Long id, LocalDate fecha, String horaCitacion) {
+        return new CitacionLoteFila(postulacionId, aspiranteId, nombreCandidato, correo, ofertaTitulo, id, fecha, horaCitacion);
+    }
+}
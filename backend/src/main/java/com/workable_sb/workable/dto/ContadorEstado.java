@@ -0,0 +1,10 @@
+package com.workable_sb.workable.dto;
+
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+/**
+ * Recuento real de postulaciones de una oferta en un estado, con la suma de los días
+ * epoch de creación. Se compara con postulacion_stats para detectar desviaciones.
+ */
+public record ContadorEstado(Long ofertaId, Estado estado, Long cantidad, Long sumaDiasCreacion) {
+}
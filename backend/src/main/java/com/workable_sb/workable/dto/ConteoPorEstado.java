@@ -0,0 +1,10 @@
+package com.workable_sb.workable.dto;
+
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+/**
+ * Fila de la agregación de postulaciones de una oferta por estado.
+ * Con la oferta sin postulaciones llega una única fila con estado null y cantidad 0.
+ */
+public record ConteoPorEstado(String ofertaTitulo, Estado estado, Long cantidad, Long diasAcumulados) {
+}
@@ -0,0 +1,59 @@
+package com.workable_sb.workable.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de continuación para la paginación por clave (keyset): valor de la clave de
+ * ordenación y id de la última fila devuelta. Viaja al cliente como un token opaco.
+ */
+public record CursorPaginacion(String clave, Long id) {
+
+    public static final int TAMANO_POR_DEFECTO = 20;
+    public static final int MAX_TAMANO = 100;
+
+    private static final char SEPARADOR = '|';
+
+    public static CursorPaginacion de(Object clave, Long id) {
+        return new CursorPaginacion(clave != null ? clave.toString() : "", id);
+    }
+
+    /**
+     * Decodifica un token recibido del cliente. Devuelve null si no hay token (primera página).
+     */
+    public static CursorPaginacion decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int corte = valor.lastIndexOf(SEPARADOR);
+            if (corte < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new CursorPaginacion(valor.substring(0, corte), Long.valueOf(valor.substring(corte + 1)));
+        } catch (IllegalArgumentException e) {
+            // Incluye NumberFormatException y Base64 mal formado
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public static int tamanoEfectivo(int tamano) {
+        return Math.min(Math.max(tamano, 1), MAX_TAMANO);
+    }
+
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((clave + SEPARADOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate claveComoFecha() {
+        try {
+            return LocalDate.parse(clave);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
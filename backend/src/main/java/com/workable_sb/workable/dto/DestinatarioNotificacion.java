@@ -0,0 +1,29 @@
+package com.workable_sb.workable.dto;
+
+import com.workable_sb.workable.models.Notificacion;
+
+/**
+ * Receptor de una notificación. Aspirantes y reclutadores tienen ids independientes,
+ * así que el id solo identifica al usuario junto con su tipo.
+ */
+public record DestinatarioNotificacion(Tipo tipo, Long id) {
+
+    public enum Tipo {
+        ASPIRANTE,
+        RECLUTADOR
+    }
+
+    public static DestinatarioNotificacion aspirante(Long id) {
+        return new DestinatarioNotificacion(Tipo.ASPIRANTE, id);
+    }
+
+    public static DestinatarioNotificacion reclutador(Long id) {
+        return new DestinatarioNotificacion(Tipo.RECLUTADOR, id);
+    }
+
+    public static DestinatarioNotificacion de(Notificacion notificacion) {
+        return notificacion.getAspirante() != null
+            ? aspirante(notificacion.getAspirante().getId())
+            : reclutador(notificacion.getReclutador().getId());
+    }
+}
@@ -0,0 +1,15 @@
+package com.workable_sb.workable.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+/**
+ * Distribución de estados y tasas de transición de las postulaciones de una oferta.
+ * Los tiempos salen del historial de eventos (postulacion_evento).
+ */
+public record EstadisticasCambiosEstadoDto(Long ofertaId, String nombreOferta, long totalCambios,
+        Map<Estado, Long> cambiosPorEstado, Map<String, String> transicionesFrecuentes,
+        Map<String, String> velocidadPromedio, List<TiempoEnEtapaDto> tiempoEnEtapa) {
+}
@@ -0,0 +1,54 @@
+package com.workable_sb.workable.dto;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+/**
+ * Conteos y días acumulados por estado de las postulaciones de una oferta,
+ * obtenidos con una sola consulta GROUP BY. Los cálculos usan división entera,
+ * igual que los listados originales.
+ */
+public record EstadisticasOferta(Long ofertaId, String ofertaTitulo,
+        Map<Estado, Long> cantidades, Map<Estado, Long> diasAcumulados) {
+
+    public static EstadisticasOferta de(Long ofertaId, List<ConteoPorEstado> filas) {
+        Map<Estado, Long> cantidades = new EnumMap<>(Estado.class);
+        Map<Estado, Long> dias = new EnumMap<>(Estado.class);
+        for (Estado estado : Estado.values()) {
+            cantidades.put(estado, 0L);
+            dias.put(estado, 0L);
+        }
+        String titulo = null;
+        for (ConteoPorEstado fila : filas) {
+            titulo = fila.ofertaTitulo();
+            if (fila.estado() != null) {
+                cantidades.put(fila.estado(), fila.cantidad());
+                dias.put(fila.estado(), fila.diasAcumulados() != null ? fila.diasAcumulados() : 0L);
+            }
+        }
+        return new EstadisticasOferta(ofertaId, titulo, cantidades, dias);
+    }
+
+    public long total() {
+        return cantidades.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long cantidad(Estado estado) {
+        return cantidades.get(estado);
+    }
+
+    // Porcentaje entero de una parte sobre el total de postulaciones
+    public long porcentaje(long parte) {
+        long total = total();
+        return total > 0 ? (parte * 100) / total : 0;
+    }
+
+    // Días promedio desde la postulación para las que siguen en el estado indicado
+    public long diasPromedio(Estado estado) {
+        long cantidad = cantidad(estado);
+        return cantidad > 0 ? diasAcumulados.get(estado) / cantidad : 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.workable_sb.workable.dto;
+
+import java.util.List;
+
+/**
+ * Estadísticas de progresión del proceso de selección de una oferta.
+ */
+public record EstadisticasProcesoDto(Long ofertaId, String ofertaTitulo,
+        Estadisticas estadisticas, List<CanalDatos> canaloDatos) {
+
+    public record Estadisticas(long totalPostulaciones, String tasaAceptacion, String tasaRechazo,
+            String enProceso, TiempoPromedio tiempoPromedio) {
+    }
+
+    // Días promedio en cada etapa
+    public record TiempoPromedio(long enRevision, long enEntrevista, long total) {
+    }
+
+    // Paso del embudo de conversión
+    public record CanalDatos(int etapa, String nombre, long candidatos, String tasaProgresion) {
+    }
+}
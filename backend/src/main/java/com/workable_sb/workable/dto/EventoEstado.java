@@ -0,0 +1,11 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDateTime;
+
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+/**
+ * Fila ligera del historial de estados usada para calcular tiempos por etapa.
+ */
+public record EventoEstado(Long postulacionId, Estado estadoAnterior, Estado estadoNuevo, LocalDateTime fecha) {
+}
@@ -0,0 +1,34 @@
+package com.workable_sb.workable.dto;
+
+import java.util.List;
+
+import com.workable_sb.workable.models.Aspirante.HabilidadEnum;
+import com.workable_sb.workable.models.Oferta.Beneficio;
+import com.workable_sb.workable.models.Oferta.EstadoOferta;
+import com.workable_sb.workable.models.Oferta.Modalidad;
+import com.workable_sb.workable.models.Oferta.NivelExperiencia;
+import com.workable_sb.workable.models.Oferta.TipoContrato;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros de la búsqueda facetada de ofertas (parámetros de consulta repetibles).
+ * Varios valores de una misma faceta se combinan con OR, salvo beneficios y
+ * habilidades, donde la oferta debe tenerlos todos. Sin estado se buscan solo ofertas abiertas.
+ */
+@Data
+@NoArgsConstructor
+public class FiltroOfertaDto {
+
+    private List<EstadoOferta> estado;
+    private List<Modalidad> modalidad;
+    private List<Long> municipio;
+    private List<Long> empresa;
+    private List<TipoContrato> tipoContrato;
+    private List<NivelExperiencia> nivelExperiencia;
+    private Long salarioMin;
+    private Long salarioMax;
+    private List<Beneficio> beneficios;
+    private List<HabilidadEnum> habilidadesRequeridas;
+}
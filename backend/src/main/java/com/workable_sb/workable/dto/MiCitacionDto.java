@@ -0,0 +1,32 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+import com.workable_sb.workable.models.Citacion.Estado;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Citación vista por el aspirante, con oferta, empresa y reclutador aplanados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MiCitacionDto {
+
+    private Long id;
+    private LocalDate fechaCitacion;
+    private String hora;
+    private String linkMeet;
+    private String detallesCitacion;
+    private Estado estado;
+    private String observaciones;
+
+    private Long postulacionId;
+    private Long ofertaId;
+    private String ofertaTitulo;
+    private String empresa;
+    private String reclutador; // nombre + apellido, null si no hay reclutador
+}
@@ -0,0 +1,33 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+import com.workable_sb.workable.models.Oferta.EstadoOferta;
+import com.workable_sb.workable.models.Oferta.Modalidad;
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Postulación vista por el aspirante, con los datos de la oferta ya aplanados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MiPostulacionDto {
+
+    private Long id;
+    private Estado estado;
+    private LocalDate fechaPostulacion;
+
+    // Información de la oferta
+    private Long ofertaId;
+    private String ofertaTitulo;
+    private EstadoOferta ofertaEstado;
+    private Modalidad modalidad;
+    private Long empresaId;
+    private String ofertaEmpresa;
+    private String municipio;
+}
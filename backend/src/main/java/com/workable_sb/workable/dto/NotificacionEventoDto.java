@@ -0,0 +1,17 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+import com.workable_sb.workable.models.Notificacion;
+
+/**
+ * Notificación tal como viaja por el canal SSE (sin las entidades del receptor).
+ */
+public record NotificacionEventoDto(Long id, Notificacion.Tipo tipo, String titulo, String mensaje, String url,
+        LocalDate fechaCreacion, Boolean leida) {
+
+    public static NotificacionEventoDto de(Notificacion n) {
+        return new NotificacionEventoDto(n.getId(), n.getTipo(), n.getTitulo(), n.getMensaje(), n.getUrl(),
+            n.getFechaCreacion(), n.getLeida());
+    }
+}
@@ -0,0 +1,37 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+import com.workable_sb.workable.models.Oferta.Modalidad;
+import com.workable_sb.workable.models.Oferta.NivelExperiencia;
+import com.workable_sb.workable.models.Oferta.TipoContrato;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Oferta para listados públicos: solo los campos de la tarjeta, con empresa y municipio aplanados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfertaResumenDto {
+
+    private Long id;
+    private String titulo;
+    private String descripcion;
+    private Long salario;
+    private Integer numeroVacantes;
+    private Modalidad modalidad;
+    private TipoContrato tipoContrato;
+    private NivelExperiencia nivelExperiencia;
+    private LocalDate fechaPublicacion;
+    private LocalDate fechaLimite;
+
+    private Long empresaId;
+    private String empresaNombre;
+    private String empresaLogoUrl;
+    private Long municipioId;
+    private String municipioNombre;
+}
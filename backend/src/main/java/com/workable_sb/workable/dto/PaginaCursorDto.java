@@ -0,0 +1,34 @@
+package com.workable_sb.workable.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página de una paginación por clave. Para pedir la siguiente se envía
+ * siguienteCursor como parámetro "cursor"; es null en la última página.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDto<T> {
+
+    private List<T> contenido;
+    private int tamano;
+    private boolean hayMas;
+    private String siguienteCursor;
+
+    /**
+     * Construye la página a partir de una consulta que pidió tamano + 1 filas:
+     * la fila extra solo indica que hay más resultados y no se devuelve.
+     */
+    public static <T> PaginaCursorDto<T> de(List<T> filas, int tamano, Function<T, CursorPaginacion> cursorDe) {
+        boolean hayMas = filas.size() > tamano;
+        List<T> contenido = hayMas ? List.copyOf(filas.subList(0, tamano)) : filas;
+        String siguiente = hayMas ? cursorDe.apply(contenido.get(contenido.size() - 1)).codificar() : null;
+        return new PaginaCursorDto<>(contenido, tamano, hayMas, siguiente);
+    }
+}
@@ -0,0 +1,13 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDate;
+
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+/**
+ * Datos mínimos de una postulación para validar y aplicar un cambio de estado en lote
+ * y para notificar al candidato, leídos en una sola consulta.
+ */
+public record PostulacionLoteFila(Long id, Estado estado, LocalDate fechaCreacion, Long aspiranteId,
+        String nombreCandidato, String correo, String ofertaTitulo) {
+}
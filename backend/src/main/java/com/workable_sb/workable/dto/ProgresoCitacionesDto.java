@@ -0,0 +1,12 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estado de un envío de citaciones múltiples para consultar su avance.
+ * creadas son las citaciones guardadas; avisadas, las que ya tienen correo y alerta.
+ */
+public record ProgresoCitacionesDto(String trabajoId, String estado, int total, int creadas, int avisadas,
+        List<String> errores, LocalDateTime inicio, LocalDateTime fin) {
+}
@@ -0,0 +1,11 @@
+package com.workable_sb.workable.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos de una citación próxima para enviar su recordatorio (alerta y correo),
+ * leídos en una sola consulta junto con el candidato, la oferta y el reclutador.
+ */
+public record RecordatorioCitacionFila(Long citacionId, Long aspiranteId, String nombreCandidato, String correo,
+        String ofertaTitulo, LocalDateTime inicio, String linkMeet, String nombreReclutador) {
+}
@@ -0,0 +1,16 @@
+package com.workable_sb.workable.dto;
+
+import java.util.List;
+
+/**
+ * Resumen de candidatos de una oferta por etapa del proceso.
+ */
+public record ResumenEtapasDto(Long ofertaId, String ofertaTitulo, long totalCandidatos,
+        List<Etapa> etapas, ResumenConversion resumenConversion) {
+
+    public record Etapa(String etapa, String nombre, long cantidad, long porcentaje, String color) {
+    }
+
+    public record ResumenConversion(String tasaConversion, long candidatosEnProceso, long candidatosFinalizados) {
+    }
+}
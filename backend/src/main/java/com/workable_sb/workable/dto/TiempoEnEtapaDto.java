@@ -0,0 +1,8 @@
+package com.workable_sb.workable.dto;
+
+/**
+ * Tiempo que las postulaciones de una oferta pasan en una etapa, en días.
+ * Incluye las estancias aún abiertas (medidas hasta ahora).
+ */
+public record TiempoEnEtapaDto(String etapa, long muestras, double promedioDias, double p50Dias, double p90Dias) {
+}
@@ -0,0 +1,139 @@
+package com.workable_sb.workable.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+/**
+ * Tiempos por etapa de una oferta calculados a partir de postulacion_evento.
+ * Las duraciones se guardan en minutos y se exponen en días con un decimal.
+ * Las estancias abiertas en PENDIENTE o ENTREVISTA_PROGRAMADA se miden hasta ahora;
+ * las de estados finales no cuentan.
+ */
+public record TiemposEtapa(Map<Estado, List<Long>> estancias, Map<String, List<Long>> transiciones,
+        List<Long> procesos, long totalCambios) {
+
+    private static final double MINUTOS_DIA = 24 * 60;
+
+    /**
+     * @param eventos eventos de la oferta ordenados por postulación y fecha
+     */
+    public static TiemposEtapa de(List<EventoEstado> eventos, LocalDateTime ahora) {
+        Map<Estado, List<Long>> estancias = new EnumMap<>(Estado.class);
+        Map<String, List<Long>> transiciones = new HashMap<>();
+        List<Long> procesos = new ArrayList<>();
+        long totalCambios = 0;
+
+        EventoEstado anterior = null;
+        LocalDateTime alta = null;
+        boolean finalizado = false;
+        for (EventoEstado evento : eventos) {
+            if (anterior != null && !anterior.postulacionId().equals(evento.postulacionId())) {
+                cerrarAbierta(estancias, anterior, ahora);
+                anterior = null;
+                alta = null;
+                finalizado = false;
+            }
+            if (anterior != null && anterior.estadoNuevo() != null) {
+                long minutos = minutos(anterior.fecha(), evento.fecha());
+                estancias.computeIfAbsent(anterior.estadoNuevo(), e -> new ArrayList<>()).add(minutos);
+                if (evento.estadoNuevo() != null) {
+                    transiciones.computeIfAbsent(clave(anterior.estadoNuevo(), evento.estadoNuevo()),
+                        k -> new ArrayList<>()).add(minutos);
+                }
+            }
+            if (evento.estadoAnterior() == null) {
+                alta = evento.fecha();
+            } else if (evento.estadoNuevo() != null) {
+                totalCambios++;
+            }
+            if (!finalizado && alta != null && esFinal(evento.estadoNuevo())) {
+                procesos.add(minutos(alta, evento.fecha()));
+                finalizado = true;
+            }
+            anterior = evento;
+        }
+        if (anterior != null) {
+            cerrarAbierta(estancias, anterior, ahora);
+        }
+
+        estancias.values().forEach(Collections::sort);
+        return new TiemposEtapa(estancias, transiciones, procesos, totalCambios);
+    }
+
+    public long muestras(Estado etapa) {
+        return estancias.getOrDefault(etapa, List.of()).size();
+    }
+
+    public double promedioDias(Estado etapa) {
+        return promedio(estancias.getOrDefault(etapa, List.of()));
+    }
+
+    // Percentil por rango más cercano (p entre 0 y 1)
+    public double percentilDias(Estado etapa, double p) {
+        List<Long> valores = estancias.getOrDefault(etapa, List.of());
+        if (valores.isEmpty()) {
+            return 0;
+        }
+        int indice = Math.max(0, (int) Math.ceil(p * valores.size()) - 1);
+        return dias(valores.get(indice));
+    }
+
+    public long muestrasTransicion(Estado desde, Estado hacia) {
+        return transiciones.getOrDefault(clave(desde, hacia), List.of()).size();
+    }
+
+    public double promedioTransicionDias(Estado desde, Estado hacia) {
+        return promedio(transiciones.getOrDefault(clave(desde, hacia), List.of()));
+    }
+
+    // Desde la postulación hasta el primer estado final (ACEPTADO o RECHAZADO)
+    public double promedioProcesoDias() {
+        return promedio(procesos);
+    }
+
+    public List<TiempoEnEtapaDto> resumen() {
+        List<TiempoEnEtapaDto> resumen = new ArrayList<>();
+        for (Estado etapa : List.of(Estado.PENDIENTE, Estado.ENTREVISTA_PROGRAMADA)) {
+            resumen.add(new TiempoEnEtapaDto(etapa.toString(), muestras(etapa), promedioDias(etapa),
+                percentilDias(etapa, 0.5), percentilDias(etapa, 0.9)));
+        }
+        return resumen;
+    }
+
+    private static void cerrarAbierta(Map<Estado, List<Long>> estancias, EventoEstado ultimo, LocalDateTime ahora) {
+        if (ultimo.estadoNuevo() != null && !esFinal(ultimo.estadoNuevo())) {
+            estancias.computeIfAbsent(ultimo.estadoNuevo(), e -> new ArrayList<>()).add(minutos(ultimo.fecha(), ahora));
+        }
+    }
+
+    private static boolean esFinal(Estado estado) {
+        return estado == Estado.ACEPTADO || estado == Estado.RECHAZADO;
+    }
+
+    private static String clave(Estado desde, Estado hacia) {
+        return desde + "->" + hacia;
+    }
+
+    private static long minutos(LocalDateTime desde, LocalDateTime hasta) {
+        return Math.max(0, Duration.between(desde, hasta).toMinutes());
+    }
+
+    private static double promedio(List<Long> valores) {
+        if (valores.isEmpty()) {
+            return 0;
+        }
+        return dias(Math.round(valores.stream().mapToLong(Long::longValue).average().orElse(0)));
+    }
+
+    private static double dias(long minutos) {
+        return Math.round(minutos / MINUTOS_DIA * 10) / 10.0;
+    }
+}
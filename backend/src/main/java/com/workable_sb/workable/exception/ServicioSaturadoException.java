@@ -0,0 +1,19 @@
+package com.workable_sb.workable.exception;
+
+/**
+ * Excepción lanzada cuando un recurso limitado (p. ej. el pool de hashing de contraseñas)
+ * no puede aceptar más trabajo. Se responde con 503 y la cabecera Retry-After.
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    private final long retryAfterSegundos;
+
+    public ServicioSaturadoException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
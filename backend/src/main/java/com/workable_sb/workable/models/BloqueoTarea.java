@@ -0,0 +1,30 @@
+package com.workable_sb.workable.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Concesión (lease) de una tarea programada: solo la instancia propietaria la ejecuta
+ * mientras no venza. La reclama BloqueosTareas con un UPDATE condicional.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "bloqueo_tarea")
+public class BloqueoTarea {
+
+    @Id
+    @Column(length = 100)
+    private String nombre;
+
+    @Column(nullable = false, length = 100)
+    private String propietario;
+
+    @Column(nullable = false)
+    private LocalDateTime hasta;
+}
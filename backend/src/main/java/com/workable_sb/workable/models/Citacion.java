@@ -2,8 +2,12 @@ package com.workable_sb.workable.models;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import lombok.AllArgsConstructor;
@@ -14,9 +18,22 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Data
 @Entity
+// Solo las columnas modificadas: guardar una citación leída antes no pisa recordatorios_enviados ni
+// aviso_pendiente, que las tareas programadas cambian con UPDATE masivos
+@DynamicUpdate
+@Table(indexes = {
+    @Index(name = "idx_citacion_recordatorios_inicio", columnList = "recordatorios_enviados, inicio"),
+    @Index(name = "idx_citacion_aviso_pendiente", columnList = "aviso_pendiente, fecha_envio"),
+    @Index(name = "idx_citacion_reclutador_inicio", columnList = "reclutador_id, inicio")
+})
 public class Citacion {
+
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("H:mm[:ss]");
+
+    // Secuencia con reserva de bloques para que Hibernate agrupe las inserciones en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "citacion_seq")
+    @SequenceGenerator(name = "citacion_seq", sequenceName = "citacion_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -60,12 +77,25 @@ public class Citacion {
     @Column(name = "correo_enviado", nullable = false)
     private Boolean mensajeEnviado;
 
+    // Citaciones múltiples cuyo aviso aún no se confirmó; ReenvioAvisosCitacion reenvía las atascadas.
+    // Las creadas de una en una no lo usan: su envío lo decide el reclutador (enviarCitacionPorEmail)
+    @Column(name = "aviso_pendiente", nullable = false)
+    private Boolean avisoPendiente;
+
     @Column(length = 500)
     private String observaciones;
 
     private LocalDateTime fechaCreacion;
     private Boolean isActive;
 
+    // Fecha y hora de la citación juntas, para buscar por ventanas de tiempo; null si la hora no es HH:mm
+    @Column(name = "inicio")
+    private LocalDateTime inicio;
+
+    // Recordatorios ya enviados (ver RecordatoriosCitacion); vuelve a 0 si cambia la fecha o la hora
+    @Column(name = "recordatorios_enviados", nullable = false)
+    private Integer recordatoriosEnviados;
+
     @PrePersist
     protected void onCreate() {
         if (this.fechaCreacion == null) {
@@ -80,5 +110,40 @@ public class Citacion {
         if (this.mensajeEnviado == null) {
             this.mensajeEnviado = false;
         }
+        if (this.avisoPendiente == null) {
+            this.avisoPendiente = false;
+        }
+        if (this.recordatoriosEnviados == null) {
+            this.recordatoriosEnviados = 0;
+        }
+        calcularInicio();
+    }
+
+    /**
+     * Interpreta la hora de una citación (HH:mm); las citaciones necesitan una hora válida
+     * para poder comprobar cruces y enviar recordatorios.
+     */
+    public static LocalTime parsearHora(String hora) {
+        try {
+            return LocalTime.parse(hora != null ? hora.trim() : "", FORMATO_HORA);
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("Hora inválida (se espera HH:mm): " + hora);
+        }
+    }
+
+    @PreUpdate
+    protected void calcularInicio() {
+        LocalDateTime nuevoInicio = null;
+        if (fechaCitacion != null && hora != null) {
+            try {
+                nuevoInicio = fechaCitacion.atTime(parsearHora(hora));
+            } catch (IllegalStateException e) {
+                // Hora en texto libre (citaciones antiguas): sin inicio no recibe recordatorios
+            }
+        }
+        if (inicio != null && !inicio.equals(nuevoInicio)) {
+            recordatoriosEnviados = 0;
+        }
+        inicio = nuevoInicio;
     }
 }
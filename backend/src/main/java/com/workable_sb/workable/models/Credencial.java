@@ -0,0 +1,53 @@
+package com.workable_sb.workable.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Índice unificado de credenciales: correo -> (rol, id de usuario, hash de contraseña, activo).
+ * Permite autenticar a administradores, aspirantes y reclutadores con una sola lectura indexada.
+ * Se mantiene sincronizado desde los servicios de cada tipo de usuario.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "credencial",
+    uniqueConstraints = @UniqueConstraint(name = "UK_credencial_rol_usuario", columnNames = {"rol", "usuario_id"}),
+    indexes = @Index(name = "idx_credencial_correo", columnList = "correo"))
+public class Credencial {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String correo;
+
+    // El orden de declaración define la precedencia cuando un correo existe en varios roles
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Rol rol;
+
+    public enum Rol {
+        ADMIN,
+        ASPIRANTE,
+        RECLUTADOR
+    }
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false, length = 500)
+    private String passwordHash;
+
+    private Boolean activo;
+
+    @Column(length = 50)
+    private String nombre;
+
+    @Column(length = 50)
+    private String apellido;
+}
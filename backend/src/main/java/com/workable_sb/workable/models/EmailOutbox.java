@@ -0,0 +1,78 @@
+package com.workable_sb.workable.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Correo pendiente de envío (bandeja de salida transaccional).
+ * Se inserta en la misma transacción que el cambio de negocio y lo envía DespachadorEmails.
+ * FALLIDO es el estado de "dead letter": agotó los reintentos y no se vuelve a intentar.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "email_outbox", indexes = {
+    @Index(name = "idx_email_outbox_estado_proximo", columnList = "estado, proximo_intento"),
+    @Index(name = "idx_email_outbox_lote", columnList = "lote")
+})
+public class EmailOutbox {
+
+    // Secuencia con reserva de bloques para que Hibernate agrupe las inserciones en lotes JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String destinatario;
+
+    @Column(nullable = false, length = 255)
+    private String asunto;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String contenidoHtml;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Estado estado = Estado.PENDIENTE;
+
+    public enum Estado {
+        PENDIENTE,
+        ENVIANDO,
+        ENVIADO,
+        FALLIDO
+    }
+
+    @Column(nullable = false)
+    private Integer intentos = 0;
+
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    // Marca del despacho que reclamó el correo y cuándo (para liberar envíos interrumpidos)
+    @Column(length = 36)
+    private String lote;
+    private LocalDateTime reclamadoEn;
+
+    @Column(length = 500)
+    private String ultimoError;
+
+    @Column(nullable = false)
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaEnvio;
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.fechaCreacion == null) {
+            this.fechaCreacion = LocalDateTime.now();
+        }
+        if (this.proximoIntento == null) {
+            this.proximoIntento = this.fechaCreacion;
+        }
+    }
+}
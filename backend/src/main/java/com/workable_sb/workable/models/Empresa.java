@@ -2,7 +2,6 @@ package com.workable_sb.workable.models;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -146,8 +145,10 @@ public class Empresa {
     // Relación unidireccional: La empresa conoce sus reclutadores
     // Se crea una columna empresa_id en la tabla reclutador
     // IMPORTANTE: Usar @Transient para evitar ConcurrentModificationException durante serialización JSON
+    // Lista simple: cada instancia vive en un solo contexto de persistencia (un hilo), y los
+    // métodos synchronized de Collections.synchronizedList fijaban los hilos virtuales
     @Transient
-    private List<Reclutador> reclutadores = Collections.synchronizedList(new ArrayList<>());
+    private List<Reclutador> reclutadores = new ArrayList<>();
 
     @PrePersist
     protected void onCreate() {
@@ -4,6 +4,8 @@ import java.time.LocalDate;
 import jakarta.persistence.*;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.workable_sb.workable.dto.DestinatarioNotificacion;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +14,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Data
 @Entity
+// Tabla caliente: las leídas antiguas pasan a notificacion_archivada (RetencionNotificaciones)
+@Table(name = "notificacion", indexes = {
+    @Index(name = "idx_notificacion_aspirante_leida_fecha", columnList = "aspirante_id, leida, fecha_creacion"),
+    @Index(name = "idx_notificacion_reclutador_leida_fecha", columnList = "reclutador_id, leida, fecha_creacion"),
+    @Index(name = "idx_notificacion_destinatario_fecha", columnList = "destinatario_id, fecha_creacion")
+})
 public class Notificacion {
 
     @Id
@@ -38,7 +46,7 @@ public class Notificacion {
     @Column(length = 500)
     private String url;  // URL para redirigir (ej: /postulacion/221)
 
-    @Column(nullable = false)
+    @Column(name = "fecha_creacion", nullable = false)
     private LocalDate fechaCreacion;
 
     @Column(nullable = false)
@@ -56,15 +64,38 @@ public class Notificacion {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Reclutador reclutador;
 
+    // Copia del receptor (tipo + id) para leer las notificaciones de un usuario con un solo índice,
+    // en vez de una consulta por aspirante_id y otra por reclutador_id
+    @JsonIgnore
+    @Enumerated(EnumType.STRING)
+    @Column(name = "destinatario_tipo", nullable = false, length = 20)
+    private DestinatarioNotificacion.Tipo destinatarioTipo;
+
+    @JsonIgnore
+    @Column(name = "destinatario_id", nullable = false)
+    private Long destinatarioId;
+
     @PrePersist
     protected void onCreate() {
         if (this.fechaCreacion == null) {
             this.fechaCreacion = LocalDate.now();
         }
+        asignarDestinatario();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        asignarDestinatario();
+    }
+
+    private void asignarDestinatario() {
         // Validación: debe tener aspirante O reclutador, no ambos ni ninguno
         if ((aspirante == null && reclutador == null) || (aspirante != null && reclutador != null)) {
             throw new IllegalStateException("Notificacion debe tener receptor Aspirante O Reclutador, no ambos ni ninguno");
         }
+        DestinatarioNotificacion destinatario = DestinatarioNotificacion.de(this);
+        this.destinatarioTipo = destinatario.tipo();
+        this.destinatarioId = destinatario.id();
     }
 }
 
@@ -0,0 +1,60 @@
+package com.workable_sb.workable.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import com.workable_sb.workable.dto.DestinatarioNotificacion;
+import com.workable_sb.workable.models.Notificacion.Tipo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notificación leída y antigua movida fuera de la tabla notificacion por RetencionNotificaciones.
+ * Conserva el id original, así que el timeline mezcla ambas tablas con el mismo cursor.
+ * El receptor se guarda como tipo + id sin clave foránea: las de usuarios eliminados caen con la purga.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "notificacion_archivada", indexes = {
+    @Index(name = "idx_notif_archivada_destinatario_fecha", columnList = "destinatario_id, fecha_creacion"),
+    @Index(name = "idx_notif_archivada_fecha", columnList = "fecha_creacion")
+})
+public class NotificacionArchivada {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Tipo tipo;
+
+    @Column(nullable = false, length = 50)
+    private String titulo;
+
+    @Column(nullable = false, length = 500)
+    private String mensaje;
+
+    @Column(length = 500)
+    private String url;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDate fechaCreacion;
+
+    @Column(nullable = false)
+    private Boolean leida;
+    private Boolean isActive;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "destinatario_tipo", nullable = false, length = 20)
+    private DestinatarioNotificacion.Tipo destinatarioTipo;
+
+    @Column(name = "destinatario_id", nullable = false)
+    private Long destinatarioId;
+
+    @Column(nullable = false)
+    private LocalDateTime archivadaEn;
+}
@@ -17,6 +17,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Data
 @Entity
+@Table(indexes = {
+	@Index(name = "idx_oferta_estado_fecha_limite", columnList = "estado, fecha_limite")
+})
 public class Oferta {
 	
 	public enum EstadoOferta {
@@ -51,7 +54,7 @@ public class Oferta {
 	@Column(nullable = false, columnDefinition = "TEXT")
 	private String descripcion;
 
-	@Column(nullable = false)
+	@Column(name = "fecha_limite", nullable = false)
 	private LocalDate fechaLimite;
 	
 	private LocalDate fechaPublicacion;
@@ -0,0 +1,58 @@
+package com.workable_sb.workable.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import com.workable_sb.workable.models.Postulacion.Estado;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento del historial de estados de una postulación (solo inserción).
+ * El alta tiene estadoAnterior null y la retirada estadoNuevo null. No tiene clave
+ * foránea hacia postulacion para conservar el historial de postulaciones eliminadas.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "postulacion_evento", indexes = {
+    @Index(name = "idx_evento_oferta_fecha", columnList = "oferta_id, fecha"),
+    @Index(name = "idx_evento_postulacion", columnList = "postulacion_id, fecha")
+})
+public class PostulacionEvento {
+
+    // Secuencia con reserva de bloques para que Hibernate agrupe las inserciones en lotes JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "postulacion_evento_seq")
+    @SequenceGenerator(name = "postulacion_evento_seq", sequenceName = "postulacion_evento_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "postulacion_id", nullable = false)
+    private Long postulacionId;
+
+    @Column(name = "oferta_id", nullable = false)
+    private Long ofertaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private Estado estadoAnterior;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private Estado estadoNuevo;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+
+    // Usuario que provocó la transición (null si no se conoce)
+    private Long usuarioId;
+
+    @Column(length = 255)
+    private String motivo;
+
+    // true si el evento deshace la transición anterior (revertirEstado)
+    @Column(nullable = false)
+    private Boolean reversion = false;
+}
@@ -0,0 +1,47 @@
+package com.workable_sb.workable.models;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import com.workable_sb.workable.models.Postulacion.Estado;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contador materializado de postulaciones por oferta y estado.
+ * Guarda la cantidad y la suma de los días epoch de creación, de modo que los días
+ * acumulados a una fecha se obtienen como {@code cantidad * hoy - sumaDiasCreacion}.
+ * Lo mantiene ContadoresPostulacionService; el reconciliador corrige desviaciones.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "postulacion_stats")
+@IdClass(PostulacionStats.Clave.class)
+public class PostulacionStats {
+
+    @Id
+    @Column(name = "oferta_id", nullable = false)
+    private Long ofertaId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Estado estado;
+
+    @Column(nullable = false)
+    private Long cantidad = 0L;
+
+    @Column(nullable = false)
+    private Long sumaDiasCreacion = 0L;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private Long ofertaId;
+        private Estado estado;
+    }
+}
@@ -2,9 +2,13 @@ package com.workable_sb.workable.repository;
 
 import com.workable_sb.workable.models.Aspirante;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,4 +18,12 @@ public interface AspiranteRepo extends JpaRepository<Aspirante, Long> {
     
     // Buscar aspirante por nombre
     Optional<Aspirante> findByNombre(String nombre);
-}
\ No newline at end of file
+
+    // Paginación por clave: nombre ASC, id ASC
+    @Query("SELECT a FROM Aspirante a LEFT JOIN FETCH a.municipio ORDER BY a.nombre, a.id")
+    List<Aspirante> findPrimeraPagina(Pageable pageable);
+
+    @Query("SELECT a FROM Aspirante a LEFT JOIN FETCH a.municipio "
+        + "WHERE a.nombre > :nombre OR (a.nombre = :nombre AND a.id > :id) ORDER BY a.nombre, a.id")
+    List<Aspirante> findPaginaDespuesDe(@Param("nombre") String nombre, @Param("id") Long id, Pageable pageable);
+}
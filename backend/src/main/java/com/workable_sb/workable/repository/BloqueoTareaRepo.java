@@ -0,0 +1,37 @@
+package com.workable_sb.workable.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.workable_sb.workable.models.BloqueoTarea;
+
+@Repository
+public interface BloqueoTareaRepo extends JpaRepository<BloqueoTarea, String> {
+
+    // Toma o renueva la concesión si está vencida o ya es del mismo propietario
+    @Transactional
+    @Modifying
+    @Query("UPDATE BloqueoTarea b SET b.propietario = :propietario, b.hasta = :hasta "
+        + "WHERE b.nombre = :nombre AND (b.hasta < :ahora OR b.propietario = :propietario)")
+    int reclamar(@Param("nombre") String nombre, @Param("propietario") String propietario,
+                 @Param("hasta") LocalDateTime hasta, @Param("ahora") LocalDateTime ahora);
+
+    // Primera concesión de la tarea; si otra instancia la insertó antes, falla por clave duplicada
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO BloqueoTarea (nombre, propietario, hasta) VALUES (:nombre, :propietario, :hasta)")
+    int crear(@Param("nombre") String nombre, @Param("propietario") String propietario,
+              @Param("hasta") LocalDateTime hasta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BloqueoTarea b SET b.hasta = :ahora WHERE b.nombre = :nombre AND b.propietario = :propietario")
+    int liberar(@Param("nombre") String nombre, @Param("propietario") String propietario,
+                @Param("ahora") LocalDateTime ahora);
+}
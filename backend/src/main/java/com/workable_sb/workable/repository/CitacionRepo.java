@@ -1,12 +1,22 @@
 package com.workable_sb.workable.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.workable_sb.workable.dto.AvisoCitacionFila;
+import com.workable_sb.workable.dto.CitacionHorario;
+import com.workable_sb.workable.dto.MiCitacionDto;
+import com.workable_sb.workable.dto.RecordatorioCitacionFila;
 import com.workable_sb.workable.models.Citacion;
 import com.workable_sb.workable.models.Citacion.Estado;
 
@@ -39,4 +49,77 @@ public interface CitacionRepo extends JpaRepository<Citacion, Long> {
     
     // Verificar si ya existe una citación para una postulación
     Optional<Citacion> findByPostulacionIdAndEstadoNot(Long postulacionId, Estado estado);
+
+    // Citaciones que ocupan la agenda del reclutador a partir de una fecha (activas y no canceladas)
+    @Query("SELECT new com.workable_sb.workable.dto.CitacionHorario(c.id, c.fechaCitacion, c.hora) FROM Citacion c "
+        + "WHERE c.reclutador.id = :reclutadorId AND c.fechaCitacion >= :desde AND c.isActive = true "
+        + "AND c.estado <> com.workable_sb.workable.models.Citacion.Estado.CANCELADA")
+    List<CitacionHorario> findHorariosOcupados(@Param("reclutadorId") Long reclutadorId, @Param("desde") LocalDate desde);
+
+    // Citaciones vigentes del reclutador que empiezan en (desde, hasta), salvo las indicadas. Usa el índice
+    // (reclutador_id, inicio). Lectura normal: quien la llama ya tiene bloqueada la fila del reclutador
+    // (ReclutadorRepo.bloquearAgenda), que serializa a los que escriben en su agenda, y con la transacción
+    // en READ COMMITTED ve lo que confirmó el anterior. Con bloqueo, en MySQL el recorrido del rango
+    // añadiría gap locks sobre (reclutador_id, inicio) sin ganar nada
+    @Query("SELECT c.id FROM Citacion c WHERE c.reclutador.id = :reclutadorId AND c.inicio > :desde AND c.inicio < :hasta "
+        + "AND c.isActive = true AND c.estado <> com.workable_sb.workable.models.Citacion.Estado.CANCELADA "
+        + "AND c.id NOT IN :excluir")
+    List<Long> findCruces(@Param("reclutadorId") Long reclutadorId, @Param("desde") LocalDateTime desde,
+                          @Param("hasta") LocalDateTime hasta, @Param("excluir") Collection<Long> excluir);
+
+    // Citaciones de los niveles de recordatorio indicados que empiezan en (desde, hasta], por orden de inicio.
+    // Usa el índice (recordatorios_enviados, inicio): solo recorre las que tienen recordatorio pendiente
+    @Query("SELECT new com.workable_sb.workable.dto.RecordatorioCitacionFila(c.id, a.id, CONCAT(a.nombre, ' ', a.apellido), "
+        + "a.correo, o.titulo, c.inicio, c.linkMeet, CONCAT(r.nombre, ' ', r.apellido)) "
+        + "FROM Citacion c JOIN c.postulacion p JOIN p.aspirante a JOIN p.oferta o LEFT JOIN c.reclutador r "
+        + "WHERE c.recordatoriosEnviados IN :niveles AND c.inicio > :desde AND c.inicio <= :hasta "
+        + "AND c.isActive = true AND c.estado IN (com.workable_sb.workable.models.Citacion.Estado.PENDIENTE, "
+        + "com.workable_sb.workable.models.Citacion.Estado.CONFIRMADA) "
+        + "ORDER BY c.inicio, c.id")
+    List<RecordatorioCitacionFila> findRecordatoriosPendientes(@Param("niveles") Collection<Integer> niveles,
+                                                               @Param("desde") LocalDateTime desde,
+                                                               @Param("hasta") LocalDateTime hasta,
+                                                               Pageable pageable);
+
+    // Sube el nivel de recordatorio solo si sigue por debajo: si otra instancia ya lo envió, no cuenta esa fila
+    @Modifying
+    @Query("UPDATE Citacion c SET c.recordatoriosEnviados = :nivel WHERE c.id IN :ids AND c.recordatoriosEnviados < :nivel")
+    int marcarRecordatorios(@Param("ids") Collection<Long> ids, @Param("nivel") int nivel);
+
+    // Reclama el aviso de un lote: solo cuenta las que aún lo tenían pendiente, así el lote
+    // asíncrono y el reenvío no avisan dos veces a la misma citación
+    @Modifying
+    @Query("UPDATE Citacion c SET c.mensajeEnviado = true, c.avisoPendiente = false "
+        + "WHERE c.id IN :ids AND c.avisoPendiente = true")
+    int marcarAvisadas(@Param("ids") Collection<Long> ids);
+
+    // Avisos atascados: pendientes desde antes de :antesDe, de citaciones vigentes. Usa el índice (aviso_pendiente, fecha_envio)
+    @Query("SELECT new com.workable_sb.workable.dto.AvisoCitacionFila(c.id, p.id, a.id, CONCAT(a.nombre, ' ', a.apellido), "
+        + "a.correo, o.titulo, c.fechaCitacion, c.hora, c.linkMeet, c.detallesCitacion, CONCAT(r.nombre, ' ', r.apellido)) "
+        + "FROM Citacion c JOIN c.postulacion p JOIN p.aspirante a JOIN p.oferta o LEFT JOIN c.reclutador r "
+        + "WHERE c.avisoPendiente = true AND c.fechaEnvio < :antesDe AND c.fechaCitacion >= :hoy "
+        + "AND c.isActive = true AND c.estado IN (com.workable_sb.workable.models.Citacion.Estado.PENDIENTE, "
+        + "com.workable_sb.workable.models.Citacion.Estado.CONFIRMADA) "
+        + "ORDER BY c.fechaEnvio, c.id")
+    List<AvisoCitacionFila> findAvisosPendientes(@Param("antesDe") LocalDateTime antesDe, @Param("hoy") LocalDate hoy,
+                                                 Pageable pageable);
+
+    // Paginación por clave de citaciones activas: fechaCitacion DESC, id DESC
+    @Query("SELECT c FROM Citacion c JOIN FETCH c.postulacion LEFT JOIN FETCH c.reclutador "
+        + "WHERE c.isActive = true ORDER BY c.fechaCitacion DESC, c.id DESC")
+    List<Citacion> findActivasPrimeraPagina(Pageable pageable);
+
+    @Query("SELECT c FROM Citacion c JOIN FETCH c.postulacion LEFT JOIN FETCH c.reclutador "
+        + "WHERE c.isActive = true AND (c.fechaCitacion < :fecha OR (c.fechaCitacion = :fecha AND c.id < :id)) "
+        + "ORDER BY c.fechaCitacion DESC, c.id DESC")
+    List<Citacion> findActivasPaginaDespuesDe(@Param("fecha") LocalDate fecha, @Param("id") Long id, Pageable pageable);
+
+    // Citaciones de un aspirante como proyección (una sola consulta)
+    @Query("SELECT new com.workable_sb.workable.dto.MiCitacionDto("
+        + "c.id, c.fechaCitacion, c.hora, c.linkMeet, c.detallesCitacion, c.estado, c.observaciones, "
+        + "p.id, o.id, o.titulo, e.nombre, CONCAT(r.nombre, ' ', r.apellido)) "
+        + "FROM Citacion c JOIN c.postulacion p JOIN p.oferta o JOIN o.empresa e LEFT JOIN c.reclutador r "
+        + "WHERE p.aspirante.id = :aspiranteId "
+        + "ORDER BY c.fechaCitacion DESC, c.id DESC")
+    List<MiCitacionDto> findMisCitaciones(@Param("aspiranteId") Long aspiranteId);
 }
@@ -0,0 +1,21 @@
+package com.workable_sb.workable.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.workable_sb.workable.models.Credencial;
+import com.workable_sb.workable.models.Credencial.Rol;
+
+@Repository
+public interface CredencialRepo extends JpaRepository<Credencial, Long> {
+
+    // Todas las credenciales asociadas a un correo (una por rol)
+    List<Credencial> findByCorreo(String correo);
+
+    Optional<Credencial> findByRolAndUsuarioId(Rol rol, Long usuarioId);
+
+    void deleteByRolAndUsuarioId(Rol rol, Long usuarioId);
+}
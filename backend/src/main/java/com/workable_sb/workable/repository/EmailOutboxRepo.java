@@ -0,0 +1,47 @@
+package com.workable_sb.workable.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.workable_sb.workable.models.EmailOutbox;
+import com.workable_sb.workable.models.EmailOutbox.Estado;
+
+@Repository
+public interface EmailOutboxRepo extends JpaRepository<EmailOutbox, Long> {
+
+    // Correos listos para enviar, los más antiguos primero (índice estado, proximo_intento)
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.estado = :estado AND e.proximoIntento <= :ahora ORDER BY e.id")
+    List<Long> findIdsListos(@Param("estado") Estado estado, @Param("ahora") LocalDateTime ahora, Pageable pageable);
+
+    // Reclama los correos para un despacho; el filtro por estado evita que dos despachos envíen el mismo
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.estado = :enviando, e.lote = :lote, e.reclamadoEn = :ahora "
+        + "WHERE e.id IN :ids AND e.estado = :pendiente")
+    int reclamar(@Param("ids") Collection<Long> ids, @Param("lote") String lote, @Param("ahora") LocalDateTime ahora,
+                 @Param("pendiente") Estado pendiente, @Param("enviando") Estado enviando);
+
+    List<EmailOutbox> findByLote(String lote);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.estado = :enviado, e.fechaEnvio = :ahora, e.lote = NULL "
+        + "WHERE e.id IN :ids")
+    int marcarEnviados(@Param("ids") Collection<Long> ids, @Param("ahora") LocalDateTime ahora,
+                       @Param("enviado") Estado enviado);
+
+    // Devuelve a la cola los correos de despachos interrumpidos (p. ej. reinicio durante el envío)
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.estado = :pendiente, e.lote = NULL "
+        + "WHERE e.estado = :enviando AND e.reclamadoEn < :limite")
+    int liberarAtascados(@Param("limite") LocalDateTime limite,
+                         @Param("enviando") Estado enviando, @Param("pendiente") Estado pendiente);
+
+    long countByEstado(Estado estado);
+}
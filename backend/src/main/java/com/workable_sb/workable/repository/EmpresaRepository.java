@@ -3,8 +3,10 @@ package com.workable_sb.workable.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.workable_sb.workable.models.Empresa;
@@ -30,5 +32,12 @@ public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
     
     // Buscar empresas activas
     List<Empresa> findByIsActive(Boolean isActive);
-}
 
+    // Paginación por clave: nombre ASC, id ASC
+    @Query("SELECT e FROM Empresa e LEFT JOIN FETCH e.municipio LEFT JOIN FETCH e.reclutadorOwner ORDER BY e.nombre, e.id")
+    List<Empresa> findPrimeraPagina(Pageable pageable);
+
+    @Query("SELECT e FROM Empresa e LEFT JOIN FETCH e.municipio LEFT JOIN FETCH e.reclutadorOwner "
+        + "WHERE e.nombre > :nombre OR (e.nombre = :nombre AND e.id > :id) ORDER BY e.nombre, e.id")
+    List<Empresa> findPaginaDespuesDe(@Param("nombre") String nombre, @Param("id") Long id, Pageable pageable);
+}
@@ -3,7 +3,10 @@ package com.workable_sb.workable.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.workable_sb.workable.models.HojaVida;
@@ -19,4 +22,8 @@ public interface HojaVidaRepo extends JpaRepository<HojaVida, Long> {
     
     // Contar hojas de vida de un aspirante
     long countByAspiranteId(Long aspiranteId);
+
+    // Paginación por clave sobre id (fechaCreacion admite nulos y no sirve como clave estable)
+    @Query("SELECT h FROM HojaVida h JOIN FETCH h.aspirante WHERE h.id > :id ORDER BY h.id")
+    List<HojaVida> findPaginaDespuesDe(@Param("id") Long id, Pageable pageable);
 }
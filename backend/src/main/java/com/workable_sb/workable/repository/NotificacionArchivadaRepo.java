@@ -0,0 +1,64 @@
+package com.workable_sb.workable.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.workable_sb.workable.dto.DestinatarioNotificacion;
+import com.workable_sb.workable.dto.NotificacionEventoDto;
+import com.workable_sb.workable.models.NotificacionArchivada;
+
+@Repository
+public interface NotificacionArchivadaRepo extends JpaRepository<NotificacionArchivada, Long> {
+
+    // Copia al archivo las notificaciones del lote que siguen cumpliendo el criterio (leídas y anteriores al corte)
+    @Modifying
+    @Query("INSERT INTO NotificacionArchivada (id, tipo, titulo, mensaje, url, fechaCreacion, leida, isActive, "
+        + "destinatarioTipo, destinatarioId, archivadaEn) "
+        + "SELECT n.id, n.tipo, n.titulo, n.mensaje, n.url, n.fechaCreacion, n.leida, n.isActive, "
+        + "n.destinatarioTipo, n.destinatarioId, :ahora FROM Notificacion n "
+        + "WHERE n.id IN :ids AND n.leida = true AND n.fechaCreacion < :corte")
+    int copiarDesdeNotificaciones(@Param("ids") Collection<Long> ids, @Param("corte") LocalDate corte,
+                                  @Param("ahora") LocalDateTime ahora);
+
+    // Purga por lotes de id
+    @Query("SELECT a.id FROM NotificacionArchivada a WHERE a.fechaCreacion < :corte ORDER BY a.id")
+    List<Long> findIdsAnterioresA(@Param("corte") LocalDate corte, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM NotificacionArchivada a WHERE a.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+
+    // Equivalentes de eliminarLeidas y desactivarAnterioresA de NotificacionRepo para las ya archivadas
+    @Modifying
+    @Query("DELETE FROM NotificacionArchivada a "
+        + "WHERE a.destinatarioId = :destinatarioId AND a.destinatarioTipo = :destinatarioTipo AND a.leida = true")
+    int eliminarLeidas(@Param("destinatarioTipo") DestinatarioNotificacion.Tipo destinatarioTipo,
+                       @Param("destinatarioId") Long destinatarioId);
+
+    @Modifying
+    @Query("UPDATE NotificacionArchivada a SET a.isActive = false "
+        + "WHERE a.destinatarioId = :destinatarioId AND a.destinatarioTipo = :destinatarioTipo "
+        + "AND a.fechaCreacion < :fecha AND (a.isActive = true OR a.isActive IS NULL)")
+    int desactivarAnterioresA(@Param("destinatarioTipo") DestinatarioNotificacion.Tipo destinatarioTipo,
+                              @Param("destinatarioId") Long destinatarioId, @Param("fecha") LocalDate fecha);
+
+    // Timeline: misma clave (fechaCreacion DESC, id DESC) que la tabla caliente
+    @Query("SELECT new com.workable_sb.workable.dto.NotificacionEventoDto(a.id, a.tipo, a.titulo, a.mensaje, a.url, "
+        + "a.fechaCreacion, a.leida) FROM NotificacionArchivada a "
+        + "WHERE a.destinatarioId = :destinatarioId AND a.destinatarioTipo = :destinatarioTipo "
+        + "AND (a.isActive = true OR a.isActive IS NULL) "
+        + "AND (a.fechaCreacion < :fecha OR (a.fechaCreacion = :fecha AND a.id < :id)) "
+        + "ORDER BY a.fechaCreacion DESC, a.id DESC")
+    List<NotificacionEventoDto> findTimeline(@Param("destinatarioTipo") DestinatarioNotificacion.Tipo destinatarioTipo,
+                                             @Param("destinatarioId") Long destinatarioId,
+                                             @Param("fecha") LocalDate fecha, @Param("id") Long id, Pageable pageable);
+}
@@ -1,31 +1,119 @@
 package com.workable_sb.workable.repository;
 
+import com.workable_sb.workable.dto.DestinatarioNotificacion;
+import com.workable_sb.workable.dto.NotificacionEventoDto;
 import com.workable_sb.workable.models.Notificacion;
 import com.workable_sb.workable.models.Notificacion.Tipo;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface NotificacionRepo extends JpaRepository<Notificacion, Long> {
     
     // Búsquedas por Aspirante
-    List<Notificacion> findByAspiranteId(Long aspiranteId);
-    List<Notificacion> findByAspiranteIdAndLeida(Long aspiranteId, Boolean leida);
-    List<Notificacion> findByAspiranteIdAndTipo(Long aspiranteId, Tipo tipo);
     List<Notificacion> findByAspiranteIdOrderByFechaCreacionDesc(Long aspiranteId);
     Long countByAspiranteIdAndLeida(Long aspiranteId, Boolean leida);
     
     // Búsquedas por Reclutador
-    List<Notificacion> findByReclutadorId(Long reclutadorId);
-    List<Notificacion> findByReclutadorIdAndLeida(Long reclutadorId, Boolean leida);
-    List<Notificacion> findByReclutadorIdAndTipo(Long reclutadorId, Tipo tipo);
     List<Notificacion> findByReclutadorIdOrderByFechaCreacionDesc(Long reclutadorId);
     Long countByReclutadorIdAndLeida(Long reclutadorId, Boolean leida);
     
     // Búsqueda general
     Optional<Notificacion> findByTitulo(String titulo);
+
+    // Paginación por clave: fechaCreacion DESC, id DESC
+    @Query("SELECT n FROM Notificacion n LEFT JOIN FETCH n.aspirante LEFT JOIN FETCH n.reclutador "
+        + "ORDER BY n.fechaCreacion DESC, n.id DESC")
+    List<Notificacion> findPrimeraPagina(Pageable pageable);
+
+    @Query("SELECT n FROM Notificacion n LEFT JOIN FETCH n.aspirante LEFT JOIN FETCH n.reclutador "
+        + "WHERE n.fechaCreacion < :fecha OR (n.fechaCreacion = :fecha AND n.id < :id) "
+        + "ORDER BY n.fechaCreacion DESC, n.id DESC")
+    List<Notificacion> findPaginaDespuesDe(@Param("fecha") LocalDate fecha, @Param("id") Long id, Pageable pageable);
+
+    // Activas del usuario como aspirante o reclutador, filtradas en la consulta
+    @Query("SELECT n FROM Notificacion n LEFT JOIN FETCH n.aspirante LEFT JOIN FETCH n.reclutador "
+        + "WHERE (n.aspirante.id = :usuarioId OR n.reclutador.id = :usuarioId) "
+        + "AND (n.isActive = true OR n.isActive IS NULL) ORDER BY n.fechaCreacion DESC, n.id DESC")
+    List<Notificacion> findActivasByUsuario(@Param("usuarioId") Long usuarioId);
+
+    // Página de las notificaciones de un usuario por el receptor desnormalizado (índice destinatario_id,
+    // fecha_creacion): tipos del receptor admitidos y filtros opcionales de leída y tipo (null = todos)
+    @Query("SELECT n FROM Notificacion n LEFT JOIN FETCH n.aspirante LEFT JOIN FETCH n.reclutador "
+        + "WHERE n.destinatarioId = :destinatarioId AND n.destinatarioTipo IN :destinatarioTipos "
+        + "AND (:leida IS NULL OR n.leida = :leida) AND (:tipo IS NULL OR n.tipo = :tipo) "
+        + "AND (n.fechaCreacion < :fecha OR (n.fechaCreacion = :fecha AND n.id < :id)) "
+        + "ORDER BY n.fechaCreacion DESC, n.id DESC")
+    List<Notificacion> findPaginaDeUsuario(@Param("destinatarioId") Long destinatarioId,
+                                           @Param("destinatarioTipos") Collection<DestinatarioNotificacion.Tipo> destinatarioTipos,
+                                           @Param("leida") Boolean leida, @Param("tipo") Tipo tipo,
+                                           @Param("fecha") LocalDate fecha, @Param("id") Long id, Pageable pageable);
+
+    // Timeline de un receptor (tabla caliente); se mezcla con notificacion_archivada por la misma clave
+    @Query("SELECT new com.workable_sb.workable.dto.NotificacionEventoDto(n.id, n.tipo, n.titulo, n.mensaje, n.url, "
+        + "n.fechaCreacion, n.leida) FROM Notificacion n "
+        + "WHERE n.destinatarioId = :destinatarioId AND n.destinatarioTipo = :destinatarioTipo "
+        + "AND (n.isActive = true OR n.isActive IS NULL) "
+        + "AND (n.fechaCreacion < :fecha OR (n.fechaCreacion = :fecha AND n.id < :id)) "
+        + "ORDER BY n.fechaCreacion DESC, n.id DESC")
+    List<NotificacionEventoDto> findTimeline(@Param("destinatarioTipo") DestinatarioNotificacion.Tipo destinatarioTipo,
+                                             @Param("destinatarioId") Long destinatarioId,
+                                             @Param("fecha") LocalDate fecha, @Param("id") Long id, Pageable pageable);
+
+    // Retención: leídas anteriores al corte, recorridas por id en lotes
+    @Query("SELECT n.id FROM Notificacion n WHERE n.id > :desde AND n.leida = true AND n.fechaCreacion < :corte "
+        + "ORDER BY n.id")
+    List<Long> findIdsArchivables(@Param("desde") Long desde, @Param("corte") LocalDate corte, Pageable pageable);
+
+    // Solo borra las que ya están copiadas en notificacion_archivada
+    @Modifying
+    @Query("DELETE FROM Notificacion n WHERE n.id IN :ids "
+        + "AND EXISTS (SELECT 1 FROM NotificacionArchivada a WHERE a.id = n.id)")
+    int eliminarArchivadas(@Param("ids") Collection<Long> ids);
+
+    // Operaciones masivas de un receptor: se pasa aspiranteId o reclutadorId y el otro a null.
+    // Una sola sentencia, sin cargar entidades; devuelven las filas afectadas
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.leida = true "
+        + "WHERE (n.aspirante.id = :aspiranteId OR n.reclutador.id = :reclutadorId) AND n.leida = false")
+    int marcarLeidas(@Param("aspiranteId") Long aspiranteId, @Param("reclutadorId") Long reclutadorId);
+
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.leida = true "
+        + "WHERE (n.aspirante.id = :aspiranteId OR n.reclutador.id = :reclutadorId) AND n.leida = false AND n.tipo = :tipo")
+    int marcarLeidasPorTipo(@Param("aspiranteId") Long aspiranteId, @Param("reclutadorId") Long reclutadorId,
+                            @Param("tipo") Tipo tipo);
+
+    @Modifying
+    @Query("DELETE FROM Notificacion n "
+        + "WHERE (n.aspirante.id = :aspiranteId OR n.reclutador.id = :reclutadorId) AND n.leida = true")
+    int eliminarLeidas(@Param("aspiranteId") Long aspiranteId, @Param("reclutadorId") Long reclutadorId);
+
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.isActive = false "
+        + "WHERE (n.aspirante.id = :aspiranteId OR n.reclutador.id = :reclutadorId) AND n.fechaCreacion < :fecha "
+        + "AND (n.isActive = true OR n.isActive IS NULL)")
+    int desactivarAnterioresA(@Param("aspiranteId") Long aspiranteId, @Param("reclutadorId") Long reclutadorId,
+                              @Param("fecha") LocalDate fecha);
+
+    // Reenvío al reconectar el canal SSE: notificaciones posteriores al último id recibido
+    @Query("SELECT new com.workable_sb.workable.dto.NotificacionEventoDto(n.id, n.tipo, n.titulo, n.mensaje, n.url, "
+        + "n.fechaCreacion, n.leida) FROM Notificacion n WHERE n.aspirante.id = :aspiranteId AND n.id > :desde ORDER BY n.id")
+    List<NotificacionEventoDto> findEventosAspiranteDespuesDe(@Param("aspiranteId") Long aspiranteId,
+                                                              @Param("desde") Long desde, Pageable pageable);
+
+    @Query("SELECT new com.workable_sb.workable.dto.NotificacionEventoDto(n.id, n.tipo, n.titulo, n.mensaje, n.url, "
+        + "n.fechaCreacion, n.leida) FROM Notificacion n WHERE n.reclutador.id = :reclutadorId AND n.id > :desde ORDER BY n.id")
+    List<NotificacionEventoDto> findEventosReclutadorDespuesDe(@Param("reclutadorId") Long reclutadorId,
+                                                               @Param("desde") Long desde, Pageable pageable);
 }
@@ -1,16 +1,24 @@
 package com.workable_sb.workable.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.workable_sb.workable.dto.OfertaResumenDto;
 import com.workable_sb.workable.models.Oferta;
 import com.workable_sb.workable.models.Oferta.EstadoOferta;
 import com.workable_sb.workable.models.Oferta.Modalidad;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface OfertaRepo extends JpaRepository<Oferta, Long> {
     
@@ -32,7 +40,52 @@ public interface OfertaRepo extends JpaRepository<Oferta, Long> {
     // Buscar ofertas activas (estado ABIERTA)
     List<Oferta> findByEstadoOrderByFechaPublicacionDesc(EstadoOferta estado);
     
-    // Buscar ofertas que contengan texto en título o descripción
-    @Query("SELECT o FROM Oferta o WHERE LOWER(o.titulo) LIKE LOWER(CONCAT('%', :texto, '%')) OR LOWER(o.descripcion) LIKE LOWER(CONCAT('%', :texto, '%'))")
-    List<Oferta> buscarPorTexto(@Param("texto") String texto);
+    // Ids de ofertas en orden ascendente a partir de un id (recorrido por lotes)
+    @Query("SELECT o.id FROM Oferta o WHERE o.id > :desde ORDER BY o.id")
+    List<Long> findIdsDesde(@Param("desde") Long desde, Pageable pageable);
+
+    // Ofertas con sus requisitos cargados en la misma consulta
+    @Query("SELECT DISTINCT o FROM Oferta o LEFT JOIN FETCH o.requisitos WHERE o.id IN :ids")
+    List<Oferta> findConRequisitosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Ofertas con beneficios y habilidades requeridas cargados (índice de facetas)
+    @Query("SELECT DISTINCT o FROM Oferta o LEFT JOIN FETCH o.beneficios LEFT JOIN FETCH o.habilidadesRequeridas WHERE o.id IN :ids")
+    List<Oferta> findConFacetasByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Paginación por clave: fechaPublicacion DESC, id DESC
+    @Query("SELECT o FROM Oferta o LEFT JOIN FETCH o.municipio JOIN FETCH o.empresa ORDER BY o.fechaPublicacion DESC, o.id DESC")
+    List<Oferta> findPrimeraPagina(Pageable pageable);
+
+    @Query("SELECT o FROM Oferta o LEFT JOIN FETCH o.municipio JOIN FETCH o.empresa "
+        + "WHERE o.fechaPublicacion < :fecha OR (o.fechaPublicacion = :fecha AND o.id < :id) "
+        + "ORDER BY o.fechaPublicacion DESC, o.id DESC")
+    List<Oferta> findPaginaDespuesDe(@Param("fecha") LocalDate fecha, @Param("id") Long id, Pageable pageable);
+
+    // Ofertas abiertas con la fecha límite ya pasada, más antiguas primero (índice estado, fecha_limite)
+    @Query("SELECT o.id FROM Oferta o WHERE o.estado = com.workable_sb.workable.models.Oferta.EstadoOferta.ABIERTA "
+        + "AND o.fechaLimite < :hoy ORDER BY o.fechaLimite, o.id")
+    List<Long> findIdsVencidas(@Param("hoy") LocalDate hoy, Pageable pageable);
+
+    // Bloquea las ofertas del lote que siguen abiertas y vencidas (si entretanto se amplió la fecha
+    // límite o se cerró a mano, no se toca); en orden de id para no cruzarse con otros bloqueos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Oferta o WHERE o.id IN :ids "
+        + "AND o.estado = com.workable_sb.workable.models.Oferta.EstadoOferta.ABIERTA "
+        + "AND o.fechaLimite < :hoy ORDER BY o.id")
+    List<Long> bloquearVencidas(@Param("ids") Collection<Long> ids, @Param("hoy") LocalDate hoy);
+
+    // Cierra en una sola sentencia las ofertas ya bloqueadas con bloquearVencidas
+    @Modifying
+    @Query("UPDATE Oferta o SET o.estado = com.workable_sb.workable.models.Oferta.EstadoOferta.CERRADA "
+        + "WHERE o.id IN :ids AND o.estado = com.workable_sb.workable.models.Oferta.EstadoOferta.ABIERTA")
+    int cerrarVencidas(@Param("ids") Collection<Long> ids);
+
+    // Ofertas en un estado como proyección para listados (una sola consulta)
+    @Query("SELECT new com.workable_sb.workable.dto.OfertaResumenDto("
+        + "o.id, o.titulo, o.descripcion, o.salario, o.numeroVacantes, o.modalidad, o.tipoContrato, "
+        + "o.nivelExperiencia, o.fechaPublicacion, o.fechaLimite, e.id, e.nombre, e.logoUrl, m.id, m.nombre) "
+        + "FROM Oferta o JOIN o.empresa e LEFT JOIN o.municipio m "
+        + "WHERE o.estado = :estado "
+        + "ORDER BY o.fechaPublicacion DESC, o.id DESC")
+    List<OfertaResumenDto> findResumenPorEstado(@Param("estado") EstadoOferta estado);
 }
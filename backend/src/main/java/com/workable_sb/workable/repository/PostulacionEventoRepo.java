@@ -0,0 +1,28 @@
+package com.workable_sb.workable.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.workable_sb.workable.dto.EventoEstado;
+import com.workable_sb.workable.models.PostulacionEvento;
+
+@Repository
+public interface PostulacionEventoRepo extends JpaRepository<PostulacionEvento, Long> {
+
+    // Historial completo de una postulación en orden cronológico
+    List<PostulacionEvento> findByPostulacionIdOrderByFechaAscIdAsc(Long postulacionId);
+
+    // Eventos de una postulación del más reciente al más antiguo (para revertir)
+    List<PostulacionEvento> findByPostulacionIdOrderByFechaDescIdDesc(Long postulacionId);
+
+    // Eventos de una oferta agrupados por postulación (filtra por el índice oferta_id, fecha)
+    @Query("SELECT new com.workable_sb.workable.dto.EventoEstado("
+        + "e.postulacionId, e.estadoAnterior, e.estadoNuevo, e.fecha) "
+        + "FROM PostulacionEvento e WHERE e.ofertaId = :ofertaId "
+        + "ORDER BY e.postulacionId, e.fecha, e.id")
+    List<EventoEstado> findEventosDeOferta(@Param("ofertaId") Long ofertaId);
+}
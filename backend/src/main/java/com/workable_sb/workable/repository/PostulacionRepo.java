@@ -1,16 +1,30 @@
 package com.workable_sb.workable.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.workable_sb.workable.dto.CandidatoResumenDto;
+import com.workable_sb.workable.dto.ContadorEstado;
+import com.workable_sb.workable.dto.MiPostulacionDto;
+import com.workable_sb.workable.dto.CitacionLoteFila;
+import com.workable_sb.workable.dto.PostulacionLoteFila;
 import com.workable_sb.workable.models.Postulacion;
 import com.workable_sb.workable.models.Postulacion.Estado;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface PostulacionRepo extends JpaRepository<Postulacion, Long> {
+public interface PostulacionRepo extends JpaRepository<Postulacion, Long>, JpaSpecificationExecutor<Postulacion> {
     
     // Buscar postulaciones por oferta
     List<Postulacion> findByOfertaId(Long ofertaId);
@@ -32,4 +46,57 @@ public interface PostulacionRepo extends JpaRepository<Postulacion, Long> {
     
     // Buscar postulaciones por oferta y estado ordenadas por fecha
     List<Postulacion> findByOfertaIdAndEstadoOrderByFechaCreacionDesc(Long ofertaId, Estado estado);
+
+    // Candidatos de una oferta como proyección (una sola consulta, sin grafo de entidades)
+    @Query("SELECT new com.workable_sb.workable.dto.CandidatoResumenDto("
+        + "p.id, a.id, CONCAT(a.nombre, ' ', a.apellido), a.correo, p.estado, p.fechaCreacion) "
+        + "FROM Postulacion p JOIN p.aspirante a "
+        + "WHERE p.oferta.id = :ofertaId AND (:estado IS NULL OR p.estado = :estado) "
+        + "ORDER BY p.fechaCreacion DESC, p.id DESC")
+    List<CandidatoResumenDto> findCandidatosDeOferta(@Param("ofertaId") Long ofertaId, @Param("estado") Estado estado);
+
+    // Postulaciones de un aspirante con los datos de la oferta aplanados
+    @Query("SELECT new com.workable_sb.workable.dto.MiPostulacionDto("
+        + "p.id, p.estado, p.fechaCreacion, o.id, o.titulo, o.estado, o.modalidad, e.id, e.nombre, m.nombre) "
+        + "FROM Postulacion p JOIN p.oferta o JOIN o.empresa e LEFT JOIN o.municipio m "
+        + "WHERE p.aspirante.id = :aspiranteId AND (:estado IS NULL OR p.estado = :estado) "
+        + "ORDER BY p.fechaCreacion DESC, p.id DESC")
+    List<MiPostulacionDto> findMisPostulaciones(@Param("aspiranteId") Long aspiranteId, @Param("estado") Estado estado);
+
+    // Recuento real por oferta y estado, con la suma de días desde :epoch de la creación.
+    // Lo usa el reconciliador de postulacion_stats
+    @Query("SELECT new com.workable_sb.workable.dto.ContadorEstado("
+        + "p.oferta.id, p.estado, COUNT(p), SUM((p.fechaCreacion - :epoch) BY DAY)) "
+        + "FROM Postulacion p "
+        + "WHERE p.oferta.id IN :ofertaIds "
+        + "GROUP BY p.oferta.id, p.estado")
+    List<ContadorEstado> recontarPorOfertas(@Param("ofertaIds") Collection<Long> ofertaIds, @Param("epoch") LocalDate epoch);
+
+    // Bloquea las postulaciones del lote (FOR UPDATE) hasta el commit; en orden de id para que
+    // dos lotes que se solapan no se bloqueen mutuamente
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Postulacion p WHERE p.oferta.id = :ofertaId AND p.id IN :ids ORDER BY p.id")
+    List<Long> bloquearParaCambioEnLote(@Param("ofertaId") Long ofertaId, @Param("ids") Collection<Long> ids);
+
+    // Lectura única para el cambio de estado en lote (solo postulaciones de la oferta)
+    @Query("SELECT new com.workable_sb.workable.dto.PostulacionLoteFila("
+        + "p.id, p.estado, p.fechaCreacion, a.id, a.nombre, a.correo, o.titulo) "
+        + "FROM Postulacion p JOIN p.aspirante a JOIN p.oferta o "
+        + "WHERE o.id = :ofertaId AND p.id IN :ids")
+    List<PostulacionLoteFila> findParaCambioEnLote(@Param("ofertaId") Long ofertaId, @Param("ids") Collection<Long> ids);
+
+    // Citaciones múltiples: datos del candidato y la oferta de todas las postulaciones en una consulta
+    @Query("SELECT new com.workable_sb.workable.dto.CitacionLoteFila("
+        + "p.id, a.id, CONCAT(a.nombre, ' ', a.apellido), a.correo, o.titulo) "
+        + "FROM Postulacion p JOIN p.aspirante a JOIN p.oferta o "
+        + "WHERE p.id IN :ids")
+    List<CitacionLoteFila> findParaCitacion(@Param("ids") Collection<Long> ids);
+
+    // Transición en bloque desde un estado concreto; el filtro por estado evita pisar cambios concurrentes
+    @Modifying
+    @Query("UPDATE Postulacion p SET p.estado = :nuevo "
+        + "WHERE p.id IN :ids AND p.oferta.id = :ofertaId AND p.estado = :desde")
+    int cambiarEstadoEnBloque(@Param("ofertaId") Long ofertaId, @Param("ids") Collection<Long> ids,
+                              @Param("desde") Estado desde, @Param("nuevo") Estado nuevo);
+
 }
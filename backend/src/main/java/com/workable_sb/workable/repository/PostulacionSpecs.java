@@ -0,0 +1,110 @@
+package com.workable_sb.workable.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.sqm.TemporalUnit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.workable_sb.workable.models.Aspirante;
+import com.workable_sb.workable.models.Aspirante.HabilidadEnum;
+import com.workable_sb.workable.models.Estudio;
+import com.workable_sb.workable.models.Estudio.NivelEducativo;
+import com.workable_sb.workable.models.Experiencia;
+import com.workable_sb.workable.models.Postulacion;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.MapJoin;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Specifications de Postulacion para el filtrado avanzado de candidatos.
+ * Cada criterio se traduce a un EXISTS correlacionado con el aspirante,
+ * de modo que el filtrado completo se resuelve en una sola consulta.
+ */
+public final class PostulacionSpecs {
+
+    private PostulacionSpecs() {
+    }
+
+    public static Specification<Postulacion> deOferta(Long ofertaId) {
+        return (root, query, cb) -> cb.equal(root.get("oferta").get("id"), ofertaId);
+    }
+
+    // El aspirante tiene al menos un estudio con el nivel indicado
+    public static Specification<Postulacion> conNivelEducativo(NivelEducativo nivel) {
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Estudio> estudio = sub.from(Estudio.class);
+            sub.select(estudio.get("id")).where(
+                cb.equal(estudio.get("aspirante"), root.get("aspirante")),
+                cb.equal(estudio.get("nivelEducativo"), nivel));
+            return cb.exists(sub);
+        };
+    }
+
+    // Alguna experiencia dura al menos N años completos (fechaInicio + N años <= fechaFin o hoy)
+    public static Specification<Postulacion> conAniosExperiencia(int anios) {
+        return (root, query, cb) -> {
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Experiencia> exp = sub.from(Experiencia.class);
+            sub.select(exp.get("id")).where(
+                cb.equal(exp.get("aspirante"), root.get("aspirante")),
+                cb.lessThanOrEqualTo(
+                    hcb.addDuration(exp.<LocalDate>get("fechaInicio"), hcb.duration(anios, TemporalUnit.YEAR)),
+                    cb.coalesce(exp.<LocalDate>get("fechaFin"), LocalDate.now())));
+            return cb.exists(sub);
+        };
+    }
+
+    public static Specification<Postulacion> conCargoExperiencia(String cargo) {
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Experiencia> exp = sub.from(Experiencia.class);
+            sub.select(exp.get("id")).where(
+                cb.equal(exp.get("aspirante"), root.get("aspirante")),
+                cb.like(cb.lower(exp.get("cargo")), contiene(cargo), '\\'));
+            return cb.exists(sub);
+        };
+    }
+
+    // Municipio de alguna de las experiencias del aspirante
+    public static Specification<Postulacion> conMunicipioExperiencia(String municipio) {
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Experiencia> exp = sub.from(Experiencia.class);
+            Join<Object, Object> mun = exp.join("municipio");
+            sub.select(exp.get("id")).where(
+                cb.equal(exp.get("aspirante"), root.get("aspirante")),
+                cb.like(cb.lower(mun.get("nombre")), contiene(municipio), '\\'));
+            return cb.exists(sub);
+        };
+    }
+
+    // El aspirante declara alguna de las habilidades indicadas (claves del mapa)
+    public static Specification<Postulacion> conAlgunaHabilidad(Collection<HabilidadEnum> habilidades) {
+        return (root, query, cb) -> {
+            if (habilidades.isEmpty()) {
+                return cb.disjunction();
+            }
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Aspirante> asp = sub.from(Aspirante.class);
+            MapJoin<Aspirante, HabilidadEnum, String> hab = asp.joinMap("habilidades");
+            sub.select(asp.get("id")).where(
+                cb.equal(asp, root.get("aspirante")),
+                hab.key().in(habilidades));
+            return cb.exists(sub);
+        };
+    }
+
+    private static String contiene(String texto) {
+        String escapado = texto.toLowerCase()
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escapado + "%";
+    }
+}
@@ -0,0 +1,52 @@
+package com.workable_sb.workable.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.workable_sb.workable.dto.ConteoPorEstado;
+import com.workable_sb.workable.models.PostulacionStats;
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface PostulacionStatsRepo extends JpaRepository<PostulacionStats, PostulacionStats.Clave> {
+
+    // Incremento atómico en la propia fila (0 filas afectadas = el contador aún no existe)
+    @Modifying
+    @Query("UPDATE PostulacionStats s SET s.cantidad = s.cantidad + :cantidad, "
+        + "s.sumaDiasCreacion = s.sumaDiasCreacion + :dias "
+        + "WHERE s.ofertaId = :ofertaId AND s.estado = :estado")
+    int sumar(@Param("ofertaId") Long ofertaId, @Param("estado") Estado estado,
+              @Param("cantidad") long cantidad, @Param("dias") long dias);
+
+    // Contadores de la oferta con su título; sin filas significa que la oferta no existe
+    @Query("SELECT new com.workable_sb.workable.dto.ConteoPorEstado("
+        + "o.titulo, s.estado, s.cantidad, s.cantidad * :hoy - s.sumaDiasCreacion) "
+        + "FROM Oferta o LEFT JOIN PostulacionStats s ON s.ofertaId = o.id "
+        + "WHERE o.id = :ofertaId")
+    List<ConteoPorEstado> findConteosDeOferta(@Param("ofertaId") Long ofertaId, @Param("hoy") long hoy);
+
+    List<PostulacionStats> findByOfertaIdIn(Collection<Long> ofertaIds);
+
+    // Bloquea los contadores de la oferta mientras se reparan
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PostulacionStats s WHERE s.ofertaId = :ofertaId")
+    List<PostulacionStats> findByOfertaIdParaActualizar(@Param("ofertaId") Long ofertaId);
+
+    @Modifying
+    @Query("DELETE FROM PostulacionStats s WHERE s.ofertaId = :ofertaId")
+    int deleteByOfertaId(@Param("ofertaId") Long ofertaId);
+
+    // Contadores de ofertas que ya no existen
+    @Modifying
+    @Query("DELETE FROM PostulacionStats s WHERE NOT EXISTS (SELECT 1 FROM Oferta o WHERE o.id = s.ofertaId)")
+    int deleteHuerfanos();
+}
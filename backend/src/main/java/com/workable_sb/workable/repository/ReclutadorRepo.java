@@ -2,12 +2,22 @@ package com.workable_sb.workable.repository;
 
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.workable_sb.workable.models.Reclutador;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface ReclutadorRepo extends JpaRepository<Reclutador, Long> {
     Optional<Reclutador> findByCorreo(String correo);
     Optional<Reclutador> findByEmpresaId(Long empresaId);
+
+    // Bloquea la fila del reclutador hasta el commit: serializa la creación de citaciones en su agenda
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id FROM Reclutador r WHERE r.id = :id")
+    Optional<Long> bloquearAgenda(@Param("id") Long id);
 }
@@ -9,46 +9,29 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import com.workable_sb.workable.models.Aspirante;
-import com.workable_sb.workable.models.Reclutador;
-import com.workable_sb.workable.repository.AspiranteRepo;
-import com.workable_sb.workable.repository.ReclutadorRepo;
+import com.workable_sb.workable.models.Credencial;
+import com.workable_sb.workable.service.CredencialService;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Servicio personalizado para cargar detalles del usuario durante la autenticación.
- * Integra los modelos Aspirante y Reclutador con Spring Security.
+ * Integra el índice de credenciales (Administrador, Aspirante y Reclutador) con Spring Security.
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
-    private AspiranteRepo aspiranteRepo;
-
-    @Autowired
-    private ReclutadorRepo reclutadorRepo;
+    private CredencialService credencialService;
 
     @Override
     public UserDetails loadUserByUsername(String correo) throws UsernameNotFoundException {
-        // Intentar cargar como Aspirante
-        Optional<Aspirante> aspirante = aspiranteRepo.findByCorreo(correo);
-        if (aspirante.isPresent()) {
-            Aspirante user = aspirante.get();
-            return buildUserDetails(user.getCorreo(), user.getPassword(), user.getIsActive(), "ASPIRANTE");
-        }
-
-        // Intentar cargar como Reclutador
-        Optional<Reclutador> reclutador = reclutadorRepo.findByCorreo(correo);
-        if (reclutador.isPresent()) {
-            Reclutador user = reclutador.get();
-            return buildUserDetails(user.getCorreo(), user.getPassword(), user.getIsActive(), "RECLUTADOR");
-        }
+        // Una sola lectura del índice de credenciales (ADMIN > ASPIRANTE > RECLUTADOR)
+        Credencial credencial = credencialService.buscarPorCorreo(correo)
+            .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con correo: " + correo));
 
-        // Si no encuentra ninguno, lanzar excepción
-        throw new UsernameNotFoundException("Usuario no encontrado con correo: " + correo);
+        return buildUserDetails(credencial.getCorreo(), credencial.getPasswordHash(), credencial.getActivo(), credencial.getRol().name());
     }
 
     /**
@@ -46,24 +46,22 @@ public class JwtFilter extends OncePerRequestFilter {
 
         // Extraer token del header Authorization
         final String authHeader = request.getHeader("Authorization");
-        String correo = null;
-        String jwt = null;
-        String rol = null;
+        TokenClaims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
+            String jwt = authHeader.substring(7);
             
             try {
+                // Verificar el token una sola vez; todas las comprobaciones usan los mismos claims
+                claims = jwtUtil.parseToken(jwt);
+
                 // Validar que sea un access token (no refresh token)
-                if (!jwtUtil.isAccessToken(jwt)) {
+                if (!claims.isAccessToken()) {
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.getWriter().write("{\"error\": \"Token inválido. Usa un access token.\"}");
                     return;
                 }
                 
-                correo = jwtUtil.extractCorreo(jwt);
-                rol = jwtUtil.extractRol(jwt);
-                
             } catch (JwtAuthenticationException e) {
                 // Token malformado, expirado, etc.
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -73,22 +71,19 @@ public class JwtFilter extends OncePerRequestFilter {
             }
         }
 
-        // Si hay correo y no está autenticado aún, validar y autenticar
-        if (correo != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Si hay correo y no está autenticado aún, autenticar
+        if (claims != null && claims.correo() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            if (jwtUtil.validateToken(jwt, correo)) {
+            if (!claims.isExpired()) {
 
                 // Crear lista de autoridades (roles)
                 var authorities = new ArrayList<SimpleGrantedAuthority>();
-                if (rol != null) {
-                    authorities.add(new SimpleGrantedAuthority("ROLE_" + rol));
+                if (claims.rol() != null) {
+                    authorities.add(new SimpleGrantedAuthority("ROLE_" + claims.rol()));
                 }
 
-                // Extraer usuarioId del token
-                Long usuarioId = jwtUtil.extractUsuarioId(jwt);
-
                 // Crear CustomUserDetails con usuarioId
-                CustomUserDetails userDetails = new CustomUserDetails(correo, "", authorities, usuarioId);
+                CustomUserDetails userDetails = new CustomUserDetails(claims.correo(), "", authorities, claims.usuarioId());
 
                 // Crear token de autenticación de Spring Security
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
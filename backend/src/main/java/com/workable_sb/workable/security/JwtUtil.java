@@ -1,19 +1,27 @@
 package com.workable_sb.workable.security;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
 import com.workable_sb.workable.exception.JwtAuthenticationException;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -33,8 +41,25 @@ public class JwtUtil {
     @Value("${jwt.expiration:36000000}")
     private long EXPIRATION_TIME;
 
+    // Máximo de tokens verificados que se mantienen en memoria
+    @Value("${jwt.cache.max-entries:10000}")
+    private int CACHE_MAX_ENTRIES;
+
+    // La clave y el parser son inmutables: se construyen una sola vez
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Tokens ya verificados, indexados por el hash SHA-256 del token
+    private final Map<String, TokenClaims> cache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     // Genera access token
@@ -64,20 +89,54 @@ public class JwtUtil {
             .compact();
     }
 
+    /**
+     * Verifica el token una sola vez y devuelve sus claims.
+     * Los tokens repetidos se sirven desde caché hasta su expiración, sin volver a verificar la firma.
+     * @throws JwtAuthenticationException si el token es inválido o está expirado
+     */
+    public TokenClaims parseToken(String token) {
+        String clave = hashToken(token);
+        TokenClaims cached = cache.get(clave);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            cache.remove(clave);
+            throw new JwtAuthenticationException("Token expirado");
+        }
+
+        Claims claims = extractAllClaims(token);
+        TokenClaims verificado = new TokenClaims(
+            claims.getSubject(),
+            claims.get("rol", String.class),
+            claims.get("usuarioId", Long.class),
+            claims.get("type", String.class),
+            claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+
+        // Solo se cachean tokens con expiración, para que la entrada caduque con el token
+        if (verificado.expiracion() != null) {
+            if (cache.size() >= CACHE_MAX_ENTRIES) {
+                liberarCache();
+            }
+            cache.put(clave, verificado);
+        }
+        return verificado;
+    }
+
     public String extractRol(String token) {
-        return extractClaim(token, claims -> claims.get("rol", String.class));
+        return parseToken(token).rol();
     }
 
     public String extractCorreo(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).correo();
     }
 
     public Long extractUsuarioId(String token) {
-        return extractClaim(token, claims -> claims.get("usuarioId", Long.class));
+        return parseToken(token).usuarioId();
     }
 
     public String extractTokenType(String token) {
-        return extractClaim(token, claims -> claims.get("type", String.class));
+        return parseToken(token).tipo();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -88,8 +147,8 @@ public class JwtUtil {
     // Valida que el token sea válido
     public boolean validateToken(String token, String correo) {
         try {
-            String username = extractCorreo(token);
-            return (username.equals(correo) && !isTokenExpired(token));
+            TokenClaims claims = parseToken(token);
+            return claims.correo().equals(correo) && !claims.isExpired();
         } catch (Exception e) {
             return false;
         }
@@ -97,8 +156,7 @@ public class JwtUtil {
 
     public boolean isAccessToken(String token) {
         try {
-            String type = extractTokenType(token);
-            return "access".equals(type);
+            return parseToken(token).isAccessToken();
         } catch (Exception e) {
             return false;
         }
@@ -107,9 +165,7 @@ public class JwtUtil {
     // Extrae todos los claims del token
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+            return parser
                 .parseClaimsJws(token)
                 .getBody();
         } catch (ExpiredJwtException e) {
@@ -125,15 +181,29 @@ public class JwtUtil {
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            return extractAllClaims(token).getExpiration().before(new Date());
-        } catch (JwtAuthenticationException e) {
-            return true;
+    public Date getExpirationDate(String token) {
+        TokenClaims claims = parseToken(token);
+        return claims.expiracion() != null ? Date.from(claims.expiracion()) : null;
+    }
+
+    // Descarta primero los tokens expirados; si sigue llena, libera una parte arbitraria
+    private void liberarCache() {
+        cache.values().removeIf(TokenClaims::isExpired);
+        int exceso = cache.size() - CACHE_MAX_ENTRIES + Math.max(1, CACHE_MAX_ENTRIES / 10);
+        Iterator<String> it = cache.keySet().iterator();
+        while (exceso-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
         }
     }
 
-    public Date getExpirationDate(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 }
@@ -19,6 +19,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,9 +58,15 @@ public class SecurityConfig {
                 .authenticationEntryPoint(jwtAuthenticationEntryPoint)
             )
             .authorizeHttpRequests(auth -> auth
+                // Redespacho asíncrono (cierre o timeout del stream SSE): la petición ya se
+                // autorizó en el despacho inicial y el JwtFilter no se vuelve a ejecutar
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // ===== RUTAS PÚBLICAS =====
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/health").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 
                 // ===== ADMIN - ACCESO TOTAL A TODO (DEBE IR PRIMERO) =====
@@ -0,0 +1,18 @@
+package com.workable_sb.workable.security;
+
+import java.time.Instant;
+
+/**
+ * Claims de un token JWT ya verificado (firma y expiración).
+ * Se obtiene una sola vez por token mediante {@link JwtUtil#parseToken(String)}.
+ */
+public record TokenClaims(String correo, String rol, Long usuarioId, String tipo, Instant expiracion) {
+
+    public boolean isAccessToken() {
+        return "access".equals(tipo);
+    }
+
+    public boolean isExpired() {
+        return expiracion != null && expiracion.isBefore(Instant.now());
+    }
+}
@@ -4,14 +4,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.workable_sb.workable.models.Administrador;
 import com.workable_sb.workable.models.Municipio;
 import com.workable_sb.workable.repository.AdministradorRepo;
-import com.workable_sb.workable.repository.MunicipioRepo;
 
 @Service
 @Transactional
@@ -21,10 +19,10 @@ public class AdministradorService {
     private AdministradorRepo administradorRepo;
 
     @Autowired
-    private MunicipioRepo municipioRepo;
+    private MunicipioService municipioService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private CredencialService credencialService;
 
     // ===== CREATE =====
     public Administrador crearAdministrador(Administrador administrador) {
@@ -41,11 +39,15 @@ public class AdministradorService {
             throw new IllegalArgumentException("El correo es obligatorio");
         }
 
-        // Encriptar contraseña
-        administrador.setPassword(passwordEncoder.encode(administrador.getPassword()));
+        if (administrador.getPassword() == null || administrador.getPassword().isEmpty()) {
+            throw new IllegalArgumentException("La contraseña es obligatoria");
+        }
+
         administrador.setRol(Administrador.Rol.ADMIN);
 
-        return administradorRepo.save(administrador);
+        Administrador guardado = administradorRepo.save(administrador);
+        credencialService.sincronizar(guardado);
+        return guardado;
     }
 
     // ===== READ =====
@@ -81,17 +83,20 @@ public class AdministradorService {
         if (request.getFechaNacimiento() != null) existingAdministrador.setFechaNacimiento(request.getFechaNacimiento());
         if (request.getIsActive() != null) existingAdministrador.setIsActive(request.getIsActive());
 
+        // La contraseña llega ya hasheada: el controlador la hashea antes de abrir la transacción
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            existingAdministrador.setPassword(passwordEncoder.encode(request.getPassword()));
+            existingAdministrador.setPassword(request.getPassword());
         }
 
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio not found"));
             existingAdministrador.setMunicipio(municipio);
         }
 
-        return administradorRepo.save(existingAdministrador);
+        Administrador actualizado = administradorRepo.save(existingAdministrador);
+        credencialService.sincronizar(actualizado);
+        return actualizado;
     }
 
     // ===== DELETE =====
@@ -99,6 +104,7 @@ public class AdministradorService {
         Administrador administrador = obtenerPorId(id);
         administrador.setIsActive(false); // Soft delete
         administradorRepo.save(administrador);
+        credencialService.sincronizar(administrador);
     }
 
     // ===== BÚSQUEDA Y FILTRADO =====
@@ -0,0 +1,253 @@
+package com.workable_sb.workable.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.dto.CitacionHorario;
+import com.workable_sb.workable.models.Citacion;
+import com.workable_sb.workable.repository.CitacionRepo;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Agenda en memoria de cada reclutador: sus citaciones como intervalos [inicio, inicio + duración)
+ * ordenados por inicio. Se carga la primera vez que se usa un reclutador (citaciones activas y no
+ * canceladas desde hoy) y CitacionService la mantiene al crear, cancelar y cambiar de estado.
+ *
+ * Todas las citaciones duran lo mismo, así que para saber si un intervalo se cruza con otro basta
+ * mirar la citación que empieza justo antes de que termine: cada comprobación es O(log n) y la
+ * búsqueda de hueco salta de citación en citación. Varias citaciones con el mismo inicio forman
+ * una sesión de grupo (citaciones múltiples). Es local a cada instancia y se descarta cada
+ * recarga-ms para recoger lo creado en otras; por eso CitacionService confirma cada reserva
+ * contra la base con la fila del reclutador bloqueada.
+ */
+@Component
+public class AgendaReclutadores {
+
+    private static final Logger log = LoggerFactory.getLogger(AgendaReclutadores.class);
+
+    // Tope de días que se recorren buscando hueco
+    private static final int MAX_DIAS_BUSQUEDA = 366;
+
+    @Autowired
+    private CitacionRepo citacionRepo;
+
+    @Value("${citacion.agenda.duracion-minutos:30}")
+    private int duracionMinutos;
+
+    @Value("${citacion.agenda.jornada-inicio:08:00}")
+    private LocalTime jornadaInicio;
+
+    @Value("${citacion.agenda.jornada-fin:18:00}")
+    private LocalTime jornadaFin;
+
+    private final Map<Long, Agenda> agendas = new ConcurrentHashMap<>();
+
+    // Sin al menos un turno por día laborable la búsqueda de huecos no terminaría
+    @PostConstruct
+    void validarJornada() {
+        if (duracionMinutos <= 0) {
+            throw new IllegalStateException("citacion.agenda.duracion-minutos debe ser mayor que 0: " + duracionMinutos);
+        }
+        if (!jornadaInicio.isBefore(jornadaFin)
+                || Duration.between(jornadaInicio, jornadaFin).toMinutes() < duracionMinutos) {
+            throw new IllegalStateException("La jornada " + jornadaInicio + "-" + jornadaFin
+                + " no admite una citación de " + duracionMinutos + " minutos (citacion.agenda.*)");
+        }
+    }
+
+    /**
+     * Intervalos de un reclutador. Los métodos son synchronized pero no hacen I/O,
+     * así que el bloqueo dura lo que tarda una operación del TreeMap.
+     */
+    private static final class Agenda {
+
+        private final NavigableMap<LocalDateTime, Set<Long>> porInicio = new TreeMap<>();
+        private final Map<Long, LocalDateTime> inicioDe = new HashMap<>();
+
+        synchronized void agregar(LocalDateTime inicio, Collection<Long> citacionIds) {
+            porInicio.computeIfAbsent(inicio, k -> new HashSet<>()).addAll(citacionIds);
+            citacionIds.forEach(id -> inicioDe.put(id, inicio));
+        }
+
+        synchronized void quitar(Collection<Long> citacionIds) {
+            for (Long id : citacionIds) {
+                LocalDateTime inicio = inicioDe.remove(id);
+                Set<Long> enInicio = inicio != null ? porInicio.get(inicio) : null;
+                if (enInicio != null && enInicio.remove(id) && enInicio.isEmpty()) {
+                    porInicio.remove(inicio);
+                }
+            }
+        }
+
+        // Citación que se cruza con [inicio, inicio + duracion), o null si no hay
+        synchronized Long cruce(LocalDateTime inicio, Duration duracion) {
+            Map.Entry<LocalDateTime, Set<Long>> anterior = porInicio.lowerEntry(inicio.plus(duracion));
+            if (anterior != null && anterior.getKey().plus(duracion).isAfter(inicio)) {
+                return anterior.getValue().iterator().next();
+            }
+            return null;
+        }
+
+        // Comprueba y reserva en un solo paso para que dos peticiones no tomen el mismo hueco.
+        // Antes quita las mismas citaciones: si la agenda se cargó dentro de la transacción que
+        // las guarda, la consulta ya las trae (flush previo) y no deben cruzarse consigo mismas
+        synchronized Long reservar(LocalDateTime inicio, Duration duracion, Collection<Long> citacionIds) {
+            quitar(citacionIds);
+            Long ocupada = cruce(inicio, duracion);
+            if (ocupada == null) {
+                agregar(inicio, citacionIds);
+            }
+            return ocupada;
+        }
+
+        // Fin de la citación que se cruza con [inicio, inicio + duracion), o null si está libre
+        synchronized LocalDateTime finDelCruce(LocalDateTime inicio, Duration duracion) {
+            Map.Entry<LocalDateTime, Set<Long>> anterior = porInicio.lowerEntry(inicio.plus(duracion));
+            if (anterior != null && anterior.getKey().plus(duracion).isAfter(inicio)) {
+                return anterior.getKey().plus(duracion);
+            }
+            return null;
+        }
+    }
+
+    public Duration getDuracion() {
+        return Duration.ofMinutes(duracionMinutos);
+    }
+
+    /**
+     * Reserva el intervalo que empieza en inicio para las citaciones indicadas (una, o varias
+     * para una sesión de grupo). Si se cruza con otra citación lanza IllegalStateException.
+     */
+    public void reservar(Long reclutadorId, LocalDateTime inicio, Collection<Long> citacionIds) {
+        Long ocupada = obtener(reclutadorId).reservar(inicio, getDuracion(), citacionIds);
+        if (ocupada != null) {
+            throw new IllegalStateException("El reclutador ya tiene una citación (id " + ocupada
+                + ") que se cruza con el " + inicio.toLocalDate() + " a las " + inicio.toLocalTime());
+        }
+    }
+
+    public void liberar(Long reclutadorId, Collection<Long> citacionIds) {
+        Agenda agenda = agendas.get(reclutadorId);
+        if (agenda != null) {
+            agenda.quitar(citacionIds);
+        }
+    }
+
+    public Long cruce(Long reclutadorId, LocalDateTime inicio) {
+        return obtener(reclutadorId).cruce(inicio, getDuracion());
+    }
+
+    public LocalDateTime siguienteHueco(Long reclutadorId, LocalDateTime desde) {
+        return huecosLibres(reclutadorId, desde, 1).get(0);
+    }
+
+    /**
+     * Los n primeros huecos libres desde la fecha indicada, dentro de la jornada y de lunes a
+     * viernes, alineados a la duración de una citación. No los reserva: se reservan al crear
+     * las citaciones, y si otra petición tomó alguno antes la creación falla con el cruce.
+     */
+    public List<LocalDateTime> huecosLibres(Long reclutadorId, LocalDateTime desde, int n) {
+        Agenda agenda = obtener(reclutadorId);
+        Duration duracion = getDuracion();
+        LocalDate limite = desde.toLocalDate().plusDays(MAX_DIAS_BUSQUEDA);
+        List<LocalDateTime> huecos = new ArrayList<>(n);
+        LocalDateTime candidato = ajustarAJornada(desde, duracion);
+        while (huecos.size() < n) {
+            if (candidato.toLocalDate().isAfter(limite)) {
+                throw new IllegalStateException("No hay " + n + " huecos libres en los próximos " + MAX_DIAS_BUSQUEDA + " días");
+            }
+            LocalDateTime finCruce = agenda.finDelCruce(candidato, duracion);
+            if (finCruce != null) {
+                candidato = ajustarAJornada(finCruce, duracion);
+            } else {
+                huecos.add(candidato);
+                candidato = ajustarAJornada(candidato.plus(duracion), duracion);
+            }
+        }
+        return huecos;
+    }
+
+    @Scheduled(fixedDelayString = "${citacion.agenda.recarga-ms:600000}",
+               initialDelayString = "${citacion.agenda.recarga-ms:600000}")
+    public void descartar() {
+        agendas.clear();
+    }
+
+    // Descarta la agenda de un reclutador (desactualizada): el siguiente uso la vuelve a cargar
+    public void olvidar(Long reclutadorId) {
+        agendas.remove(reclutadorId);
+    }
+
+    // Primer inicio de turno válido en o después de t: dentro de la jornada, en día laborable
+    // y en múltiplos de la duración contados desde el inicio de la jornada
+    private LocalDateTime ajustarAJornada(LocalDateTime t, Duration duracion) {
+        LocalDate dia = t.toLocalDate();
+        LocalTime hora = t.toLocalTime();
+        while (true) {
+            if (dia.getDayOfWeek() == DayOfWeek.SATURDAY || dia.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                dia = dia.plusDays(1);
+                hora = jornadaInicio;
+                continue;
+            }
+            if (hora.isBefore(jornadaInicio)) {
+                hora = jornadaInicio;
+            }
+            long desdeInicio = Duration.between(jornadaInicio, hora).toMinutes();
+            long turno = (desdeInicio + duracionMinutos - 1) / duracionMinutos;
+            LocalDateTime inicio = dia.atTime(jornadaInicio).plusMinutes(turno * duracionMinutos);
+            if (inicio.toLocalDate().equals(dia) && !inicio.plus(duracion).toLocalTime().isAfter(jornadaFin)
+                    && !inicio.plus(duracion).toLocalDate().isAfter(dia)) {
+                return inicio;
+            }
+            dia = dia.plusDays(1);
+            hora = jornadaInicio;
+        }
+    }
+
+    private Agenda obtener(Long reclutadorId) {
+        Agenda agenda = agendas.get(reclutadorId);
+        if (agenda == null) {
+            // La consulta va fuera de computeIfAbsent para no retener el bloqueo del mapa durante el I/O
+            Agenda nueva = cargar(reclutadorId);
+            agenda = agendas.putIfAbsent(reclutadorId, nueva);
+            if (agenda == null) {
+                agenda = nueva;
+            }
+        }
+        return agenda;
+    }
+
+    private Agenda cargar(Long reclutadorId) {
+        Agenda agenda = new Agenda();
+        for (CitacionHorario horario : citacionRepo.findHorariosOcupados(reclutadorId, LocalDate.now())) {
+            try {
+                agenda.agregar(horario.fechaCitacion().atTime(Citacion.parsearHora(horario.hora())), List.of(horario.id()));
+            } catch (IllegalStateException e) {
+                // Citaciones antiguas con la hora en texto libre: no se pueden ubicar en la agenda
+                log.debug("Citación {} sin hora reconocible ({}), fuera de la agenda", horario.id(), horario.hora());
+            }
+        }
+        return agenda;
+    }
+}
@@ -0,0 +1,89 @@
+package com.workable_sb.workable.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizador para texto en español: minúsculas, eliminación de tildes,
+ * palabras vacías y un stemming ligero de plurales y género.
+ */
+public final class AnalizadorTexto {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+        "a", "al", "algo", "ante", "antes", "como", "con", "contra", "cual", "cuando", "de", "del",
+        "desde", "donde", "durante", "e", "el", "ella", "ellos", "en", "entre", "era", "es", "esa",
+        "ese", "eso", "esta", "estas", "este", "esto", "estos", "fue", "ha", "hay", "hasta", "la",
+        "las", "le", "les", "lo", "los", "mas", "me", "mi", "muy", "ni", "no", "nos", "o", "otra",
+        "otro", "para", "pero", "por", "que", "se", "ser", "si", "sin", "sobre", "son", "su", "sus",
+        "tambien", "te", "tu", "u", "un", "una", "uno", "unos", "y", "ya");
+
+    private AnalizadorTexto() {
+    }
+
+    /**
+     * Normaliza y divide el texto en términos indexables (ya con stemming).
+     */
+    public static List<String> analizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        for (String token : tokenizar(texto)) {
+            if (!PALABRAS_VACIAS.contains(token)) {
+                terminos.add(stem(token));
+            }
+        }
+        return terminos;
+    }
+
+    /**
+     * Divide el texto en tokens normalizados (minúsculas, sin tildes), sin stemming.
+     */
+    public static List<String> tokenizar(String texto) {
+        List<String> tokens = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return tokens;
+        }
+        String normalizado = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Stemming ligero: elimina la vocal final de género y las terminaciones de plural
+     * (desarrolladores -> desarrollador, analistas -> analist, capacidades -> capacidad).
+     */
+    public static String stem(String token) {
+        int len = token.length();
+        if (len < 5) {
+            return token;
+        }
+        char ultima = token.charAt(len - 1);
+        if (ultima == 'o' || ultima == 'a' || ultima == 'e') {
+            return token.substring(0, len - 1);
+        }
+        if (ultima == 's') {
+            if (token.endsWith("eses")) {
+                return token.substring(0, len - 2);
+            }
+            if (token.endsWith("ces")) {
+                return token.substring(0, len - 3) + "z";
+            }
+            char penultima = token.charAt(len - 2);
+            if (penultima == 'o' || penultima == 'a' || penultima == 'e') {
+                return token.substring(0, len - 2);
+            }
+        }
+        return token;
+    }
+}
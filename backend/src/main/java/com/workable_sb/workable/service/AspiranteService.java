@@ -4,22 +4,28 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.workable_sb.workable.dto.CursorPaginacion;
+import com.workable_sb.workable.dto.PaginaCursorDto;
 import com.workable_sb.workable.models.Aspirante;
+import com.workable_sb.workable.models.Credencial;
 import com.workable_sb.workable.models.HojaVida;
 import com.workable_sb.workable.models.Municipio;
 import com.workable_sb.workable.repository.AspiranteRepo;
 import com.workable_sb.workable.repository.HojaVidaRepo;
-import com.workable_sb.workable.repository.MunicipioRepo;
 
 @Service
 @Transactional
 public class AspiranteService {
+
+    // Contraseña de los aspirantes que crea un admin sin indicar ninguna
+    public static final String PASSWORD_POR_DEFECTO = "123456";
+
     @Autowired
     private AspiranteRepo aspiranteRepo;
 
@@ -27,14 +33,21 @@ public class AspiranteService {
     private HojaVidaRepo hojaVidaRepo;
 
     @Autowired
-    private MunicipioRepo municipioRepo;
+    private MunicipioService municipioService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private CredencialService credencialService;
 
     // - READ
-    public List<Aspirante> getAll() {
-        return aspiranteRepo.findAll();
+    // Paginación por clave, ordenada por nombre e id
+    public PaginaCursorDto<Aspirante> getAll(String cursor, int tamano) {
+        int limite = CursorPaginacion.tamanoEfectivo(tamano);
+        CursorPaginacion desde = CursorPaginacion.decodificar(cursor);
+        PageRequest pagina = PageRequest.of(0, limite + 1);
+        List<Aspirante> filas = desde == null
+            ? aspiranteRepo.findPrimeraPagina(pagina)
+            : aspiranteRepo.findPaginaDespuesDe(desde.clave(), desde.id(), pagina);
+        return PaginaCursorDto.de(filas, limite, a -> CursorPaginacion.de(a.getNombre(), a.getId()));
     }
 
     public Optional<Aspirante> getById(Long id) {
@@ -63,14 +76,14 @@ public class AspiranteService {
 
         // Municipio es opcional, solo validar si se proporciona
         if (request.getMunicipio() != null && request.getMunicipio().getId() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId()).orElseThrow(() -> new RuntimeException("Municipio not found"));
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId()).orElseThrow(() -> new RuntimeException("Municipio not found"));
             request.setMunicipio(municipio);
         } else {
             request.setMunicipio(null);
         }
 
-        request.setPassword(passwordEncoder.encode(request.getPassword()));
         Aspirante aspirante = aspiranteRepo.save(request);
+        credencialService.sincronizar(aspirante);
         
         // Crear HojaVida automáticamente
         crearHojaVidaAutomatica(aspirante);
@@ -78,21 +91,18 @@ public class AspiranteService {
         return aspirante;
     }
 
+    // La contraseña llega ya hasheada; si el admin no indica ninguna, el controlador usa PASSWORD_POR_DEFECTO
     public Aspirante create(Aspirante request) {
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId()).orElseThrow(() -> new RuntimeException("Municipio not found"));
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId()).orElseThrow(() -> new RuntimeException("Municipio not found"));
             request.setMunicipio(municipio);
         }
-        if (request.getPassword() == null || request.getPassword().isEmpty()) {
-            request.setPassword(passwordEncoder.encode("123456"));
-        } else {
-            request.setPassword(passwordEncoder.encode(request.getPassword()));
-        }
         // Si no se proporciona fechaNacimiento, usar una fecha por defecto
         if (request.getFechaNacimiento() == null) {
             request.setFechaNacimiento(java.time.LocalDate.of(1990, 1, 1));
         }
         Aspirante aspirante = aspiranteRepo.save(request);
+        credencialService.sincronizar(aspirante);
         
         // Crear HojaVida automáticamente
         crearHojaVidaAutomatica(aspirante);
@@ -133,15 +143,18 @@ public class AspiranteService {
         existingAspirante.setDescripcion(request.getDescripcion());
         existingAspirante.setGenero(request.getGenero());
         existingAspirante.setUbicacion(request.getUbicacion());
+        // La contraseña llega ya hasheada: el controlador la hashea antes de abrir la transacción
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            existingAspirante.setPassword(passwordEncoder.encode(request.getPassword()));
+            existingAspirante.setPassword(request.getPassword());
         }
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio not found"));
             existingAspirante.setMunicipio(municipio);
         }
-        return aspiranteRepo.save(existingAspirante);
+        Aspirante actualizado = aspiranteRepo.save(existingAspirante);
+        credencialService.sincronizar(actualizado);
+        return actualizado;
     }
 
     // - UPDATE (ADMIN: gestión completa)
@@ -163,11 +176,12 @@ public class AspiranteService {
         if (request.getUrlFotoPerfil() != null) existingAspirante.setUrlFotoPerfil(request.getUrlFotoPerfil());
         if (request.getFechaNacimiento() != null) existingAspirante.setFechaNacimiento(request.getFechaNacimiento());
         if (request.getIsActive() != null) existingAspirante.setIsActive(request.getIsActive());
+        // La contraseña llega ya hasheada: el controlador la hashea antes de abrir la transacción
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            existingAspirante.setPassword(passwordEncoder.encode(request.getPassword()));
+            existingAspirante.setPassword(request.getPassword());
         }
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio not found"));
             existingAspirante.setMunicipio(municipio);
         }
@@ -175,7 +189,9 @@ public class AspiranteService {
         if (request.getDescripcion() != null) existingAspirante.setDescripcion(request.getDescripcion());
         if (request.getGenero() != null) existingAspirante.setGenero(request.getGenero());
         if (request.getUbicacion() != null) existingAspirante.setUbicacion(request.getUbicacion());
-        return aspiranteRepo.save(existingAspirante);
+        Aspirante actualizado = aspiranteRepo.save(existingAspirante);
+        credencialService.sincronizar(actualizado);
+        return actualizado;
     }
 
     // - UPDATE MI PERFIL (usando token JWT)
@@ -226,7 +242,7 @@ public class AspiranteService {
             existingAspirante.setUbicacion(request.getUbicacion());
         }
         if (request.getMunicipio() != null && request.getMunicipio().getId() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio no encontrado"));
             existingAspirante.setMunicipio(municipio);
         }
@@ -234,7 +250,9 @@ public class AspiranteService {
             existingAspirante.setUrlFotoPerfil(request.getUrlFotoPerfil());
         }
 
-        return aspiranteRepo.save(existingAspirante);
+        Aspirante actualizado = aspiranteRepo.save(existingAspirante);
+        credencialService.sincronizar(actualizado);
+        return actualizado;
     }
 
     // - DELETE PUBLICO: solo el propio aspirante
@@ -251,6 +269,7 @@ public class AspiranteService {
 
         Aspirante existingAspirante = aspiranteRepo.findById(idAuth).orElseThrow(() -> new RuntimeException("Aspirante no encontrado"));
         aspiranteRepo.delete(existingAspirante);
+        credencialService.eliminar(Credencial.Rol.ASPIRANTE, existingAspirante.getId());
     }
 
     // - DELETE (ADMIN: gestión completa)
@@ -258,5 +277,6 @@ public class AspiranteService {
         Aspirante existingAspirante = aspiranteRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Aspirante no encontrado"));
         aspiranteRepo.delete(existingAspirante);
+        credencialService.eliminar(Credencial.Rol.ASPIRANTE, existingAspirante.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.workable_sb.workable.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.repository.BloqueoTareaRepo;
+
+/**
+ * Concesiones en base de datos para que una tarea programada corra en una sola instancia a la vez.
+ * La concesión dura lo indicado y la instancia propietaria la renueva mientras trabaja; si se cae,
+ * otra la toma cuando vence. No hay bloqueos de fila abiertos entre una llamada y otra.
+ */
+@Component
+public class BloqueosTareas {
+
+    @Autowired
+    private BloqueoTareaRepo bloqueoTareaRepo;
+
+    // Identifica a esta instancia como propietaria de sus concesiones
+    private final String propietario = nombreHost() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * Toma la concesión de la tarea o la renueva si ya es de esta instancia.
+     * Devuelve false si la tiene otra instancia y aún no venció.
+     */
+    public boolean adquirir(String tarea, Duration duracion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime hasta = ahora.plus(duracion);
+        if (bloqueoTareaRepo.reclamar(tarea, propietario, hasta, ahora) == 1) {
+            return true;
+        }
+        if (bloqueoTareaRepo.existsById(tarea)) {
+            return false;
+        }
+        try {
+            return bloqueoTareaRepo.crear(tarea, propietario, hasta) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia creó la concesión a la vez
+            return false;
+        }
+    }
+
+    // Deja la concesión vencida para que la próxima pasada la tome cualquier instancia
+    public void liberar(String tarea) {
+        bloqueoTareaRepo.liberar(tarea, propietario, LocalDateTime.now());
+    }
+
+    public String getPropietario() {
+        return propietario;
+    }
+
+    private static String nombreHost() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "instancia";
+        }
+    }
+}
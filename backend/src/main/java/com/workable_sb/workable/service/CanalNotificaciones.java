@@ -0,0 +1,195 @@
+package com.workable_sb.workable.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.workable_sb.workable.dto.DestinatarioNotificacion;
+import com.workable_sb.workable.dto.NotificacionEventoDto;
+import com.workable_sb.workable.repository.NotificacionRepo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Canal Server-Sent Events de notificaciones. Cada usuario puede tener varias conexiones
+ * (pestañas) y cada evento se reparte a todas. Por conexión solo se guarda el SseEmitter;
+ * al reconectar, lo perdido se relee de la base a partir de Last-Event-ID (el id de la
+ * notificación), así que no hay buffers por conexión.
+ *
+ * Eventos: "notificacion" (con id) y "no-leidas" (contador de no leídas, sin id).
+ */
+@Component
+public class CanalNotificaciones {
+
+    private static final Logger log = LoggerFactory.getLogger(CanalNotificaciones.class);
+
+    private static final String EVENTO_NOTIFICACION = "notificacion";
+    private static final String EVENTO_NO_LEIDAS = "no-leidas";
+    private static final List<Set<DataWithMediaType>> HEARTBEAT = List.of(SseEmitter.event().comment("hb").build());
+
+    // Tope de notificaciones reenviadas al reconectar; más antiguas se consultan por la API
+    private static final int MAX_REENVIO = 100;
+
+    @Autowired
+    private NotificacionRepo notificacionRepo;
+
+    @Autowired
+    private ContadoresNoLeidas contadoresNoLeidas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notificacion.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notificacion.sse.reintento-ms:5000}")
+    private long reintentoMs;
+
+    @Value("${notificacion.sse.max-conexiones-por-usuario:5}")
+    private int maxConexionesPorUsuario;
+
+    // Conexiones de cada usuario en orden de llegada: al superar el tope se cierra la más antigua
+    private final Map<DestinatarioNotificacion, Deque<SseEmitter>> conexiones = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConexiones = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("workable.notificaciones.sse.conexiones", totalConexiones, AtomicInteger::get)
+                .description("Conexiones SSE de notificaciones abiertas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre una conexión. Se registra antes de reenviar lo pendiente para no perder eventos
+     * publicados entretanto; un evento puede llegar repetido y el cliente lo descarta por id.
+     */
+    public SseEmitter conectar(DestinatarioNotificacion destinatario, Long ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> sobrantes = new ArrayList<>(1);
+        // Alta y desalojo dentro de compute para no competir con desconectar, que borra las colas vacías
+        conexiones.compute(destinatario, (d, delUsuario) -> {
+            Deque<SseEmitter> actuales = delUsuario != null ? delUsuario : new ConcurrentLinkedDeque<>();
+            while (actuales.size() >= maxConexionesPorUsuario) {
+                SseEmitter masAntigua = actuales.pollFirst();
+                sobrantes.add(masAntigua);
+                totalConexiones.decrementAndGet();
+            }
+            actuales.addLast(emitter);
+            return actuales;
+        });
+        totalConexiones.incrementAndGet();
+        // Ya fuera del mapa: se cierran las conexiones más antiguas (p. ej. pestañas abandonadas
+        // sin cerrar el socket); su desconectar no las encuentra y no vuelve a descontarlas
+        sobrantes.forEach(SseEmitter::complete);
+        emitter.onCompletion(() -> desconectar(destinatario, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> desconectar(destinatario, emitter));
+
+        try {
+            if (ultimoEventoId != null) {
+                for (NotificacionEventoDto pendiente : pendientes(destinatario, ultimoEventoId)) {
+                    emitter.send(eventoNotificacion(pendiente));
+                }
+            }
+            emitter.send(SseEmitter.event().name(EVENTO_NO_LEIDAS).reconnectTime(reintentoMs)
+                .data(contarNoLeidas(destinatario)));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public boolean tieneConexiones(DestinatarioNotificacion destinatario) {
+        return conexiones.containsKey(destinatario);
+    }
+
+    // Fuera del hilo que confirmó la transacción: un cliente lento no frena al que notifica
+    @Async
+    public void publicarNotificaciones(DestinatarioNotificacion destinatario, List<NotificacionEventoDto> notificaciones) {
+        Deque<SseEmitter> delUsuario = conexiones.get(destinatario);
+        if (delUsuario == null) {
+            return;
+        }
+        List<Set<DataWithMediaType>> eventos = new ArrayList<>(notificaciones.size() + 1);
+        for (NotificacionEventoDto notificacion : notificaciones) {
+            eventos.add(eventoNotificacion(notificacion).build());
+        }
+        eventos.add(SseEmitter.event().name(EVENTO_NO_LEIDAS).data(contarNoLeidas(destinatario)).build());
+        enviarATodos(delUsuario, eventos);
+    }
+
+    @Async
+    public void publicarNoLeidas(DestinatarioNotificacion destinatario) {
+        Deque<SseEmitter> delUsuario = conexiones.get(destinatario);
+        if (delUsuario == null) {
+            return;
+        }
+        enviarATodos(delUsuario, List.of(SseEmitter.event().name(EVENTO_NO_LEIDAS).data(contarNoLeidas(destinatario)).build()));
+    }
+
+    // Comentario SSE periódico para que proxies y balanceadores no cierren conexiones inactivas
+    @Scheduled(fixedDelayString = "${notificacion.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Deque<SseEmitter> delUsuario : conexiones.values()) {
+            enviarATodos(delUsuario, HEARTBEAT);
+        }
+    }
+
+    // Los eventos se construyen una vez: SseEventBuilder no se puede reutilizar entre envíos
+    private void enviarATodos(Collection<SseEmitter> emitters, List<Set<DataWithMediaType>> eventos) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                for (Set<DataWithMediaType> evento : eventos) {
+                    emitter.send(evento);
+                }
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void desconectar(DestinatarioNotificacion destinatario, SseEmitter emitter) {
+        conexiones.computeIfPresent(destinatario, (d, delUsuario) -> {
+            if (delUsuario.remove(emitter)) {
+                totalConexiones.decrementAndGet();
+            }
+            return delUsuario.isEmpty() ? null : delUsuario;
+        });
+        log.debug("Conexión SSE cerrada para {}", destinatario);
+    }
+
+    private List<NotificacionEventoDto> pendientes(DestinatarioNotificacion destinatario, Long ultimoEventoId) {
+        PageRequest limite = PageRequest.of(0, MAX_REENVIO);
+        return destinatario.tipo() == DestinatarioNotificacion.Tipo.ASPIRANTE
+            ? notificacionRepo.findEventosAspiranteDespuesDe(destinatario.id(), ultimoEventoId, limite)
+            : notificacionRepo.findEventosReclutadorDespuesDe(destinatario.id(), ultimoEventoId, limite);
+    }
+
+    private long contarNoLeidas(DestinatarioNotificacion destinatario) {
+        return contadoresNoLeidas.obtener(destinatario);
+    }
+
+    private static SseEmitter.SseEventBuilder eventoNotificacion(NotificacionEventoDto notificacion) {
+        return SseEmitter.event().id(String.valueOf(notificacion.id())).name(EVENTO_NOTIFICACION).data(notificacion);
+    }
+}
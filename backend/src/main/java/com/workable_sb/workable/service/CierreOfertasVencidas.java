@@ -0,0 +1,98 @@
+package com.workable_sb.workable.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.repository.OfertaRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cierra (CERRADA) las ofertas abiertas cuya fecha límite ya pasó, para que dejen de salir en
+ * listarAbiertas, en la búsqueda por facetas y de aceptar postulaciones sin filtrar por fecha en
+ * cada petición. Trabaja por lotes de id con un UPDATE por lote, cada uno en su transacción,
+ * y solo en la instancia que tiene la concesión de la tarea.
+ */
+@Component
+public class CierreOfertasVencidas {
+
+    private static final Logger log = LoggerFactory.getLogger(CierreOfertasVencidas.class);
+
+    private static final String TAREA = "cierre-ofertas-vencidas";
+
+    @Autowired
+    private OfertaRepo ofertaRepo;
+
+    @Autowired
+    private OfertaService ofertaService;
+
+    @Autowired
+    private BloqueosTareas bloqueosTareas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oferta.vencimiento.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${oferta.vencimiento.concesion-ms:600000}")
+    private long concesionMs;
+
+    private Counter cerradas;
+    private Timer duracion;
+
+    @PostConstruct
+    void init() {
+        cerradas = Counter.builder("workable.ofertas.vencimiento.cerradas")
+                .description("Ofertas cerradas automáticamente por fecha límite vencida")
+                .register(meterRegistry);
+        duracion = Timer.builder("workable.ofertas.vencimiento")
+                .description("Duración de cada pasada de cierre de ofertas vencidas")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${oferta.vencimiento.intervalo-ms:3600000}",
+               initialDelayString = "${oferta.vencimiento.retraso-inicial-ms:60000}")
+    public void ejecutar() {
+        if (!bloqueosTareas.adquirir(TAREA, Duration.ofMillis(concesionMs))) {
+            return;
+        }
+        try {
+            duracion.record(() -> {
+                int total = cerrar(LocalDate.now());
+                if (total > 0) {
+                    log.info("Ofertas vencidas: {} cerradas", total);
+                }
+            });
+        } finally {
+            bloqueosTareas.liberar(TAREA);
+        }
+    }
+
+    private int cerrar(LocalDate hoy) {
+        int total = 0;
+        List<Long> ids;
+        // Sin cursor: las cerradas dejan de estar ABIERTA y no vuelven a aparecer
+        while (!(ids = ofertaRepo.findIdsVencidas(hoy, PageRequest.of(0, tamanoLote))).isEmpty()) {
+            List<Long> lote = ofertaService.cerrarVencidas(ids, hoy);
+            cerradas.increment(lote.size());
+            total += lote.size();
+            if (lote.isEmpty() || ids.size() < tamanoLote || !bloqueosTareas.adquirir(TAREA, Duration.ofMillis(concesionMs))) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -1,16 +1,32 @@
 package com.workable_sb.workable.service;
 
+import static com.workable_sb.workable.service.Transacciones.despuesDeCommit;
+import static com.workable_sb.workable.service.Transacciones.siNoConfirma;
+
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.workable_sb.workable.dto.CitacionLoteFila;
+import com.workable_sb.workable.dto.CursorPaginacion;
+import com.workable_sb.workable.dto.MiCitacionDto;
+import com.workable_sb.workable.dto.PaginaCursorDto;
+import com.workable_sb.workable.dto.ProgresoCitacionesDto;
+import com.workable_sb.workable.dto.RecordatorioCitacionFila;
 import com.workable_sb.workable.models.Citacion;
 import com.workable_sb.workable.models.Citacion.Estado;
 import com.workable_sb.workable.models.Postulacion;
@@ -25,6 +41,8 @@ import com.workable_sb.workable.service.AdminValidationService;
 @Service
 @Transactional
 public class CitacionService {
+
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("HH:mm");
     
     @Autowired
     private CitacionRepo citacionRepo;
@@ -46,8 +64,22 @@ public class CitacionService {
 
     @Autowired
     private AdminValidationService adminValidationService;
+
+    @Autowired
+    private NotificadorCitaciones notificadorCitaciones;
+
+    @Autowired
+    private TrabajosCitacion trabajosCitacion;
+
+    @Autowired
+    private AgendaReclutadores agenda;
+
+    // Candidatos por lote de aviso (una transacción y un hilo del pool por lote)
+    @Value("${citacion.multiples.tamano-lote:50}")
+    private int tamanoLoteAviso;
     
     // ===== CREAR CITACIÓN =====
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Citacion crearCitacion(Long postulacionId, Long reclutadorId, LocalDate fechaCitacion, 
                                   String hora, String linkMeet, String detalles, 
                                   Long reclutadorIdActual) {
@@ -68,6 +100,9 @@ public class CitacionService {
             throw new RuntimeException("No puedes crear citaciones para otros reclutadores");
         }
         
+        LocalDateTime inicio = fechaCitacion.atTime(Citacion.parsearHora(hora));
+        bloquearAgenda(reclutadorId);
+        
         // Crear citación
         Citacion citacion = new Citacion();
         citacion.setPostulacion(postulacion);
@@ -80,7 +115,10 @@ public class CitacionService {
         citacion.setFechaEnvio(LocalDateTime.now());
         citacion.setMensajeEnviado(false);
         
-        return citacionRepo.save(citacion);
+        Citacion guardada = citacionRepo.save(citacion);
+        // Si el turno se cruza con otra citación del reclutador, se lanza y no se crea
+        reservarEnAgenda(reclutadorId, inicio, List.of(guardada.getId()));
+        return guardada;
     }
     
     // ===== ENVIAR CITACIÓN POR EMAIL =====
@@ -155,94 +193,151 @@ public class CitacionService {
     }
     
     // ===== ENVIAR CITACIÓN A MÚLTIPLES CANDIDATOS =====
-    public Map<String, Object> enviarCitacionesMultiples(List<Long> postulacionIds, Long reclutadorId, 
+    /**
+     * Crea las citaciones dentro de la petición: las postulaciones se leen en una consulta y las
+     * citaciones se insertan en lotes JDBC. El aviso a los candidatos (alerta y correo) se reparte
+     * por lotes a NotificadorCitaciones tras el commit; el avance se consulta con obtenerProgreso.
+     * Todas las citaciones comparten turno (sesión de grupo), que no puede cruzarse con otra citación.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public ProgresoCitacionesDto enviarCitacionesMultiples(List<Long> postulacionIds, Long reclutadorId, 
                                                           LocalDate fechaCitacion, String hora, 
                                                           String linkMeet, String detalles, 
                                                           Long reclutadorIdActual) {
         // Validar permisos
-        Reclutador reclutadorActual = reclutadorRepo.findById(reclutadorIdActual)
+        Reclutador reclutador = reclutadorRepo.findById(reclutadorIdActual)
             .orElseThrow(() -> new RuntimeException("Reclutador no encontrado"));
         
-        if (!reclutadorActual.getId().equals(reclutadorId)) {
+        if (!reclutador.getId().equals(reclutadorId)) {
             throw new RuntimeException("No puedes crear citaciones para otros reclutadores");
         }
+        LocalDateTime inicio = fechaCitacion.atTime(Citacion.parsearHora(hora));
+        bloquearAgenda(reclutadorId);
         
-        List<Citacion> citacionesCreadas = new ArrayList<>();
-        List<String> notificacionesEnviadas = new ArrayList<>();
+        // Etapa 1: todas las postulaciones en una consulta
         List<String> errores = new ArrayList<>();
+        List<CitacionLoteFila> encontradas = filasParaCitacion(postulacionIds, errores);
         
-        Reclutador reclutador = reclutadorRepo.findById(reclutadorId)
+        // Etapa 2: citaciones insertadas en lotes JDBC (id por secuencia)
+        List<Citacion> citaciones = new ArrayList<>(encontradas.size());
+        LocalDateTime ahora = LocalDateTime.now();
+        for (CitacionLoteFila fila : encontradas) {
+            citaciones.add(nuevaCitacion(fila.postulacionId(), reclutador, fechaCitacion, hora, linkMeet, detalles, ahora));
+        }
+        List<Citacion> guardadas = citacionRepo.saveAll(citaciones);
+        List<CitacionLoteFila> creadas = new ArrayList<>(guardadas.size());
+        for (int i = 0; i < guardadas.size(); i++) {
+            creadas.add(encontradas.get(i).conCitacion(guardadas.get(i).getId(), fechaCitacion, hora));
+        }
+        if (!creadas.isEmpty()) {
+            reservarEnAgenda(reclutadorId, inicio, creadas.stream().map(CitacionLoteFila::citacionId).toList());
+        }
+        
+        // Etapa 3: aviso por lotes en el pool de @Async, solo si las citaciones se confirman
+        return avisarPorLotes(reclutador, postulacionIds.size(), creadas, errores, linkMeet, detalles);
+    }
+    
+    // ===== AGENDAR AUTOMÁTICAMENTE =====
+    /**
+     * Reparte las postulaciones en los primeros huecos libres del reclutador a partir de desde
+     * (uno por candidato, en el orden recibido) y crea las citaciones como enviarCitacionesMultiples.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public ProgresoCitacionesDto autoAgendar(List<Long> postulacionIds, Long reclutadorId, LocalDateTime desde,
+                                             String linkMeet, String detalles, Long reclutadorIdActual) {
+        Reclutador reclutador = reclutadorRepo.findById(reclutadorIdActual)
             .orElseThrow(() -> new RuntimeException("Reclutador no encontrado"));
         
-        for (Long postulacionId : postulacionIds) {
-            try {
-                // Crear citación
-                Postulacion postulacion = postulacionRepo.findById(postulacionId)
-                    .orElseThrow(() -> new RuntimeException("Postulación " + postulacionId + " no encontrada"));
-                
-                Citacion citacion = new Citacion();
-                citacion.setPostulacion(postulacion);
-                citacion.setReclutador(reclutador);
-                citacion.setFechaCitacion(fechaCitacion);
-                citacion.setHora(hora);
-                citacion.setLinkMeet(linkMeet);
-                citacion.setDetallesCitacion(detalles);
-                citacion.setEstado(Estado.PENDIENTE);
-                citacion.setFechaEnvio(LocalDateTime.now());
-                
-                Citacion citacionGuardada = citacionRepo.save(citacion);
-                citacionesCreadas.add(citacionGuardada);
-                
-                // Enviar por Email
-                Aspirante aspirante = postulacion.getAspirante();
-                String nombreOferta = postulacion.getOferta().getTitulo();
-                
-                if (emailService != null) {
-                    emailService.enviarCitacionEmail(
-                        aspirante.getCorreo(),
-                        aspirante.getNombre() + " " + aspirante.getApellido(),
-                        nombreOferta,
-                        fechaCitacion.toString(),
-                        hora,
-                        linkMeet,
-                        reclutador.getNombre() + " " + reclutador.getApellido(),
-                        detalles
-                    );
-                }
-                
-                citacion.setMensajeEnviado(true);
-                citacionRepo.save(citacion);
-                notificacionesEnviadas.add(aspirante.getCorreo());
-                
-                // Crear alerta de notificación
-                notificacionService.crearAlertaCitacion(
-                    aspirante.getId(),
-                    nombreOferta,
-                    fechaCitacion.toString(),
-                    hora,
-                    citacionGuardada.getId()
-                );
-                
-            } catch (Exception e) {
-                errores.add("Error para postulación " + postulacionId + ": " + e.getMessage());
-            }
+        if (!reclutador.getId().equals(reclutadorId)) {
+            throw new RuntimeException("No puedes crear citaciones para otros reclutadores");
         }
         
-        Map<String, Object> respuesta = new HashMap<>();
-        respuesta.put("citacionesCreadas", citacionesCreadas.size());
-        respuesta.put("notificacionesEnviadas", notificacionesEnviadas);
-        respuesta.put("errores", errores);
-        respuesta.put("total", postulacionIds.size());
-        respuesta.put("exitosas", citacionesCreadas.size());
+        bloquearAgenda(reclutadorId);
+        
+        List<String> errores = new ArrayList<>();
+        List<CitacionLoteFila> encontradas = filasParaCitacion(postulacionIds, errores);
+        List<LocalDateTime> huecos = encontradas.isEmpty()
+            ? List.of()
+            : agenda.huecosLibres(reclutadorId, noAntesDeAhora(desde), encontradas.size());
+        
+        List<Citacion> citaciones = new ArrayList<>(encontradas.size());
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 0; i < encontradas.size(); i++) {
+            LocalDateTime hueco = huecos.get(i);
+            citaciones.add(nuevaCitacion(encontradas.get(i).postulacionId(), reclutador, hueco.toLocalDate(),
+                hueco.toLocalTime().format(FORMATO_HORA), linkMeet, detalles, ahora));
+        }
+        List<Citacion> guardadas = citacionRepo.saveAll(citaciones);
+        List<CitacionLoteFila> creadas = new ArrayList<>(guardadas.size());
+        for (int i = 0; i < guardadas.size(); i++) {
+            Citacion guardada = guardadas.get(i);
+            // Otra petición pudo tomar el hueco entre la búsqueda y la reserva: falla todo el lote
+            reservarEnAgenda(reclutadorId, huecos.get(i), List.of(guardada.getId()));
+            creadas.add(encontradas.get(i).conCitacion(guardada.getId(), guardada.getFechaCitacion(), guardada.getHora()));
+        }
+        
+        return avisarPorLotes(reclutador, postulacionIds.size(), creadas, errores, linkMeet, detalles);
+    }
+    
+    // Primer hueco libre del reclutador a partir de desde (o de ahora)
+    @Transactional(readOnly = true)
+    public LocalDateTime obtenerSiguienteHueco(Long reclutadorId, LocalDateTime desde, Long reclutadorIdActual) {
+        Reclutador reclutadorActual = reclutadorRepo.findById(reclutadorIdActual)
+            .orElseThrow(() -> new RuntimeException("Reclutador no encontrado"));
+        
+        if (!reclutadorActual.getId().equals(reclutadorId)) {
+            throw new RuntimeException("No tienes permisos para ver la agenda de otros reclutadores");
+        }
         
-        return respuesta;
+        return agenda.siguienteHueco(reclutadorId, noAntesDeAhora(desde));
+    }
+    
+    public int getDuracionCitacionMinutos() {
+        return (int) agenda.getDuracion().toMinutes();
+    }
+    
+    // Avance de un envío de citaciones múltiples; solo lo consulta el reclutador que lo lanzó
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ProgresoCitacionesDto obtenerProgreso(String trabajoId, Long reclutadorIdActual) {
+        TrabajosCitacion.Trabajo trabajo = trabajosCitacion.obtener(trabajoId);
+        if (trabajo == null) {
+            throw new RuntimeException("Envío de citaciones no encontrado");
+        }
+        if (!trabajo.getReclutadorId().equals(reclutadorIdActual)) {
+            throw new IllegalStateException("No tienes permisos para ver este envío de citaciones");
+        }
+        return trabajo.progreso();
+    }
+    
+    // ===== RECORDATORIOS =====
+    /**
+     * Envía un lote de recordatorios (alertas y correos encolados) y sube las citaciones al nivel
+     * indicado, todo en una transacción. Si otra instancia ya subió alguna, el lote entero se descarta.
+     */
+    public int enviarRecordatorios(List<RecordatorioCitacionFila> filas, int nivel, String cuando) {
+        List<Long> ids = filas.stream().map(RecordatorioCitacionFila::citacionId).toList();
+        int marcadas = citacionRepo.marcarRecordatorios(ids, nivel);
+        if (marcadas != ids.size()) {
+            throw new IllegalStateException("Recordatorios ya enviados por otra instancia para " + (ids.size() - marcadas)
+                + " de " + ids.size() + " citaciones");
+        }
+        notificacionService.crearRecordatoriosCitacion(filas, cuando);
+        if (emailService != null) {
+            emailService.enviarRecordatoriosCitacion(filas, cuando);
+        }
+        return marcadas;
     }
     
     // ===== OBTENER CITACIONES =====
-    public List<Citacion> obtenerTodas() {
-        return citacionRepo.findAll().stream()
-            .filter(c -> c.getIsActive() != null && c.getIsActive())
-            .toList();
+    // Citaciones activas con paginación por clave (fechaCitacion, id), más recientes primero
+    public PaginaCursorDto<Citacion> obtenerTodas(String cursor, int tamano) {
+        int limite = CursorPaginacion.tamanoEfectivo(tamano);
+        CursorPaginacion desde = CursorPaginacion.decodificar(cursor);
+        PageRequest pagina = PageRequest.of(0, limite + 1);
+        List<Citacion> filas = desde == null
+            ? citacionRepo.findActivasPrimeraPagina(pagina)
+            : citacionRepo.findActivasPaginaDespuesDe(desde.claveComoFecha(), desde.id(), pagina);
+        return PaginaCursorDto.de(filas, limite, c -> CursorPaginacion.de(c.getFechaCitacion(), c.getId()));
     }
     
     public Citacion obtenerCitacion(Long citacionId, Long reclutadorIdActual) {
@@ -277,16 +372,13 @@ public class CitacionService {
         return citacionRepo.findByReclutadorIdOrderByFechaCitacionDesc(reclutadorId);
     }
     
-    public List<Citacion> obtenerCitacionesDelAspirante(Long aspiranteId, Long aspiranteIdActual) {
-        Aspirante aspirante = aspiranteRepo.findById(aspiranteIdActual)
-            .orElseThrow(() -> new RuntimeException("Aspirante no encontrado"));
-        
+    public List<MiCitacionDto> obtenerCitacionesDelAspirante(Long aspiranteId, Long aspiranteIdActual) {
         // El aspirante solo puede ver sus propias citaciones
-        if (!aspirante.getId().equals(aspiranteId)) {
+        if (!aspiranteId.equals(aspiranteIdActual)) {
             throw new RuntimeException("No tienes permisos para ver citaciones de otros usuarios");
         }
         
-        return citacionRepo.findByPostulacionAspiranteId(aspiranteId);
+        return citacionRepo.findMisCitaciones(aspiranteId);
     }
     
     public List<Citacion> obtenerCitacionesDeOferta(Long ofertaId, Long reclutadorIdActual) {
@@ -298,6 +390,7 @@ public class CitacionService {
     }
     
     // ===== CAMBIAR ESTADO =====
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Citacion cambiarEstadoCitacion(Long citacionId, String nuevoEstado, Long reclutadorIdActual) {
         Citacion citacion = citacionRepo.findById(citacionId)
             .orElseThrow(() -> new RuntimeException("Citación no encontrada"));
@@ -310,13 +403,28 @@ public class CitacionService {
             throw new RuntimeException("No tienes permisos para cambiar el estado de esta citación");
         }
         
+        Estado estado;
         try {
-            Estado estado = Estado.valueOf(nuevoEstado);
-            citacion.setEstado(estado);
-            return citacionRepo.save(citacion);
+            estado = Estado.valueOf(nuevoEstado);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Estado inválido: " + nuevoEstado);
         }
+        Estado anterior = citacion.getEstado();
+        citacion.setEstado(estado);
+        Citacion guardada = citacionRepo.save(citacion);
+        
+        // Cancelar libera el turno; reactivar una cancelada lo vuelve a ocupar si sigue libre
+        Long reclutadorId = citacion.getReclutador().getId();
+        if (estado == Estado.CANCELADA && anterior != Estado.CANCELADA) {
+            despuesDeCommit(() -> agenda.liberar(reclutadorId, List.of(citacionId)));
+        } else if (anterior == Estado.CANCELADA && estado != Estado.CANCELADA && Boolean.TRUE.equals(citacion.getIsActive())) {
+            LocalDateTime inicio = inicioEnAgenda(citacion);
+            if (inicio != null) {
+                bloquearAgenda(reclutadorId);
+                reservarEnAgenda(reclutadorId, inicio, List.of(citacionId));
+            }
+        }
+        return guardada;
     }
     
     // ===== ELIMINAR CITACIÓN =====
@@ -328,6 +436,7 @@ public class CitacionService {
         if (adminValidationService.isAdmin()) {
             citacion.setIsActive(false);
             citacionRepo.save(citacion);
+            liberarDespuesDeCommit(citacion);
             return;
         }
         
@@ -341,5 +450,114 @@ public class CitacionService {
         
         citacion.setIsActive(false);
         citacionRepo.save(citacion);
+        liberarDespuesDeCommit(citacion);
+    }
+
+    // ===== MÉTODOS PRIVADOS =====
+
+    // Postulaciones encontradas en una consulta, en el orden pedido y sin repetir; las demás van a errores
+    private List<CitacionLoteFila> filasParaCitacion(List<Long> postulacionIds, List<String> errores) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(postulacionIds));
+        Map<Long, CitacionLoteFila> filas = new HashMap<>();
+        for (CitacionLoteFila fila : postulacionRepo.findParaCitacion(ids)) {
+            filas.put(fila.postulacionId(), fila);
+        }
+        List<CitacionLoteFila> encontradas = new ArrayList<>(filas.size());
+        for (Long postulacionId : ids) {
+            CitacionLoteFila fila = filas.get(postulacionId);
+            if (fila == null) {
+                errores.add("Error para postulación " + postulacionId + ": Postulación " + postulacionId + " no encontrada");
+            } else {
+                encontradas.add(fila);
+            }
+        }
+        return encontradas;
+    }
+
+    private Citacion nuevaCitacion(Long postulacionId, Reclutador reclutador, LocalDate fechaCitacion, String hora,
+                                   String linkMeet, String detalles, LocalDateTime ahora) {
+        Citacion citacion = new Citacion();
+        citacion.setPostulacion(postulacionRepo.getReferenceById(postulacionId));
+        citacion.setReclutador(reclutador);
+        citacion.setFechaCitacion(fechaCitacion);
+        citacion.setHora(hora);
+        citacion.setLinkMeet(linkMeet);
+        citacion.setDetallesCitacion(detalles);
+        citacion.setEstado(Estado.PENDIENTE);
+        citacion.setFechaEnvio(ahora);
+        citacion.setMensajeEnviado(false);
+        citacion.setAvisoPendiente(true);
+        return citacion;
+    }
+
+    // Reparte el aviso en lotes para el pool de @Async, solo si las citaciones se confirman.
+    // Las citaciones quedan con aviso pendiente: si un lote no llega a confirmarse, ReenvioAvisosCitacion lo reenvía
+    private ProgresoCitacionesDto avisarPorLotes(Reclutador reclutador, int solicitadas, List<CitacionLoteFila> creadas,
+                                                 List<String> errores, String linkMeet, String detalles) {
+        List<List<CitacionLoteFila>> lotes = new ArrayList<>();
+        for (int i = 0; i < creadas.size(); i += tamanoLoteAviso) {
+            lotes.add(List.copyOf(creadas.subList(i, Math.min(creadas.size(), i + tamanoLoteAviso))));
+        }
+        TrabajosCitacion.Trabajo trabajo = trabajosCitacion.nuevo(
+            reclutador.getId(), solicitadas, creadas.size(), lotes.size(), errores);
+        String nombreReclutador = reclutador.getNombre() + " " + reclutador.getApellido();
+        despuesDeCommit(() -> {
+            trabajosCitacion.registrar(trabajo);
+            for (List<CitacionLoteFila> lote : lotes) {
+                notificadorCitaciones.avisarLote(trabajo, lote, linkMeet, nombreReclutador, detalles);
+            }
+        });
+        return trabajo.progreso();
+    }
+
+    // Antes de comprobar cruces: con la fila del reclutador bloqueada hasta el commit, dos peticiones
+    // (también de instancias distintas) no pueden crear citaciones en su agenda a la vez. Los métodos
+    // que lo usan van en READ COMMITTED: con REPEATABLE READ (MySQL) la consulta de cruces podría leer
+    // una instantánea anterior al commit de quien tenía el bloqueo
+    private void bloquearAgenda(Long reclutadorId) {
+        reclutadorRepo.bloquearAgenda(reclutadorId)
+            .orElseThrow(() -> new RuntimeException("Reclutador no encontrado"));
+    }
+    
+    // La reserva se hace al momento para que otra petición no tome el mismo turno,
+    // y se deshace si la transacción no llega a confirmarse.
+    // La agenda en memoria es local a la instancia y puede no tener lo creado en otras: el cruce se
+    // comprueba también en la base (con bloquearAgenda ya hecho) y, si solo lo ve la base, la agenda
+    // se descarta para que la siguiente búsqueda de huecos la recargue
+    private void reservarEnAgenda(Long reclutadorId, LocalDateTime inicio, List<Long> citacionIds) {
+        Duration duracion = agenda.getDuracion();
+        List<Long> cruces = citacionRepo.findCruces(reclutadorId, inicio.minus(duracion), inicio.plus(duracion), citacionIds);
+        if (!cruces.isEmpty()) {
+            agenda.olvidar(reclutadorId);
+            throw new IllegalStateException("El reclutador ya tiene una citación (id " + cruces.get(0)
+                + ") que se cruza con el " + inicio.toLocalDate() + " a las " + inicio.toLocalTime());
+        }
+        agenda.reservar(reclutadorId, inicio, citacionIds);
+        siNoConfirma(() -> agenda.liberar(reclutadorId, citacionIds));
+    }
+
+    private void liberarDespuesDeCommit(Citacion citacion) {
+        if (citacion.getReclutador() != null) {
+            Long reclutadorId = citacion.getReclutador().getId();
+            Long citacionId = citacion.getId();
+            despuesDeCommit(() -> agenda.liberar(reclutadorId, List.of(citacionId)));
+        }
+    }
+
+    // Inicio de una citación para la agenda; null si ya pasó o su hora no se puede interpretar
+    private static LocalDateTime inicioEnAgenda(Citacion citacion) {
+        if (citacion.getFechaCitacion() == null || citacion.getFechaCitacion().isBefore(LocalDate.now())) {
+            return null;
+        }
+        try {
+            return citacion.getFechaCitacion().atTime(Citacion.parsearHora(citacion.getHora()));
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime noAntesDeAhora(LocalDateTime desde) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return desde == null || desde.isBefore(ahora) ? ahora : desde;
     }
 }
@@ -0,0 +1,77 @@
+package com.workable_sb.workable.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workable_sb.workable.dto.DestinatarioNotificacion;
+import com.workable_sb.workable.dto.DestinatarioNotificacion.Tipo;
+import com.workable_sb.workable.repository.NotificacionRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Caché de notificaciones no leídas por receptor (tipo e id), para que el contador del canal SSE
+ * y de la API no cuente en la base en cada lectura. El valor sale del COUNT indexado por
+ * (receptor, leida); NotificacionService invalida la entrada tras cada cambio confirmado y la
+ * siguiente lectura vuelve a contar. Acotada en tamaño y con caducidad tras la carga, así que
+ * los cambios hechos en otro nodo se ven como tarde al expirar la entrada.
+ */
+@Component
+public class ContadoresNoLeidas {
+
+    @Autowired
+    private NotificacionRepo notificacionRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notificacion.contadores.max-receptores:10000}")
+    private long maxReceptores;
+
+    @Value("${notificacion.contadores.expira-ms:60000}")
+    private long expiraMs;
+
+    private Cache<DestinatarioNotificacion, Long> contadores;
+    private Counter cargas;
+
+    @PostConstruct
+    void init() {
+        contadores = Caffeine.newBuilder()
+                .maximumSize(maxReceptores)
+                .expireAfterWrite(Duration.ofMillis(expiraMs))
+                .build();
+        cargas = Counter.builder("workable.notificaciones.no-leidas.cargas")
+                .description("Contadores de no leídas cargados desde la base")
+                .register(meterRegistry);
+        Gauge.builder("workable.notificaciones.no-leidas.contadores", contadores, Cache::estimatedSize)
+                .description("Receptores con contador de no leídas en caché")
+                .register(meterRegistry);
+    }
+
+    public long obtener(DestinatarioNotificacion destinatario) {
+        return contadores.get(destinatario, this::contarEnBase);
+    }
+
+    /**
+     * Descarta el contador tras un cambio confirmado. Si había una carga en curso, la invalidación
+     * espera a que termine y la descarta, así que ningún cambio se pierde.
+     */
+    public void invalidar(DestinatarioNotificacion destinatario) {
+        contadores.invalidate(destinatario);
+    }
+
+    private long contarEnBase(DestinatarioNotificacion destinatario) {
+        cargas.increment();
+        return destinatario.tipo() == Tipo.ASPIRANTE
+            ? notificacionRepo.countByAspiranteIdAndLeida(destinatario.id(), false)
+            : notificacionRepo.countByReclutadorIdAndLeida(destinatario.id(), false);
+    }
+}
@@ -0,0 +1,128 @@
+package com.workable_sb.workable.service;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.workable_sb.workable.dto.ContadorEstado;
+import com.workable_sb.workable.dto.ConteoPorEstado;
+import com.workable_sb.workable.models.Postulacion;
+import com.workable_sb.workable.models.Postulacion.Estado;
+import com.workable_sb.workable.models.PostulacionStats;
+import com.workable_sb.workable.repository.PostulacionRepo;
+import com.workable_sb.workable.repository.PostulacionStatsRepo;
+
+/**
+ * Mantiene los contadores de postulacion_stats dentro de la misma transacción que
+ * modifica la postulación, con UPDATE atómicos sobre la fila (oferta, estado).
+ * Así el resumen de etapas de una oferta se lee sin recontar sus postulaciones.
+ */
+@Service
+@Transactional
+public class ContadoresPostulacionService {
+
+    @Autowired
+    private PostulacionStatsRepo statsRepo;
+
+    @Autowired
+    private PostulacionRepo postulacionRepo;
+
+    // ===== ACTUALIZACIÓN =====
+    public void registrarAlta(Postulacion postulacion) {
+        sumar(postulacion.getOferta().getId(), postulacion.getEstado(), 1, postulacion.getFechaCreacion().toEpochDay());
+    }
+
+    public void registrarBaja(Postulacion postulacion) {
+        sumar(postulacion.getOferta().getId(), postulacion.getEstado(), -1, -postulacion.getFechaCreacion().toEpochDay());
+    }
+
+    public void registrarCambio(Postulacion postulacion, Estado anterior) {
+        registrarCambioEnLote(postulacion.getOferta().getId(), anterior, postulacion.getEstado(),
+            1, postulacion.getFechaCreacion().toEpochDay());
+    }
+
+    /**
+     * Mueve {@code cantidad} postulaciones de un estado a otro con dos UPDATE, sea cual sea
+     * el tamaño del lote. {@code sumaDiasCreacion} es la suma de sus días epoch de creación.
+     */
+    public void registrarCambioEnLote(Long ofertaId, Estado desde, Estado hacia, long cantidad, long sumaDiasCreacion) {
+        if (desde == hacia || cantidad == 0) {
+            return;
+        }
+        // Filas siempre en el mismo orden para no provocar interbloqueos entre transiciones opuestas
+        if (desde.ordinal() < hacia.ordinal()) {
+            sumar(ofertaId, desde, -cantidad, -sumaDiasCreacion);
+            sumar(ofertaId, hacia, cantidad, sumaDiasCreacion);
+        } else {
+            sumar(ofertaId, hacia, cantidad, sumaDiasCreacion);
+            sumar(ofertaId, desde, -cantidad, -sumaDiasCreacion);
+        }
+    }
+
+    // Crea los contadores a cero de una oferta nueva
+    public void inicializar(Long ofertaId) {
+        for (Estado estado : Estado.values()) {
+            statsRepo.save(new PostulacionStats(ofertaId, estado, 0L, 0L));
+        }
+    }
+
+    public void eliminarDeOferta(Long ofertaId) {
+        statsRepo.deleteByOfertaId(ofertaId);
+    }
+
+    // ===== LECTURA =====
+    @Transactional(readOnly = true)
+    public List<ConteoPorEstado> conteosDeOferta(Long ofertaId) {
+        return statsRepo.findConteosDeOferta(ofertaId, LocalDate.now().toEpochDay());
+    }
+
+    // ===== RECONCILIACIÓN =====
+    /**
+     * Recalcula los contadores de una oferta desde la tabla postulacion, con sus filas
+     * bloqueadas. Devuelve true si había desviación y se corrigió.
+     */
+    public boolean reparar(Long ofertaId) {
+        Map<Estado, PostulacionStats> actuales = new EnumMap<>(Estado.class);
+        for (PostulacionStats stats : statsRepo.findByOfertaIdParaActualizar(ofertaId)) {
+            actuales.put(stats.getEstado(), stats);
+        }
+        Map<Estado, ContadorEstado> esperados = new EnumMap<>(Estado.class);
+        for (ContadorEstado contador : postulacionRepo.recontarPorOfertas(List.of(ofertaId), LocalDate.EPOCH)) {
+            esperados.put(contador.estado(), contador);
+        }
+
+        boolean desviado = false;
+        for (Estado estado : Estado.values()) {
+            ContadorEstado esperado = esperados.get(estado);
+            long cantidad = esperado != null ? esperado.cantidad() : 0L;
+            long dias = esperado != null && esperado.sumaDiasCreacion() != null ? esperado.sumaDiasCreacion() : 0L;
+
+            PostulacionStats stats = actuales.get(estado);
+            if (stats == null) {
+                statsRepo.save(new PostulacionStats(ofertaId, estado, cantidad, dias));
+                desviado |= cantidad != 0;
+            } else if (stats.getCantidad() != cantidad || stats.getSumaDiasCreacion() != dias) {
+                stats.setCantidad(cantidad);
+                stats.setSumaDiasCreacion(dias);
+                desviado = true;
+            }
+        }
+        return desviado;
+    }
+
+    public int eliminarHuerfanos() {
+        return statsRepo.deleteHuerfanos();
+    }
+
+    private void sumar(Long ofertaId, Estado estado, long cantidad, long dias) {
+        if (statsRepo.sumar(ofertaId, estado, cantidad, dias) == 0) {
+            // Oferta anterior a los contadores: se crea la fila; el reconciliador ajusta el resto
+            statsRepo.save(new PostulacionStats(ofertaId, estado, cantidad, dias));
+        }
+    }
+}
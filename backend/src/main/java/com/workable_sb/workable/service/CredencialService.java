@@ -0,0 +1,98 @@
+package com.workable_sb.workable.service;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.workable_sb.workable.models.Administrador;
+import com.workable_sb.workable.models.Aspirante;
+import com.workable_sb.workable.models.Credencial;
+import com.workable_sb.workable.models.Credencial.Rol;
+import com.workable_sb.workable.models.Reclutador;
+import com.workable_sb.workable.repository.AdministradorRepo;
+import com.workable_sb.workable.repository.AspiranteRepo;
+import com.workable_sb.workable.repository.CredencialRepo;
+import com.workable_sb.workable.repository.ReclutadorRepo;
+
+/**
+ * Servicio para mantener y consultar el índice unificado de credenciales.
+ */
+@Service
+@Transactional
+public class CredencialService {
+
+    private static final Logger log = LoggerFactory.getLogger(CredencialService.class);
+
+    @Autowired
+    private CredencialRepo credencialRepo;
+
+    @Autowired
+    private AspiranteRepo aspiranteRepo;
+
+    @Autowired
+    private ReclutadorRepo reclutadorRepo;
+
+    @Autowired
+    private AdministradorRepo administradorRepo;
+
+    // ===== CONSULTA =====
+    /**
+     * Credencial de mayor precedencia para el correo (ADMIN > ASPIRANTE > RECLUTADOR).
+     */
+    @Transactional(readOnly = true)
+    public Optional<Credencial> buscarPorCorreo(String correo) {
+        return credencialRepo.findByCorreo(correo).stream()
+                .min(Comparator.comparing(Credencial::getRol));
+    }
+
+    // ===== SINCRONIZACIÓN =====
+    public void sincronizar(Aspirante aspirante) {
+        guardar(Rol.ASPIRANTE, aspirante.getId(), aspirante.getCorreo(), aspirante.getPassword(),
+                aspirante.getIsActive(), aspirante.getNombre(), aspirante.getApellido());
+    }
+
+    public void sincronizar(Reclutador reclutador) {
+        guardar(Rol.RECLUTADOR, reclutador.getId(), reclutador.getCorreo(), reclutador.getPassword(),
+                reclutador.getIsActive(), reclutador.getNombre(), reclutador.getApellido());
+    }
+
+    public void sincronizar(Administrador administrador) {
+        guardar(Rol.ADMIN, administrador.getId(), administrador.getCorreo(), administrador.getPassword(),
+                administrador.getIsActive(), administrador.getNombre(), administrador.getApellido());
+    }
+
+    public void eliminar(Rol rol, Long usuarioId) {
+        credencialRepo.deleteByRolAndUsuarioId(rol, usuarioId);
+    }
+
+    /**
+     * Reconstruye el índice completo a partir de las tablas de usuarios.
+     * Se usa al arrancar, ya que la carga inicial de datos escribe directamente en los repositorios.
+     */
+    public void reconstruir() {
+        credencialRepo.deleteAllInBatch();
+        administradorRepo.findAll().forEach(this::sincronizar);
+        aspiranteRepo.findAll().forEach(this::sincronizar);
+        reclutadorRepo.findAll().forEach(this::sincronizar);
+        log.info("Índice de credenciales reconstruido: {} entradas", credencialRepo.count());
+    }
+
+    private void guardar(Rol rol, Long usuarioId, String correo, String passwordHash,
+            Boolean activo, String nombre, String apellido) {
+        Credencial credencial = credencialRepo.findByRolAndUsuarioId(rol, usuarioId)
+                .orElseGet(Credencial::new);
+        credencial.setRol(rol);
+        credencial.setUsuarioId(usuarioId);
+        credencial.setCorreo(correo);
+        credencial.setPasswordHash(passwordHash);
+        credencial.setActivo(activo);
+        credencial.setNombre(nombre);
+        credencial.setApellido(apellido);
+        credencialRepo.save(credencial);
+    }
+}
@@ -0,0 +1,214 @@
+package com.workable_sb.workable.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.models.EmailOutbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Vacía la bandeja de salida de correos. Cada pasada reclama lotes de correos listos y
+ * los envía en paralelo (como mucho {@code email.outbox.workers} lotes a la vez), en hilos
+ * virtuales si {@code spring.threads.virtual.enabled} está activo.
+ * Cada lote viaja por una sola conexión SMTP. Los fallos se reintentan con espera exponencial.
+ */
+@Component
+public class DespachadorEmails {
+
+    private static final Logger log = LoggerFactory.getLogger(DespachadorEmails.class);
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private EmailOutboxService outbox;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.mail.username:noreply@workable.com}")
+    private String fromEmail;
+
+    @Value("${email.outbox.workers:4}")
+    private int workers;
+
+    // Correos por conexión SMTP
+    @Value("${email.outbox.tamano-lote:20}")
+    private int tamanoLote;
+
+    // Tiempo tras el cual un lote reclamado y no confirmado vuelve a la cola
+    @Value("${email.outbox.reclamo-expira-ms:300000}")
+    private long reclamoExpiraMs;
+
+    // Mismo modo que Tomcat y @Async: hilos virtuales o un pool fijo de hilos de plataforma
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    private ExecutorService executor;
+    private Semaphore lotesEnCurso;
+    private Counter enviados;
+    private Counter reintentos;
+    private Counter descartados;
+    private Timer duracionLote;
+
+    @PostConstruct
+    void init() {
+        executor = hilosVirtuales
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("email-outbox-", 1).factory())
+            : Executors.newFixedThreadPool(Math.max(1, workers), Thread.ofPlatform().name("email-outbox-", 1).daemon().factory());
+        lotesEnCurso = new Semaphore(Math.max(1, workers));
+
+        enviados = Counter.builder("workable.email.enviados")
+                .description("Correos enviados desde la bandeja de salida")
+                .register(meterRegistry);
+        reintentos = Counter.builder("workable.email.reintentos")
+                .description("Envíos fallidos programados para reintento")
+                .register(meterRegistry);
+        descartados = Counter.builder("workable.email.descartados")
+                .description("Correos que agotaron los reintentos (FALLIDO)")
+                .register(meterRegistry);
+        Gauge.builder("workable.email.pendientes", outbox, o -> o.contar(EmailOutbox.Estado.PENDIENTE))
+                .description("Correos en la bandeja de salida pendientes de envío")
+                .register(meterRegistry);
+        duracionLote = Timer.builder("workable.email.lote")
+                .description("Duración del envío de un lote por una conexión SMTP")
+                .register(meterRegistry);
+
+        if (mailSender == null) {
+            log.info("Servicio de mail no configurado: la bandeja de salida no se despacha");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.intervalo-ms:1000}")
+    public void despachar() {
+        if (mailSender == null) {
+            return;
+        }
+        int liberados = outbox.liberarAtascados(reclamoExpiraMs);
+        if (liberados > 0) {
+            log.warn("Bandeja de salida: {} correos de envíos interrumpidos vuelven a la cola", liberados);
+        }
+
+        // Sin esperar: si todos los workers están ocupados, se sigue en la próxima pasada
+        while (lotesEnCurso.tryAcquire()) {
+            List<EmailOutbox> lote;
+            try {
+                lote = outbox.reclamar(tamanoLote);
+            } catch (RuntimeException e) {
+                lotesEnCurso.release();
+                throw e;
+            }
+            if (lote.isEmpty()) {
+                lotesEnCurso.release();
+                return;
+            }
+            executor.execute(() -> {
+                try {
+                    duracionLote.record(() -> enviarLote(lote));
+                } finally {
+                    lotesEnCurso.release();
+                }
+            });
+        }
+    }
+
+    private void enviarLote(List<EmailOutbox> lote) {
+        Map<MimeMessage, EmailOutbox> porMensaje = new IdentityHashMap<>();
+        for (EmailOutbox email : lote) {
+            try {
+                porMensaje.put(construirMensaje(email), email);
+            } catch (MessagingException e) {
+                fallo(email, e);
+            }
+        }
+        if (porMensaje.isEmpty()) {
+            return;
+        }
+
+        Set<Long> fallidos = new HashSet<>();
+        try {
+            mailSender.send(porMensaje.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // Fallo de conexión o autenticación: no se envió ninguno
+                porMensaje.values().forEach(email -> fallidos.add(email.getId()));
+                porMensaje.values().forEach(email -> fallo(email, e));
+            } else {
+                e.getFailedMessages().forEach((mensaje, causa) -> {
+                    EmailOutbox email = porMensaje.get(mensaje);
+                    if (email != null) {
+                        fallidos.add(email.getId());
+                        fallo(email, causa);
+                    }
+                });
+            }
+        } catch (MailException e) {
+            porMensaje.values().forEach(email -> fallidos.add(email.getId()));
+            porMensaje.values().forEach(email -> fallo(email, e));
+        }
+
+        List<Long> confirmados = new ArrayList<>();
+        for (EmailOutbox email : porMensaje.values()) {
+            if (!fallidos.contains(email.getId())) {
+                confirmados.add(email.getId());
+            }
+        }
+        outbox.marcarEnviados(confirmados);
+        enviados.increment(confirmados.size());
+    }
+
+    private MimeMessage construirMensaje(EmailOutbox email) throws MessagingException {
+        MimeMessage mensaje = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mensaje, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getDestinatario());
+        helper.setSubject(email.getAsunto());
+        helper.setText(email.getContenidoHtml(), true);
+        return mensaje;
+    }
+
+    private void fallo(EmailOutbox email, Exception causa) {
+        if (outbox.registrarFallo(email.getId(), causa.getMessage())) {
+            descartados.increment();
+            log.error("Correo {} a {} descartado tras agotar los reintentos: {}",
+                email.getId(), email.getDestinatario(), causa.getMessage());
+        } else {
+            reintentos.increment();
+            log.warn("Fallo al enviar el correo {} a {}, se reintentará: {}",
+                email.getId(), email.getDestinatario(), causa.getMessage());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.workable_sb.workable.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.workable_sb.workable.models.EmailOutbox;
+import com.workable_sb.workable.models.EmailOutbox.Estado;
+import com.workable_sb.workable.repository.EmailOutboxRepo;
+
+/**
+ * Bandeja de salida de correos. {@link #encolar} se une a la transacción del llamador,
+ * así el correo solo existe si el cambio de negocio se confirma. El resto de métodos
+ * los usa DespachadorEmails para reclamar, confirmar y reintentar envíos.
+ */
+@Service
+@Transactional
+public class EmailOutboxService {
+
+    @Autowired
+    private EmailOutboxRepo outboxRepo;
+
+    @Value("${email.outbox.max-intentos:6}")
+    private int maxIntentos;
+
+    // Espera antes del primer reintento; se duplica en cada fallo hasta backoff-max-ms
+    @Value("${email.outbox.backoff-inicial-ms:30000}")
+    private long backoffInicialMs;
+
+    @Value("${email.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    public EmailOutbox encolar(String destinatario, String asunto, String contenidoHtml) {
+        return outboxRepo.save(nuevo(destinatario, asunto, contenidoHtml));
+    }
+
+    // Envíos masivos: una transacción y las inserciones agrupadas en lotes JDBC
+    public void encolarTodos(List<EmailOutbox> correos) {
+        outboxRepo.saveAll(correos);
+    }
+
+    public static EmailOutbox nuevo(String destinatario, String asunto, String contenidoHtml) {
+        EmailOutbox email = new EmailOutbox();
+        email.setDestinatario(destinatario);
+        email.setAsunto(asunto);
+        email.setContenidoHtml(contenidoHtml);
+        email.setEstado(Estado.PENDIENTE);
+        return email;
+    }
+
+    // Reclama hasta "maximo" correos listos y los devuelve marcados como ENVIANDO
+    public List<EmailOutbox> reclamar(int maximo) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Long> ids = outboxRepo.findIdsListos(Estado.PENDIENTE, ahora, PageRequest.of(0, maximo));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String lote = UUID.randomUUID().toString();
+        outboxRepo.reclamar(ids, lote, ahora, Estado.PENDIENTE, Estado.ENVIANDO);
+        return outboxRepo.findByLote(lote);
+    }
+
+    public void marcarEnviados(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboxRepo.marcarEnviados(ids, LocalDateTime.now(), Estado.ENVIADO);
+        }
+    }
+
+    /**
+     * Programa el siguiente intento con espera exponencial o, agotados los intentos,
+     * deja el correo en FALLIDO. Devuelve true si el correo se descartó.
+     */
+    public boolean registrarFallo(Long id, String error) {
+        EmailOutbox email = outboxRepo.findById(id).orElse(null);
+        if (email == null) {
+            return false;
+        }
+        int intentos = email.getIntentos() + 1;
+        email.setIntentos(intentos);
+        email.setLote(null);
+        email.setUltimoError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        if (intentos >= maxIntentos) {
+            email.setEstado(Estado.FALLIDO);
+            return true;
+        }
+        long espera = Math.min(backoffMaxMs, backoffInicialMs << Math.min(intentos - 1, 20));
+        email.setEstado(Estado.PENDIENTE);
+        email.setProximoIntento(LocalDateTime.now().plus(Duration.ofMillis(espera)));
+        return false;
+    }
+
+    public int liberarAtascados(long antiguedadMs) {
+        return outboxRepo.liberarAtascados(LocalDateTime.now().minus(Duration.ofMillis(antiguedadMs)),
+            Estado.ENVIANDO, Estado.PENDIENTE);
+    }
+
+    @Transactional(readOnly = true)
+    public long contar(Estado estado) {
+        return outboxRepo.countByEstado(estado);
+    }
+}
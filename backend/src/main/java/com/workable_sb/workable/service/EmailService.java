@@ -1,29 +1,45 @@
 package com.workable_sb.workable.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.workable_sb.workable.dto.CitacionLoteFila;
+import com.workable_sb.workable.dto.PostulacionLoteFila;
+import com.workable_sb.workable.dto.RecordatorioCitacionFila;
+import com.workable_sb.workable.models.EmailOutbox;
 
 /**
  * Servicio para envío de correos electrónicos.
  * Reemplaza la funcionalidad anterior de WhatsApp con notificaciones por email.
+ * El contenido sale de las plantillas precompiladas de PlantillasEmail.
  */
 @Service
 public class EmailService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
+
     @Autowired(required = false)
     private JavaMailSender mailSender;
 
-    @Value("${spring.mail.username:noreply@workable.com}")
-    private String fromEmail;
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private PlantillasEmail plantillas;
 
-    @Value("${app.name:Workable}")
-    private String appName;
+    // Idioma de los correos cuando el llamador no indica otro
+    @Value("${email.locale:es}")
+    private Locale localePorDefecto;
 
     /**
      * Envía un correo de citación a un candidato
@@ -31,297 +47,179 @@ public class EmailService {
     public void enviarCitacionEmail(String destinatario, String nombreCandidato, String nombreOferta,
                                      String fecha, String hora, String linkMeet,
                                      String nombreReclutador, String detalles) {
+        enviarCitacionEmail(destinatario, nombreCandidato, nombreOferta, fecha, hora, linkMeet,
+                            nombreReclutador, detalles, localePorDefecto);
+    }
+
+    public void enviarCitacionEmail(String destinatario, String nombreCandidato, String nombreOferta,
+                                     String fecha, String hora, String linkMeet,
+                                     String nombreReclutador, String detalles, Locale locale) {
         if (mailSender == null) {
             // Si no hay servicio de mail configurado, solo logueamos
-            System.out.println("[EMAIL] Servicio de mail no configurado. Citación para: " + destinatario);
+            log.debug("Servicio de mail no configurado. Citación para: {}", destinatario);
             return;
         }
 
-        String asunto = "📅 Citación para entrevista - " + nombreOferta;
-        String contenidoHtml = construirEmailCitacion(nombreCandidato, nombreOferta, fecha, hora, 
-                                                       linkMeet, nombreReclutador, detalles);
-        
-        enviarEmail(destinatario, asunto, contenidoHtml);
+        enviarPlantilla(destinatario, "citacion", locale, variables(
+            "nombre", nombreCandidato, "oferta", nombreOferta, "fecha", fecha, "hora", hora,
+            "linkMeet", linkMeet, "reclutador", nombreReclutador, "detalles", detalles));
     }
 
     /**
      * Envía un correo de notificación general
      */
     public void enviarNotificacion(String destinatario, String asunto, String mensaje) {
+        enviarNotificacion(destinatario, asunto, mensaje, localePorDefecto);
+    }
+
+    public void enviarNotificacion(String destinatario, String asunto, String mensaje, Locale locale) {
         if (mailSender == null) {
-            System.out.println("[EMAIL] Servicio de mail no configurado. Notificación para: " + destinatario);
+            log.debug("Servicio de mail no configurado. Notificación para: {}", destinatario);
             return;
         }
 
-        String contenidoHtml = construirEmailNotificacion(asunto, mensaje);
-        enviarEmail(destinatario, asunto, contenidoHtml);
+        enviarPlantilla(destinatario, "notificacion", locale, variables("titulo", asunto, "mensaje", mensaje));
     }
 
     /**
      * Envía un correo de bienvenida al registrarse
      */
     public void enviarBienvenida(String destinatario, String nombreUsuario) {
+        enviarBienvenida(destinatario, nombreUsuario, localePorDefecto);
+    }
+
+    public void enviarBienvenida(String destinatario, String nombreUsuario, Locale locale) {
         if (mailSender == null) {
-            System.out.println("[EMAIL] Servicio de mail no configurado. Bienvenida para: " + destinatario);
+            log.debug("Servicio de mail no configurado. Bienvenida para: {}", destinatario);
             return;
         }
 
-        String asunto = "🎉 ¡Bienvenido a " + appName + "!";
-        String contenidoHtml = construirEmailBienvenida(nombreUsuario);
-        
-        enviarEmail(destinatario, asunto, contenidoHtml);
+        enviarPlantilla(destinatario, "bienvenida", locale, variables("nombre", nombreUsuario));
     }
 
     /**
      * Envía un correo de confirmación de postulación
      */
-    public void enviarConfirmacionPostulacion(String destinatario, String nombreCandidato, 
+    public void enviarConfirmacionPostulacion(String destinatario, String nombreCandidato,
                                                String nombreOferta, String nombreEmpresa) {
+        enviarConfirmacionPostulacion(destinatario, nombreCandidato, nombreOferta, nombreEmpresa, localePorDefecto);
+    }
+
+    public void enviarConfirmacionPostulacion(String destinatario, String nombreCandidato,
+                                               String nombreOferta, String nombreEmpresa, Locale locale) {
         if (mailSender == null) {
-            System.out.println("[EMAIL] Servicio de mail no configurado. Confirmación para: " + destinatario);
+            log.debug("Servicio de mail no configurado. Confirmación para: {}", destinatario);
             return;
         }
 
-        String asunto = "✅ Postulación recibida - " + nombreOferta;
-        String contenidoHtml = construirEmailConfirmacionPostulacion(nombreCandidato, nombreOferta, nombreEmpresa);
-        
-        enviarEmail(destinatario, asunto, contenidoHtml);
+        enviarPlantilla(destinatario, "confirmacion-postulacion", locale, variables(
+            "nombre", nombreCandidato, "oferta", nombreOferta, "empresa", nombreEmpresa));
     }
 
     /**
      * Envía un correo de cambio de estado en postulación
      */
-    public void enviarCambioEstado(String destinatario, String nombreCandidato, 
+    public void enviarCambioEstado(String destinatario, String nombreCandidato,
                                     String nombreOferta, String nuevoEstado) {
+        enviarCambioEstado(destinatario, nombreCandidato, nombreOferta, nuevoEstado, localePorDefecto);
+    }
+
+    public void enviarCambioEstado(String destinatario, String nombreCandidato,
+                                    String nombreOferta, String nuevoEstado, Locale locale) {
         if (mailSender == null) {
-            System.out.println("[EMAIL] Servicio de mail no configurado. Cambio estado para: " + destinatario);
+            log.debug("Servicio de mail no configurado. Cambio estado para: {}", destinatario);
             return;
         }
 
-        String asunto = "📋 Actualización de tu postulación - " + nombreOferta;
-        String contenidoHtml = construirEmailCambioEstado(nombreCandidato, nombreOferta, nuevoEstado);
-        
-        enviarEmail(destinatario, asunto, contenidoHtml);
+        enviarPlantilla(destinatario, "cambio-estado", locale, variables(
+            "nombre", nombreCandidato, "oferta", nombreOferta, "estado", nuevoEstado));
     }
 
-    // ========== MÉTODOS PRIVADOS ==========
+    /**
+     * Correo de cambio de estado para un lote de postulaciones de la misma oferta.
+     * La oferta y el estado se resuelven una vez; por candidato solo se escribe su nombre.
+     */
+    public void enviarCambiosEstado(List<PostulacionLoteFila> filas, String nombreOferta, String nuevoEstado) {
+        if (mailSender == null) {
+            log.warn("Servicio de mail no configurado. Cambio estado para {} candidatos: no se encolan", filas.size());
+            return;
+        }
 
-    private void enviarEmail(String destinatario, String asunto, String contenidoHtml) {
-        try {
-            MimeMessage mensaje = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mensaje, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(destinatario);
-            helper.setSubject(asunto);
-            helper.setText(contenidoHtml, true);
-            
-            mailSender.send(mensaje);
-            System.out.println("[EMAIL] Correo enviado exitosamente a: " + destinatario);
-            
-        } catch (MessagingException e) {
-            System.err.println("[EMAIL] Error al enviar correo a " + destinatario + ": " + e.getMessage());
-            throw new RuntimeException("Error al enviar correo: " + e.getMessage());
+        PlantillasEmail.Variante comun = plantillas.variante("cambio-estado", localePorDefecto)
+            .fijar(variables("oferta", nombreOferta, "estado", nuevoEstado));
+        List<EmailOutbox> correos = new ArrayList<>(filas.size());
+        for (PostulacionLoteFila fila : filas) {
+            PlantillasEmail.Correo correo = plantillas.renderizar(comun, variables("nombre", fila.nombreCandidato()));
+            correos.add(EmailOutboxService.nuevo(fila.correo(), correo.asunto(), correo.html()));
         }
+        emailOutboxService.encolarTodos(correos);
     }
 
-    private String construirEmailCitacion(String nombreCandidato, String nombreOferta, String fecha,
-                                           String hora, String linkMeet, String nombreReclutador, 
-                                           String detalles) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #4A90D9; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }
-                    .content { background-color: #f9f9f9; padding: 20px; border: 1px solid #ddd; }
-                    .info-box { background-color: white; padding: 15px; margin: 15px 0; border-left: 4px solid #4A90D9; }
-                    .btn { display: inline-block; background-color: #4A90D9; color: white; padding: 12px 24px; text-decoration: none; border-radius: 5px; margin-top: 15px; }
-                    .footer { text-align: center; padding: 15px; color: #666; font-size: 12px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>📅 Citación para Entrevista</h1>
-                    </div>
-                    <div class="content">
-                        <p>Hola <strong>%s</strong>,</p>
-                        <p>Has sido citado/a para una entrevista para el puesto de <strong>%s</strong>.</p>
-                        
-                        <div class="info-box">
-                            <p><strong>📆 Fecha:</strong> %s</p>
-                            <p><strong>🕐 Hora:</strong> %s</p>
-                            <p><strong>👤 Reclutador:</strong> %s</p>
-                            %s
-                        </div>
-                        
-                        %s
-                        
-                        <p>¡Te deseamos mucho éxito!</p>
-                    </div>
-                    <div class="footer">
-                        <p>Este correo fue enviado por %s</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(
-                nombreCandidato,
-                nombreOferta,
-                fecha,
-                hora,
-                nombreReclutador,
-                detalles != null && !detalles.isBlank() ? "<p><strong>📝 Detalles:</strong> " + detalles + "</p>" : "",
-                linkMeet != null && !linkMeet.isBlank() ? "<a href=\"" + linkMeet + "\" class=\"btn\">🔗 Unirse a la reunión</a>" : "",
-                appName
-            );
+    /**
+     * Correos de citación para un lote de citaciones con el mismo enlace y reclutador.
+     * Los datos comunes se fijan una vez en la plantilla; por candidato, su nombre, la oferta,
+     * la fecha y la hora (las citaciones agendadas automáticamente tienen cada una su turno).
+     */
+    public void enviarCitaciones(List<CitacionLoteFila> citaciones, String linkMeet,
+                                 String nombreReclutador, String detalles) {
+        if (mailSender == null) {
+            log.warn("Servicio de mail no configurado. Citación para {} candidatos: no se encolan", citaciones.size());
+            return;
+        }
+
+        PlantillasEmail.Variante comun = plantillas.variante("citacion", localePorDefecto)
+            .fijar(variables("linkMeet", linkMeet, "reclutador", nombreReclutador, "detalles", detalles));
+        List<EmailOutbox> correos = new ArrayList<>(citaciones.size());
+        for (CitacionLoteFila citacion : citaciones) {
+            PlantillasEmail.Correo correo = plantillas.renderizar(comun,
+                variables("nombre", citacion.nombreCandidato(), "oferta", citacion.ofertaTitulo(),
+                          "fecha", citacion.fechaCitacion().toString(), "hora", citacion.hora()));
+            correos.add(EmailOutboxService.nuevo(citacion.correo(), correo.asunto(), correo.html()));
+        }
+        emailOutboxService.encolarTodos(correos);
     }
 
-    private String construirEmailNotificacion(String titulo, String mensaje) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #4A90D9; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }
-                    .content { background-color: #f9f9f9; padding: 20px; border: 1px solid #ddd; }
-                    .footer { text-align: center; padding: 15px; color: #666; font-size: 12px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🔔 %s</h1>
-                    </div>
-                    <div class="content">
-                        <p>%s</p>
-                    </div>
-                    <div class="footer">
-                        <p>Este correo fue enviado por %s</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(titulo, mensaje, appName);
+    /**
+     * Correos de recordatorio para un lote de citaciones próximas. cuando describe la antelación ("en la próxima hora").
+     */
+    public void enviarRecordatoriosCitacion(List<RecordatorioCitacionFila> citaciones, String cuando) {
+        if (mailSender == null) {
+            log.warn("Servicio de mail no configurado. Recordatorio para {} candidatos: no se encolan", citaciones.size());
+            return;
+        }
+
+        PlantillasEmail.Variante comun = plantillas.variante("recordatorio-citacion", localePorDefecto)
+            .fijar(variables("cuando", cuando));
+        List<EmailOutbox> correos = new ArrayList<>(citaciones.size());
+        for (RecordatorioCitacionFila citacion : citaciones) {
+            PlantillasEmail.Correo correo = plantillas.renderizar(comun, variables(
+                "nombre", citacion.nombreCandidato(), "oferta", citacion.ofertaTitulo(),
+                "fecha", citacion.inicio().toLocalDate().toString(), "hora", citacion.inicio().toLocalTime().toString(),
+                "linkMeet", citacion.linkMeet(), "reclutador", citacion.nombreReclutador()));
+            correos.add(EmailOutboxService.nuevo(citacion.correo(), correo.asunto(), correo.html()));
+        }
+        emailOutboxService.encolarTodos(correos);
     }
 
-    private String construirEmailBienvenida(String nombreUsuario) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #28a745; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }
-                    .content { background-color: #f9f9f9; padding: 20px; border: 1px solid #ddd; }
-                    .footer { text-align: center; padding: 15px; color: #666; font-size: 12px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🎉 ¡Bienvenido a %s!</h1>
-                    </div>
-                    <div class="content">
-                        <p>Hola <strong>%s</strong>,</p>
-                        <p>¡Gracias por registrarte en nuestra plataforma!</p>
-                        <p>Ahora puedes:</p>
-                        <ul>
-                            <li>Explorar ofertas de empleo</li>
-                            <li>Completar tu hoja de vida</li>
-                            <li>Postularte a las ofertas que te interesen</li>
-                        </ul>
-                        <p>¡Te deseamos mucho éxito en tu búsqueda laboral!</p>
-                    </div>
-                    <div class="footer">
-                        <p>Este correo fue enviado por %s</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(appName, nombreUsuario, appName);
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void enviarPlantilla(String destinatario, String plantilla, Locale locale, Map<String, Object> valores) {
+        PlantillasEmail.Correo correo = plantillas.renderizar(plantilla, locale, valores);
+        enviarEmail(destinatario, correo.asunto(), correo.html());
     }
 
-    private String construirEmailConfirmacionPostulacion(String nombreCandidato, String nombreOferta, 
-                                                          String nombreEmpresa) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #17a2b8; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }
-                    .content { background-color: #f9f9f9; padding: 20px; border: 1px solid #ddd; }
-                    .info-box { background-color: white; padding: 15px; margin: 15px 0; border-left: 4px solid #17a2b8; }
-                    .footer { text-align: center; padding: 15px; color: #666; font-size: 12px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>✅ Postulación Recibida</h1>
-                    </div>
-                    <div class="content">
-                        <p>Hola <strong>%s</strong>,</p>
-                        <p>Tu postulación ha sido recibida exitosamente.</p>
-                        
-                        <div class="info-box">
-                            <p><strong>📋 Oferta:</strong> %s</p>
-                            <p><strong>🏢 Empresa:</strong> %s</p>
-                        </div>
-                        
-                        <p>El equipo de reclutamiento revisará tu perfil y te contactará pronto.</p>
-                        <p>¡Gracias por tu interés!</p>
-                    </div>
-                    <div class="footer">
-                        <p>Este correo fue enviado por %s</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(nombreCandidato, nombreOferta, nombreEmpresa, appName);
+    // El correo se guarda en la bandeja de salida dentro de la transacción en curso;
+    // DespachadorEmails lo envía después, sin bloquear la petición con la latencia SMTP
+    private void enviarEmail(String destinatario, String asunto, String contenidoHtml) {
+        emailOutboxService.encolar(destinatario, asunto, contenidoHtml);
     }
 
-    private String construirEmailCambioEstado(String nombreCandidato, String nombreOferta, String nuevoEstado) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #ffc107; color: #333; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }
-                    .content { background-color: #f9f9f9; padding: 20px; border: 1px solid #ddd; }
-                    .status { display: inline-block; background-color: #4A90D9; color: white; padding: 8px 16px; border-radius: 20px; font-weight: bold; }
-                    .footer { text-align: center; padding: 15px; color: #666; font-size: 12px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>📋 Actualización de Postulación</h1>
-                    </div>
-                    <div class="content">
-                        <p>Hola <strong>%s</strong>,</p>
-                        <p>Tu postulación para <strong>%s</strong> ha sido actualizada.</p>
-                        
-                        <p>Nuevo estado: <span class="status">%s</span></p>
-                        
-                        <p>Revisa la plataforma para más detalles.</p>
-                    </div>
-                    <div class="footer">
-                        <p>Este correo fue enviado por %s</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(nombreCandidato, nombreOferta, nuevoEstado, appName);
+    // Pares clave/valor; admite valores nulos (secciones opcionales de la plantilla)
+    private static Map<String, Object> variables(Object... pares) {
+        Map<String, Object> valores = new HashMap<>();
+        for (int i = 0; i < pares.length; i += 2) {
+            valores.put((String) pares[i], pares[i + 1]);
+        }
+        return valores;
     }
 }
@@ -1,18 +1,23 @@
 package com.workable_sb.workable.service;
 
+import static com.workable_sb.workable.service.Transacciones.despuesDeCommit;
+
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.workable_sb.workable.dto.CursorPaginacion;
+import com.workable_sb.workable.dto.PaginaCursorDto;
 import com.workable_sb.workable.exception.ResourceNotFoundException;
 import com.workable_sb.workable.models.Empresa;
 import com.workable_sb.workable.models.Municipio;
+import com.workable_sb.workable.models.Oferta;
 import com.workable_sb.workable.models.Reclutador;
 import com.workable_sb.workable.repository.EmpresaRepository;
-import com.workable_sb.workable.repository.MunicipioRepo;
 import com.workable_sb.workable.repository.ReclutadorRepo;
 
 @Service
@@ -26,7 +31,16 @@ public class EmpresaService {
     private ReclutadorRepo usuarioRepository;
 
     @Autowired
-    private MunicipioRepo municipioRepo;
+    private MunicipioService municipioService;
+
+    @Autowired
+    private CredencialService credencialService;
+
+    @Autowired
+    private IndiceBusquedaOfertas indiceBusqueda;
+
+    @Autowired
+    private IndiceFacetasOfertas indiceFacetas;
 
     // ===== READ =====
     public Optional<Empresa> getById(Long id) {
@@ -37,8 +51,15 @@ public class EmpresaService {
         return empresaRepository.findByNit(nit);
     }
 
-    public List<Empresa> getAll() {
-        return empresaRepository.findAll();
+    // Paginación por clave, ordenada por nombre e id
+    public PaginaCursorDto<Empresa> getAll(String cursor, int tamano) {
+        int limite = CursorPaginacion.tamanoEfectivo(tamano);
+        CursorPaginacion desde = CursorPaginacion.decodificar(cursor);
+        PageRequest pagina = PageRequest.of(0, limite + 1);
+        List<Empresa> filas = desde == null
+            ? empresaRepository.findPrimeraPagina(pagina)
+            : empresaRepository.findPaginaDespuesDe(desde.clave(), desde.id(), pagina);
+        return PaginaCursorDto.de(filas, limite, e -> CursorPaginacion.de(e.getNombre(), e.getId()));
     }
 
     public List<Empresa> getByIsActive(Boolean isActive) {
@@ -67,7 +88,7 @@ public class EmpresaService {
         }
 
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Municipio", "id", request.getMunicipio().getId()));
             request.setMunicipio(municipio);
         }
@@ -90,6 +111,7 @@ public class EmpresaService {
         }
 
         Reclutador ownerGuardado = usuarioRepository.save(reclutadorOwner);
+        credencialService.sincronizar(ownerGuardado);
 
         empresa.setReclutadorOwner(ownerGuardado);
         empresa.getReclutadores().add(ownerGuardado);
@@ -112,6 +134,7 @@ public class EmpresaService {
         }
 
         Reclutador guardado = usuarioRepository.save(nuevoReclutador);
+        credencialService.sincronizar(guardado);
         empresa.getReclutadores().add(guardado);
 
         return empresaRepository.save(empresa);
@@ -139,7 +162,7 @@ public class EmpresaService {
         existingEmpresa.setCategories(request.getCategories());
 
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                 .orElseThrow(() -> new RuntimeException("Municipio not found"));
             existingEmpresa.setMunicipio(municipio);
         }
@@ -163,7 +186,7 @@ public class EmpresaService {
         existingEmpresa.setCategories(request.getCategories());
 
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                 .orElseThrow(() -> new RuntimeException("Municipio not found"));
             existingEmpresa.setMunicipio(municipio);
         }
@@ -180,7 +203,7 @@ public class EmpresaService {
             throw new IllegalStateException("Solo el owner o un ADMIN pueden eliminar esta empresa");
         }
 
-        empresaRepository.delete(existingEmpresa);
+        eliminarConOfertas(existingEmpresa);
     }
 
     // ===== DELETE (ADMIN - sin restricciones) =====
@@ -188,7 +211,18 @@ public class EmpresaService {
         Empresa existingEmpresa = empresaRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Empresa not found"));
 
-        empresaRepository.delete(existingEmpresa);
+        eliminarConOfertas(existingEmpresa);
+    }
+
+    // Las ofertas se borran en cascada con la empresa: como en OfertaService.delete, se quitan
+    // de los índices en memoria solo cuando el borrado se confirma
+    private void eliminarConOfertas(Empresa empresa) {
+        List<Long> ofertaIds = empresa.getOfertas().stream().map(Oferta::getId).toList();
+        empresaRepository.delete(empresa);
+        despuesDeCommit(() -> ofertaIds.forEach(id -> {
+            indiceBusqueda.eliminar(id);
+            indiceFacetas.eliminar(id);
+        }));
     }
 
     public void removeReclutador(Long empresaId, Long reclutadorId, Long usuarioIdActual) {
@@ -214,6 +248,7 @@ public class EmpresaService {
             .orElseThrow(() -> new RuntimeException("Reclutador not found"));
         reclutador.setIsActive(false);
         usuarioRepository.save(reclutador);
+        credencialService.sincronizar(reclutador);
 
         empresaRepository.save(empresa);
     }
@@ -286,6 +321,7 @@ public class EmpresaService {
 
         // 5. Guardar el nuevo reclutador
         Reclutador reclutadorGuardado = usuarioRepository.save(nuevoReclutador);
+        credencialService.sincronizar(reclutadorGuardado);
 
         // 6. Agregar a la lista de reclutadores de la empresa
         empresa.getReclutadores().add(reclutadorGuardado);
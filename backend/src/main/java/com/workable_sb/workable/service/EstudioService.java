@@ -11,7 +11,6 @@ import com.workable_sb.workable.models.Estudio;
 import com.workable_sb.workable.models.Estudio.NivelEducativo;
 import com.workable_sb.workable.repository.AspiranteRepo;
 import com.workable_sb.workable.repository.EstudioRepo;
-import com.workable_sb.workable.repository.MunicipioRepo;
 
 @Service
 @Transactional
@@ -24,7 +23,7 @@ public class EstudioService {
     private AspiranteRepo aspiranteRepo;
 
     @Autowired
-    private MunicipioRepo municipioRepo;
+    private MunicipioService municipioService;
 
     // ===== CREATE =====
     public Estudio crearEstudio(Estudio estudio, Long aspiranteId) {
@@ -49,7 +48,7 @@ public class EstudioService {
 
         // Validar municipio
         if (estudio.getMunicipio() != null) {
-            municipioRepo.findById(estudio.getMunicipio().getId())
+            municipioService.buscarPorId(estudio.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio no encontrado"));
         }
 
@@ -119,7 +118,7 @@ public class EstudioService {
         existente.setCertificadoUrl(estudioActualizado.getCertificadoUrl());
 
         if (estudioActualizado.getMunicipio() != null) {
-            municipioRepo.findById(estudioActualizado.getMunicipio().getId())
+            municipioService.buscarPorId(estudioActualizado.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio no encontrado"));
             existente.setMunicipio(estudioActualizado.getMunicipio());
         }
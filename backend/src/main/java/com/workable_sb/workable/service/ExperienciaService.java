@@ -11,7 +11,6 @@ import com.workable_sb.workable.models.Experiencia;
 import com.workable_sb.workable.models.Experiencia.Estado;
 import com.workable_sb.workable.repository.AspiranteRepo;
 import com.workable_sb.workable.repository.ExperienciaRepo;
-import com.workable_sb.workable.repository.MunicipioRepo;
 
 @Service
 @Transactional
@@ -24,7 +23,7 @@ public class ExperienciaService {
     private AspiranteRepo aspiranteRepo;
 
     @Autowired
-    private MunicipioRepo municipioRepo;
+    private MunicipioService municipioService;
 
     // ===== CREATE =====
     public Experiencia crearExperiencia(Experiencia experiencia, Long aspiranteId) {
@@ -46,7 +45,7 @@ public class ExperienciaService {
 
         // Validar municipio
         if (experiencia.getMunicipio() != null) {
-            municipioRepo.findById(experiencia.getMunicipio().getId())
+            municipioService.buscarPorId(experiencia.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio no encontrado"));
         }
 
@@ -104,7 +103,7 @@ public class ExperienciaService {
         existente.setFechaFin(experienciaActualizada.getFechaFin());
 
         if (experienciaActualizada.getMunicipio() != null) {
-            municipioRepo.findById(experienciaActualizada.getMunicipio().getId())
+            municipioService.buscarPorId(experienciaActualizada.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio no encontrado"));
             existente.setMunicipio(experienciaActualizada.getMunicipio());
         }
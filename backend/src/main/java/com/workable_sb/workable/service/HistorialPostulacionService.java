@@ -0,0 +1,115 @@
+package com.workable_sb.workable.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.workable_sb.workable.dto.TiemposEtapa;
+import com.workable_sb.workable.models.Postulacion;
+import com.workable_sb.workable.models.Postulacion.Estado;
+import com.workable_sb.workable.models.PostulacionEvento;
+import com.workable_sb.workable.repository.PostulacionEventoRepo;
+
+/**
+ * Registro de solo inserción de las transiciones de estado de las postulaciones.
+ * Cada transición añade un evento en la misma transacción; como el id sale de una
+ * secuencia, las inserciones de un cambio en lote se envían en lotes JDBC al hacer flush.
+ */
+@Service
+@Transactional
+public class HistorialPostulacionService {
+
+    @Autowired
+    private PostulacionEventoRepo eventoRepo;
+
+    // ===== ESCRITURA =====
+    public void registrarAlta(Postulacion postulacion, Long usuarioId) {
+        registrar(postulacion, null, postulacion.getEstado(), usuarioId, "Postulación inicial", false);
+    }
+
+    public void registrarCambio(Postulacion postulacion, Estado anterior, Long usuarioId, String motivo) {
+        registrar(postulacion, anterior, postulacion.getEstado(), usuarioId, motivo, false);
+    }
+
+    public void registrarReversion(Postulacion postulacion, Estado anterior, Long usuarioId) {
+        registrar(postulacion, anterior, postulacion.getEstado(), usuarioId, "Estado revertido", true);
+    }
+
+    public void registrarRetirada(Postulacion postulacion, Long usuarioId) {
+        registrar(postulacion, postulacion.getEstado(), null, usuarioId, "Postulación eliminada", false);
+    }
+
+    // Un evento por postulación, enviados juntos en lotes JDBC
+    public void registrarCambiosEnLote(Long ofertaId, Map<Long, Estado> anterioresPorId, Estado nuevo,
+                                       Long usuarioId, String motivo) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<PostulacionEvento> eventos = new ArrayList<>(anterioresPorId.size());
+        anterioresPorId.forEach((postulacionId, anterior) ->
+            eventos.add(nuevoEvento(postulacionId, ofertaId, anterior, nuevo, ahora, usuarioId, motivo, false)));
+        eventoRepo.saveAll(eventos);
+    }
+
+    // ===== LECTURA =====
+    @Transactional(readOnly = true)
+    public List<PostulacionEvento> historial(Long postulacionId) {
+        return eventoRepo.findByPostulacionIdOrderByFechaAscIdAsc(postulacionId);
+    }
+
+    /**
+     * Estado al que vuelve una reversión: el anterior de la última transición que no haya
+     * sido ya deshecha. Vacío si no hay historial coherente con el estado actual o si la
+     * postulación sigue en su estado inicial.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Estado> estadoPrevio(Long postulacionId, Estado estadoActual) {
+        int deshechas = 0;
+        boolean primero = true;
+        for (PostulacionEvento evento : eventoRepo.findByPostulacionIdOrderByFechaDescIdDesc(postulacionId)) {
+            if (primero && evento.getEstadoNuevo() != estadoActual) {
+                return Optional.empty();
+            }
+            primero = false;
+            if (Boolean.TRUE.equals(evento.getReversion())) {
+                deshechas++;
+            } else if (evento.getEstadoAnterior() == null) {
+                return Optional.empty();
+            } else if (deshechas > 0) {
+                deshechas--;
+            } else {
+                return Optional.of(evento.getEstadoAnterior());
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Transactional(readOnly = true)
+    public TiemposEtapa tiemposDeOferta(Long ofertaId) {
+        return TiemposEtapa.de(eventoRepo.findEventosDeOferta(ofertaId), LocalDateTime.now());
+    }
+
+    private void registrar(Postulacion postulacion, Estado anterior, Estado nuevo, Long usuarioId,
+                           String motivo, boolean reversion) {
+        eventoRepo.save(nuevoEvento(postulacion.getId(), postulacion.getOferta().getId(), anterior, nuevo,
+            LocalDateTime.now(), usuarioId, motivo, reversion));
+    }
+
+    private PostulacionEvento nuevoEvento(Long postulacionId, Long ofertaId, Estado anterior, Estado nuevo,
+                                          LocalDateTime fecha, Long usuarioId, String motivo, boolean reversion) {
+        PostulacionEvento evento = new PostulacionEvento();
+        evento.setPostulacionId(postulacionId);
+        evento.setOfertaId(ofertaId);
+        evento.setEstadoAnterior(anterior);
+        evento.setEstadoNuevo(nuevo);
+        evento.setFecha(fecha);
+        evento.setUsuarioId(usuarioId);
+        evento.setMotivo(motivo);
+        evento.setReversion(reversion);
+        return evento;
+    }
+}
@@ -3,9 +3,12 @@ package com.workable_sb.workable.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.workable_sb.workable.dto.CursorPaginacion;
+import com.workable_sb.workable.dto.PaginaCursorDto;
 import com.workable_sb.workable.models.HojaVida;
 import com.workable_sb.workable.repository.HojaVidaRepo;
 
@@ -35,8 +38,13 @@ public class HojaVidaService {
                 .orElseThrow(() -> new RuntimeException("El aspirante no tiene hoja de vida"));
     }
 
-    public List<HojaVida> obtenerTodasLasHojasVida() {
-        return hojaVidaRepo.findAll();
+    // Paginación por clave sobre id
+    public PaginaCursorDto<HojaVida> obtenerTodasLasHojasVida(String cursor, int tamano) {
+        int limite = CursorPaginacion.tamanoEfectivo(tamano);
+        CursorPaginacion desde = CursorPaginacion.decodificar(cursor);
+        List<HojaVida> filas = hojaVidaRepo.findPaginaDespuesDe(
+            desde == null ? 0L : desde.id(), PageRequest.of(0, limite + 1));
+        return PaginaCursorDto.de(filas, limite, h -> CursorPaginacion.de(null, h.getId()));
     }
 
     public List<HojaVida> obtenerHojasVidaPublicas() {
@@ -0,0 +1,234 @@
+package com.workable_sb.workable.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.models.Oferta;
+import com.workable_sb.workable.repository.OfertaRepo;
+
+/**
+ * Índice invertido en memoria sobre título, descripción y requisitos de las ofertas.
+ * Ordena los resultados con BM25. Se construye al arrancar y OfertaService lo
+ * actualiza de forma incremental en cada alta, modificación, cambio de estado o baja.
+ */
+@Component
+public class IndiceBusquedaOfertas {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBusquedaOfertas.class);
+
+    // Parámetros estándar de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // El título y los requisitos pesan más que la descripción
+    private static final int PESO_TITULO = 3;
+    private static final int PESO_REQUISITOS = 2;
+    private static final int PESO_DESCRIPCION = 1;
+
+    // Máximo de términos a los que se expande el prefijo de la última palabra
+    private static final int MAX_EXPANSION_PREFIJO = 50;
+
+    private static final int TAMANO_LOTE = 1000;
+
+    @Autowired
+    private OfertaRepo ofertaRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // término -> (ofertaId -> frecuencia ponderada)
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // ofertaId -> documento indexado (necesario para poder des-indexar)
+    private final Map<Long, Documento> documentos = new HashMap<>();
+
+    private long longitudTotal;
+
+    private record Documento(Map<String, Integer> frecuencias, int longitud) {
+    }
+
+    /**
+     * Resultado de una búsqueda: ids de la página solicitada (ya ordenados) y total de coincidencias.
+     */
+    public record Resultado(List<Long> ids, long total) {
+    }
+
+    // ===== CONSTRUCCIÓN =====
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentos.clear();
+            longitudTotal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Recorrido por lotes de id para no cargar todas las ofertas a la vez
+        Long desde = 0L;
+        List<Long> ids;
+        while (!(ids = ofertaRepo.findIdsDesde(desde, PageRequest.of(0, TAMANO_LOTE))).isEmpty()) {
+            for (Oferta oferta : ofertaRepo.findConRequisitosByIdIn(ids)) {
+                indexar(oferta.getId(), oferta.getTitulo(), oferta.getDescripcion(), oferta.getRequisitos());
+            }
+            desde = ids.get(ids.size() - 1);
+        }
+        log.info("Índice de búsqueda de ofertas construido: {} ofertas, {} términos en {} ms",
+            documentos.size(), postings.size(), System.currentTimeMillis() - inicio);
+    }
+
+    // ===== ACTUALIZACIÓN =====
+    public void indexar(Long ofertaId, String titulo, String descripcion, Collection<String> requisitos) {
+        Map<String, Integer> frecuencias = new HashMap<>();
+        acumular(frecuencias, AnalizadorTexto.analizar(titulo), PESO_TITULO);
+        acumular(frecuencias, AnalizadorTexto.analizar(descripcion), PESO_DESCRIPCION);
+        if (requisitos != null) {
+            for (String requisito : requisitos) {
+                acumular(frecuencias, AnalizadorTexto.analizar(requisito), PESO_REQUISITOS);
+            }
+        }
+        int longitud = frecuencias.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            quitar(ofertaId);
+            documentos.put(ofertaId, new Documento(frecuencias, longitud));
+            longitudTotal += longitud;
+            frecuencias.forEach((termino, tf) ->
+                postings.computeIfAbsent(termino, t -> new HashMap<>()).put(ofertaId, tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(Long ofertaId) {
+        lock.writeLock().lock();
+        try {
+            quitar(ofertaId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===== BÚSQUEDA =====
+    /**
+     * Busca ofertas por texto libre. La última palabra se trata también como prefijo
+     * para soportar búsqueda mientras se escribe.
+     */
+    public Resultado buscar(String consulta, int pagina, int tamano) {
+        List<String> tokens = AnalizadorTexto.tokenizar(consulta);
+        if (tokens.isEmpty()) {
+            return new Resultado(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<String> terminos = new LinkedHashSet<>(AnalizadorTexto.analizar(consulta));
+            String prefijo = tokens.get(tokens.size() - 1);
+            if (prefijo.length() >= 2) {
+                postings.subMap(prefijo, prefijo + Character.MAX_VALUE).keySet().stream()
+                    .limit(MAX_EXPANSION_PREFIJO)
+                    .forEach(terminos::add);
+            }
+
+            int n = documentos.size();
+            if (n == 0) {
+                return new Resultado(List.of(), 0);
+            }
+            double longitudMedia = (double) longitudTotal / n;
+
+            Map<Long, Double> puntuaciones = new HashMap<>();
+            for (String termino : terminos) {
+                Map<Long, Integer> lista = postings.get(termino);
+                if (lista == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - lista.size() + 0.5) / (lista.size() + 0.5));
+                lista.forEach((ofertaId, tf) -> {
+                    int longitud = documentos.get(ofertaId).longitud();
+                    double puntuacion = idf * tf * (K1 + 1)
+                        / (tf + K1 * (1 - B + B * longitud / longitudMedia));
+                    puntuaciones.merge(ofertaId, puntuacion, Double::sum);
+                });
+            }
+
+            return paginar(puntuaciones, pagina, tamano);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Top-k con un heap acotado (mejor puntuación primero, id descendente en empate)
+    private Resultado paginar(Map<Long, Double> puntuaciones, int pagina, int tamano) {
+        int limite = (int) Math.min((long) (pagina + 1) * tamano, Integer.MAX_VALUE);
+        Comparator<Map.Entry<Long, Double>> orden = Map.Entry.<Long, Double>comparingByValue()
+            .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(orden);
+        for (Map.Entry<Long, Double> entrada : puntuaciones.entrySet()) {
+            heap.offer(entrada);
+            if (heap.size() > limite) {
+                heap.poll();
+            }
+        }
+        List<Long> ordenados = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ordenados.add(heap.poll().getKey());
+        }
+        Collections.reverse(ordenados);
+
+        int desde = (int) Math.min((long) pagina * tamano, ordenados.size());
+        return new Resultado(List.copyOf(ordenados.subList(desde, ordenados.size())), puntuaciones.size());
+    }
+
+    private void acumular(Map<String, Integer> frecuencias, List<String> terminos, int peso) {
+        for (String termino : terminos) {
+            frecuencias.merge(termino, peso, Integer::sum);
+        }
+    }
+
+    // Requiere el lock de escritura
+    private void quitar(Long ofertaId) {
+        Documento anterior = documentos.remove(ofertaId);
+        if (anterior == null) {
+            return;
+        }
+        longitudTotal -= anterior.longitud();
+        anterior.frecuencias().keySet().forEach(termino -> {
+            Map<Long, Integer> lista = postings.get(termino);
+            if (lista != null) {
+                lista.remove(ofertaId);
+                if (lista.isEmpty()) {
+                    postings.remove(termino);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,387 @@
+package com.workable_sb.workable.service;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.models.Aspirante.HabilidadEnum;
+import com.workable_sb.workable.models.Oferta;
+import com.workable_sb.workable.models.Oferta.Beneficio;
+import com.workable_sb.workable.models.Oferta.EstadoOferta;
+import com.workable_sb.workable.models.Oferta.Modalidad;
+import com.workable_sb.workable.models.Oferta.NivelExperiencia;
+import com.workable_sb.workable.models.Oferta.TipoContrato;
+import com.workable_sb.workable.repository.OfertaRepo;
+
+/**
+ * Índice de facetas en memoria: cada oferta ocupa una posición (slot) y cada valor
+ * de faceta guarda un BitSet con las posiciones que lo tienen. Los filtros y los
+ * conteos por valor se resuelven con AND/OR de bitsets, sin consultas a la base de datos.
+ * Se construye al arrancar y OfertaService lo actualiza tras cada commit.
+ */
+@Component
+public class IndiceFacetasOfertas {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceFacetasOfertas.class);
+
+    private static final int TAMANO_LOTE = 1000;
+
+    /**
+     * Facetas disponibles. Las de valor único se combinan con OR dentro de la faceta;
+     * las multivaluadas (beneficios, habilidades) exigen todos los valores pedidos.
+     */
+    public enum Faceta {
+        ESTADO("estado", false),
+        MODALIDAD("modalidad", false),
+        MUNICIPIO("municipio", false),
+        EMPRESA("empresa", false),
+        TIPO_CONTRATO("tipoContrato", false),
+        NIVEL_EXPERIENCIA("nivelExperiencia", false),
+        BENEFICIOS("beneficios", true),
+        HABILIDADES("habilidadesRequeridas", true);
+
+        private final String nombre;
+        private final boolean multivaluada;
+
+        Faceta(String nombre, boolean multivaluada) {
+            this.nombre = nombre;
+            this.multivaluada = multivaluada;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+    }
+
+    /**
+     * Copia inmutable de los campos facetables de una oferta.
+     */
+    public record Fila(Long id, EstadoOferta estado, Modalidad modalidad, Long municipioId, Long empresaId,
+            TipoContrato tipoContrato, NivelExperiencia nivelExperiencia, Long salario,
+            LocalDate fechaPublicacion, Set<Beneficio> beneficios, Set<HabilidadEnum> habilidades) {
+
+        public static Fila de(Oferta oferta) {
+            return new Fila(
+                oferta.getId(),
+                oferta.getEstado(),
+                oferta.getModalidad(),
+                oferta.getMunicipio() != null ? oferta.getMunicipio().getId() : null,
+                oferta.getEmpresa() != null ? oferta.getEmpresa().getId() : null,
+                oferta.getTipoContrato(),
+                oferta.getNivelExperiencia(),
+                oferta.getSalario(),
+                oferta.getFechaPublicacion(),
+                oferta.getBeneficios() != null ? Set.copyOf(oferta.getBeneficios()) : Set.of(),
+                oferta.getHabilidadesRequeridas() != null ? Set.copyOf(oferta.getHabilidadesRequeridas()) : Set.of());
+        }
+
+        private Map<Faceta, Collection<String>> valores() {
+            Map<Faceta, Collection<String>> valores = new EnumMap<>(Faceta.class);
+            valores.put(Faceta.ESTADO, unico(estado));
+            valores.put(Faceta.MODALIDAD, unico(modalidad));
+            valores.put(Faceta.MUNICIPIO, unico(municipioId));
+            valores.put(Faceta.EMPRESA, unico(empresaId));
+            valores.put(Faceta.TIPO_CONTRATO, unico(tipoContrato));
+            valores.put(Faceta.NIVEL_EXPERIENCIA, unico(nivelExperiencia));
+            valores.put(Faceta.BENEFICIOS, beneficios.stream().map(Enum::name).toList());
+            valores.put(Faceta.HABILIDADES, habilidades.stream().map(Enum::name).toList());
+            return valores;
+        }
+
+        private static Collection<String> unico(Object valor) {
+            return valor == null ? List.of() : List.of(valor.toString());
+        }
+    }
+
+    /**
+     * Filtro de búsqueda: valores pedidos por faceta (como texto) y rango de salario opcional.
+     */
+    public record Filtro(Map<Faceta, Set<String>> valores, Long salarioMin, Long salarioMax) {
+    }
+
+    /**
+     * Resultado: ids de la página (más recientes primero), total y conteo por valor de cada faceta.
+     */
+    public record Resultado(List<Long> ids, long total, Map<String, Map<String, Integer>> facetas) {
+    }
+
+    @Autowired
+    private OfertaRepo ofertaRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // faceta -> valor -> posiciones que lo tienen
+    private final Map<Faceta, Map<String, BitSet>> bitsets = new EnumMap<>(Faceta.class);
+
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final Map<Long, Map<Faceta, Collection<String>>> valoresPorId = new HashMap<>();
+    private final Deque<Integer> slotsLibres = new ArrayDeque<>();
+    private final BitSet ocupados = new BitSet();
+
+    // Datos por posición para el filtro de salario y la ordenación
+    private long[] ids = new long[0];
+    private long[] salarios = new long[0];
+    private long[] fechas = new long[0];
+    private int siguienteSlot;
+
+    // ===== CONSTRUCCIÓN =====
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            bitsets.clear();
+            slotPorId.clear();
+            valoresPorId.clear();
+            slotsLibres.clear();
+            ocupados.clear();
+            siguienteSlot = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Long desde = 0L;
+        List<Long> lote;
+        while (!(lote = ofertaRepo.findIdsDesde(desde, PageRequest.of(0, TAMANO_LOTE))).isEmpty()) {
+            for (Oferta oferta : ofertaRepo.findConFacetasByIdIn(lote)) {
+                indexar(Fila.de(oferta));
+            }
+            desde = lote.get(lote.size() - 1);
+        }
+        log.info("Índice de facetas de ofertas construido: {} ofertas en {} ms",
+            tamano(), System.currentTimeMillis() - inicio);
+    }
+
+    // ===== ACTUALIZACIÓN =====
+    public void indexar(Fila fila) {
+        Map<Faceta, Collection<String>> valores = fila.valores();
+        lock.writeLock().lock();
+        try {
+            quitar(fila.id());
+            int slot = slotsLibres.isEmpty() ? siguienteSlot++ : slotsLibres.pop();
+            asegurarCapacidad(slot + 1);
+            ids[slot] = fila.id();
+            salarios[slot] = fila.salario() != null ? fila.salario() : 0L;
+            fechas[slot] = fila.fechaPublicacion() != null ? fila.fechaPublicacion().toEpochDay() : Long.MIN_VALUE;
+            ocupados.set(slot);
+            slotPorId.put(fila.id(), slot);
+            valoresPorId.put(fila.id(), valores);
+            valores.forEach((faceta, lista) -> lista.forEach(valor ->
+                bitsets.computeIfAbsent(faceta, f -> new HashMap<>())
+                    .computeIfAbsent(valor, v -> new BitSet())
+                    .set(slot)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cambia solo la faceta de estado de varias ofertas (cierre por vencimiento),
+     * sin volver a leerlas de la base. Las que no están en el índice se ignoran.
+     */
+    public void cambiarEstado(Collection<Long> ofertaIds, EstadoOferta estado) {
+        String nuevo = estado.name();
+        lock.writeLock().lock();
+        try {
+            Map<String, BitSet> porValor = bitsets.computeIfAbsent(Faceta.ESTADO, f -> new HashMap<>());
+            for (Long ofertaId : ofertaIds) {
+                Integer slot = slotPorId.get(ofertaId);
+                if (slot == null) {
+                    continue;
+                }
+                Map<Faceta, Collection<String>> valores = valoresPorId.get(ofertaId);
+                for (String anterior : valores.getOrDefault(Faceta.ESTADO, List.of())) {
+                    BitSet bits = porValor.get(anterior);
+                    if (bits != null) {
+                        bits.clear(slot);
+                        if (bits.isEmpty()) {
+                            porValor.remove(anterior);
+                        }
+                    }
+                }
+                porValor.computeIfAbsent(nuevo, v -> new BitSet()).set(slot);
+                valores.put(Faceta.ESTADO, List.of(nuevo));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(Long ofertaId) {
+        lock.writeLock().lock();
+        try {
+            quitar(ofertaId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===== BÚSQUEDA =====
+    public Resultado buscar(Filtro filtro, int pagina, int tamano) {
+        lock.readLock().lock();
+        try {
+            // Máscara por faceta filtrada; el salario se trata como una máscara más
+            Map<Faceta, BitSet> mascaras = new EnumMap<>(Faceta.class);
+            filtro.valores().forEach((faceta, valores) -> {
+                if (valores != null && !valores.isEmpty()) {
+                    mascaras.put(faceta, mascara(faceta, valores));
+                }
+            });
+            BitSet base = (BitSet) ocupados.clone();
+            if (filtro.salarioMin() != null || filtro.salarioMax() != null) {
+                base.and(mascaraSalario(filtro.salarioMin(), filtro.salarioMax()));
+            }
+
+            BitSet coincidencias = (BitSet) base.clone();
+            mascaras.values().forEach(coincidencias::and);
+
+            Map<String, Map<String, Integer>> facetas = new LinkedHashMap<>();
+            for (Faceta faceta : Faceta.values()) {
+                // Las facetas de valor único se cuentan sin su propio filtro, para poder ampliar la selección
+                BitSet universo = coincidencias;
+                if (!faceta.multivaluada && mascaras.containsKey(faceta)) {
+                    universo = (BitSet) base.clone();
+                    for (Map.Entry<Faceta, BitSet> otra : mascaras.entrySet()) {
+                        if (otra.getKey() != faceta) {
+                            universo.and(otra.getValue());
+                        }
+                    }
+                }
+                facetas.put(faceta.getNombre(), contar(faceta, universo));
+            }
+
+            return new Resultado(paginar(coincidencias, pagina, tamano), coincidencias.cardinality(), facetas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // OR de los valores pedidos, o AND si la faceta es multivaluada
+    private BitSet mascara(Faceta faceta, Set<String> valores) {
+        Map<String, BitSet> porValor = bitsets.getOrDefault(faceta, Map.of());
+        BitSet resultado = null;
+        for (String valor : valores) {
+            BitSet bits = porValor.getOrDefault(valor, new BitSet());
+            if (resultado == null) {
+                resultado = (BitSet) bits.clone();
+            } else if (faceta.multivaluada) {
+                resultado.and(bits);
+            } else {
+                resultado.or(bits);
+            }
+        }
+        return resultado;
+    }
+
+    private BitSet mascaraSalario(Long min, Long max) {
+        BitSet resultado = new BitSet(siguienteSlot);
+        for (int slot = ocupados.nextSetBit(0); slot >= 0; slot = ocupados.nextSetBit(slot + 1)) {
+            if ((min == null || salarios[slot] >= min) && (max == null || salarios[slot] <= max)) {
+                resultado.set(slot);
+            }
+        }
+        return resultado;
+    }
+
+    private Map<String, Integer> contar(Faceta faceta, BitSet universo) {
+        Map<String, Integer> conteos = new TreeMap<>();
+        bitsets.getOrDefault(faceta, Map.of()).forEach((valor, bits) -> {
+            BitSet interseccion = (BitSet) bits.clone();
+            interseccion.and(universo);
+            int total = interseccion.cardinality();
+            if (total > 0) {
+                conteos.put(valor, total);
+            }
+        });
+        return conteos;
+    }
+
+    // Top-k por fecha de publicación descendente y id descendente
+    private List<Long> paginar(BitSet coincidencias, int pagina, int tamano) {
+        int limite = (int) Math.min((long) (pagina + 1) * tamano, Integer.MAX_VALUE);
+        Comparator<Integer> orden = Comparator.<Integer>comparingLong(slot -> fechas[slot])
+            .thenComparingLong(slot -> ids[slot]);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(orden);
+        for (int slot = coincidencias.nextSetBit(0); slot >= 0; slot = coincidencias.nextSetBit(slot + 1)) {
+            heap.offer(slot);
+            if (heap.size() > limite) {
+                heap.poll();
+            }
+        }
+        List<Long> ordenados = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ordenados.add(ids[heap.poll()]);
+        }
+        Collections.reverse(ordenados);
+
+        int desde = (int) Math.min((long) pagina * tamano, ordenados.size());
+        return List.copyOf(ordenados.subList(desde, ordenados.size()));
+    }
+
+    // Requiere el lock de escritura
+    private void quitar(Long ofertaId) {
+        Integer slot = slotPorId.remove(ofertaId);
+        if (slot == null) {
+            return;
+        }
+        valoresPorId.remove(ofertaId).forEach((faceta, valores) -> {
+            Map<String, BitSet> porValor = bitsets.get(faceta);
+            if (porValor == null) {
+                return;
+            }
+            for (String valor : valores) {
+                BitSet bits = porValor.get(valor);
+                if (bits != null) {
+                    bits.clear(slot);
+                    if (bits.isEmpty()) {
+                        porValor.remove(valor);
+                    }
+                }
+            }
+        });
+        ocupados.clear(slot);
+        slotsLibres.push(slot);
+    }
+
+    private void asegurarCapacidad(int capacidad) {
+        if (ids.length >= capacidad) {
+            return;
+        }
+        int nueva = Math.max(capacidad, Math.max(16, ids.length * 2));
+        ids = Arrays.copyOf(ids, nueva);
+        salarios = Arrays.copyOf(salarios, nueva);
+        fechas = Arrays.copyOf(fechas, nueva);
+    }
+}
@@ -2,31 +2,97 @@ package com.workable_sb.workable.service;
 
 import com.workable_sb.workable.models.Municipio;
 import com.workable_sb.workable.repository.MunicipioRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+/**
+ * Municipios: datos de referencia que solo cambian al inicializar la base, así que las lecturas
+ * se sirven desde caché (Caffeine, tamaño y caducidad en spring.cache.caffeine.spec). Se precargan
+ * al arrancar y las escrituras vacían las cachés. Las instancias cacheadas se comparten entre
+ * peticiones: se pueden asignar a otras entidades, pero no modificar.
+ */
 @Service
 public class MunicipioService {
 
+    private static final Logger log = LoggerFactory.getLogger(MunicipioService.class);
+
+    public static final String CACHE_TODOS = "municipios";
+    public static final String CACHE_POR_ID = "municipio";
+    public static final String CACHE_POR_DEPARTAMENTO = "municipiosPorDepartamento";
+
     @Autowired
     private MunicipioRepo municipioRepo;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Cacheable(CACHE_TODOS)
     public List<Municipio> obtenerTodos() {
-        return municipioRepo.findAll();
+        return List.copyOf(municipioRepo.findAll());
     }
 
+    @Cacheable(CACHE_POR_ID)
     public Municipio obtenerPorId(Long id) {
         return municipioRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Municipio no encontrado"));
     }
 
+    /**
+     * Como obtenerPorId, pero deja al llamador decidir el error. Los ids inexistentes no se cachean.
+     */
+    @Cacheable(cacheNames = CACHE_POR_ID, unless = "#result == null")
+    public Optional<Municipio> buscarPorId(Long id) {
+        return municipioRepo.findById(id);
+    }
+
+    public boolean existe(Long id) {
+        return cacheManager.getCache(CACHE_POR_ID).get(id) != null || municipioRepo.existsById(id);
+    }
+
+    @Cacheable(CACHE_POR_DEPARTAMENTO)
     public List<Municipio> obtenerPorDepartamento(Municipio.Departamento departamento) {
-        return municipioRepo.findByDepartamento(departamento);
+        return List.copyOf(municipioRepo.findByDepartamento(departamento));
     }
 
     public List<Municipio> buscarPorNombre(String nombre) {
         return municipioRepo.findByNombreContainingIgnoreCase(nombre);
     }
-}
\ No newline at end of file
+
+    @CacheEvict(cacheNames = {CACHE_TODOS, CACHE_POR_ID, CACHE_POR_DEPARTAMENTO}, allEntries = true)
+    public List<Municipio> guardarTodos(List<Municipio> municipios) {
+        return municipioRepo.saveAll(municipios);
+    }
+
+    /**
+     * Carga las tres cachés con una sola consulta al arrancar (después de DataInitializer),
+     * para que las primeras peticiones no vayan a la base.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        List<Municipio> todos = List.copyOf(municipioRepo.findAll());
+        Cache porId = cacheManager.getCache(CACHE_POR_ID);
+        Cache porDepartamento = cacheManager.getCache(CACHE_POR_DEPARTAMENTO);
+        cacheManager.getCache(CACHE_TODOS).put(SimpleKey.EMPTY, todos);
+        todos.forEach(m -> porId.put(m.getId(), m));
+        Map<Municipio.Departamento, List<Municipio>> agrupados = todos.stream()
+                .collect(Collectors.groupingBy(Municipio::getDepartamento));
+        for (Municipio.Departamento departamento : Municipio.Departamento.values()) {
+            porDepartamento.put(departamento, List.copyOf(agrupados.getOrDefault(departamento, List.of())));
+        }
+        log.info("Caché de municipios precargada: {} municipios", todos.size());
+    }
+}
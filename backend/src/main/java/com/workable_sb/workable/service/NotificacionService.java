@@ -1,15 +1,30 @@
 package com.workable_sb.workable.service;
 
+import static com.workable_sb.workable.service.Transacciones.despuesDeCommit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.workable_sb.workable.dto.CitacionLoteFila;
+import com.workable_sb.workable.dto.CursorPaginacion;
+import com.workable_sb.workable.dto.DestinatarioNotificacion;
+import com.workable_sb.workable.dto.NotificacionEventoDto;
+import com.workable_sb.workable.dto.PaginaCursorDto;
+import com.workable_sb.workable.dto.RecordatorioCitacionFila;
 import com.workable_sb.workable.models.Notificacion;
 import com.workable_sb.workable.models.Aspirante;
 import com.workable_sb.workable.models.Reclutador;
+import com.workable_sb.workable.repository.NotificacionArchivadaRepo;
 import com.workable_sb.workable.repository.NotificacionRepo;
 import com.workable_sb.workable.repository.AspiranteRepo;
 import com.workable_sb.workable.repository.ReclutadorRepo;
@@ -17,6 +32,14 @@ import com.workable_sb.workable.repository.ReclutadorRepo;
 @Service
 @Transactional
 public class NotificacionService {
+    // Primera página sin cursor: cualquier fecha real es anterior (vale también como DATE de MySQL)
+    private static final LocalDate FECHA_SIN_CURSOR = LocalDate.of(9999, 12, 31);
+    private static final List<DestinatarioNotificacion.Tipo> TODOS_LOS_RECEPTORES =
+            List.of(DestinatarioNotificacion.Tipo.values());
+    private static final Comparator<NotificacionEventoDto> ORDEN_TIMELINE = Comparator
+            .comparing(NotificacionEventoDto::fechaCreacion, Comparator.reverseOrder())
+            .thenComparing(NotificacionEventoDto::id, Comparator.reverseOrder());
+
     @Autowired
     private NotificacionRepo notificacionRepo;
 
@@ -26,6 +49,15 @@ public class NotificacionService {
     @Autowired
     private ReclutadorRepo reclutadorRepo;
 
+    @Autowired
+    private NotificacionArchivadaRepo notificacionArchivadaRepo;
+
+    @Autowired
+    private CanalNotificaciones canal;
+
+    @Autowired
+    private ContadoresNoLeidas contadoresNoLeidas;
+
     // ===== CREATE =====
     public Notificacion create(Notificacion request) {
         // Validación: debe tener aspirante O reclutador, no ambos ni ninguno
@@ -48,7 +80,9 @@ public class NotificacionService {
             request.setReclutador(reclutador);
         }
 
-        return notificacionRepo.save(request);
+        Notificacion guardada = notificacionRepo.save(request);
+        registrarAltaDespuesDeCommit(guardada);
+        return guardada;
     }
 
     // ===== READ =====
@@ -57,42 +91,88 @@ public class NotificacionService {
                 .orElseThrow(() -> new RuntimeException("Notificacion no encontrada"));
     }
 
-    public List<Notificacion> getAll() {
-        return notificacionRepo.findAll();
+    // Paginación por clave, más recientes primero (fechaCreacion, id)
+    public PaginaCursorDto<Notificacion> getAll(String cursor, int tamano) {
+        int limite = CursorPaginacion.tamanoEfectivo(tamano);
+        CursorPaginacion desde = CursorPaginacion.decodificar(cursor);
+        PageRequest pagina = PageRequest.of(0, limite + 1);
+        List<Notificacion> filas = desde == null
+            ? notificacionRepo.findPrimeraPagina(pagina)
+            : notificacionRepo.findPaginaDespuesDe(desde.claveComoFecha(), desde.id(), pagina);
+        return PaginaCursorDto.de(filas, limite, n -> CursorPaginacion.de(n.getFechaCreacion(), n.getId()));
+    }
+
+    // El id puede ser de aspirante o de reclutador: se devuelven las de ambos receptores
+    public PaginaCursorDto<Notificacion> getByUsuario(Long usuarioId, String cursor, int tamano) {
+        return getPaginaDeUsuario(usuarioId, TODOS_LOS_RECEPTORES, null, null, cursor, tamano);
+    }
+
+    public PaginaCursorDto<Notificacion> getByUsuario(DestinatarioNotificacion destinatario, String cursor, int tamano) {
+        return getPaginaDeUsuario(destinatario.id(), List.of(destinatario.tipo()), null, null, cursor, tamano);
     }
 
-    public List<Notificacion> getByUsuario(Long usuarioId) {
-        // Obtener notificaciones para aspirante
-        List<Notificacion> aspiranteNotif = notificacionRepo.findByAspiranteId(usuarioId);
-        // Obtener notificaciones para reclutador
-        List<Notificacion> reclutadorNotif = notificacionRepo.findByReclutadorId(usuarioId);
-        // Combinar ambas listas
-        return Stream.concat(aspiranteNotif.stream(), reclutadorNotif.stream()).toList();
+    public PaginaCursorDto<Notificacion> getByUsuarioAndLeida(Long usuarioId, Boolean leida, String cursor, int tamano) {
+        return getPaginaDeUsuario(usuarioId, TODOS_LOS_RECEPTORES, leida, null, cursor, tamano);
     }
 
-    public List<Notificacion> getByUsuarioAndLeida(Long usuarioId, Boolean leida) {
-        List<Notificacion> aspiranteNotif = notificacionRepo.findByAspiranteIdAndLeida(usuarioId, leida);
-        List<Notificacion> reclutadorNotif = notificacionRepo.findByReclutadorIdAndLeida(usuarioId, leida);
-        return Stream.concat(aspiranteNotif.stream(), reclutadorNotif.stream()).toList();
+    public PaginaCursorDto<Notificacion> getByUsuarioAndTipo(Long usuarioId, Notificacion.Tipo tipo, String cursor, int tamano) {
+        return getPaginaDeUsuario(usuarioId, TODOS_LOS_RECEPTORES, null, tipo, cursor, tamano);
     }
 
-    public List<Notificacion> getByUsuarioAndTipo(Long usuarioId, Notificacion.Tipo tipo) {
-        List<Notificacion> aspiranteNotif = notificacionRepo.findByAspiranteIdAndTipo(usuarioId, tipo);
-        List<Notificacion> reclutadorNotif = notificacionRepo.findByReclutadorIdAndTipo(usuarioId, tipo);
-        return Stream.concat(aspiranteNotif.stream(), reclutadorNotif.stream()).toList();
+    // Una sola consulta por el receptor desnormalizado, paginada por clave (fechaCreacion, id)
+    private PaginaCursorDto<Notificacion> getPaginaDeUsuario(Long usuarioId, List<DestinatarioNotificacion.Tipo> receptores,
+                                                             Boolean leida, Notificacion.Tipo tipo, String cursor, int tamano) {
+        int limite = CursorPaginacion.tamanoEfectivo(tamano);
+        CursorPaginacion desde = CursorPaginacion.decodificar(cursor);
+        List<Notificacion> filas = notificacionRepo.findPaginaDeUsuario(usuarioId, receptores, leida, tipo,
+            desde != null ? desde.claveComoFecha() : FECHA_SIN_CURSOR, desde != null ? desde.id() : Long.MAX_VALUE,
+            PageRequest.of(0, limite + 1));
+        return PaginaCursorDto.de(filas, limite, n -> CursorPaginacion.de(n.getFechaCreacion(), n.getId()));
     }
 
     public List<Notificacion> getActivasByUsuario(Long usuarioId) {
-        List<Notificacion> notificaciones = getByUsuario(usuarioId);
-        return notificaciones.stream()
-                .filter(n -> n.getIsActive())
-                .toList();
+        return notificacionRepo.findActivasByUsuario(usuarioId);
+    }
+
+    /**
+     * Timeline paginado por clave (fechaCreacion, id), más recientes primero. Mezcla la tabla
+     * caliente con notificacion_archivada: cada una aporta como mucho una página por su índice
+     * de receptor y fecha, y el cursor sirve para ambas porque el archivo conserva los ids.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDto<NotificacionEventoDto> getTimeline(DestinatarioNotificacion destinatario, String cursor, int tamano) {
+        int limite = CursorPaginacion.tamanoEfectivo(tamano);
+        CursorPaginacion desde = CursorPaginacion.decodificar(cursor);
+        LocalDate fecha = desde != null ? desde.claveComoFecha() : FECHA_SIN_CURSOR;
+        Long id = desde != null ? desde.id() : Long.MAX_VALUE;
+        PageRequest pagina = PageRequest.of(0, limite + 1);
+        List<NotificacionEventoDto> recientes =
+            notificacionRepo.findTimeline(destinatario.tipo(), destinatario.id(), fecha, id, pagina);
+        List<NotificacionEventoDto> archivadas =
+            notificacionArchivadaRepo.findTimeline(destinatario.tipo(), destinatario.id(), fecha, id, pagina);
+        return PaginaCursorDto.de(mezclar(recientes, archivadas, limite + 1), limite,
+            e -> CursorPaginacion.de(e.fechaCreacion(), e.id()));
+    }
+
+    // Mezcla dos listas ya ordenadas por (fechaCreacion DESC, id DESC) hasta el máximo de filas
+    private static List<NotificacionEventoDto> mezclar(List<NotificacionEventoDto> a, List<NotificacionEventoDto> b, int maximo) {
+        List<NotificacionEventoDto> filas = new ArrayList<>(Math.min(maximo, a.size() + b.size()));
+        int i = 0;
+        int j = 0;
+        while (filas.size() < maximo && (i < a.size() || j < b.size())) {
+            if (j >= b.size() || (i < a.size() && ORDEN_TIMELINE.compare(a.get(i), b.get(j)) <= 0)) {
+                filas.add(a.get(i++));
+            } else {
+                filas.add(b.get(j++));
+            }
+        }
+        return filas;
     }
 
-    public Long contarNoLeidas(Long usuarioId) {
-        long aspiranteNoLeidas = notificacionRepo.countByAspiranteIdAndLeida(usuarioId, false);
-        long reclutadorNoLeidas = notificacionRepo.countByReclutadorIdAndLeida(usuarioId, false);
-        return aspiranteNoLeidas + reclutadorNoLeidas;
+    // Sale de la caché de contadores; sin transacción para no tomar una conexión del pool
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Long contarNoLeidas(DestinatarioNotificacion destinatario) {
+        return contadoresNoLeidas.obtener(destinatario);
     }
 
     // ===== UPDATE =====
@@ -119,14 +199,56 @@ public class NotificacionService {
             throw new IllegalStateException("No puedes marcar como leída una notificacion que no te pertenece");
         }
 
+        boolean estabaNoLeida = !Boolean.TRUE.equals(notificacion.getLeida());
         notificacion.setLeida(true);
-        return notificacionRepo.save(notificacion);
+        Notificacion guardada = notificacionRepo.save(notificacion);
+        if (estabaNoLeida) {
+            ajustarNoLeidasDespuesDeCommit(DestinatarioNotificacion.de(guardada), -1);
+        }
+        return guardada;
+    }
+
+    // El id puede ser de aspirante o de reclutador: se marcan las de ambos receptores
+    public int marcarTodasComoLeidas(Long usuarioId) {
+        return marcarTodasComoLeidas(DestinatarioNotificacion.aspirante(usuarioId))
+            + marcarTodasComoLeidas(DestinatarioNotificacion.reclutador(usuarioId));
+    }
+
+    // ===== RETENCIÓN (lotes de RetencionNotificaciones, una transacción por lote) =====
+    // Copia al archivo y borra de la tabla caliente; las que dejaron de cumplir el criterio se quedan
+    public int moverAlArchivo(List<Long> ids, LocalDate corte) {
+        notificacionArchivadaRepo.copiarDesdeNotificaciones(ids, corte, LocalDateTime.now());
+        return notificacionRepo.eliminarArchivadas(ids);
+    }
+
+    public int purgarArchivo(List<Long> ids) {
+        return notificacionArchivadaRepo.eliminarPorIds(ids);
+    }
+
+    // ===== OPERACIONES MASIVAS (una sentencia, sin cargar entidades) =====
+    public int marcarTodasComoLeidas(DestinatarioNotificacion destinatario) {
+        int marcadas = notificacionRepo.marcarLeidas(aspiranteId(destinatario), reclutadorId(destinatario));
+        ajustarNoLeidasDespuesDeCommit(destinatario, -marcadas);
+        return marcadas;
+    }
+
+    public int marcarComoLeidasPorTipo(DestinatarioNotificacion destinatario, Notificacion.Tipo tipo) {
+        int marcadas = notificacionRepo.marcarLeidasPorTipo(aspiranteId(destinatario), reclutadorId(destinatario), tipo);
+        ajustarNoLeidasDespuesDeCommit(destinatario, -marcadas);
+        return marcadas;
+    }
+
+    // Solo borra leídas, así que el contador de no leídas no cambia. Incluye las ya movidas
+    // a notificacion_archivada, que si no seguirían apareciendo en el timeline
+    public int eliminarLeidas(DestinatarioNotificacion destinatario) {
+        return notificacionRepo.eliminarLeidas(aspiranteId(destinatario), reclutadorId(destinatario))
+            + notificacionArchivadaRepo.eliminarLeidas(destinatario.tipo(), destinatario.id());
     }
 
-    public void marcarTodasComoLeidas(Long usuarioId) {
-        List<Notificacion> noLeidas = getByUsuarioAndLeida(usuarioId, false);
-        noLeidas.forEach(n -> n.setLeida(true));
-        notificacionRepo.saveAll(noLeidas);
+    // Desactiva (isActive = false) en ambas tablas; dejan de aparecer entre las activas y en el timeline
+    public int desactivarAnterioresA(DestinatarioNotificacion destinatario, LocalDate fecha) {
+        return notificacionRepo.desactivarAnterioresA(aspiranteId(destinatario), reclutadorId(destinatario), fecha)
+            + notificacionArchivadaRepo.desactivarAnterioresA(destinatario.tipo(), destinatario.id(), fecha);
     }
 
     // ===== DELETE =====
@@ -139,6 +261,9 @@ public class NotificacionService {
         }
 
         notificacionRepo.delete(existente);
+        if (!Boolean.TRUE.equals(existente.getLeida())) {
+            ajustarNoLeidasDespuesDeCommit(DestinatarioNotificacion.de(existente), -1);
+        }
     }
 
     // ===== MÉTODO AUXILIAR =====
@@ -214,6 +339,28 @@ public class NotificacionService {
         return create(notificacion);
     }
 
+    /**
+     * Notificaciones de cambio de estado para varios aspirantes de una misma oferta
+     * (cambio en lote). Usa referencias a los aspirantes en lugar de leer cada uno.
+     */
+    public List<Notificacion> crearNotifsCambioEstado(Collection<Long> aspiranteIds, String nombreOferta, String nuevoEstado) {
+        List<Notificacion> notificaciones = new ArrayList<>(aspiranteIds.size());
+        for (Long aspiranteId : aspiranteIds) {
+            Notificacion notificacion = new Notificacion();
+            notificacion.setTipo(Notificacion.Tipo.CAMBIO_ESTADO);
+            notificacion.setTitulo("📊 Tu postulación a " + nombreOferta);
+            notificacion.setMensaje("Tu postulación pasó al estado: " + nuevoEstado);
+            notificacion.setUrl("/mis-postulaciones");
+            notificacion.setLeida(false);
+            notificacion.setIsActive(true);
+            notificacion.setAspirante(aspiranteRepo.getReferenceById(aspiranteId));
+            notificaciones.add(notificacion);
+        }
+        List<Notificacion> guardadas = notificacionRepo.saveAll(notificaciones);
+        guardadas.forEach(this::registrarAltaDespuesDeCommit);
+        return guardadas;
+    }
+
     /**
      * Notificación para aspirante: Invitación a entrevista
      */
@@ -240,6 +387,54 @@ public class NotificacionService {
     public Notificacion crearAlertaCitacion(Long aspiranteId, String nombreOferta, 
                                             String fechaCitacion, String horaCitacion, 
                                             Long citacionId) {
+        Notificacion notificacion = alertaCitacion(nombreOferta, fechaCitacion, horaCitacion, citacionId);
+        
+        Aspirante aspirante = new Aspirante();
+        aspirante.setId(aspiranteId);
+        notificacion.setAspirante(aspirante);
+        
+        return create(notificacion);
+    }
+
+    /**
+     * Alertas de citación para un lote de citaciones, guardadas juntas; cada una con su fecha y hora
+     */
+    public List<Notificacion> crearAlertasCitacion(List<CitacionLoteFila> citaciones) {
+        List<Notificacion> notificaciones = new ArrayList<>(citaciones.size());
+        for (CitacionLoteFila citacion : citaciones) {
+            Notificacion notificacion = alertaCitacion(citacion.ofertaTitulo(), citacion.fechaCitacion().toString(),
+                citacion.hora(), citacion.citacionId());
+            notificacion.setAspirante(aspiranteRepo.getReferenceById(citacion.aspiranteId()));
+            notificaciones.add(notificacion);
+        }
+        List<Notificacion> guardadas = notificacionRepo.saveAll(notificaciones);
+        guardadas.forEach(this::registrarAltaDespuesDeCommit);
+        return guardadas;
+    }
+
+    /**
+     * Recordatorios de citaciones próximas, guardados juntos. cuando describe la antelación ("en la próxima hora")
+     */
+    public List<Notificacion> crearRecordatoriosCitacion(List<RecordatorioCitacionFila> citaciones, String cuando) {
+        List<Notificacion> notificaciones = new ArrayList<>(citaciones.size());
+        for (RecordatorioCitacionFila citacion : citaciones) {
+            Notificacion notificacion = new Notificacion();
+            notificacion.setTipo(Notificacion.Tipo.ENTREVISTA);
+            notificacion.setTitulo("⏰ Recordatorio de entrevista");
+            notificacion.setMensaje("Tienes una entrevista para " + citacion.ofertaTitulo() + " " + cuando + ": el "
+                + citacion.inicio().toLocalDate() + " a las " + citacion.inicio().toLocalTime());
+            notificacion.setUrl("/mis-entrevistas/" + citacion.citacionId());
+            notificacion.setLeida(false);
+            notificacion.setIsActive(true);
+            notificacion.setAspirante(aspiranteRepo.getReferenceById(citacion.aspiranteId()));
+            notificaciones.add(notificacion);
+        }
+        List<Notificacion> guardadas = notificacionRepo.saveAll(notificaciones);
+        guardadas.forEach(this::registrarAltaDespuesDeCommit);
+        return guardadas;
+    }
+
+    private static Notificacion alertaCitacion(String nombreOferta, String fechaCitacion, String horaCitacion, Long citacionId) {
         Notificacion notificacion = new Notificacion();
         notificacion.setTipo(Notificacion.Tipo.ENTREVISTA);
         notificacion.setTitulo("🎯 ¡Entrevista agendada! - " + nombreOferta);
@@ -247,11 +442,42 @@ public class NotificacionService {
         notificacion.setUrl("/mis-entrevistas/" + citacionId);
         notificacion.setLeida(false);
         notificacion.setIsActive(true);
-        
-        Aspirante aspirante = new Aspirante();
-        aspirante.setId(aspiranteId);
-        notificacion.setAspirante(aspirante);
-        
-        return create(notificacion);
+        return notificacion;
+    }
+
+    private static Long aspiranteId(DestinatarioNotificacion destinatario) {
+        return destinatario.tipo() == DestinatarioNotificacion.Tipo.ASPIRANTE ? destinatario.id() : null;
+    }
+
+    private static Long reclutadorId(DestinatarioNotificacion destinatario) {
+        return destinatario.tipo() == DestinatarioNotificacion.Tipo.RECLUTADOR ? destinatario.id() : null;
+    }
+
+    // ===== CONTADORES DE NO LEÍDAS Y CANAL SSE =====
+    // Solo se aplica lo confirmado; el canal solo se usa si el receptor tiene alguna conexión abierta
+    private void registrarAltaDespuesDeCommit(Notificacion guardada) {
+        DestinatarioNotificacion destinatario = DestinatarioNotificacion.de(guardada);
+        NotificacionEventoDto evento = NotificacionEventoDto.de(guardada);
+        boolean noLeida = !Boolean.TRUE.equals(guardada.getLeida());
+        despuesDeCommit(() -> {
+            if (noLeida) {
+                contadoresNoLeidas.invalidar(destinatario);
+            }
+            if (canal.tieneConexiones(destinatario)) {
+                canal.publicarNotificaciones(destinatario, List.of(evento));
+            }
+        });
+    }
+
+    private void ajustarNoLeidasDespuesDeCommit(DestinatarioNotificacion destinatario, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        despuesDeCommit(() -> {
+            contadoresNoLeidas.invalidar(destinatario);
+            if (canal.tieneConexiones(destinatario)) {
+                canal.publicarNoLeidas(destinatario);
+            }
+        });
     }
 }
@@ -0,0 +1,38 @@
+package com.workable_sb.workable.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.dto.PostulacionLoteFila;
+import com.workable_sb.workable.models.Postulacion.Estado;
+
+/**
+ * Crea las notificaciones en la app de un cambio de estado en lote fuera del hilo de la petición.
+ * Se invoca tras confirmar la transacción del cambio; los correos ya se encolaron dentro de ella.
+ */
+@Component
+public class NotificadorCambiosEstado {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificadorCambiosEstado.class);
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    @Async
+    public void notificarCambiosEstado(List<PostulacionLoteFila> cambiadas, Estado nuevoEstado) {
+        if (cambiadas.isEmpty()) {
+            return;
+        }
+        try {
+            notificacionService.crearNotifsCambioEstado(cambiadas.stream().map(PostulacionLoteFila::aspiranteId).toList(),
+                cambiadas.get(0).ofertaTitulo(), nuevoEstado.toString());
+        } catch (RuntimeException e) {
+            log.error("No se pudieron crear las notificaciones del cambio en lote a {}: {}", nuevoEstado, e.getMessage());
+        }
+    }
+}
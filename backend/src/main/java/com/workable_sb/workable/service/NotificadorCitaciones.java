@@ -0,0 +1,84 @@
+package com.workable_sb.workable.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.workable_sb.workable.dto.CitacionLoteFila;
+import com.workable_sb.workable.repository.CitacionRepo;
+
+/**
+ * Avisa a los candidatos de las citaciones múltiples (alerta en la app y correo) fuera del
+ * hilo de la petición. Cada lote va a un hilo del pool de @Async y en su propia transacción:
+ * alertas, correos encolados y la marca de mensaje enviado se confirman o se descartan juntos.
+ * Un lote que no se confirma (o que se pierde al caer la instancia) sigue con el aviso pendiente
+ * y lo reenvía ReenvioAvisosCitacion con el mismo {@link #avisar}.
+ */
+@Component
+public class NotificadorCitaciones {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificadorCitaciones.class);
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private CitacionRepo citacionRepo;
+
+    @Async
+    @Transactional
+    public void avisarLote(TrabajosCitacion.Trabajo trabajo, List<CitacionLoteFila> lote,
+                           String linkMeet, String nombreReclutador, String detalles) {
+        String[] error = new String[1];
+        // El avance se registra al terminar la transacción: solo cuenta lo confirmado
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    trabajo.loteTerminado(lote.size(), null);
+                } else {
+                    trabajo.loteTerminado(0, "No se avisó a " + lote.size() + " candidatos (postulaciones "
+                        + lote.get(0).postulacionId() + " a " + lote.get(lote.size() - 1).postulacionId() + "): "
+                        + (error[0] != null ? error[0] : "la transacción no se confirmó"));
+                }
+            }
+        });
+        try {
+            avisar(lote, linkMeet, nombreReclutador, detalles);
+        } catch (RuntimeException e) {
+            log.warn("Citaciones múltiples {}: no se avisó un lote de {} candidatos: {}",
+                trabajo.getId(), lote.size(), e.getMessage());
+            error[0] = e.getMessage();
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+
+    /**
+     * Reclama el aviso de las citaciones del lote y crea sus alertas y correos en la transacción
+     * en curso. Si alguna ya no lo tenía pendiente (la avisó otro hilo o instancia), lanza
+     * IllegalStateException y el lote entero se descarta.
+     */
+    @Transactional
+    public int avisar(List<CitacionLoteFila> lote, String linkMeet, String nombreReclutador, String detalles) {
+        List<Long> ids = lote.stream().map(CitacionLoteFila::citacionId).toList();
+        int reclamadas = citacionRepo.marcarAvisadas(ids);
+        if (reclamadas != ids.size()) {
+            throw new IllegalStateException("Aviso ya enviado para " + (ids.size() - reclamadas)
+                + " de " + ids.size() + " citaciones");
+        }
+        notificacionService.crearAlertasCitacion(lote);
+        emailService.enviarCitaciones(lote, linkMeet, nombreReclutador, detalles);
+        return reclamadas;
+    }
+}
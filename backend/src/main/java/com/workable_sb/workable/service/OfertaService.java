@@ -1,20 +1,40 @@
 package com.workable_sb.workable.service;
 
+import static com.workable_sb.workable.service.Transacciones.despuesDeCommit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
 
+import com.workable_sb.workable.dto.BusquedaOfertasDto;
+import com.workable_sb.workable.dto.CursorPaginacion;
+import com.workable_sb.workable.dto.FiltroOfertaDto;
+import com.workable_sb.workable.dto.OfertaResumenDto;
+import com.workable_sb.workable.dto.PaginaCursorDto;
 import com.workable_sb.workable.models.Empresa;
 import com.workable_sb.workable.models.Oferta;
 import com.workable_sb.workable.models.Oferta.EstadoOferta;
 import com.workable_sb.workable.models.Oferta.Modalidad;
 import com.workable_sb.workable.repository.EmpresaRepository;
-import com.workable_sb.workable.repository.MunicipioRepo;
 import com.workable_sb.workable.repository.OfertaRepo;
 import com.workable_sb.workable.repository.ReclutadorRepo;
+import com.workable_sb.workable.service.IndiceFacetasOfertas.Faceta;
 
 @Service
 @Transactional
@@ -30,7 +50,7 @@ public class OfertaService {
     private ReclutadorRepo usuarioRepo;
 
     @Autowired
-    private MunicipioRepo municipioRepo;
+    private MunicipioService municipioService;
 
     @Autowired
     private EntityManager entityManager;
@@ -38,6 +58,17 @@ public class OfertaService {
     @Autowired
     private AdminValidationService adminValidationService;
 
+    @Autowired
+    private IndiceBusquedaOfertas indiceBusqueda;
+
+    @Autowired
+    private IndiceFacetasOfertas indiceFacetas;
+
+    @Autowired
+    private ContadoresPostulacionService contadoresPostulacion;
+
+    private static final int MAX_TAMANO_PAGINA = 100;
+
     // ===== CREATE =====
     public Oferta crearOferta(Oferta oferta, Long empresaId, Long reclutadorId) {
 
@@ -70,7 +101,7 @@ public class OfertaService {
 
         // Validar municipio
         if (oferta.getMunicipio() != null) {
-            municipioRepo.findById(oferta.getMunicipio().getId())
+            municipioService.buscarPorId(oferta.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio no encontrado"));
         }
 
@@ -80,7 +111,10 @@ public class OfertaService {
         // Asignar fecha de publicación automática
         oferta.setFechaPublicacion(java.time.LocalDate.now());
 
-        return ofertaRepository.save(oferta);
+        Oferta guardada = ofertaRepository.save(oferta);
+        contadoresPostulacion.inicializar(guardada.getId());
+        reindexarDespuesDeCommit(guardada);
+        return guardada;
     }
 
     // ===== READ =====
@@ -89,8 +123,15 @@ public class OfertaService {
                 .orElseThrow(() -> new RuntimeException("Oferta no encontrada con id: " + id));
     }
 
-    public List<Oferta> listarTodas() {
-        return ofertaRepository.findAll();
+    // Paginación por clave, más recientes primero (fechaPublicacion, id)
+    public PaginaCursorDto<Oferta> listarTodas(String cursor, int tamano) {
+        int limite = CursorPaginacion.tamanoEfectivo(tamano);
+        CursorPaginacion desde = CursorPaginacion.decodificar(cursor);
+        PageRequest pagina = PageRequest.of(0, limite + 1);
+        List<Oferta> filas = desde == null
+            ? ofertaRepository.findPrimeraPagina(pagina)
+            : ofertaRepository.findPaginaDespuesDe(desde.claveComoFecha(), desde.id(), pagina);
+        return PaginaCursorDto.de(filas, limite, o -> CursorPaginacion.de(o.getFechaPublicacion(), o.getId()));
     }
 
     public List<Oferta> listarPorEmpresa(Long empresaId) {
@@ -104,8 +145,8 @@ public class OfertaService {
         return ofertaRepository.findByEstado(estado);
     }
 
-    public List<Oferta> listarAbiertas() {
-        return ofertaRepository.findByEstadoOrderByFechaPublicacionDesc(EstadoOferta.ABIERTA);
+    public List<OfertaResumenDto> listarAbiertas() {
+        return ofertaRepository.findResumenPorEstado(EstadoOferta.ABIERTA);
     }
 
     public List<Oferta> listarPorReclutador(Long reclutadorId) {
@@ -123,7 +164,7 @@ public class OfertaService {
     }
 
     public List<Oferta> listarPorMunicipio(Long municipioId) {
-        if (!municipioRepo.existsById(municipioId)) {
+        if (!municipioService.existe(municipioId)) {
             throw new RuntimeException("Municipio no encontrado");
         }
         return ofertaRepository.findByMunicipioId(municipioId);
@@ -133,11 +174,79 @@ public class OfertaService {
         return ofertaRepository.findByModalidad(modalidad);
     }
 
-    public List<Oferta> buscarPorTexto(String texto) {
-        if (texto == null || texto.isEmpty()) {
-            return listarTodas();
+    /**
+     * Búsqueda de texto libre sobre el índice invertido, ordenada por relevancia (BM25).
+     * Sin texto devuelve todas las ofertas paginadas.
+     */
+    public Page<Oferta> buscarPorTexto(String texto, int pagina, int tamano) {
+        int tamanoEfectivo = Math.min(Math.max(tamano, 1), MAX_TAMANO_PAGINA);
+        // Tope para que el desplazamiento (página * tamaño) quepa en un int
+        int paginaEfectiva = Math.min(Math.max(pagina, 0), Integer.MAX_VALUE / tamanoEfectivo);
+        if (texto == null || texto.isBlank()) {
+            return ofertaRepository.findAll(PageRequest.of(paginaEfectiva, tamanoEfectivo, Sort.by("id")));
+        }
+
+        IndiceBusquedaOfertas.Resultado resultado = indiceBusqueda.buscar(texto, paginaEfectiva, tamanoEfectivo);
+
+        // Cargar la página y respetar el orden de relevancia
+        Map<Long, Oferta> porId = new HashMap<>();
+        ofertaRepository.findAllById(resultado.ids()).forEach(o -> porId.put(o.getId(), o));
+        List<Oferta> contenido = resultado.ids().stream()
+            .map(porId::get)
+            .filter(Objects::nonNull)
+            .toList();
+
+        return new PageImpl<>(contenido, PageRequest.of(paginaEfectiva, tamanoEfectivo), resultado.total());
+    }
+
+    /**
+     * Búsqueda facetada: una página de ofertas (más recientes primero) y el conteo
+     * de ofertas por valor de cada faceta, resueltos sobre el índice de facetas.
+     */
+    public BusquedaOfertasDto buscarConFacetas(FiltroOfertaDto filtro, int pagina, int tamano) {
+        int tamanoEfectivo = Math.min(Math.max(tamano, 1), MAX_TAMANO_PAGINA);
+        // Tope para que el desplazamiento (página * tamaño) quepa en un int
+        int paginaEfectiva = Math.min(Math.max(pagina, 0), Integer.MAX_VALUE / tamanoEfectivo);
+        if (filtro.getSalarioMin() != null && filtro.getSalarioMax() != null
+                && filtro.getSalarioMin() > filtro.getSalarioMax()) {
+            throw new IllegalArgumentException("El salario mínimo no puede ser mayor que el máximo");
+        }
+
+        Map<Faceta, Set<String>> valores = new EnumMap<>(Faceta.class);
+        valores.put(Faceta.ESTADO, filtro.getEstado() == null || filtro.getEstado().isEmpty()
+            ? Set.of(EstadoOferta.ABIERTA.name())
+            : comoTexto(filtro.getEstado()));
+        valores.put(Faceta.MODALIDAD, comoTexto(filtro.getModalidad()));
+        valores.put(Faceta.MUNICIPIO, comoTexto(filtro.getMunicipio()));
+        valores.put(Faceta.EMPRESA, comoTexto(filtro.getEmpresa()));
+        valores.put(Faceta.TIPO_CONTRATO, comoTexto(filtro.getTipoContrato()));
+        valores.put(Faceta.NIVEL_EXPERIENCIA, comoTexto(filtro.getNivelExperiencia()));
+        valores.put(Faceta.BENEFICIOS, comoTexto(filtro.getBeneficios()));
+        valores.put(Faceta.HABILIDADES, comoTexto(filtro.getHabilidadesRequeridas()));
+
+        IndiceFacetasOfertas.Resultado resultado = indiceFacetas.buscar(
+            new IndiceFacetasOfertas.Filtro(valores, filtro.getSalarioMin(), filtro.getSalarioMax()),
+            paginaEfectiva, tamanoEfectivo);
+
+        Map<Long, Oferta> porId = new HashMap<>();
+        ofertaRepository.findAllById(resultado.ids()).forEach(o -> porId.put(o.getId(), o));
+        List<Oferta> contenido = resultado.ids().stream()
+            .map(porId::get)
+            .filter(Objects::nonNull)
+            .toList();
+
+        Page<Oferta> paginaOfertas = new PageImpl<>(contenido, PageRequest.of(paginaEfectiva, tamanoEfectivo), resultado.total());
+        return new BusquedaOfertasDto(new PagedModel<>(paginaOfertas), resultado.facetas());
+    }
+
+    private static Set<String> comoTexto(Collection<?> valores) {
+        if (valores == null) {
+            return Set.of();
         }
-        return ofertaRepository.buscarPorTexto(texto);
+        return valores.stream()
+            .filter(Objects::nonNull)
+            .map(v -> v instanceof Enum<?> e ? e.name() : v.toString())
+            .collect(Collectors.toSet());
     }
 
     // ===== UPDATE =====
@@ -163,12 +272,14 @@ public class OfertaService {
         existente.setHabilidadesRequeridas(ofertaActualizada.getHabilidadesRequeridas());
 
         if (ofertaActualizada.getMunicipio() != null) {
-            municipioRepo.findById(ofertaActualizada.getMunicipio().getId())
+            municipioService.buscarPorId(ofertaActualizada.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio no encontrado"));
             existente.setMunicipio(ofertaActualizada.getMunicipio());
         }
 
-        return ofertaRepository.save(existente);
+        Oferta actualizada = ofertaRepository.save(existente);
+        reindexarDespuesDeCommit(actualizada);
+        return actualizada;
     }
 
     public Oferta cambiarEstado(Long id, EstadoOferta nuevoEstado, Long usuarioIdActual) {
@@ -180,7 +291,9 @@ public class OfertaService {
         }
 
         existente.setEstado(nuevoEstado);
-        return ofertaRepository.save(existente);
+        Oferta actualizada = ofertaRepository.save(existente);
+        reindexarDespuesDeCommit(actualizada);
+        return actualizada;
     }
 
     // ===== DELETE =====
@@ -201,6 +314,45 @@ public class OfertaService {
         }
 
         ofertaRepository.delete(existente);
+        contadoresPostulacion.eliminarDeOferta(id);
+        despuesDeCommit(() -> {
+            indiceBusqueda.eliminar(id);
+            indiceFacetas.eliminar(id);
+        });
+    }
+
+    // ===== CIERRE POR VENCIMIENTO =====
+    /**
+     * Cierra las ofertas del lote que siguen abiertas con la fecha límite anterior a hoy: las bloquea
+     * y las cierra con un solo UPDATE. Tras el commit se actualiza la faceta de estado; el índice de
+     * texto no guarda el estado, así que no cambia. Devuelve solo los ids que este lote cerró.
+     */
+    public List<Long> cerrarVencidas(List<Long> ids, LocalDate hoy) {
+        // Las que otra instancia o un reclutador cerraron o ampliaron entretanto no se bloquean ni cuentan
+        List<Long> cerradasIds = ofertaRepository.bloquearVencidas(ids, hoy);
+        if (cerradasIds.isEmpty()) {
+            return List.of();
+        }
+        int cerradas = ofertaRepository.cerrarVencidas(cerradasIds);
+        if (cerradas != cerradasIds.size()) {
+            throw new IllegalStateException("Las ofertas cambiaron de estado durante el cierre; vuelve a intentarlo");
+        }
+        despuesDeCommit(() -> indiceFacetas.cambiarEstado(cerradasIds, EstadoOferta.CERRADA));
+        return cerradasIds;
+    }
+
+    // ===== ÍNDICES DE BÚSQUEDA =====
+    // Se capturan los datos ahora y se aplican a los índices solo si la transacción confirma
+    private void reindexarDespuesDeCommit(Oferta oferta) {
+        Long id = oferta.getId();
+        String titulo = oferta.getTitulo();
+        String descripcion = oferta.getDescripcion();
+        Set<String> requisitos = oferta.getRequisitos() != null ? Set.copyOf(oferta.getRequisitos()) : Set.of();
+        IndiceFacetasOfertas.Fila fila = IndiceFacetasOfertas.Fila.de(oferta);
+        despuesDeCommit(() -> {
+            indiceBusqueda.indexar(id, titulo, descripcion, requisitos);
+            indiceFacetas.indexar(fila);
+        });
     }
 
     private boolean puedeModificarOferta(Oferta oferta, Long usuarioId) {
@@ -0,0 +1,147 @@
+package com.workable_sb.workable.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.workable_sb.workable.exception.ServicioSaturadoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Servicio para hashear y verificar contraseñas (BCrypt) en un pool acotado.
+ * Limita la CPU que consumen las ráfagas de login/registro para no dejar sin hilos
+ * al resto de endpoints; si la cola se llena, falla rápido con 503.
+ */
+@Service
+public class PasswordHashService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Hilos dedicados al hashing (0 = mitad de los núcleos disponibles)
+    @Value("${security.password-hash.threads:0}")
+    private int hilos;
+
+    @Value("${security.password-hash.queue-capacity:64}")
+    private int capacidadCola;
+
+    // Tiempo máximo que una petición espera su turno antes de responder 503
+    @Value("${security.password-hash.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${security.password-hash.retry-after-seconds:2}")
+    private long retryAfterSegundos;
+
+    private ThreadPoolExecutor executor;
+    private Timer latenciaEncode;
+    private Timer latenciaMatches;
+    private Counter rechazos;
+
+    @PostConstruct
+    void init() {
+        int numHilos = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(numHilos, numHilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("workable.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Tareas de hashing en espera")
+                .register(meterRegistry);
+        Gauge.builder("workable.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Tareas de hashing en ejecución")
+                .register(meterRegistry);
+        latenciaEncode = Timer.builder("workable.password.hash.latency")
+                .tag("operacion", "encode")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        latenciaMatches = Timer.builder("workable.password.hash.latency")
+                .tag("operacion", "matches")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        rechazos = Counter.builder("workable.password.hash.rejected")
+                .description("Peticiones rechazadas por saturación del pool")
+                .register(meterRegistry);
+
+        log.info("Pool de hashing de contraseñas: {} hilos, cola {}", numHilos, capacidadCola);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public String encode(String rawPassword) {
+        return ejecutar(latenciaEncode, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hash de la contraseña recibida, o null si viene vacía. Los controladores de usuarios la
+     * hashean con esto antes de llamar a sus servicios (@Transactional) y antes de cualquier otra
+     * consulta: con open-in-view la conexión se retiene desde la primera consulta hasta el final
+     * de la petición, y esperar aquí turno en el pool no debe tener una conexión ocupada.
+     */
+    public String encodeSiPresente(String rawPassword) {
+        return rawPassword == null || rawPassword.isBlank() ? null : encode(rawPassword);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return ejecutar(latenciaMatches, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T ejecutar(Timer timer, Callable<T> tarea) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(tarea));
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            log.warn("Pool de hashing saturado ({} en cola), petición rechazada", executor.getQueue().size());
+            throw new ServicioSaturadoException("Servicio ocupado, intenta de nuevo en unos segundos", retryAfterSegundos);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rechazos.increment();
+            throw new ServicioSaturadoException("Servicio ocupado, intenta de nuevo en unos segundos", retryAfterSegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Hashing de contraseña interrumpido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException("Error al procesar la contraseña", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.workable_sb.workable.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plantilla de correo compilada: el texto se parte una sola vez en un arreglo inmutable
+ * de segmentos (texto fijo, variables y secciones) y renderizar solo recorre el arreglo.
+ *
+ * Sintaxis: {@code {{nombre}}} inserta el valor (escapado en HTML si la plantilla es HTML)
+ * y {@code {{#nombre}}...{{/nombre}}} solo se incluye si el valor no está vacío.
+ */
+public final class PlantillaEmail {
+
+    private sealed interface Segmento permits Texto, Variable, Seccion {
+    }
+
+    private record Texto(String texto) implements Segmento {
+    }
+
+    private record Variable(String nombre) implements Segmento {
+    }
+
+    private record Seccion(String nombre, Segmento[] cuerpo) implements Segmento {
+    }
+
+    private final String nombre;
+    private final boolean html;
+    private final Segmento[] segmentos;
+    private final int longitudFija;
+
+    private PlantillaEmail(String nombre, boolean html, Segmento[] segmentos) {
+        this.nombre = nombre;
+        this.html = html;
+        this.segmentos = segmentos;
+        this.longitudFija = longitudFija(segmentos);
+    }
+
+    public static PlantillaEmail compilar(String nombre, String fuente, boolean html) {
+        Deque<List<Segmento>> abiertas = new ArrayDeque<>();
+        Deque<String> nombresAbiertos = new ArrayDeque<>();
+        List<Segmento> actual = new ArrayList<>();
+        int pos = 0;
+        while (pos < fuente.length()) {
+            int inicio = fuente.indexOf("{{", pos);
+            if (inicio < 0) {
+                agregarTexto(actual, fuente.substring(pos));
+                break;
+            }
+            int fin = fuente.indexOf("}}", inicio + 2);
+            if (fin < 0) {
+                throw new IllegalArgumentException("Plantilla " + nombre + ": '{{' sin cerrar en la posición " + inicio);
+            }
+            agregarTexto(actual, fuente.substring(pos, inicio));
+            String etiqueta = fuente.substring(inicio + 2, fin).trim();
+            if (etiqueta.startsWith("#")) {
+                abiertas.push(actual);
+                nombresAbiertos.push(etiqueta.substring(1).trim());
+                actual = new ArrayList<>();
+            } else if (etiqueta.startsWith("/")) {
+                String cerrada = etiqueta.substring(1).trim();
+                if (nombresAbiertos.isEmpty() || !nombresAbiertos.peek().equals(cerrada)) {
+                    throw new IllegalArgumentException("Plantilla " + nombre + ": cierre inesperado {{/" + cerrada + "}}");
+                }
+                Seccion seccion = new Seccion(nombresAbiertos.pop(), actual.toArray(new Segmento[0]));
+                actual = abiertas.pop();
+                actual.add(seccion);
+            } else {
+                actual.add(new Variable(etiqueta));
+            }
+            pos = fin + 2;
+        }
+        if (!nombresAbiertos.isEmpty()) {
+            throw new IllegalArgumentException("Plantilla " + nombre + ": sección {{#" + nombresAbiertos.peek() + "}} sin cerrar");
+        }
+        return new PlantillaEmail(nombre, html, actual.toArray(new Segmento[0]));
+    }
+
+    /**
+     * Devuelve una copia con los valores dados ya resueltos y fusionados con el texto fijo.
+     * Sirve para envíos masivos: lo común a todos los destinatarios se resuelve una vez.
+     */
+    public PlantillaEmail fijar(Map<String, ?> valores) {
+        List<Segmento> resultado = new ArrayList<>();
+        fijar(segmentos, valores, resultado);
+        return new PlantillaEmail(nombre, html, resultado.toArray(new Segmento[0]));
+    }
+
+    public void renderizar(Map<String, ?> valores, StringBuilder destino) {
+        renderizar(segmentos, valores, destino);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    // Caracteres de texto fijo; sirve para dimensionar el buffer de salida
+    public int getLongitudFija() {
+        return longitudFija;
+    }
+
+    private void renderizar(Segmento[] segmentos, Map<String, ?> valores, StringBuilder destino) {
+        for (Segmento segmento : segmentos) {
+            if (segmento instanceof Texto texto) {
+                destino.append(texto.texto());
+            } else if (segmento instanceof Variable variable) {
+                escribirValor(valores.get(variable.nombre()), destino);
+            } else if (segmento instanceof Seccion seccion && tieneValor(valores.get(seccion.nombre()))) {
+                renderizar(seccion.cuerpo(), valores, destino);
+            }
+        }
+    }
+
+    private void fijar(Segmento[] segmentos, Map<String, ?> valores, List<Segmento> resultado) {
+        for (Segmento segmento : segmentos) {
+            if (segmento instanceof Variable variable && valores.containsKey(variable.nombre())) {
+                StringBuilder valor = new StringBuilder();
+                escribirValor(valores.get(variable.nombre()), valor);
+                agregarTexto(resultado, valor.toString());
+            } else if (segmento instanceof Seccion seccion && valores.containsKey(seccion.nombre())) {
+                if (tieneValor(valores.get(seccion.nombre()))) {
+                    fijar(seccion.cuerpo(), valores, resultado);
+                }
+            } else if (segmento instanceof Seccion seccion) {
+                List<Segmento> cuerpo = new ArrayList<>();
+                fijar(seccion.cuerpo(), valores, cuerpo);
+                resultado.add(new Seccion(seccion.nombre(), cuerpo.toArray(new Segmento[0])));
+            } else if (segmento instanceof Texto texto) {
+                agregarTexto(resultado, texto.texto());
+            } else {
+                resultado.add(segmento);
+            }
+        }
+    }
+
+    private void escribirValor(Object valor, StringBuilder destino) {
+        if (valor == null) {
+            return;
+        }
+        String texto = valor.toString();
+        if (html) {
+            escaparHtml(texto, destino);
+        } else {
+            destino.append(texto);
+        }
+    }
+
+    static void escaparHtml(String texto, StringBuilder destino) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '<' -> destino.append("&lt;");
+                case '>' -> destino.append("&gt;");
+                case '&' -> destino.append("&amp;");
+                case '"' -> destino.append("&quot;");
+                case '\'' -> destino.append("&#39;");
+                default -> destino.append(c);
+            }
+        }
+    }
+
+    private static boolean tieneValor(Object valor) {
+        return valor != null && !valor.toString().isBlank();
+    }
+
+    // Une texto consecutivo en un solo segmento
+    private static void agregarTexto(List<Segmento> segmentos, String texto) {
+        if (texto.isEmpty()) {
+            return;
+        }
+        int ultimo = segmentos.size() - 1;
+        if (ultimo >= 0 && segmentos.get(ultimo) instanceof Texto previo) {
+            segmentos.set(ultimo, new Texto(previo.texto() + texto));
+        } else {
+            segmentos.add(new Texto(texto));
+        }
+    }
+
+    private static int longitudFija(Segmento[] segmentos) {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            if (segmento instanceof Texto texto) {
+                total += texto.texto().length();
+            } else if (segmento instanceof Seccion seccion) {
+                total += longitudFija(seccion.cuerpo());
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,136 @@
+package com.workable_sb.workable.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Plantillas de correo de {@code resources/email}, compiladas una vez al arrancar.
+ * El archivo {@code nombre.html} es la variante por defecto y {@code nombre_en.html},
+ * {@code nombre_en_US.html}, etc. las variantes por idioma. La primera línea puede
+ * declarar el asunto: {@code <!-- asunto: ... -->}.
+ */
+@Component
+public class PlantillasEmail {
+
+    private static final Logger log = LoggerFactory.getLogger(PlantillasEmail.class);
+
+    private static final String UBICACION = "classpath*:email/*.html";
+    private static final String PREFIJO_ASUNTO = "<!-- asunto:";
+
+    // Buffers de salida reutilizados entre renderizados; los que crecen demasiado se descartan
+    private static final int TAMANO_POOL = 32;
+    private static final int CAPACIDAD_MAXIMA_BUFFER = 64 * 1024;
+
+    @Value("${app.name:Workable}")
+    private String appName;
+
+    // nombre -> (etiqueta de idioma, "" para la variante por defecto -> variante)
+    private final Map<String, Map<String, Variante>> plantillas = new HashMap<>();
+
+    private final BlockingQueue<StringBuilder> buffers = new ArrayBlockingQueue<>(TAMANO_POOL);
+
+    /**
+     * Asunto y cuerpo de una variante. El asunto es texto plano, así que no se escapa.
+     */
+    public record Variante(PlantillaEmail asunto, PlantillaEmail cuerpo) {
+
+        public Variante fijar(Map<String, ?> valores) {
+            return new Variante(asunto.fijar(valores), cuerpo.fijar(valores));
+        }
+    }
+
+    public record Correo(String asunto, String html) {
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Map<String, Object> globales = Map.of("app", appName);
+        Resource[] recursos = new PathMatchingResourcePatternResolver().getResources(UBICACION);
+        for (Resource recurso : recursos) {
+            String archivo = recurso.getFilename();
+            String base = archivo.substring(0, archivo.length() - ".html".length());
+            int separador = base.indexOf('_');
+            String nombre = separador < 0 ? base : base.substring(0, separador);
+            String idioma = separador < 0 ? "" : base.substring(separador + 1);
+            Variante variante = compilar(base, recurso.getContentAsString(StandardCharsets.UTF_8)).fijar(globales);
+            plantillas.computeIfAbsent(nombre, n -> new HashMap<>()).put(idioma, variante);
+        }
+        for (Map.Entry<String, Map<String, Variante>> entrada : plantillas.entrySet()) {
+            if (!entrada.getValue().containsKey("")) {
+                throw new IllegalStateException("La plantilla de correo " + entrada.getKey() + " no tiene variante por defecto");
+            }
+        }
+        log.info("Plantillas de correo compiladas: {} ({} archivos)", plantillas.keySet(), recursos.length);
+    }
+
+    /**
+     * Variante más específica para el idioma: es_CO, luego es y por último la de defecto.
+     */
+    public Variante variante(String nombre, Locale locale) {
+        Map<String, Variante> variantes = plantillas.get(nombre);
+        if (variantes == null) {
+            throw new IllegalArgumentException("Plantilla de correo no encontrada: " + nombre);
+        }
+        if (locale != null) {
+            Variante variante = variantes.get(locale.toString());
+            if (variante == null) {
+                variante = variantes.get(locale.getLanguage());
+            }
+            if (variante != null) {
+                return variante;
+            }
+        }
+        return variantes.get("");
+    }
+
+    public Correo renderizar(String nombre, Locale locale, Map<String, ?> valores) {
+        return renderizar(variante(nombre, locale), valores);
+    }
+
+    public Correo renderizar(Variante variante, Map<String, ?> valores) {
+        return new Correo(renderizar(variante.asunto(), valores), renderizar(variante.cuerpo(), valores));
+    }
+
+    private String renderizar(PlantillaEmail plantilla, Map<String, ?> valores) {
+        StringBuilder buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new StringBuilder(plantilla.getLongitudFija() + 256);
+        }
+        try {
+            plantilla.renderizar(valores, buffer);
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() <= CAPACIDAD_MAXIMA_BUFFER) {
+                buffer.setLength(0);
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    private static Variante compilar(String nombre, String fuente) {
+        String asunto = "";
+        if (fuente.startsWith(PREFIJO_ASUNTO)) {
+            int fin = fuente.indexOf("-->");
+            if (fin < 0) {
+                throw new IllegalArgumentException("Plantilla " + nombre + ": comentario de asunto sin cerrar");
+            }
+            asunto = fuente.substring(PREFIJO_ASUNTO.length(), fin).trim();
+            fuente = fuente.substring(fin + 3).stripLeading();
+        }
+        return new Variante(PlantillaEmail.compilar(nombre, asunto, false), PlantillaEmail.compilar(nombre, fuente, true));
+    }
+}
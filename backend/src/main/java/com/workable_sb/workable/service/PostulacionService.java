@@ -1,21 +1,43 @@
 package com.workable_sb.workable.service;
 
+import static com.workable_sb.workable.service.Transacciones.despuesDeCommit;
+
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.workable_sb.workable.dto.CandidatoResumenDto;
+import com.workable_sb.workable.dto.ConteoPorEstado;
+import com.workable_sb.workable.dto.EstadisticasCambiosEstadoDto;
+import com.workable_sb.workable.dto.EstadisticasOferta;
+import com.workable_sb.workable.dto.EstadisticasProcesoDto;
+import com.workable_sb.workable.dto.MiPostulacionDto;
+import com.workable_sb.workable.dto.PostulacionLoteFila;
+import com.workable_sb.workable.dto.ResumenEtapasDto;
+import com.workable_sb.workable.dto.TiemposEtapa;
 import com.workable_sb.workable.models.Oferta;
 import com.workable_sb.workable.models.Oferta.EstadoOferta;
 import com.workable_sb.workable.models.Postulacion;
 import com.workable_sb.workable.models.Postulacion.Estado;
+import com.workable_sb.workable.models.PostulacionEvento;
 import com.workable_sb.workable.models.Aspirante;
 import com.workable_sb.workable.models.Estudio;
 import com.workable_sb.workable.models.Estudio.NivelEducativo;
@@ -23,6 +45,7 @@ import com.workable_sb.workable.models.Experiencia;
 import com.workable_sb.workable.models.Aspirante.HabilidadEnum;
 import com.workable_sb.workable.repository.OfertaRepo;
 import com.workable_sb.workable.repository.PostulacionRepo;
+import com.workable_sb.workable.repository.PostulacionSpecs;
 import com.workable_sb.workable.repository.AspiranteRepo;
 import com.workable_sb.workable.repository.EstudioRepo;
 import com.workable_sb.workable.repository.ExperienciaRepo;
@@ -49,6 +72,18 @@ public class PostulacionService {
 	@Autowired
 	private AdminValidationService adminValidationService;
 
+	@Autowired
+	private ContadoresPostulacionService contadores;
+
+	@Autowired
+	private HistorialPostulacionService historialEstados;
+
+	@Autowired
+	private NotificadorCambiosEstado notificador;
+
+	@Autowired
+	private EmailService emailService;
+
 	// ===== CREACIÓN =====
 	public Postulacion crearPostulacion(Long aspiranteId, Long ofertaId, Long usuarioIdActual) {
 		Aspirante aspirante = aspiranteRepo.findById(aspiranteId)
@@ -82,7 +117,10 @@ public class PostulacionService {
 		postulacion.setEstado(Estado.PENDIENTE);
 		postulacion.setIsActive(true);
 
-		return postulacionRepo.save(postulacion);
+		Postulacion guardada = postulacionRepo.save(postulacion);
+		contadores.registrarAlta(guardada);
+		historialEstados.registrarAlta(guardada, usuarioIdActual);
+		return guardada;
 	}
 
 	// ===== READ =====
@@ -106,23 +144,25 @@ public class PostulacionService {
 		return postulacionRepo.findByOfertaId(ofertaId);
 	}
 
-	public List<Postulacion> listarPorAspirante(Long aspiranteId, Long aspiranteIdActual) {
-		// Validar permisos: aspirante solo puede ver sus propias postulaciones, admin ve todas
-		if (!aspiranteId.equals(aspiranteIdActual) && !adminValidationService.isAdmin()) {
-			throw new IllegalStateException("Solo puedes ver tus propias postulaciones");
-		}
-
-		return postulacionRepo.findByAspiranteId(aspiranteId);
+	// Postulaciones del aspirante como proyección plana (una sola consulta)
+	public List<MiPostulacionDto> listarPorAspirante(Long aspiranteId, Long aspiranteIdActual) {
+		return listarPorAspiranteYEstado(aspiranteId, null, aspiranteIdActual);
 	}
 
 	public List<Postulacion> listarPorOfertaYEstado(Long ofertaId, Estado estado, Long aspiranteIdActual) {
-		listarPorOferta(ofertaId, aspiranteIdActual);
+		if (!ofertaRepo.existsById(ofertaId)) {
+			throw new RuntimeException("Oferta no encontrada");
+		}
 		return postulacionRepo.findByOfertaIdAndEstado(ofertaId, estado);
 	}
 
-	public List<Postulacion> listarPorAspiranteYEstado(Long aspiranteId, Estado estado, Long aspiranteIdActual) {
-		listarPorAspirante(aspiranteId, aspiranteIdActual);
-		return postulacionRepo.findByAspiranteIdAndEstado(aspiranteId, estado);
+	public List<MiPostulacionDto> listarPorAspiranteYEstado(Long aspiranteId, Estado estado, Long aspiranteIdActual) {
+		// Validar permisos: aspirante solo puede ver sus propias postulaciones, admin ve todas
+		if (!aspiranteId.equals(aspiranteIdActual) && !adminValidationService.isAdmin()) {
+			throw new IllegalStateException("Solo puedes ver tus propias postulaciones");
+		}
+
+		return postulacionRepo.findMisPostulaciones(aspiranteId, estado);
 	}
 
 	public boolean yaSePostulo(Long aspiranteId, Long ofertaId) {
@@ -139,8 +179,11 @@ public class PostulacionService {
 			throw new IllegalStateException("Solo reclutadores de esta empresa pueden cambiar el estado");
 		}
 
+		Estado estadoAnterior = postulacion.getEstado();
 		postulacion.setEstado(nuevoEstado);
-		return postulacionRepo.save(postulacion);
+		Postulacion guardada = postulacionRepo.save(postulacion);
+		registrarTransicion(guardada, estadoAnterior, usuarioIdActual, "Cambio de estado");
+		return guardada;
 	}
 
 	// ===== DELETE =====
@@ -153,47 +196,35 @@ public class PostulacionService {
 		}
 
 		postulacionRepo.delete(postulacion);
+		contadores.registrarBaja(postulacion);
+		historialEstados.registrarRetirada(postulacion, usuarioIdActual);
 	}
 
 	// Obtener todos los aspirantes de una oferta
-	public List<Map<String, Object>> obtenerTodosLosAspirantes(Long ofertaId, Long usuarioIdActual) {
-		return listarPorOferta(ofertaId, usuarioIdActual).stream().map(postulacion -> {
-			Aspirante aspirante = postulacion.getAspirante();
-			Map<String, Object> map = new HashMap<>();
-			map.put("postulacionId", postulacion.getId());
-			map.put("aspiranteId", aspirante.getId());
-			map.put("nombre", aspirante.getNombre() + " " + aspirante.getApellido());
-			map.put("correo", aspirante.getCorreo());
-			map.put("estado", postulacion.getEstado().toString());
-			map.put("fechaPostulacion", postulacion.getFechaCreacion());
-			return map;
-		}).toList();
+	public List<CandidatoResumenDto> obtenerTodosLosAspirantes(Long ofertaId, Long usuarioIdActual) {
+		return candidatosDeOferta(ofertaId, null);
 	}
 
 	// Obtener aspirantes filtrados por estado
-	public List<Map<String, Object>> obtenerAspirantes(Long ofertaId, Long usuarioIdActual, String estado) {
-		List<Postulacion> postulaciones;
+	public List<CandidatoResumenDto> obtenerAspirantes(Long ofertaId, Long usuarioIdActual, String estado) {
+		Estado estadoEnum = null;
 		if (estado != null && !estado.isEmpty()) {
 			try {
-				Estado estadoEnum = Estado.valueOf(estado.toUpperCase());
-				postulaciones = listarPorOfertaYEstado(ofertaId, estadoEnum, usuarioIdActual);
+				estadoEnum = Estado.valueOf(estado.toUpperCase());
 			} catch (IllegalArgumentException e) {
 				throw new RuntimeException("Estado inválido: " + estado);
 			}
-		} else {
-			postulaciones = listarPorOferta(ofertaId, usuarioIdActual);
 		}
-		
-		return postulaciones.stream().map(postulacion -> {
-			Aspirante aspirante = postulacion.getAspirante();
-			Map<String, Object> map = new HashMap<>();
-			map.put("postulacionId", postulacion.getId());
-			map.put("aspiranteId", aspirante.getId());
-			map.put("nombre", aspirante.getNombre() + " " + aspirante.getApellido());
-			map.put("correo", aspirante.getCorreo());
-			map.put("estado", postulacion.getEstado().toString());
-			return map;
-		}).toList();
+		return candidatosDeOferta(ofertaId, estadoEnum);
+	}
+
+	// Una consulta de proyección; la existencia de la oferta solo se comprueba si no hay filas
+	private List<CandidatoResumenDto> candidatosDeOferta(Long ofertaId, Estado estado) {
+		List<CandidatoResumenDto> candidatos = postulacionRepo.findCandidatosDeOferta(ofertaId, estado);
+		if (candidatos.isEmpty() && !ofertaRepo.existsById(ofertaId)) {
+			throw new RuntimeException("Oferta no encontrada");
+		}
+		return candidatos;
 	}
 
 	// Obtener detalle completo de un aspirante para una postulación
@@ -233,81 +264,61 @@ public class PostulacionService {
 	}
 
 	// ===== FILTRADO AVANZADO =====
-	public List<Postulacion> filtrarCandidatosPorCriterios(Long ofertaId, String nivelEducativo, 
+	private static final int MAX_TAMANO_PAGINA = 100;
+
+	/**
+	 * Filtra los candidatos de una oferta resolviendo todos los criterios en la base de datos
+	 * (una consulta con EXISTS por criterio) y devuelve una página ordenada por fecha y id.
+	 */
+	public Page<Postulacion> filtrarCandidatosPorCriterios(Long ofertaId, String nivelEducativo, 
 			Integer aniosExperienciaMinimo, String cargoExperiencia, String municipio, 
-			String habilidad, Long usuarioIdActual) {
+			String habilidad, int pagina, int tamano, Long usuarioIdActual) {
 		
-		// Validar permisos (ver todas las postulaciones de la oferta)
-		List<Postulacion> todasPostulaciones = listarPorOferta(ofertaId, usuarioIdActual);
+		// Validar que la oferta existe
+		if (!ofertaRepo.existsById(ofertaId)) {
+			throw new RuntimeException("Oferta no encontrada");
+		}
 
-		// Filtrar según los criterios proporcionados
-		return todasPostulaciones.stream().filter(postulacion -> {
-			Aspirante aspirante = postulacion.getAspirante();
-
-			// Filtro 1: Nivel Educativo
-			if (nivelEducativo != null && !nivelEducativo.isEmpty()) {
-				try {
-					NivelEducativo nivel = NivelEducativo.valueOf(nivelEducativo.toUpperCase());
-					List<Estudio> estudios = estudioRepo.findByAspiranteId(aspirante.getId());
-					if (estudios.stream().noneMatch(e -> e.getNivelEducativo() == nivel)) {
-						return false;
-					}
-				} catch (IllegalArgumentException e) {
-					throw new RuntimeException("Nivel educativo inválido: " + nivelEducativo);
-				}
-			}
+		Specification<Postulacion> spec = PostulacionSpecs.deOferta(ofertaId);
 
-			// Filtro 2: Años de Experiencia Mínimo
-			if (aniosExperienciaMinimo != null && aniosExperienciaMinimo > 0) {
-				List<Experiencia> experiencias = experienciaRepo.findByAspiranteId(aspirante.getId());
-				
-				boolean tieneExperienciaRequerida = experiencias.stream().anyMatch(exp -> {
-					long aniosExperiencia = ChronoUnit.YEARS.between(exp.getFechaInicio(), 
-						exp.getFechaFin() != null ? exp.getFechaFin() : LocalDate.now());
-					return aniosExperiencia >= aniosExperienciaMinimo;
-				});
-
-				if (!tieneExperienciaRequerida) {
-					return false;
-				}
+		// Filtro 1: Nivel Educativo
+		if (nivelEducativo != null && !nivelEducativo.isEmpty()) {
+			try {
+				spec = spec.and(PostulacionSpecs.conNivelEducativo(NivelEducativo.valueOf(nivelEducativo.toUpperCase())));
+			} catch (IllegalArgumentException e) {
+				throw new RuntimeException("Nivel educativo inválido: " + nivelEducativo);
 			}
+		}
 
-			// Filtro 3: Cargo de Experiencia
-			if (cargoExperiencia != null && !cargoExperiencia.isEmpty()) {
-				List<Experiencia> experiencias = experienciaRepo.findByAspiranteId(aspirante.getId());
-				boolean tieneCargo = experiencias.stream()
-					.anyMatch(exp -> exp.getCargo().toLowerCase().contains(cargoExperiencia.toLowerCase()));
-				
-				if (!tieneCargo) {
-					return false;
-				}
-			}
+		// Filtro 2: Años de Experiencia Mínimo
+		if (aniosExperienciaMinimo != null && aniosExperienciaMinimo > 0) {
+			spec = spec.and(PostulacionSpecs.conAniosExperiencia(aniosExperienciaMinimo));
+		}
 
-			// Filtro 4: Municipio
-			if (municipio != null && !municipio.isEmpty()) {
-				List<Experiencia> experiencias = experienciaRepo.findByAspiranteId(aspirante.getId());
-				boolean tieneEnMunicipio = experiencias.stream()
-					.anyMatch(exp -> exp.getMunicipio().getNombre().toLowerCase().contains(municipio.toLowerCase()));
-				
-				if (!tieneEnMunicipio) {
-					return false;
-				}
-			}
+		// Filtro 3: Cargo de Experiencia
+		if (cargoExperiencia != null && !cargoExperiencia.isEmpty()) {
+			spec = spec.and(PostulacionSpecs.conCargoExperiencia(cargoExperiencia));
+		}
 
-		// Filtro 5: Habilidad
+		// Filtro 4: Municipio
+		if (municipio != null && !municipio.isEmpty()) {
+			spec = spec.and(PostulacionSpecs.conMunicipioExperiencia(municipio));
+		}
+
+		// Filtro 5: Habilidad (coincidencia parcial sobre el nombre de la habilidad)
 		if (habilidad != null && !habilidad.isEmpty()) {
-			Map<HabilidadEnum, String> habilidades = aspirante.getHabilidades();
-			if (habilidades == null || habilidades.isEmpty()) {
-				return false;
-			}
-			boolean tieneHabilidad = habilidades.keySet().stream()
-				.anyMatch(h -> h.name().toLowerCase().contains(habilidad.toLowerCase()));
-			
-			if (!tieneHabilidad) {
-				return false;
-			}
-		}			return true;
-		}).toList();
+			String texto = habilidad.toLowerCase();
+			List<HabilidadEnum> coincidentes = Arrays.stream(HabilidadEnum.values())
+				.filter(h -> h.name().toLowerCase().contains(texto))
+				.toList();
+			spec = spec.and(PostulacionSpecs.conAlgunaHabilidad(coincidentes));
+		}
+
+		int tamanoEfectivo = Math.min(Math.max(tamano, 1), MAX_TAMANO_PAGINA);
+		Pageable pageable = PageRequest.of(Math.max(pagina, 0), tamanoEfectivo,
+			Sort.by(Sort.Order.desc("fechaCreacion"), Sort.Order.desc("id")));
+
+		return postulacionRepo.findAll(spec, pageable);
 	}
 
 	// ===== CLASIFICACIÓN POR ETAPA =====
@@ -329,129 +340,77 @@ public class PostulacionService {
 		return respuesta;
 	}
 
-	public Object obtenerResumenEtapas(Long ofertaId, Long usuarioIdActual) {
-		// Validar permisos
-		List<Postulacion> todasPostulaciones = listarPorOferta(ofertaId, usuarioIdActual);
-		Oferta oferta = ofertaRepo.findById(ofertaId)
-			.orElseThrow(() -> new RuntimeException("Oferta no encontrada"));
+	public ResumenEtapasDto obtenerResumenEtapas(Long ofertaId, Long usuarioIdActual) {
+		EstadisticasOferta stats = estadisticasDeOferta(ofertaId);
 
-		// Contar candidatos por etapa
-		long pendientes = todasPostulaciones.stream().filter(p -> p.getEstado() == Estado.PENDIENTE).count();
-		long entrevista = todasPostulaciones.stream().filter(p -> p.getEstado() == Estado.ENTREVISTA_PROGRAMADA).count();
-		long aceptados = todasPostulaciones.stream().filter(p -> p.getEstado() == Estado.ACEPTADO).count();
-		long rechazados = todasPostulaciones.stream().filter(p -> p.getEstado() == Estado.RECHAZADO).count();
-		long total = todasPostulaciones.size();
-
-		// Calcular porcentajes y crear etapas
-		java.util.List<java.util.Map<String, Object>> etapas = new java.util.ArrayList<>();
-		etapas.add(crearMapaEtapa("PENDIENTE", "En Revisión", pendientes, total, "#FFC107"));
-		etapas.add(crearMapaEtapa("ENTREVISTA_PROGRAMADA", "Entrevista Programada", entrevista, total, "#2196F3"));
-		etapas.add(crearMapaEtapa("ACEPTADO", "Aceptados", aceptados, total, "#4CAF50"));
-		etapas.add(crearMapaEtapa("RECHAZADO", "Rechazados", rechazados, total, "#F44336"));
-
-		// Crear resumen de conversión
-		java.util.Map<String, Object> resumenConversion = new java.util.HashMap<>();
-		long tasaConversion = total > 0 ? (aceptados * 100) / total : 0;
-		resumenConversion.put("tasaConversion", tasaConversion + "%");
-		resumenConversion.put("candidatosEnProceso", pendientes + entrevista);
-		resumenConversion.put("candidatosFinalizados", aceptados + rechazados);
-
-		// Crear respuesta final
-		java.util.Map<String, Object> respuesta = new java.util.HashMap<>();
-		respuesta.put("ofertaId", ofertaId);
-		respuesta.put("ofertaTitulo", oferta.getTitulo());
-		respuesta.put("totalCandidatos", total);
-		respuesta.put("etapas", etapas);
-		respuesta.put("resumenConversion", resumenConversion);
-
-		return respuesta;
-	}
+		long pendientes = stats.cantidad(Estado.PENDIENTE);
+		long entrevista = stats.cantidad(Estado.ENTREVISTA_PROGRAMADA);
+		long aceptados = stats.cantidad(Estado.ACEPTADO);
+		long rechazados = stats.cantidad(Estado.RECHAZADO);
 
-	public Object obtenerEstadisticasProceso(Long ofertaId, Long usuarioIdActual) {
-		// Validar permisos
-		List<Postulacion> todasPostulaciones = listarPorOferta(ofertaId, usuarioIdActual);
-		Oferta oferta = ofertaRepo.findById(ofertaId)
-			.orElseThrow(() -> new RuntimeException("Oferta no encontrada"));
+		List<ResumenEtapasDto.Etapa> etapas = List.of(
+			crearEtapa(stats, Estado.PENDIENTE, "En Revisión", "#FFC107"),
+			crearEtapa(stats, Estado.ENTREVISTA_PROGRAMADA, "Entrevista Programada", "#2196F3"),
+			crearEtapa(stats, Estado.ACEPTADO, "Aceptados", "#4CAF50"),
+			crearEtapa(stats, Estado.RECHAZADO, "Rechazados", "#F44336"));
 
-		long total = todasPostulaciones.size();
-		long aceptados = todasPostulaciones.stream().filter(p -> p.getEstado() == Estado.ACEPTADO).count();
-		long rechazados = todasPostulaciones.stream().filter(p -> p.getEstado() == Estado.RECHAZADO).count();
-		long pendientes = todasPostulaciones.stream().filter(p -> p.getEstado() == Estado.PENDIENTE).count();
-		long entrevista = todasPostulaciones.stream().filter(p -> p.getEstado() == Estado.ENTREVISTA_PROGRAMADA).count();
-
-		// Calcular tasas
-		long tasaAceptacion = total > 0 ? (aceptados * 100) / total : 0;
-		long tasaRechazo = total > 0 ? (rechazados * 100) / total : 0;
-		long enProceso = total > 0 ? ((pendientes + entrevista) * 100) / total : 0;
-
-		// Calcular tiempos promedio (en días)
-		long tiempoPromedioRevision = calcularTiempoPromedio(todasPostulaciones, Estado.PENDIENTE);
-		long tiempoPromedioEntrevista = calcularTiempoPromedio(todasPostulaciones, Estado.ENTREVISTA_PROGRAMADA);
-
-		// Crear estadísticas
-		java.util.Map<String, Object> estadisticas = new java.util.HashMap<>();
-		estadisticas.put("totalPostulaciones", total);
-		estadisticas.put("tasaAceptacion", tasaAceptacion + "%");
-		estadisticas.put("tasaRechazo", tasaRechazo + "%");
-		estadisticas.put("enProceso", enProceso + "%");
-
-		java.util.Map<String, Object> tiemposPromedio = new java.util.HashMap<>();
-		tiemposPromedio.put("enRevision", tiempoPromedioRevision);
-		tiemposPromedio.put("enEntrevista", tiempoPromedioEntrevista);
-		tiemposPromedio.put("total", tiempoPromedioRevision + tiempoPromedioEntrevista);
-		estadisticas.put("tiempoPromedio", tiemposPromedio);
-
-		// Crear canal de datos (embudo de conversión)
-		java.util.List<java.util.Map<String, Object>> canaloDatos = new java.util.ArrayList<>();
-		canaloDatos.add(crearMapaCanaloDatos(1, "Revisión Inicial", total, total > 0 ? "100%" : "0%"));
-		canaloDatos.add(crearMapaCanaloDatos(2, "Entrevista", entrevista + aceptados, 
-			total > 0 ? (((entrevista + aceptados) * 100) / total) + "%" : "0%"));
-		canaloDatos.add(crearMapaCanaloDatos(3, "Selección", aceptados, 
-			total > 0 ? ((aceptados * 100) / total) + "%" : "0%"));
-
-		// Crear respuesta final
-		java.util.Map<String, Object> respuesta = new java.util.HashMap<>();
-		respuesta.put("ofertaId", ofertaId);
-		respuesta.put("ofertaTitulo", oferta.getTitulo());
-		respuesta.put("estadisticas", estadisticas);
-		respuesta.put("canaloDatos", canaloDatos);
+		ResumenEtapasDto.ResumenConversion resumenConversion = new ResumenEtapasDto.ResumenConversion(
+			stats.porcentaje(aceptados) + "%",
+			pendientes + entrevista,
+			aceptados + rechazados);
 
-		return respuesta;
+		return new ResumenEtapasDto(ofertaId, stats.ofertaTitulo(), stats.total(), etapas, resumenConversion);
 	}
 
-	// Métodos auxiliares
-	private java.util.Map<String, Object> crearMapaEtapa(String etapa, String nombre, long cantidad, long total, String color) {
-		long porcentaje = total > 0 ? (cantidad * 100) / total : 0;
-		java.util.Map<String, Object> mapa = new java.util.HashMap<>();
-		mapa.put("etapa", etapa);
-		mapa.put("nombre", nombre);
-		mapa.put("cantidad", cantidad);
-		mapa.put("porcentaje", porcentaje);
-		mapa.put("color", color);
-		return mapa;
+	public EstadisticasProcesoDto obtenerEstadisticasProceso(Long ofertaId, Long usuarioIdActual) {
+		EstadisticasOferta stats = estadisticasDeOferta(ofertaId);
+
+		long total = stats.total();
+		long aceptados = stats.cantidad(Estado.ACEPTADO);
+		long rechazados = stats.cantidad(Estado.RECHAZADO);
+		long pendientes = stats.cantidad(Estado.PENDIENTE);
+		long entrevista = stats.cantidad(Estado.ENTREVISTA_PROGRAMADA);
+
+		// Tiempo medio (en días) en cada etapa según el historial de eventos
+		TiemposEtapa tiempos = historialEstados.tiemposDeOferta(ofertaId);
+		long tiempoPromedioRevision = diasEnEtapa(tiempos, stats, Estado.PENDIENTE);
+		long tiempoPromedioEntrevista = diasEnEtapa(tiempos, stats, Estado.ENTREVISTA_PROGRAMADA);
+
+		EstadisticasProcesoDto.Estadisticas estadisticas = new EstadisticasProcesoDto.Estadisticas(
+			total,
+			stats.porcentaje(aceptados) + "%",
+			stats.porcentaje(rechazados) + "%",
+			stats.porcentaje(pendientes + entrevista) + "%",
+			new EstadisticasProcesoDto.TiempoPromedio(tiempoPromedioRevision, tiempoPromedioEntrevista,
+				tiempoPromedioRevision + tiempoPromedioEntrevista));
+
+		// Canal de datos (embudo de conversión)
+		List<EstadisticasProcesoDto.CanalDatos> canaloDatos = List.of(
+			new EstadisticasProcesoDto.CanalDatos(1, "Revisión Inicial", total, total > 0 ? "100%" : "0%"),
+			new EstadisticasProcesoDto.CanalDatos(2, "Entrevista", entrevista + aceptados,
+				stats.porcentaje(entrevista + aceptados) + "%"),
+			new EstadisticasProcesoDto.CanalDatos(3, "Selección", aceptados, stats.porcentaje(aceptados) + "%"));
+
+		return new EstadisticasProcesoDto(ofertaId, stats.ofertaTitulo(), estadisticas, canaloDatos);
 	}
 
-	private java.util.Map<String, Object> crearMapaCanaloDatos(int etapa, String nombre, long candidatos, String tasaProgresion) {
-		java.util.Map<String, Object> mapa = new java.util.HashMap<>();
-		mapa.put("etapa", etapa);
-		mapa.put("nombre", nombre);
-		mapa.put("candidatos", candidatos);
-		mapa.put("tasaProgresion", tasaProgresion);
-		return mapa;
+	// Lectura de los contadores materializados; sin filas significa que la oferta no existe
+	private EstadisticasOferta estadisticasDeOferta(Long ofertaId) {
+		List<ConteoPorEstado> filas = contadores.conteosDeOferta(ofertaId);
+		if (filas.isEmpty()) {
+			throw new RuntimeException("Oferta no encontrada");
+		}
+		return EstadisticasOferta.de(ofertaId, filas);
 	}
 
-	private long calcularTiempoPromedio(List<Postulacion> postulaciones, Estado estado) {
-		List<Postulacion> filtered = postulaciones.stream()
-			.filter(p -> p.getEstado() == estado)
-			.toList();
-
-		if (filtered.isEmpty()) return 0;
-
-		long tiempoTotal = filtered.stream()
-			.mapToLong(p -> ChronoUnit.DAYS.between(p.getFechaCreacion(), LocalDate.now()))
-			.sum();
+	// Sin eventos en la etapa (datos anteriores al historial) se usan los días desde la postulación
+	private long diasEnEtapa(TiemposEtapa tiempos, EstadisticasOferta stats, Estado etapa) {
+		return tiempos.muestras(etapa) > 0 ? Math.round(tiempos.promedioDias(etapa)) : stats.diasPromedio(etapa);
+	}
 
-		return tiempoTotal / filtered.size();
+	private ResumenEtapasDto.Etapa crearEtapa(EstadisticasOferta stats, Estado estado, String nombre, String color) {
+		long cantidad = stats.cantidad(estado);
+		return new ResumenEtapasDto.Etapa(estado.toString(), nombre, cantidad, stats.porcentaje(cantidad), color);
 	}
 
 	private boolean puedeVerPostulacion(Postulacion postulacion, Long usuarioId) {
@@ -531,15 +490,28 @@ public class PostulacionService {
 		}
 
 		List<Map<String, Object>> historial = new ArrayList<>();
-		
-		// Crear entrada inicial
-		Map<String, Object> entrada = new HashMap<>();
-		entrada.put("secuencia", 1);
-		entrada.put("estadoAnterior", null);
-		entrada.put("estadoNuevo", "PENDIENTE");
-		entrada.put("fecha", postulacion.getFechaCreacion());
-		entrada.put("motivo", "Postulación inicial");
-		historial.add(entrada);
+		int secuencia = 1;
+		for (PostulacionEvento evento : historialEstados.historial(postulacionId)) {
+			Map<String, Object> entrada = new HashMap<>();
+			entrada.put("secuencia", secuencia++);
+			entrada.put("estadoAnterior", evento.getEstadoAnterior() != null ? evento.getEstadoAnterior().toString() : null);
+			entrada.put("estadoNuevo", evento.getEstadoNuevo() != null ? evento.getEstadoNuevo().toString() : null);
+			entrada.put("fecha", evento.getFecha());
+			entrada.put("motivo", evento.getMotivo());
+			entrada.put("usuarioId", evento.getUsuarioId());
+			historial.add(entrada);
+		}
+
+		// Postulaciones anteriores al historial: solo se conoce la entrada inicial
+		if (historial.isEmpty()) {
+			Map<String, Object> entrada = new HashMap<>();
+			entrada.put("secuencia", 1);
+			entrada.put("estadoAnterior", null);
+			entrada.put("estadoNuevo", "PENDIENTE");
+			entrada.put("fecha", postulacion.getFechaCreacion());
+			entrada.put("motivo", "Postulación inicial");
+			historial.add(entrada);
+		}
 
 		Map<String, Object> respuesta = new HashMap<>();
 		respuesta.put("postulacionId", postulacionId);
@@ -558,49 +530,100 @@ public class PostulacionService {
 		return respuesta;
 	}
 
+	/**
+	 * Cambio de estado en lote: bloquea las postulaciones, una lectura para validar la máquina de
+	 * estados y un UPDATE por estado de origen. Los correos quedan en la bandeja de salida dentro de
+	 * la misma transacción; las notificaciones en la app se crean en segundo plano tras el commit.
+	 */
 	public Object cambiarEstadoEnLote(Long ofertaId, Map<String, Object> request, Long usuarioIdActual) {
-		@SuppressWarnings("unchecked")
-		List<Long> postulacionIds = (List<Long>) request.get("postulacionIds");
-		String nuevoEstadoStr = (String) request.get("nuevoEstado");
-		Estado nuevoEstado = Estado.valueOf(nuevoEstadoStr);
+		if (!(request.get("postulacionIds") instanceof List<?> idsSolicitados) || request.get("nuevoEstado") == null) {
+			throw new IllegalArgumentException("Se requieren postulacionIds y nuevoEstado");
+		}
+		Estado nuevoEstado = Estado.valueOf(request.get("nuevoEstado").toString());
 
-		List<Map<String, Object>> resultados = new ArrayList<>();
-		int exitosos = 0;
-		int errores = 0;
+		// Los ids llegan del JSON como Integer o Long; se conserva el orden y se quitan repetidos
+		Set<Long> postulacionIds = new LinkedHashSet<>();
+		for (Object id : idsSolicitados) {
+			postulacionIds.add(Long.valueOf(id.toString()));
+		}
 
-		for (Long postulacionId : postulacionIds) {
-			try {
-				Postulacion postulacion = postulacionRepo.findById(postulacionId)
-					.orElseThrow(() -> new RuntimeException("Postulación " + postulacionId + " no encontrada"));
+		Map<Long, PostulacionLoteFila> filas = new HashMap<>();
+		if (!postulacionIds.isEmpty()) {
+			// Con las filas bloqueadas, los estados leídos no cambian hasta el commit
+			postulacionRepo.bloquearParaCambioEnLote(ofertaId, postulacionIds);
+			for (PostulacionLoteFila fila : postulacionRepo.findParaCambioEnLote(ofertaId, postulacionIds)) {
+				filas.put(fila.id(), fila);
+			}
+		}
+
+		// Validación y agrupación por estado de origen
+		Map<Long, String> errores = new HashMap<>();
+		Map<Estado, List<PostulacionLoteFila>> porOrigen = new EnumMap<>(Estado.class);
+		for (Long id : postulacionIds) {
+			PostulacionLoteFila fila = filas.get(id);
+			if (fila == null) {
+				errores.put(id, "Postulación " + id + " no encontrada en la oferta");
+			} else if (!esTransicionValida(fila.estado(), nuevoEstado)) {
+				errores.put(id, "No se puede ir de " + fila.estado() + " a " + nuevoEstado);
+			} else {
+				porOrigen.computeIfAbsent(fila.estado(), e -> new ArrayList<>()).add(fila);
+			}
+		}
+
+		List<PostulacionLoteFila> cambiadas = new ArrayList<>();
+		for (Map.Entry<Estado, List<PostulacionLoteFila>> grupo : porOrigen.entrySet()) {
+			Estado desde = grupo.getKey();
+			List<PostulacionLoteFila> aplicadas = grupo.getValue();
+			List<Long> ids = aplicadas.stream().map(PostulacionLoteFila::id).toList();
+
+			// Todo o nada: si el UPDATE no cambia todas las filas del grupo se revierte el lote
+			// antes de tocar contadores, historial o avisos
+			int actualizadas = postulacionRepo.cambiarEstadoEnBloque(ofertaId, ids, desde, nuevoEstado);
+			if (actualizadas != ids.size()) {
+				throw new IllegalStateException("Las postulaciones cambiaron de estado durante la operación; vuelve a intentarlo");
+			}
 
-				Estado estadoAnterior = postulacion.getEstado();
-				postulacion.setEstado(nuevoEstado);
-				postulacionRepo.save(postulacion);
+			contadores.registrarCambioEnLote(ofertaId, desde, nuevoEstado, aplicadas.size(),
+				aplicadas.stream().mapToLong(f -> f.fechaCreacion().toEpochDay()).sum());
+			cambiadas.addAll(aplicadas);
+		}
+
+		Map<Long, Estado> anteriores = new LinkedHashMap<>();
+		cambiadas.forEach(f -> anteriores.put(f.id(), f.estado()));
+		historialEstados.registrarCambiosEnLote(ofertaId, anteriores, nuevoEstado, usuarioIdActual, "Cambio en lote");
+
+		// Encolados en esta transacción: el correo existe si y solo si el cambio se confirma
+		if (!cambiadas.isEmpty()) {
+			emailService.enviarCambiosEstado(cambiadas, cambiadas.get(0).ofertaTitulo(), nuevoEstado.toString());
+		}
 
-				Map<String, Object> resultado = new HashMap<>();
-				resultado.put("postulacionId", postulacionId);
-				resultado.put("candidato", postulacion.getAspirante().getNombre());
-				resultado.put("estadoAnterior", estadoAnterior.toString());
+		List<PostulacionLoteFila> aNotificar = List.copyOf(cambiadas);
+		despuesDeCommit(() -> notificador.notificarCambiosEstado(aNotificar, nuevoEstado));
+
+		LocalDateTime fecha = LocalDateTime.now();
+		List<Map<String, Object>> resultados = new ArrayList<>();
+		for (Long postulacionId : postulacionIds) {
+			Map<String, Object> resultado = new HashMap<>();
+			resultado.put("postulacionId", postulacionId);
+			if (errores.containsKey(postulacionId)) {
+				resultado.put("estado", "ERROR");
+				resultado.put("error", errores.get(postulacionId));
+			} else {
+				PostulacionLoteFila fila = filas.get(postulacionId);
+				resultado.put("candidato", fila.nombreCandidato());
+				resultado.put("estadoAnterior", fila.estado().toString());
 				resultado.put("estadoNuevo", nuevoEstado.toString());
 				resultado.put("estado", "EXITOSO");
-				resultado.put("fecha", LocalDateTime.now());
-				resultados.add(resultado);
-				exitosos++;
-			} catch (Exception e) {
-				Map<String, Object> resultado = new HashMap<>();
-				resultado.put("postulacionId", postulacionId);
-				resultado.put("estado", "ERROR");
-				resultado.put("error", e.getMessage());
-				resultados.add(resultado);
-				errores++;
+				resultado.put("fecha", fecha);
 			}
+			resultados.add(resultado);
 		}
 
 		Map<String, Object> respuesta = new HashMap<>();
 		respuesta.put("ofertaId", ofertaId);
 		respuesta.put("totalProcesados", postulacionIds.size());
-		respuesta.put("exitosos", exitosos);
-		respuesta.put("errores", errores);
+		respuesta.put("exitosos", cambiadas.size());
+		respuesta.put("errores", errores.size());
 		respuesta.put("nuevoEstado", nuevoEstado.toString());
 		respuesta.put("resultados", resultados);
 
@@ -650,19 +673,17 @@ public class PostulacionService {
 		}
 
 		Estado estadoAnterior = postulacion.getEstado();
-		Estado estadoNuevo = Estado.PENDIENTE;
 
-		// Lógica para revertir al estado anterior
-		if (estadoAnterior == Estado.ENTREVISTA_PROGRAMADA) {
-			estadoNuevo = Estado.PENDIENTE;
-		} else if (estadoAnterior == Estado.ACEPTADO) {
-			estadoNuevo = Estado.ENTREVISTA_PROGRAMADA;
-		} else if (estadoAnterior == Estado.RECHAZADO) {
-			estadoNuevo = Estado.PENDIENTE;
-		}
+		// Estado previo real según el historial; sin historial se usa la máquina de estados
+		Estado estadoNuevo = historialEstados.estadoPrevio(postulacionId, estadoAnterior)
+			.orElseGet(() -> estadoPrevioPorDefecto(estadoAnterior));
 
-		postulacion.setEstado(estadoNuevo);
-		postulacionRepo.save(postulacion);
+		if (estadoNuevo != estadoAnterior) {
+			postulacion.setEstado(estadoNuevo);
+			postulacionRepo.save(postulacion);
+			contadores.registrarCambio(postulacion, estadoAnterior);
+			historialEstados.registrarReversion(postulacion, estadoAnterior, usuarioIdActual);
+		}
 
 		Map<String, Object> respuesta = new HashMap<>();
 		respuesta.put("id", postulacionId);
@@ -682,42 +703,51 @@ public class PostulacionService {
 		return respuesta;
 	}
 
-	public Object obtenerEstadisticasCambiosEstado(Long ofertaId, Long usuarioIdActual) {
-		Oferta oferta = ofertaRepo.findById(ofertaId)
-			.orElseThrow(() -> new RuntimeException("Oferta no encontrada"));
+	public EstadisticasCambiosEstadoDto obtenerEstadisticasCambiosEstado(Long ofertaId, Long usuarioIdActual) {
+		EstadisticasOferta stats = estadisticasDeOferta(ofertaId);
 
-		// Validar permisos
-		List<Postulacion> postulaciones = listarPorOferta(ofertaId, usuarioIdActual);
+		long pendientes = stats.cantidad(Estado.PENDIENTE);
+		long entrevista = stats.cantidad(Estado.ENTREVISTA_PROGRAMADA);
+		long aceptados = stats.cantidad(Estado.ACEPTADO);
 
-		long cambios = postulaciones.size();
-		long pendientes = postulaciones.stream().filter(p -> p.getEstado() == Estado.PENDIENTE).count();
-		long entrevista = postulaciones.stream().filter(p -> p.getEstado() == Estado.ENTREVISTA_PROGRAMADA).count();
-		long aceptados = postulaciones.stream().filter(p -> p.getEstado() == Estado.ACEPTADO).count();
-		long rechazados = postulaciones.stream().filter(p -> p.getEstado() == Estado.RECHAZADO).count();
-
-		Map<String, Object> cambiosPorEstado = new HashMap<>();
-		cambiosPorEstado.put("PENDIENTE", pendientes);
-		cambiosPorEstado.put("ENTREVISTA_PROGRAMADA", entrevista);
-		cambiosPorEstado.put("ACEPTADO", aceptados);
-		cambiosPorEstado.put("RECHAZADO", rechazados);
-
-		Map<String, Object> transicionesFrecuentes = new HashMap<>();
+		Map<String, String> transicionesFrecuentes = new HashMap<>();
 		transicionesFrecuentes.put("PENDIENTE_A_ENTREVISTA", (pendientes + entrevista) > 0 ? ((entrevista * 100) / (pendientes + entrevista)) + "%" : "0%");
 		transicionesFrecuentes.put("ENTREVISTA_A_ACEPTADO", (entrevista + aceptados) > 0 ? ((aceptados * 100) / (entrevista + aceptados)) + "%" : "0%");
 
-		Map<String, Object> respuesta = new HashMap<>();
-		respuesta.put("ofertaId", ofertaId);
-		respuesta.put("nombreOferta", oferta.getTitulo());
-		respuesta.put("totalCambios", cambios);
-		respuesta.put("cambiosPorEstado", cambiosPorEstado);
-		respuesta.put("transicionesFrecuentes", transicionesFrecuentes);
-		respuesta.put("velocidadPromedio", Map.of(
-			"PENDIENTE_A_ENTREVISTA", "2.5 días",
-			"ENTREVISTA_A_ACEPTADO", "4 días",
-			"TOTAL_PROCESO", "6.5 días"
-		));
+		// Velocidad real de las transiciones según el historial de eventos
+		TiemposEtapa tiempos = historialEstados.tiemposDeOferta(ofertaId);
+		Map<String, String> velocidadPromedio = new HashMap<>();
+		velocidadPromedio.put("PENDIENTE_A_ENTREVISTA", formatearDias(
+			tiempos.muestrasTransicion(Estado.PENDIENTE, Estado.ENTREVISTA_PROGRAMADA),
+			tiempos.promedioTransicionDias(Estado.PENDIENTE, Estado.ENTREVISTA_PROGRAMADA)));
+		velocidadPromedio.put("ENTREVISTA_A_ACEPTADO", formatearDias(
+			tiempos.muestrasTransicion(Estado.ENTREVISTA_PROGRAMADA, Estado.ACEPTADO),
+			tiempos.promedioTransicionDias(Estado.ENTREVISTA_PROGRAMADA, Estado.ACEPTADO)));
+		velocidadPromedio.put("TOTAL_PROCESO", formatearDias(tiempos.procesos().size(), tiempos.promedioProcesoDias()));
+
+		return new EstadisticasCambiosEstadoDto(ofertaId, stats.ofertaTitulo(), tiempos.totalCambios(),
+			stats.cantidades(), transicionesFrecuentes, velocidadPromedio, tiempos.resumen());
+	}
 
-		return respuesta;
+	private String formatearDias(long muestras, double dias) {
+		if (muestras == 0) {
+			return "Sin datos";
+		}
+		return (dias == Math.rint(dias) ? String.valueOf((long) dias) : String.format(Locale.ROOT, "%.1f", dias)) + " días";
+	}
+
+	// Reversión cuando no hay historial: un paso atrás en la máquina de estados
+	private Estado estadoPrevioPorDefecto(Estado estado) {
+		return estado == Estado.ACEPTADO ? Estado.ENTREVISTA_PROGRAMADA : Estado.PENDIENTE;
+	}
+
+	// Contadores e historial de una transición, en la misma transacción que el cambio
+	private void registrarTransicion(Postulacion postulacion, Estado anterior, Long usuarioId, String motivo) {
+		if (anterior == postulacion.getEstado()) {
+			return;
+		}
+		contadores.registrarCambio(postulacion, anterior);
+		historialEstados.registrarCambio(postulacion, anterior, usuarioId, motivo);
 	}
 
 	// Método auxiliar para validar transiciones
@@ -3,7 +3,6 @@ package com.workable_sb.workable.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,7 +10,6 @@ import com.workable_sb.workable.models.Reclutador;
 import com.workable_sb.workable.models.Municipio;
 import com.workable_sb.workable.models.Empresa;
 import com.workable_sb.workable.repository.ReclutadorRepo;
-import com.workable_sb.workable.repository.MunicipioRepo;
 import com.workable_sb.workable.repository.EmpresaRepository;
 
 @Service
@@ -22,13 +20,13 @@ public class ReclutadorService {
     private ReclutadorRepo reclutadorRepo;
 
     @Autowired
-    private MunicipioRepo municipioRepo;
+    private MunicipioService municipioService;
 
     @Autowired
     private EmpresaRepository empresaRepo;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private CredencialService credencialService;
 
     // ===== CREATE =====
     public Reclutador crearReclutador(Reclutador reclutador) {
@@ -45,11 +43,15 @@ public class ReclutadorService {
             throw new IllegalArgumentException("El correo es obligatorio");
         }
 
-        // Encriptar contraseña
-        reclutador.setPassword(passwordEncoder.encode(reclutador.getPassword()));
+        if (reclutador.getPassword() == null || reclutador.getPassword().isEmpty()) {
+            throw new IllegalArgumentException("La contraseña es obligatoria");
+        }
+
         reclutador.setRol(Reclutador.Rol.RECLUTADOR);
 
-        return reclutadorRepo.save(reclutador);
+        Reclutador guardado = reclutadorRepo.save(reclutador);
+        credencialService.sincronizar(guardado);
+        return guardado;
     }
 
     /**
@@ -67,12 +69,12 @@ public class ReclutadorService {
             throw new RuntimeException("Correo already in use");
         }
 
-        // Encriptar contraseña
-        request.setPassword(passwordEncoder.encode(request.getPassword()));
         request.setRol(Reclutador.Rol.RECLUTADOR);
         request.setIsActive(true);
 
-        return reclutadorRepo.save(request);
+        Reclutador guardado = reclutadorRepo.save(request);
+        credencialService.sincronizar(guardado);
+        return guardado;
     }
 
     // ===== READ =====
@@ -114,12 +116,13 @@ public class ReclutadorService {
         existingReclutador.setUrlBanner(request.getUrlBanner());
         existingReclutador.setFechaNacimiento(request.getFechaNacimiento());
 
+        // La contraseña llega ya hasheada: el controlador la hashea antes de abrir la transacción
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            existingReclutador.setPassword(passwordEncoder.encode(request.getPassword()));
+            existingReclutador.setPassword(request.getPassword());
         }
 
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio not found"));
             existingReclutador.setMunicipio(municipio);
         }
@@ -130,7 +133,9 @@ public class ReclutadorService {
             existingReclutador.setEmpresa(empresa);
         }
 
-        return reclutadorRepo.save(existingReclutador);
+        Reclutador actualizado = reclutadorRepo.save(existingReclutador);
+        credencialService.sincronizar(actualizado);
+        return actualizado;
     }
 
     // ===== UPDATE (ADMIN: gestión completa) =====
@@ -153,12 +158,13 @@ public class ReclutadorService {
         if (request.getFechaNacimiento() != null) existingReclutador.setFechaNacimiento(request.getFechaNacimiento());
         if (request.getIsActive() != null) existingReclutador.setIsActive(request.getIsActive());
 
+        // La contraseña llega ya hasheada: el controlador la hashea antes de abrir la transacción
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            existingReclutador.setPassword(passwordEncoder.encode(request.getPassword()));
+            existingReclutador.setPassword(request.getPassword());
         }
 
         if (request.getMunicipio() != null) {
-            Municipio municipio = municipioRepo.findById(request.getMunicipio().getId())
+            Municipio municipio = municipioService.buscarPorId(request.getMunicipio().getId())
                     .orElseThrow(() -> new RuntimeException("Municipio not found"));
             existingReclutador.setMunicipio(municipio);
         }
@@ -169,7 +175,9 @@ public class ReclutadorService {
             existingReclutador.setEmpresa(empresa);
         }
 
-        return reclutadorRepo.save(existingReclutador);
+        Reclutador actualizado = reclutadorRepo.save(existingReclutador);
+        credencialService.sincronizar(actualizado);
+        return actualizado;
     }
 
     // ===== DELETE =====
@@ -182,6 +190,7 @@ public class ReclutadorService {
         Reclutador reclutador = obtenerPorId(id);
         reclutador.setIsActive(false); // Soft delete
         reclutadorRepo.save(reclutador);
+        credencialService.sincronizar(reclutador);
     }
 
     // ===== BÚSQUEDA Y FILTRADO =====
@@ -0,0 +1,132 @@
+package com.workable_sb.workable.service;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.dto.ContadorEstado;
+import com.workable_sb.workable.models.Postulacion.Estado;
+import com.workable_sb.workable.models.PostulacionStats;
+import com.workable_sb.workable.repository.OfertaRepo;
+import com.workable_sb.workable.repository.PostulacionRepo;
+import com.workable_sb.workable.repository.PostulacionStatsRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Compara periódicamente postulacion_stats con el recuento real de postulaciones
+ * (por lotes de ofertas) y repara, bloqueando sus contadores, las ofertas desviadas.
+ * Se ejecuta también al arrancar para cubrir datos cargados fuera de los servicios.
+ */
+@Component
+public class ReconciliadorContadoresPostulacion {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliadorContadoresPostulacion.class);
+
+    private static final int TAMANO_LOTE = 1000;
+
+    @Autowired
+    private OfertaRepo ofertaRepo;
+
+    @Autowired
+    private PostulacionRepo postulacionRepo;
+
+    @Autowired
+    private PostulacionStatsRepo statsRepo;
+
+    @Autowired
+    private ContadoresPostulacionService contadores;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter desviaciones;
+    private Timer duracion;
+
+    @PostConstruct
+    void init() {
+        desviaciones = Counter.builder("workable.postulacion.contadores.desviaciones")
+                .description("Ofertas cuyos contadores de postulaciones se han corregido")
+                .register(meterRegistry);
+        duracion = Timer.builder("workable.postulacion.contadores.reconciliacion")
+                .description("Duración de cada pasada de reconciliación")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alArrancar() {
+        reconciliar();
+    }
+
+    @Scheduled(fixedDelayString = "${postulacion.contadores.reconciliacion-ms:3600000}",
+               initialDelayString = "${postulacion.contadores.reconciliacion-ms:3600000}")
+    public void reconciliar() {
+        duracion.record(() -> {
+            int revisadas = 0;
+            int reparadas = 0;
+            Long desde = 0L;
+            List<Long> ids;
+            while (!(ids = ofertaRepo.findIdsDesde(desde, PageRequest.of(0, TAMANO_LOTE))).isEmpty()) {
+                for (Long ofertaId : desviadas(ids)) {
+                    // Se vuelve a comprobar con las filas bloqueadas: puede ser una transición en curso
+                    if (contadores.reparar(ofertaId)) {
+                        reparadas++;
+                        desviaciones.increment();
+                    }
+                }
+                revisadas += ids.size();
+                desde = ids.get(ids.size() - 1);
+            }
+            int huerfanos = contadores.eliminarHuerfanos();
+            if (reparadas > 0 || huerfanos > 0) {
+                log.warn("Contadores de postulaciones: {} ofertas revisadas, {} reparadas, {} contadores huérfanos eliminados",
+                    revisadas, reparadas, huerfanos);
+            } else {
+                log.info("Contadores de postulaciones sin desviaciones ({} ofertas revisadas)", revisadas);
+            }
+        });
+    }
+
+    // Ofertas del lote cuyos contadores no coinciden con el recuento (sin bloquear)
+    private List<Long> desviadas(List<Long> ids) {
+        Map<Long, Map<Estado, long[]>> esperados = new HashMap<>();
+        for (ContadorEstado c : postulacionRepo.recontarPorOfertas(ids, LocalDate.EPOCH)) {
+            esperados.computeIfAbsent(c.ofertaId(), k -> new EnumMap<>(Estado.class))
+                .put(c.estado(), new long[] { c.cantidad(), c.sumaDiasCreacion() != null ? c.sumaDiasCreacion() : 0L });
+        }
+        Map<Long, Map<Estado, long[]>> actuales = new HashMap<>();
+        for (PostulacionStats s : statsRepo.findByOfertaIdIn(ids)) {
+            actuales.computeIfAbsent(s.getOfertaId(), k -> new EnumMap<>(Estado.class))
+                .put(s.getEstado(), new long[] { s.getCantidad(), s.getSumaDiasCreacion() });
+        }
+        return ids.stream()
+            .filter(id -> !coinciden(esperados.getOrDefault(id, Map.of()), actuales.getOrDefault(id, Map.of())))
+            .toList();
+    }
+
+    private boolean coinciden(Map<Estado, long[]> esperados, Map<Estado, long[]> actuales) {
+        long[] cero = { 0L, 0L };
+        for (Estado estado : Estado.values()) {
+            long[] e = esperados.getOrDefault(estado, cero);
+            long[] a = actuales.getOrDefault(estado, cero);
+            if (e[0] != a[0] || e[1] != a[1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,167 @@
+package com.workable_sb.workable.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.dto.RecordatorioCitacionFila;
+import com.workable_sb.workable.repository.CitacionRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Envía recordatorios de las citaciones próximas con las antelaciones configuradas (por defecto
+ * 1 día y 1 hora antes). Cada citación guarda cuántos recordatorios lleva (recordatorios_enviados):
+ * con antelaciones de mayor a menor, la citación de nivel k ya recibió los k primeros.
+ *
+ * Cada pasada recorre, por antelación y en ventanas de ventana-minutos, las citaciones de los niveles
+ * pendientes que empiezan antes de ahora + antelación, usando el índice (recordatorios_enviados, inicio);
+ * las ya avisadas no vuelven a leerse. Las antelaciones se procesan de menor a mayor: una citación creada
+ * con poca antelación recibe solo el recordatorio más cercano. Cada lote va en su propia transacción.
+ *
+ * Solo corre en la instancia que tiene la concesión "recordatorios-citacion" (BloqueosTareas), que se
+ * renueva en cada lote; además el cambio de nivel es condicional, así que un lote que otra instancia ya
+ * envió se descarta entero y no se repite ningún recordatorio tras reinicios ni entre nodos.
+ */
+@Component
+public class RecordatoriosCitacion {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordatoriosCitacion.class);
+
+    private static final String TAREA = "recordatorios-citacion";
+
+    @Autowired
+    private CitacionRepo citacionRepo;
+
+    @Autowired
+    private CitacionService citacionService;
+
+    @Autowired
+    private BloqueosTareas bloqueosTareas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Minutos antes del inicio en que se envía cada recordatorio
+    @Value("${citacion.recordatorios.antelaciones-min:1440,60}")
+    private int[] antelacionesMinutos;
+
+    @Value("${citacion.recordatorios.ventana-minutos:60}")
+    private int ventanaMinutos;
+
+    @Value("${citacion.recordatorios.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${citacion.recordatorios.concesion-ms:300000}")
+    private long concesionMs;
+
+    private int[] antelaciones;
+    private Counter enviados;
+    private Counter descartados;
+    private Timer duracion;
+
+    @PostConstruct
+    void init() {
+        // Sin avance de ventana la pasada no terminaría, y PageRequest no admite lotes vacíos
+        if (ventanaMinutos <= 0) {
+            throw new IllegalStateException("citacion.recordatorios.ventana-minutos debe ser mayor que 0: " + ventanaMinutos);
+        }
+        if (tamanoLote <= 0) {
+            throw new IllegalStateException("citacion.recordatorios.tamano-lote debe ser mayor que 0: " + tamanoLote);
+        }
+        // De mayor a menor: la posición de cada antelación es su nivel
+        antelaciones = Arrays.stream(antelacionesMinutos).filter(m -> m > 0).boxed().distinct()
+                .sorted((a, b) -> Integer.compare(b, a)).mapToInt(Integer::intValue).toArray();
+        enviados = Counter.builder("workable.citaciones.recordatorios.enviados")
+                .description("Recordatorios de citación enviados (alerta y correo encolado)")
+                .register(meterRegistry);
+        descartados = Counter.builder("workable.citaciones.recordatorios.descartados")
+                .description("Lotes de recordatorios descartados porque otra instancia ya los envió")
+                .register(meterRegistry);
+        duracion = Timer.builder("workable.citaciones.recordatorios")
+                .description("Duración de cada pasada de recordatorios de citación")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${citacion.recordatorios.intervalo-ms:60000}",
+               initialDelayString = "${citacion.recordatorios.intervalo-ms:60000}")
+    public void ejecutar() {
+        Duration concesion = Duration.ofMillis(concesionMs);
+        if (!bloqueosTareas.adquirir(TAREA, concesion)) {
+            return;
+        }
+        try {
+            duracion.record(() -> {
+                int total = enviarPendientes(LocalDateTime.now(), concesion);
+                if (total > 0) {
+                    log.info("Recordatorios de citación: {} enviados", total);
+                }
+            });
+        } finally {
+            bloqueosTareas.liberar(TAREA);
+        }
+    }
+
+    private int enviarPendientes(LocalDateTime ahora, Duration concesion) {
+        int total = 0;
+        for (int k = antelaciones.length - 1; k >= 0; k--) {
+            int antelacion = antelaciones[k];
+            int nivel = k + 1;
+            // Niveles que aún no recibieron este recordatorio
+            List<Integer> niveles = IntStream.rangeClosed(0, k).boxed().toList();
+            String cuando = describir(antelacion);
+            LocalDateTime limite = ahora.plusMinutes(antelacion);
+            for (LocalDateTime desde = ahora; desde.isBefore(limite); desde = desde.plusMinutes(ventanaMinutos)) {
+                LocalDateTime hasta = desde.plusMinutes(ventanaMinutos).isBefore(limite) ? desde.plusMinutes(ventanaMinutos) : limite;
+                List<RecordatorioCitacionFila> lote;
+                // Sin cursor: cada lote enviado sube de nivel y deja de aparecer en la siguiente consulta
+                do {
+                    lote = citacionRepo.findRecordatoriosPendientes(niveles, desde, hasta, PageRequest.of(0, tamanoLote));
+                    if (lote.isEmpty()) {
+                        break;
+                    }
+                    if (!bloqueosTareas.adquirir(TAREA, concesion)) {
+                        log.warn("Recordatorios de citación: se perdió la concesión, la pasada se detiene");
+                        return total;
+                    }
+                    try {
+                        int n = citacionService.enviarRecordatorios(lote, nivel, cuando);
+                        enviados.increment(n);
+                        total += n;
+                    } catch (IllegalStateException e) {
+                        descartados.increment();
+                        log.warn("Recordatorios de citación: {}; la pasada se detiene", e.getMessage());
+                        return total;
+                    }
+                } while (lote.size() == tamanoLote);
+            }
+        }
+        return total;
+    }
+
+    // Antelación en palabras para el texto del recordatorio
+    static String describir(int minutos) {
+        if (minutos % 1440 == 0) {
+            int dias = minutos / 1440;
+            return dias == 1 ? "en las próximas 24 horas" : "en los próximos " + dias + " días";
+        }
+        if (minutos % 60 == 0) {
+            int horas = minutos / 60;
+            return horas == 1 ? "en la próxima hora" : "en las próximas " + horas + " horas";
+        }
+        return "en los próximos " + minutos + " minutos";
+    }
+}
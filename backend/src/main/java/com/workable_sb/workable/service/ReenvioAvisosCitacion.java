@@ -0,0 +1,128 @@
+package com.workable_sb.workable.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.dto.AvisoCitacionFila;
+import com.workable_sb.workable.repository.CitacionRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reenvía los avisos de citaciones múltiples que no llegaron a confirmarse: el lote asíncrono
+ * falló, se revirtió o la instancia cayó antes de ejecutarlo. Solo mira citaciones con el aviso
+ * pendiente desde hace más de reintento-tras-ms, para no adelantarse a los lotes aún en cola,
+ * y que siguen vigentes (activas, pendientes o confirmadas y de hoy en adelante).
+ *
+ * Corre en la instancia que tiene la concesión "reenvio-avisos-citacion" (BloqueosTareas), renovada
+ * en cada lote. El aviso se reclama con un UPDATE condicional (NotificadorCitaciones.avisar), así que
+ * una citación que otro hilo ya avisó descarta el lote y nadie recibe el aviso dos veces.
+ */
+@Component
+public class ReenvioAvisosCitacion {
+
+    private static final Logger log = LoggerFactory.getLogger(ReenvioAvisosCitacion.class);
+
+    private static final String TAREA = "reenvio-avisos-citacion";
+
+    @Autowired
+    private CitacionRepo citacionRepo;
+
+    @Autowired
+    private NotificadorCitaciones notificadorCitaciones;
+
+    @Autowired
+    private BloqueosTareas bloqueosTareas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${citacion.avisos.reintento-tras-ms:600000}")
+    private long reintentoTrasMs;
+
+    @Value("${citacion.avisos.tamano-lote:50}")
+    private int tamanoLote;
+
+    @Value("${citacion.avisos.concesion-ms:300000}")
+    private long concesionMs;
+
+    private Counter reenviados;
+    private Counter descartados;
+
+    @PostConstruct
+    void init() {
+        if (tamanoLote <= 0) {
+            throw new IllegalStateException("citacion.avisos.tamano-lote debe ser mayor que 0: " + tamanoLote);
+        }
+        reenviados = Counter.builder("workable.citaciones.avisos.reenviados")
+                .description("Avisos de citación múltiple reenviados tras no confirmarse el lote original")
+                .register(meterRegistry);
+        descartados = Counter.builder("workable.citaciones.avisos.descartados")
+                .description("Lotes de reenvío descartados porque la citación ya estaba avisada")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${citacion.avisos.intervalo-ms:120000}",
+               initialDelayString = "${citacion.avisos.intervalo-ms:120000}")
+    public void ejecutar() {
+        Duration concesion = Duration.ofMillis(concesionMs);
+        if (!bloqueosTareas.adquirir(TAREA, concesion)) {
+            return;
+        }
+        try {
+            int total = reenviarPendientes(LocalDateTime.now().minus(Duration.ofMillis(reintentoTrasMs)), concesion);
+            if (total > 0) {
+                log.info("Avisos de citación: {} reenviados", total);
+            }
+        } finally {
+            bloqueosTareas.liberar(TAREA);
+        }
+    }
+
+    private int reenviarPendientes(LocalDateTime antesDe, Duration concesion) {
+        int total = 0;
+        List<AvisoCitacionFila> pagina;
+        // Sin cursor: cada lote avisado deja de estar pendiente y sale de la siguiente consulta
+        do {
+            pagina = citacionRepo.findAvisosPendientes(antesDe, LocalDate.now(), PageRequest.of(0, tamanoLote));
+            // Un envío comparte enlace, detalles y reclutador: se reagrupa por esos datos
+            Map<List<String>, List<AvisoCitacionFila>> envios = pagina.stream().collect(Collectors.groupingBy(
+                f -> Arrays.asList(f.linkMeet(), f.nombreReclutador(), f.detalles()),
+                LinkedHashMap::new, Collectors.toList()));
+            for (List<AvisoCitacionFila> envio : envios.values()) {
+                if (!bloqueosTareas.adquirir(TAREA, concesion)) {
+                    log.warn("Avisos de citación: se perdió la concesión, la pasada se detiene");
+                    return total;
+                }
+                AvisoCitacionFila primera = envio.get(0);
+                try {
+                    int n = notificadorCitaciones.avisar(envio.stream().map(AvisoCitacionFila::comoLoteFila).toList(),
+                        primera.linkMeet(), primera.nombreReclutador(), primera.detalles());
+                    reenviados.increment(n);
+                    total += n;
+                } catch (IllegalStateException e) {
+                    descartados.increment();
+                    log.warn("Avisos de citación: {}; la pasada se detiene", e.getMessage());
+                    return total;
+                }
+            }
+        } while (pagina.size() == tamanoLote);
+        return total;
+    }
+}
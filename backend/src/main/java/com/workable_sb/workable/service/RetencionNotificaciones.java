@@ -0,0 +1,143 @@
+package com.workable_sb.workable.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.repository.NotificacionArchivadaRepo;
+import com.workable_sb.workable.repository.NotificacionRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Mantiene pequeña la tabla notificacion: mueve a notificacion_archivada las leídas con más
+ * de dias-leidas días y elimina del archivo las que superan dias-archivo. Trabaja por lotes
+ * de id, cada uno en su propia transacción, para no retener bloqueos sobre la tabla caliente.
+ * Las no leídas nunca se archivan, así que los contadores de no leídas no cambian.
+ * Una vez archivada, una notificación solo aparece en /timeline; el resto de listados y
+ * consultas por id leen únicamente la tabla notificacion.
+ * Corre en una sola instancia a la vez (concesión en BloqueosTareas, renovada en cada lote).
+ */
+@Component
+public class RetencionNotificaciones {
+
+    private static final Logger log = LoggerFactory.getLogger(RetencionNotificaciones.class);
+
+    private static final String TAREA = "retencion-notificaciones";
+
+    @Autowired
+    private NotificacionRepo notificacionRepo;
+
+    @Autowired
+    private NotificacionArchivadaRepo notificacionArchivadaRepo;
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    @Autowired
+    private BloqueosTareas bloqueosTareas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notificacion.retencion.dias-leidas:30}")
+    private int diasLeidas;
+
+    @Value("${notificacion.retencion.dias-archivo:365}")
+    private int diasArchivo;
+
+    @Value("${notificacion.retencion.tamano-lote:1000}")
+    private int tamanoLote;
+
+    @Value("${notificacion.retencion.concesion-ms:600000}")
+    private long concesionMs;
+
+    private Counter archivadas;
+    private Counter purgadas;
+    private Timer duracion;
+
+    @PostConstruct
+    void init() {
+        archivadas = Counter.builder("workable.notificaciones.retencion.archivadas")
+                .description("Notificaciones movidas a notificacion_archivada")
+                .register(meterRegistry);
+        purgadas = Counter.builder("workable.notificaciones.retencion.purgadas")
+                .description("Notificaciones archivadas eliminadas por antigüedad")
+                .register(meterRegistry);
+        duracion = Timer.builder("workable.notificaciones.retencion")
+                .description("Duración de cada pasada de retención de notificaciones")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notificacion.retencion.intervalo-ms:3600000}",
+               initialDelayString = "${notificacion.retencion.intervalo-ms:3600000}")
+    public void ejecutar() {
+        if (!renovarConcesion()) {
+            return;
+        }
+        try {
+            duracion.record(() -> {
+                LocalDate hoy = LocalDate.now();
+                int movidas = archivar(hoy.minusDays(diasLeidas));
+                int eliminadas = renovarConcesion() ? purgar(hoy.minusDays(diasArchivo)) : 0;
+                if (movidas > 0 || eliminadas > 0) {
+                    log.info("Retención de notificaciones: {} archivadas, {} eliminadas del archivo", movidas, eliminadas);
+                }
+            });
+        } finally {
+            bloqueosTareas.liberar(TAREA);
+        }
+    }
+
+    private boolean renovarConcesion() {
+        return bloqueosTareas.adquirir(TAREA, Duration.ofMillis(concesionMs));
+    }
+
+    private int archivar(LocalDate corte) {
+        int total = 0;
+        Long desde = 0L;
+        List<Long> ids;
+        while (!(ids = notificacionRepo.findIdsArchivables(desde, corte, PageRequest.of(0, tamanoLote))).isEmpty()) {
+            try {
+                int movidas = notificacionService.moverAlArchivo(ids, corte);
+                archivadas.increment(movidas);
+                total += movidas;
+            } catch (DataIntegrityViolationException e) {
+                // Solo si la concesión venció y otra instancia archivó el mismo lote; lo que quede se recoge en la próxima pasada
+                log.debug("Lote de notificaciones ya archivado desde el id {}", desde);
+            }
+            desde = ids.get(ids.size() - 1);
+            if (!renovarConcesion()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int purgar(LocalDate corte) {
+        int total = 0;
+        List<Long> ids;
+        // Sin cursor: cada lote eliminado deja de aparecer en la siguiente consulta
+        while (!(ids = notificacionArchivadaRepo.findIdsAnterioresA(corte, PageRequest.of(0, tamanoLote))).isEmpty()) {
+            int eliminadas = notificacionService.purgarArchivo(ids);
+            purgadas.increment(eliminadas);
+            total += eliminadas;
+            if (eliminadas == 0 || !renovarConcesion()) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,110 @@
+package com.workable_sb.workable.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.workable_sb.workable.dto.ProgresoCitacionesDto;
+
+/**
+ * Registro en memoria de los envíos de citaciones múltiples en curso, para que el reclutador
+ * consulte el avance. Los terminados se olvidan pasado retencion-ms. Es local a cada instancia:
+ * el avance se consulta en la misma instancia que recibió el envío.
+ */
+@Component
+public class TrabajosCitacion {
+
+    @Value("${citacion.multiples.retencion-ms:3600000}")
+    private long retencionMs;
+
+    private final Map<String, Trabajo> trabajos = new ConcurrentHashMap<>();
+
+    public enum Estado {
+        EN_CURSO,
+        COMPLETADO,
+        COMPLETADO_CON_ERRORES
+    }
+
+    public static final class Trabajo {
+
+        private final String id = UUID.randomUUID().toString();
+        private final Long reclutadorId;
+        private final int total;
+        private final int creadas;
+        private final AtomicInteger avisadas = new AtomicInteger();
+        private final AtomicInteger pendientes;
+        private final Queue<String> errores = new ConcurrentLinkedQueue<>();
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private volatile LocalDateTime fin;
+
+        private Trabajo(Long reclutadorId, int total, int creadas, int lotes, List<String> erroresIniciales) {
+            this.reclutadorId = reclutadorId;
+            this.total = total;
+            this.creadas = creadas;
+            this.pendientes = new AtomicInteger(lotes);
+            this.errores.addAll(erroresIniciales);
+            if (lotes == 0) {
+                this.fin = inicio;
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getReclutadorId() {
+            return reclutadorId;
+        }
+
+        // Cada lote del aviso se registra una vez, haya ido bien (error null) o no
+        public void loteTerminado(int avisadasEnLote, String error) {
+            avisadas.addAndGet(avisadasEnLote);
+            if (error != null) {
+                errores.add(error);
+            }
+            if (pendientes.decrementAndGet() == 0) {
+                fin = LocalDateTime.now();
+            }
+        }
+
+        public boolean terminado() {
+            return fin != null;
+        }
+
+        public ProgresoCitacionesDto progreso() {
+            Estado estado = !terminado() ? Estado.EN_CURSO
+                : errores.isEmpty() ? Estado.COMPLETADO : Estado.COMPLETADO_CON_ERRORES;
+            return new ProgresoCitacionesDto(id, estado.name(), total, creadas, avisadas.get(),
+                new ArrayList<>(errores), inicio, fin);
+        }
+    }
+
+    // Se crea sin registrar; se registra tras confirmar las citaciones para no dejar trabajos huérfanos
+    public Trabajo nuevo(Long reclutadorId, int total, int creadas, int lotes, List<String> errores) {
+        return new Trabajo(reclutadorId, total, creadas, lotes, errores);
+    }
+
+    public void registrar(Trabajo trabajo) {
+        trabajos.put(trabajo.getId(), trabajo);
+    }
+
+    public Trabajo obtener(String id) {
+        return trabajos.get(id);
+    }
+
+    @Scheduled(fixedDelayString = "${citacion.multiples.retencion-ms:3600000}")
+    public void limpiar() {
+        LocalDateTime limite = LocalDateTime.now().minusNanos(retencionMs * 1_000_000);
+        trabajos.values().removeIf(t -> t.terminado() && t.fin.isBefore(limite));
+    }
+}
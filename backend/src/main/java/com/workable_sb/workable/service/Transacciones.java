@@ -0,0 +1,42 @@
+package com.workable_sb.workable.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Acciones ligadas al final de la transacción en curso (contadores en memoria, canal SSE,
+ * agenda, avisos en segundo plano). Sin transacción activa se ejecutan o se ignoran al momento.
+ */
+final class Transacciones {
+
+    private Transacciones() {
+    }
+
+    // Tras confirmar la transacción en curso; sin transacción, en el acto
+    static void despuesDeCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    // Si la transacción en curso se revierte; sin transacción no hay nada que deshacer
+    static void siNoConfirma(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        accion.run();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.workable_sb.workable.controller;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual. Con MockMvc la petición
+ * corre en el hilo de la prueba, así que las tareas programadas no se cuelan en la cuenta.
+ */
+public class ContadorSentencias implements StatementInspector {
+
+    private static final ThreadLocal<Integer> SENTENCIAS = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public String inspect(String sql) {
+        SENTENCIAS.set(SENTENCIAS.get() + 1);
+        return sql;
+    }
+
+    static void reiniciar() {
+        SENTENCIAS.set(0);
+    }
+
+    static int contadas() {
+        return SENTENCIAS.get();
+    }
+}
@@ -0,0 +1,106 @@
+package com.workable_sb.workable.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+/**
+ * Ráfaga de logins contra un pool de hashing de un hilo con cola corta y un pool de conexiones
+ * de 3: los logins que no caben responden 503 con Retry-After, y los que esperan turno no
+ * retienen conexiones, así que una consulta a la base de otro endpoint responde a tiempo.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "security.password-hash.threads=1",
+    "security.password-hash.queue-capacity=4",
+    "security.password-hash.timeout-ms=5000",
+    "spring.datasource.hikari.maximum-pool-size=3",
+    "spring.datasource.hikari.connection-timeout=1000"
+})
+class LoginSaturacionTest {
+
+    private static final int LOGINS = 16;
+
+    @LocalServerPort
+    private int puerto;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void rafagaDeLoginsRespondeServicioSaturadoSinAgotarConexiones() throws Exception {
+        // Cada verificación tarda 400 ms: los logins aceptados ocupan el pool de hashing unos 2 s
+        doAnswer(inv -> {
+            Thread.sleep(400);
+            return inv.callRealMethod();
+        }).when(passwordEncoder).matches(any(), any());
+
+        ExecutorService hilos = Executors.newFixedThreadPool(LOGINS);
+        try {
+            List<Future<HttpResponse<String>>> logins = new ArrayList<>();
+            for (int i = 0; i < LOGINS; i++) {
+                logins.add(hilos.submit(() -> cliente.send(login("admin@example.com", "admin123"),
+                    HttpResponse.BodyHandlers.ofString())));
+            }
+
+            // Mientras los aceptados esperan turno, otro endpoint consulta la base
+            Thread.sleep(300);
+            for (int i = 0; i < 3; i++) {
+                long inicio = System.nanoTime();
+                HttpResponse<String> busqueda = cliente.send(get("/api/municipio/buscar?nombre=Bog"),
+                    HttpResponse.BodyHandlers.ofString());
+                assertThat(busqueda.statusCode()).isEqualTo(200);
+                assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(800));
+            }
+
+            int aceptados = 0;
+            int saturados = 0;
+            for (Future<HttpResponse<String>> futuro : logins) {
+                HttpResponse<String> respuesta = futuro.get();
+                if (respuesta.statusCode() == 503) {
+                    saturados++;
+                    assertThat(respuesta.headers().firstValue("Retry-After")).isPresent();
+                } else {
+                    assertThat(respuesta.statusCode()).isEqualTo(200);
+                    aceptados++;
+                }
+            }
+            assertThat(saturados).isPositive();
+            assertThat(aceptados).isPositive();
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private HttpRequest login(String correo, String password) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"correo\":\"" + correo + "\",\"password\":\"" + password + "\"}"))
+            .build();
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta)).GET().build();
+    }
+}
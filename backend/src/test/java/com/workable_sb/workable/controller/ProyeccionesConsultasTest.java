@@ -0,0 +1,102 @@
+package com.workable_sb.workable.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Los endpoints de lectura servidos con proyecciones JPQL resuelven cada petición con una sola
+ * sentencia SQL (sin cargar el grafo EAGER de las entidades ni consultas N+1).
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.workable_sb.workable.controller.ContadorSentencias")
+class ProyeccionesConsultasTest {
+
+    // Datos de DataInitializer: la oferta 1 es de la empresa del reclutador de prueba
+    private static final long ASPIRANTE_ID = 1L;
+    private static final long RECLUTADOR_ID = 1L;
+    private static final long OFERTA_ID = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String tokenAspirante;
+    private String tokenReclutador;
+
+    @BeforeEach
+    void postulacionDePrueba() throws Exception {
+        tokenAspirante = login("aspirante@example.com", "pass123");
+        tokenReclutador = login("reclutador@example.com", "pass123");
+        // La primera prueba la crea; en las siguientes ya existe y la respuesta se ignora
+        mockMvc.perform(post("/api/postulacion").header("Authorization", "Bearer " + tokenAspirante)
+            .contentType(MediaType.APPLICATION_JSON).content("{\"ofertaId\":" + OFERTA_ID + "}"));
+    }
+
+    @Test
+    void aspirantesDeUnaOfertaEnUnaConsulta() throws Exception {
+        assertThat(sentencias(get("/api/postulacion/oferta/{id}/aspirantes", OFERTA_ID)
+            .param("usuarioIdActual", String.valueOf(RECLUTADOR_ID)), tokenReclutador, 1)).isEqualTo(1);
+    }
+
+    @Test
+    void misPostulacionesEnUnaConsulta() throws Exception {
+        assertThat(sentencias(get("/api/postulacion/mis-postulaciones")
+            .param("usuarioId", String.valueOf(ASPIRANTE_ID)), tokenAspirante, 1)).isEqualTo(1);
+    }
+
+    @Test
+    void citacionesDelAspiranteEnUnaConsulta() throws Exception {
+        assertThat(sentencias(get("/api/citacion/aspirante/{id}", ASPIRANTE_ID)
+            .param("usuarioIdActual", String.valueOf(ASPIRANTE_ID)), tokenAspirante, 0)).isEqualTo(1);
+    }
+
+    @Test
+    void ofertasAbiertasEnUnaConsulta() throws Exception {
+        assertThat(sentencias(get("/api/oferta/abiertas"), null, 1)).isEqualTo(1);
+    }
+
+    // Sentencias ejecutadas por la petición, que debe responder una lista con al menos minimo elementos
+    private int sentencias(MockHttpServletRequestBuilder peticion, String token, int minimo) throws Exception {
+        if (token != null) {
+            peticion.header("Authorization", "Bearer " + token);
+        }
+        ContadorSentencias.reiniciar();
+        String cuerpo = mockMvc.perform(peticion)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray())
+            .andReturn().getResponse().getContentAsString();
+        int contadas = ContadorSentencias.contadas();
+        assertThat(objectMapper.readTree(cuerpo).size()).isGreaterThanOrEqualTo(minimo);
+        return contadas;
+    }
+
+    private String login(String correo, String password) throws Exception {
+        String cuerpo = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"correo\":\"" + correo + "\",\"password\":\"" + password + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode respuesta = objectMapper.readTree(cuerpo);
+        return respuesta.get("token").asText();
+    }
+}
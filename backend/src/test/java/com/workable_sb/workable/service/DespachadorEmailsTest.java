@@ -0,0 +1,113 @@
+package com.workable_sb.workable.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.workable_sb.workable.models.EmailOutbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * DespachadorEmails contra un servidor SMTP en memoria (GreenMail). La bandeja de salida
+ * es un mock: aquí solo se comprueba el envío y lo que se confirma o reintenta.
+ */
+class DespachadorEmailsTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final EmailOutboxService outbox = mock(EmailOutboxService.class);
+
+    @Test
+    void enviaElLoteYConfirmaLosCorreos() throws Exception {
+        List<EmailOutbox> lote = List.of(
+            correo(1L, "ana@example.com", "Cambio de estado"),
+            correo(2L, "luis@example.com", "Cambio de estado"),
+            correo(3L, "sara@example.com", "Cambio de estado"));
+        when(outbox.reclamar(anyInt())).thenReturn(lote, List.of());
+
+        DespachadorEmails despachador = despachador(smtp.getSmtp().getPort());
+        despachador.despachar();
+        despachador.shutdown();
+
+        MimeMessage[] recibidos = smtp.getReceivedMessages();
+        assertThat(recibidos).hasSize(3);
+        assertThat(recibidos).extracting(m -> m.getAllRecipients()[0].toString())
+            .containsExactlyInAnyOrder("ana@example.com", "luis@example.com", "sara@example.com");
+        assertThat(recibidos[0].getSubject()).isEqualTo("Cambio de estado");
+
+        ArgumentCaptor<Collection<Long>> confirmados = idsCaptor();
+        verify(outbox).marcarEnviados(confirmados.capture());
+        assertThat(confirmados.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(outbox, never()).registrarFallo(any(), any());
+    }
+
+    @Test
+    void sinServidorProgramaReintentosYNoConfirma() throws Exception {
+        List<EmailOutbox> lote = List.of(
+            correo(1L, "ana@example.com", "Citación"),
+            correo(2L, "luis@example.com", "Citación"));
+        when(outbox.reclamar(anyInt())).thenReturn(lote, List.of());
+
+        // Puerto del servidor de pruebas con el servidor parado: la conexión falla
+        int puerto = smtp.getSmtp().getPort();
+        smtp.stop();
+        DespachadorEmails despachador = despachador(puerto);
+        despachador.despachar();
+        despachador.shutdown();
+
+        verify(outbox).registrarFallo(eq(1L), anyString());
+        verify(outbox).registrarFallo(eq(2L), anyString());
+        ArgumentCaptor<Collection<Long>> confirmados = idsCaptor();
+        verify(outbox).marcarEnviados(confirmados.capture());
+        assertThat(confirmados.getValue()).isEmpty();
+    }
+
+    private DespachadorEmails despachador(int puerto) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(puerto);
+
+        DespachadorEmails despachador = new DespachadorEmails();
+        ReflectionTestUtils.setField(despachador, "mailSender", mailSender);
+        ReflectionTestUtils.setField(despachador, "outbox", outbox);
+        ReflectionTestUtils.setField(despachador, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(despachador, "fromEmail", "noreply@workable.com");
+        ReflectionTestUtils.setField(despachador, "workers", 2);
+        ReflectionTestUtils.setField(despachador, "tamanoLote", 20);
+        ReflectionTestUtils.setField(despachador, "reclamoExpiraMs", 300000L);
+        ReflectionTestUtils.setField(despachador, "hilosVirtuales", true);
+        despachador.init();
+        return despachador;
+    }
+
+    private static EmailOutbox correo(Long id, String destinatario, String asunto) {
+        EmailOutbox email = EmailOutboxService.nuevo(destinatario, asunto, "<p>" + asunto + "</p>");
+        email.setId(id);
+        return email;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<Collection<Long>> idsCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(Collection.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.workable_sb.workable.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compilación y renderizado de PlantillaEmail: escapado, variables ausentes, secciones
+ * opcionales y valores fijados de antemano con fijar.
+ */
+class PlantillaEmailTest {
+
+    @Test
+    void escapaLosValoresEnHtml() {
+        PlantillaEmail plantilla = PlantillaEmail.compilar("prueba", "<p>{{nombre}}</p>", true);
+
+        assertThat(renderizar(plantilla, Map.of("nombre", "<b>Ana & \"Luis\" O'Neil</b>")))
+            .isEqualTo("<p>&lt;b&gt;Ana &amp; &quot;Luis&quot; O&#39;Neil&lt;/b&gt;</p>");
+    }
+
+    @Test
+    void noEscapaEnTextoPlano() {
+        PlantillaEmail asunto = PlantillaEmail.compilar("prueba", "Hola {{nombre}}", false);
+
+        assertThat(renderizar(asunto, Map.of("nombre", "Ana & <Luis>"))).isEqualTo("Hola Ana & <Luis>");
+    }
+
+    @Test
+    void variableAusenteNoEscribeNada() {
+        PlantillaEmail plantilla = PlantillaEmail.compilar("prueba", "Hola {{nombre}}, {{ cargo }}.", true);
+
+        assertThat(renderizar(plantilla, Map.of("cargo", "analista"))).isEqualTo("Hola , analista.");
+    }
+
+    @Test
+    void seccionSoloSiElValorNoEstaVacio() {
+        PlantillaEmail plantilla = PlantillaEmail.compilar("prueba",
+            "Cita{{#enlace}} en <a href=\"{{enlace}}\">Meet</a>{{/enlace}}.", true);
+
+        assertThat(renderizar(plantilla, Map.of("enlace", "https://meet/x")))
+            .isEqualTo("Cita en <a href=\"https://meet/x\">Meet</a>.");
+        assertThat(renderizar(plantilla, Map.of("enlace", "  "))).isEqualTo("Cita.");
+        assertThat(renderizar(plantilla, Map.of())).isEqualTo("Cita.");
+    }
+
+    @Test
+    void fijarResuelveLoComunYDejaElResto() {
+        PlantillaEmail plantilla = PlantillaEmail.compilar("prueba",
+            "{{app}}: hola {{nombre}}{{#detalles}} ({{detalles}}){{/detalles}}{{#pie}} - {{pie}}{{/pie}}", true);
+        Map<String, Object> comunes = new HashMap<>();
+        comunes.put("app", "Work&able");
+        comunes.put("detalles", "");
+
+        PlantillaEmail fijada = plantilla.fijar(comunes);
+
+        // Lo fijado ya va escapado y la sección vacía desaparece; lo no fijado sigue variable
+        assertThat(renderizar(fijada, Map.of("nombre", "Ana", "app", "otra", "detalles", "x", "pie", "adiós")))
+            .isEqualTo("Work&amp;able: hola Ana - adiós");
+        assertThat(fijada.getLongitudFija()).isGreaterThan(plantilla.getLongitudFija());
+        // La plantilla original no cambia
+        assertThat(renderizar(plantilla, Map.of("app", "A", "nombre", "B"))).isEqualTo("A: hola B");
+    }
+
+    @Test
+    void rechazaEtiquetasMalFormadas() {
+        assertThatThrownBy(() -> PlantillaEmail.compilar("prueba", "Hola {{nombre", true))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PlantillaEmail.compilar("prueba", "{{#a}}x{{/b}}", true))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PlantillaEmail.compilar("prueba", "{{#a}}x", true))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String renderizar(PlantillaEmail plantilla, Map<String, ?> valores) {
+        StringBuilder destino = new StringBuilder();
+        plantilla.renderizar(valores, destino);
+        return destino.toString();
+    }
+}
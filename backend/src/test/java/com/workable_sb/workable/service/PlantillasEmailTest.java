@@ -0,0 +1,54 @@
+package com.workable_sb.workable.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * PlantillasEmail con las plantillas reales de resources/email: elección de la variante por
+ * idioma y valores globales fijados al compilar.
+ */
+class PlantillasEmailTest {
+
+    private PlantillasEmail plantillas;
+
+    @BeforeEach
+    void compilar() throws Exception {
+        plantillas = new PlantillasEmail();
+        ReflectionTestUtils.setField(plantillas, "appName", "Workable <Pruebas>");
+        plantillas.init();
+    }
+
+    @Test
+    void eligeLaVarianteMasEspecificaDelIdioma() {
+        PlantillasEmail.Variante porDefecto = plantillas.variante("bienvenida", null);
+        PlantillasEmail.Variante ingles = plantillas.variante("bienvenida", Locale.ENGLISH);
+
+        assertThat(ingles).isNotSameAs(porDefecto);
+        // en_US no tiene archivo propio: cae en la de inglés
+        assertThat(plantillas.variante("bienvenida", Locale.US)).isSameAs(ingles);
+        // Sin variante para el idioma: la de defecto
+        assertThat(plantillas.variante("bienvenida", Locale.FRENCH)).isSameAs(porDefecto);
+        assertThat(plantillas.variante("bienvenida", Locale.forLanguageTag("es-CO"))).isSameAs(porDefecto);
+    }
+
+    @Test
+    void plantillaInexistente() {
+        assertThatThrownBy(() -> plantillas.variante("no-existe", Locale.ENGLISH))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void elNombreDeLaAplicacionVaFijadoYEscapado() {
+        PlantillasEmail.Correo correo = plantillas.renderizar("bienvenida", null, Map.of("nombre", "Ana"));
+
+        assertThat(correo.html()).contains("Workable &lt;Pruebas&gt;").doesNotContain("{{");
+        assertThat(correo.asunto()).isNotBlank().doesNotContain("{{");
+    }
+}
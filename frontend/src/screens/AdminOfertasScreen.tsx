@@ -29,6 +29,9 @@ const AdminOfertasScreen = ({ navigation }: any) => {
 
   const [ofertas, setOfertas] = useState<IOferta[]>([]);
   const [ofertasFiltradas, setOfertasFiltradas] = useState<IOferta[]>([]);
+  // Cursor de la siguiente página (null = no hay más)
+  const [siguienteCursor, setSiguienteCursor] = useState<string | null>(null);
+  const [cargandoMas, setCargandoMas] = useState(false);
   const [loading, setLoading] = useState(false);
   const [refreshing, setRefreshing] = useState(false);
   const [busqueda, setBusqueda] = useState('');
@@ -54,8 +57,9 @@ const AdminOfertasScreen = ({ navigation }: any) => {
   const cargarOfertas = async () => {
     try {
       setLoading(true);
-      const data = await ofertaService.getAll();
-      setOfertas(data);
+      const pagina = await ofertaService.getPagina();
+      setOfertas(pagina.contenido);
+      setSiguienteCursor(pagina.siguienteCursor);
     } catch (error: any) {
       Alert.alert('Error', error.message || 'Error al cargar ofertas');
     } finally {
@@ -63,6 +67,23 @@ const AdminOfertasScreen = ({ navigation }: any) => {
     }
   };
 
+  /**
+   * Cargar la siguiente página al llegar al final de la lista
+   */
+  const cargarMas = async () => {
+    if (!siguienteCursor || cargandoMas) return;
+    try {
+      setCargandoMas(true);
+      const pagina = await ofertaService.getPagina(siguienteCursor);
+      setOfertas((actuales) => [...actuales, ...pagina.contenido]);
+      setSiguienteCursor(pagina.siguienteCursor);
+    } catch (error: any) {
+      Alert.alert('Error', error.message || 'Error al cargar ofertas');
+    } finally {
+      setCargandoMas(false);
+    }
+  };
+
   /**
    * Refresh
    */
@@ -294,6 +315,9 @@ const AdminOfertasScreen = ({ navigation }: any) => {
           keyExtractor={(item) => item.id.toString()}
           renderItem={renderOfertaItem}
           contentContainerStyle={styles.listContent}
+          onEndReached={cargarMas}
+          onEndReachedThreshold={0.5}
+          ListFooterComponent={cargandoMas ? <ActivityIndicator color={COLORES.PRIMARY} /> : null}
           refreshControl={
             <RefreshControl refreshing={refreshing} onRefresh={onRefresh} colors={[COLORES.PRIMARY]} />
           }
@@ -18,6 +18,9 @@ const AdminUsuariosScreen = ({ navigation }: any) => {
 
   const [usuarios, setUsuarios] = useState<Aspirante[]>([]);
   const [usuariosFiltrados, setUsuariosFiltrados] = useState<Aspirante[]>([]);
+  // Cursor de la siguiente página (null = no hay más)
+  const [siguienteCursor, setSiguienteCursor] = useState<string | null>(null);
+  const [cargandoMas, setCargandoMas] = useState(false);
   const [loading, setLoading] = useState(false);
   const [refreshing, setRefreshing] = useState(false);
   const [busqueda, setBusqueda] = useState('');
@@ -52,8 +55,9 @@ const AdminUsuariosScreen = ({ navigation }: any) => {
   const cargarUsuarios = async () => {
     try {
       setLoading(true);
-      const data = await aspiranteService.getAll();
-      setUsuarios(data);
+      const pagina = await aspiranteService.getPagina();
+      setUsuarios(pagina.contenido);
+      setSiguienteCursor(pagina.siguienteCursor);
     } catch (error: any) {
       Alert.alert('Error', error.message || 'Error al cargar usuarios');
     } finally {
@@ -61,6 +65,23 @@ const AdminUsuariosScreen = ({ navigation }: any) => {
     }
   };
 
+  /**
+   * Cargar la siguiente página al llegar al final de la lista
+   */
+  const cargarMas = async () => {
+    if (!siguienteCursor || cargandoMas) return;
+    try {
+      setCargandoMas(true);
+      const pagina = await aspiranteService.getPagina(siguienteCursor);
+      setUsuarios((actuales) => [...actuales, ...pagina.contenido]);
+      setSiguienteCursor(pagina.siguienteCursor);
+    } catch (error: any) {
+      Alert.alert('Error', error.message || 'Error al cargar usuarios');
+    } finally {
+      setCargandoMas(false);
+    }
+  };
+
   /**
    * Refresh
    */
@@ -435,6 +456,9 @@ const AdminUsuariosScreen = ({ navigation }: any) => {
           keyExtractor={(item) => item.id.toString()}
           renderItem={renderUsuarioItem}
           contentContainerStyle={styles.listContent}
+          onEndReached={cargarMas}
+          onEndReachedThreshold={0.5}
+          ListFooterComponent={cargandoMas ? <ActivityIndicator color={COLORES.PRIMARY} /> : null}
           refreshControl={
             <RefreshControl refreshing={refreshing} onRefresh={onRefresh} colors={[COLORES.PRIMARY]} />
           }
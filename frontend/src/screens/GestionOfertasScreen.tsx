@@ -50,6 +50,9 @@ const initialFormState: FormOferta = {
 export const GestionOfertasScreen = ({ navigation }: any) => {
   const { user } = useAuth();
   const [ofertas, setOfertas] = useState<OfertaResponse[]>([]);
+  // Cursor de la siguiente página (null = no hay más)
+  const [siguienteCursor, setSiguienteCursor] = useState<string | null>(null);
+  const [cargandoMas, setCargandoMas] = useState(false);
   const [loading, setLoading] = useState(false);
   const [refreshing, setRefreshing] = useState(false);
   const [modalVisible, setModalVisible] = useState(false);
@@ -61,12 +64,9 @@ export const GestionOfertasScreen = ({ navigation }: any) => {
   const cargarOfertas = async () => {
     try {
       setLoading(true);
-      const data = await ofertaService.getAll();
-      // Filtrar solo las ofertas del reclutador actual
-      const misofertas = data.filter(
-        (oferta: any) => oferta.empresa?.reclutadores?.some((r: any) => r.id === user?.usuarioId)
-      );
-      setOfertas(misofertas);
+      const pagina = await ofertaService.getPagina();
+      setOfertas(filtrarMisOfertas(pagina.contenido));
+      setSiguienteCursor(pagina.siguienteCursor);
     } catch (error: any) {
       Alert.alert('Error', error.message || 'No se pudieron cargar las ofertas');
     } finally {
@@ -74,6 +74,26 @@ export const GestionOfertasScreen = ({ navigation }: any) => {
     }
   };
 
+  // Solo las ofertas del reclutador actual
+  const filtrarMisOfertas = (ofertasPagina: any[]) =>
+    ofertasPagina.filter(
+      (oferta: any) => oferta.empresa?.reclutadores?.some((r: any) => r.id === user?.usuarioId)
+    );
+
+  const cargarMas = async () => {
+    if (!siguienteCursor || cargandoMas) return;
+    try {
+      setCargandoMas(true);
+      const pagina = await ofertaService.getPagina(siguienteCursor);
+      setOfertas((actuales) => [...actuales, ...filtrarMisOfertas(pagina.contenido)]);
+      setSiguienteCursor(pagina.siguienteCursor);
+    } catch (error: any) {
+      Alert.alert('Error', error.message || 'No se pudieron cargar las ofertas');
+    } finally {
+      setCargandoMas(false);
+    }
+  };
+
   const onRefresh = async () => {
     setRefreshing(true);
     await cargarOfertas();
@@ -473,6 +493,9 @@ export const GestionOfertasScreen = ({ navigation }: any) => {
           keyExtractor={(item) => item.id.toString()}
           renderItem={renderOfertaItem}
           contentContainerStyle={styles.listContainer}
+          onEndReached={cargarMas}
+          onEndReachedThreshold={0.5}
+          ListFooterComponent={cargandoMas ? <ActivityIndicator color="#007AFF" /> : null}
           refreshControl={
             <RefreshControl
               refreshing={refreshing}
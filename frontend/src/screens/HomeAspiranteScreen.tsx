@@ -35,6 +35,9 @@ const HomeAspiranteScreen = ({ navigation }: any) => {
 
   const [ofertas, setOfertas] = useState<IOferta[]>([]);
   const [ofertasFiltradas, setOfertasFiltradas] = useState<IOferta[]>([]);
+  // Cursor de la siguiente página (null = no hay más)
+  const [siguienteCursor, setSiguienteCursor] = useState<string | null>(null);
+  const [cargandoMas, setCargandoMas] = useState(false);
   const [loading, setLoading] = useState(false);
   const [refreshing, setRefreshing] = useState(false);
   const [busqueda, setBusqueda] = useState('');
@@ -60,11 +63,12 @@ const HomeAspiranteScreen = ({ navigation }: any) => {
   const cargarOfertas = async () => {
     try {
       setLoading(true);
-      const data = await ofertaService.getAll();
+      const pagina = await ofertaService.getPagina();
       // Filtrar solo ofertas activas
-      const ofertasActivas = data.filter((o: any) => o.estado === 'ABIERTA');
+      const ofertasActivas = pagina.contenido.filter((o: any) => o.estado === 'ABIERTA');
       setOfertas(ofertasActivas);
       setOfertasFiltradas(ofertasActivas);
+      setSiguienteCursor(pagina.siguienteCursor);
     } catch (error: any) {
       Alert.alert('Error', error.message || 'No se pudieron cargar las ofertas');
     } finally {
@@ -72,6 +76,24 @@ const HomeAspiranteScreen = ({ navigation }: any) => {
     }
   };
 
+  /**
+   * Cargar la siguiente página al llegar al final de la lista
+   */
+  const cargarMas = async () => {
+    if (!siguienteCursor || cargandoMas) return;
+    try {
+      setCargandoMas(true);
+      const pagina = await ofertaService.getPagina(siguienteCursor);
+      const ofertasActivas = pagina.contenido.filter((o: any) => o.estado === 'ABIERTA');
+      setOfertas((actuales) => [...actuales, ...ofertasActivas]);
+      setSiguienteCursor(pagina.siguienteCursor);
+    } catch (error: any) {
+      Alert.alert('Error', error.message || 'No se pudieron cargar las ofertas');
+    } finally {
+      setCargandoMas(false);
+    }
+  };
+
   /**
    * Refresh para recargar ofertas
    */
@@ -272,6 +294,9 @@ const HomeAspiranteScreen = ({ navigation }: any) => {
           renderItem={renderOfertaCard}
           contentContainerStyle={styles.listContent}
           ListEmptyComponent={renderEmptyList}
+          onEndReached={cargarMas}
+          onEndReachedThreshold={0.5}
+          ListFooterComponent={cargandoMas ? <ActivityIndicator color={COLORES.PRIMARY} /> : null}
           refreshControl={
             <RefreshControl
               refreshing={refreshing}
@@ -35,9 +35,9 @@ const HomeScreen = ({ navigation }: any) => {
 
       if (userRole === "ASPIRANTE") {
         const postulaciones = await postulacionService.getByAspirante(user.id);
-        const notificaciones = await notificacionService.getNoLeidas(user.id);
+        const noLeidas = await notificacionService.contarNoLeidas(user.id);
         stats.postulaciones = postulaciones.data?.length || 0;
-        stats.notificacionesNoLeidas = notificaciones.data?.length || 0;
+        stats.notificacionesNoLeidas = noLeidas.data || 0;
       } else if (userRole === "RECLUTADOR") {
         const ofertas = await ofertaService.getAll();
         const postulaciones = await postulacionService.getByReclutador(user.id);
@@ -62,6 +62,9 @@ const RADIOS = {
 const NotificacionesScreen = ({ navigation }: any) => {
   const [notificaciones, setNotificaciones] = useState<Notificacion[]>([]);
   const [notificacionesFiltradas, setNotificacionesFiltradas] = useState<Notificacion[]>([]);
+  // Cursor de la siguiente página (null = no hay más)
+  const [siguienteCursor, setSiguienteCursor] = useState<string | null>(null);
+  const [cargandoMas, setCargandoMas] = useState(false);
   const [loading, setLoading] = useState(true);
   const [refreshing, setRefreshing] = useState(false);
   const [user, setUser] = useState<any>(null);
@@ -84,7 +87,7 @@ const NotificacionesScreen = ({ navigation }: any) => {
       setUser(userParsed);
 
       if (userParsed?.id) {
-        await cargarNotificaciones();
+        await cargarNotificaciones(userParsed.id);
       }
     } catch (error) {
       console.error('Error cargando datos:', error);
@@ -94,17 +97,17 @@ const NotificacionesScreen = ({ navigation }: any) => {
     }
   };
 
-  const cargarNotificaciones = async () => {
+  const cargarNotificaciones = async (usuarioId: number = user?.id) => {
     try {
       setLoading(true);
-      const data = await notificacionService.getMisNotificaciones();
-      setNotificaciones(data || []);
+      const pagina = await notificacionService.getMisNotificacionesPagina();
+      setNotificaciones(pagina.contenido);
+      setSiguienteCursor(pagina.siguienteCursor);
 
-      // Contar no leídas
-      const noLeidas = data?.filter((n) => !n.leida) || [];
-      setNoLeidasCount(noLeidas.length);
+      // El total de no leídas viene del servidor: la lista solo tiene la primera página
+      setNoLeidasCount(await notificacionService.contarNoLeidas(usuarioId));
 
-      aplicarFiltros(data || [], filtroEstado, busqueda);
+      aplicarFiltros(pagina.contenido, filtroEstado, busqueda);
     } catch (error: any) {
       console.error('Error cargando notificaciones:', error);
       Alert.alert('Error', 'No se pudieron cargar tus notificaciones');
@@ -113,6 +116,25 @@ const NotificacionesScreen = ({ navigation }: any) => {
     }
   };
 
+  /**
+   * Cargar la siguiente página al llegar al final de la lista
+   */
+  const cargarMas = async () => {
+    if (!siguienteCursor || cargandoMas) return;
+    try {
+      setCargandoMas(true);
+      const pagina = await notificacionService.getMisNotificacionesPagina(siguienteCursor);
+      const todas = [...notificaciones, ...pagina.contenido];
+      setNotificaciones(todas);
+      setSiguienteCursor(pagina.siguienteCursor);
+      aplicarFiltros(todas, filtroEstado, busqueda);
+    } catch (error: any) {
+      console.error('Error cargando más notificaciones:', error);
+    } finally {
+      setCargandoMas(false);
+    }
+  };
+
   const onRefresh = async () => {
     setRefreshing(true);
     try {
@@ -356,6 +378,9 @@ const NotificacionesScreen = ({ navigation }: any) => {
           scrollEnabled
           refreshControl={<RefreshControl refreshing={refreshing} onRefresh={onRefresh} />}
           contentContainerStyle={styles.listContent}
+          onEndReached={cargarMas}
+          onEndReachedThreshold={0.5}
+          ListFooterComponent={cargandoMas ? <ActivityIndicator color={COLORES.principal} /> : null}
         />
       )}
     </View>
@@ -24,6 +24,13 @@ api.interceptors.request.use(
   }
 );
 
+// Una página de un listado paginado por cursor: { contenido, tamano, hayMas, siguienteCursor }.
+// La siguiente se pide pasando siguienteCursor como cursor; sin cursor, la primera
+const obtenerPagina = async (url: string, cursor?: string | null, size = 20) => {
+  const response = await api.get(url, { params: { size, cursor: cursor ?? undefined } });
+  return response.data;
+};
+
 // ======================== AUTH SERVICE ========================
 export const authService = {
   /**
@@ -120,11 +127,18 @@ export const authService = {
 // ======================== OFERTA SERVICE ========================
 export const ofertaService = {
   /**
-   * Obtener todas las ofertas
+   * Obtener la primera página de ofertas (las más recientes)
    */
   getAll: async () => {
-    const response = await api.get("/oferta");
-    return response.data;
+    const pagina = await obtenerPagina("/oferta");
+    return pagina.contenido;
+  },
+
+  /**
+   * Obtener una página de ofertas; para la siguiente, pasar siguienteCursor de la anterior
+   */
+  getPagina: async (cursor?: string | null, size?: number) => {
+    return obtenerPagina("/oferta", cursor, size);
   },
 
   /**
@@ -144,13 +158,14 @@ export const ofertaService = {
   },
 
   /**
-   * Buscar ofertas por título
+   * Buscar ofertas por título (una página de resultados, ordenados por relevancia).
+   * El backend devuelve un Page de Spring: las ofertas vienen en content
    */
-  search: async (titulo: string) => {
+  search: async (titulo: string, page = 0, size = 20) => {
     const response = await api.get(`/oferta/buscar`, {
-      params: { titulo }
+      params: { titulo, page, size }
     });
-    return response.data;
+    return response.data.content;
   },
 
   /**
@@ -211,7 +226,7 @@ export const postulacionService = {
 
 // ======================== CITACION SERVICE ========================
 export const citacionService = {
-  getAll: () => api.get("/citacion"),
+  getAll: (cursor?: string, size = 20) => api.get("/citacion", { params: { cursor, size } }),
   getById: (id: number, usuarioId: number) => api.get(`/citacion/${id}?usuarioId=${usuarioId}`),
   getByReclutador: (reclutadorId: number) => api.get(`/citacion/reclutador/${reclutadorId}`),
   getByAspirante: (aspiranteId: number) => api.get(`/citacion/aspirante/${aspiranteId}`),
@@ -229,9 +244,12 @@ export const citacionService = {
 
 // ======================== NOTIFICACION SERVICE ========================
 export const notificacionService = {
-  getByUsuario: (usuarioId: number) => api.get(`/notificacion/usuario/${usuarioId}`),
-  getNoLeidas: (usuarioId: number) => api.get(`/notificacion/usuario/${usuarioId}/no-leidas`),
-  contarNoLeidas: (usuarioId: number) => api.get(`/notificacion/usuario/${usuarioId}/contar`),
+  // Listados paginados por cursor: response.data es { contenido, tamano, hayMas, siguienteCursor }
+  getByUsuario: (usuarioId: number, cursor?: string | null) =>
+    api.get(`/notificacion/usuario/${usuarioId}`, { params: { usuarioIdActual: usuarioId, cursor: cursor ?? undefined } }),
+  getNoLeidas: (usuarioId: number, cursor?: string | null) =>
+    api.get(`/notificacion/usuario/${usuarioId}/leida`, { params: { leida: false, usuarioIdActual: usuarioId, cursor: cursor ?? undefined } }),
+  contarNoLeidas: (usuarioId: number) => api.get(`/notificacion/usuario/${usuarioId}/no-leidas`),
   marcarComoLeida: (id: number) => api.put(`/notificacion/${id}/leida`),
   marcarTodasComoLeida: (usuarioId: number) => api.put(`/notificacion/usuario/${usuarioId}/todas-leidas`),
   eliminar: (id: number) => api.delete(`/notificacion/${id}`),
@@ -250,8 +268,11 @@ export const usuarioService = {
 // ======================== ASPIRANTE SERVICE ========================
 export const aspiranteService = {
   getAll: async () => {
-    const response = await api.get("/aspirante");
-    return response.data;
+    const pagina = await obtenerPagina("/aspirante");
+    return pagina.contenido;
+  },
+  getPagina: async (cursor?: string | null, size?: number) => {
+    return obtenerPagina("/aspirante", cursor, size);
   },
   getById: async (id: number) => {
     const response = await api.get(`/aspirante/${id}`);
@@ -1,4 +1,5 @@
 import { aspiranteService as baseAspiranteService } from './api';
+import { PaginaCursor } from '../types/pagina';
 
 /**
  * Interfaz para Aspirante
@@ -20,7 +21,18 @@ export interface Aspirante {
  */
 class AspiranteServiceWrapper {
   /**
-   * Obtener todos los aspirantes (ADMIN)
+   * Obtener una página de aspirantes (ADMIN); sin cursor, la primera
+   */
+  async getPagina(cursor?: string | null): Promise<PaginaCursor<Aspirante>> {
+    try {
+      return await baseAspiranteService.getPagina(cursor);
+    } catch (error: any) {
+      throw new Error(error.response?.data?.message || 'Error al obtener aspirantes');
+    }
+  }
+
+  /**
+   * Obtener la primera página de aspirantes (ADMIN)
    */
   async getAll(): Promise<Aspirante[]> {
     try {
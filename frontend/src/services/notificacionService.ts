@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { PaginaCursor } from '../types/pagina';
 
 const API_URL = 'http://192.168.1.11:8080/api';
 
@@ -24,12 +25,15 @@ export interface Notificacion {
  */
 class NotificacionServiceWrapper {
   /**
-   * Obtener notificaciones del aspirante autenticado
-   * GET /api/notificacion/aspirante
+   * Una página de notificaciones del aspirante autenticado (las más recientes primero).
+   * La siguiente se pide con el siguienteCursor de la anterior
+   * GET /api/notificacion/aspirante?cursor=&size=
    */
-  async getMisNotificaciones(): Promise<Notificacion[]> {
+  async getMisNotificacionesPagina(cursor?: string | null, size = 20): Promise<PaginaCursor<Notificacion>> {
     try {
-      const response = await axios.get(`${API_URL}/notificacion/aspirante`);
+      const response = await axios.get(`${API_URL}/notificacion/aspirante`, {
+        params: { cursor: cursor ?? undefined, size },
+      });
       return response.data;
     } catch (error: any) {
       const message = error.response?.data?.error || 'Error al obtener notificaciones';
@@ -38,12 +42,23 @@ class NotificacionServiceWrapper {
   }
 
   /**
-   * Obtener notificaciones de un usuario específico (por ID)
-   * GET /api/notificacion/usuario/:usuarioId
+   * Obtener la primera página de notificaciones del aspirante autenticado
+   * GET /api/notificacion/aspirante
+   */
+  async getMisNotificaciones(): Promise<Notificacion[]> {
+    const pagina = await this.getMisNotificacionesPagina();
+    return pagina.contenido;
+  }
+
+  /**
+   * Una página de notificaciones de un usuario específico (por ID)
+   * GET /api/notificacion/usuario/:usuarioId?cursor=&size=
    */
-  async getByUsuario(usuarioId: number): Promise<Notificacion[]> {
+  async getByUsuario(usuarioId: number, cursor?: string | null, size = 20): Promise<PaginaCursor<Notificacion>> {
     try {
-      const response = await axios.get(`${API_URL}/notificacion/usuario/${usuarioId}`);
+      const response = await axios.get(`${API_URL}/notificacion/usuario/${usuarioId}`, {
+        params: { usuarioIdActual: usuarioId, cursor: cursor ?? undefined, size },
+      });
       return response.data;
     } catch (error: any) {
       const message = error.response?.data?.error || 'Error al obtener notificaciones del usuario';
@@ -52,12 +67,14 @@ class NotificacionServiceWrapper {
   }
 
   /**
-   * Obtener notificaciones NO leídas de un usuario
-   * GET /api/notificacion/usuario/:usuarioId/no-leidas
+   * Una página de notificaciones NO leídas de un usuario
+   * GET /api/notificacion/usuario/:usuarioId/leida?leida=false
    */
-  async getNoLeidas(usuarioId: number): Promise<Notificacion[]> {
+  async getNoLeidas(usuarioId: number, cursor?: string | null, size = 20): Promise<PaginaCursor<Notificacion>> {
     try {
-      const response = await axios.get(`${API_URL}/notificacion/usuario/${usuarioId}/no-leidas`);
+      const response = await axios.get(`${API_URL}/notificacion/usuario/${usuarioId}/leida`, {
+        params: { leida: false, usuarioIdActual: usuarioId, cursor: cursor ?? undefined, size },
+      });
       return response.data;
     } catch (error: any) {
       const message = error.response?.data?.error || 'Error al obtener notificaciones no leídas';
@@ -67,11 +84,11 @@ class NotificacionServiceWrapper {
 
   /**
    * Contar notificaciones NO leídas
-   * GET /api/notificacion/usuario/:usuarioId/contar
+   * GET /api/notificacion/usuario/:usuarioId/no-leidas
    */
   async contarNoLeidas(usuarioId: number): Promise<number> {
     try {
-      const response = await axios.get(`${API_URL}/notificacion/usuario/${usuarioId}/contar`);
+      const response = await axios.get(`${API_URL}/notificacion/usuario/${usuarioId}/no-leidas`);
       return response.data;
     } catch (error: any) {
       const message = error.response?.data?.error || 'Error al contar notificaciones';
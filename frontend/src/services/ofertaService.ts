@@ -1,4 +1,5 @@
 import { ofertaService as baseOfertaService } from './api';
+import { PaginaCursor } from '../types/pagina';
 
 /**
  * Interfaz para estructura de Oferta
@@ -108,8 +109,7 @@ class OfertaServiceWrapper {
    */
   async searchOfertasByTitulo(titulo: string): Promise<Oferta[]> {
     try {
-      const response = await baseOfertaService.search(titulo);
-      return response.data;
+      return await baseOfertaService.search(titulo);
     } catch (error: any) {
       const message = error.response?.data?.message || 'Error al buscar ofertas';
       throw new Error(message);
@@ -144,8 +144,19 @@ class OfertaServiceWrapper {
   }
 
   /**
-   * Obtener todas las ofertas públicas (sin autenticación requerida)
-   * Retorna solo ofertas con estado ABIERTA
+   * Obtener una página de ofertas; sin cursor, la primera
+   */
+  async getPagina(cursor?: string | null): Promise<PaginaCursor<any>> {
+    try {
+      return await baseOfertaService.getPagina(cursor);
+    } catch (error: any) {
+      const message = error.response?.data?.message || 'Error al obtener ofertas';
+      throw new Error(message);
+    }
+  }
+
+  /**
+   * Obtener la primera página de ofertas (sin autenticación requerida)
    */
   async getAll(): Promise<any[]> {
     try {
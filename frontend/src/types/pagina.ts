@@ -0,0 +1,8 @@
+// Página de un listado paginado por cursor (PaginaCursorDto del backend).
+// La siguiente página se pide con siguienteCursor como parámetro cursor; es null en la última
+export interface PaginaCursor<T> {
+  contenido: T[];
+  tamano: number;
+  hayMas: boolean;
+  siguienteCursor: string | null;
+}